@@ -419,6 +419,63 @@ public abstract class IDAuthorityTest {
         es.shutdownNow();
     }
 
+    @ParameterizedTest
+    @MethodSource("configs")
+    public void testMultiIDAcquisitionWithDifferentBlockSizes(WriteConfiguration baseConfig) throws Throwable {
+        setUp(baseConfig);
+        boolean localStore = Arrays.stream(manager).noneMatch(m -> m.getFeatures().isDistributed());
+        // On local mode ids acquired sequentially
+        if (localStore) {
+            return;
+        }
+
+        final int numPartitions = 1;
+        final int numAcquisitionsPerThreadPartition = 50;
+        for (int i = 0; i < CONCURRENCY; i++) {
+            final long authorityBlockSize = blockSize * (i % 3 + 1) + i;
+            idAuthorities[i].setIDBlockSizer(new IDBlockSizer() {
+                @Override
+                public long getBlockSize(int idNamespace) {
+                    return authorityBlockSize;
+                }
+
+                @Override
+                public long getIdUpperBound(int idNamespace) {
+                    return idUpperBound;
+                }
+            });
+        }
+        final List<ConcurrentLinkedQueue<IDBlock>> ids = Collections.singletonList(new ConcurrentLinkedQueue<>());
+
+        final int maxIterations = numAcquisitionsPerThreadPartition * numPartitions * 2;
+        final Collection<Future<?>> futures = new ArrayList<>(CONCURRENCY);
+        ExecutorService es = Executors.newFixedThreadPool(CONCURRENCY);
+        for (int i = 0; i < CONCURRENCY; i++) {
+            futures.add(es.submit(new IDStressor(numAcquisitionsPerThreadPartition, numPartitions,
+                maxIterations, idAuthorities[i], ids)));
+        }
+        for (Future<?> f : futures) {
+            try {
+                f.get();
+            } catch (ExecutionException e) {
+                throw e.getCause();
+            }
+        }
+        es.shutdownNow();
+
+        // Blocks of different sizes claimed from the same start must never overlap
+        ConcurrentLinkedQueue<IDBlock> list = ids.get(0);
+        assertEquals(numAcquisitionsPerThreadPartition * CONCURRENCY, list.size());
+        LongSet idSet = new LongHashSet();
+        for (IDBlock block : list) {
+            for (long i = 0; i < block.numIds(); i++) {
+                long id = block.getId(i);
+                assertFalse(idSet.contains(id), "Duplicate id " + id);
+                idSet.add(id);
+            }
+        }
+    }
+
 
     private class IDStressor implements Runnable {
 
@@ -494,7 +551,7 @@ public abstract class IDAuthorityTest {
              * block claim even though a subsequent getIDBlock() does not.
              */
 //            assertTrue(nextId <= block[0]);
-            if (hasEmptyUid) assertEquals(block.getId(0)+ blockSize-1, block.getId(blockSize-1));
+            if (hasEmptyUid) assertEquals(block.getId(0)+ block.numIds()-1, block.getId(block.numIds()-1));
             log.trace("Obtained ID block {}", block);
 
             return block;
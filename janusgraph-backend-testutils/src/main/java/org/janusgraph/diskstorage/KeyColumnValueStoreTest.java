@@ -20,14 +20,17 @@ import java.util.*;
 import java.util.concurrent.*;
 
 import com.google.common.collect.ImmutableList;
+import com.google.common.collect.Iterators;
 import org.janusgraph.JanusGraphBaseStoreFeaturesTest;
 import org.janusgraph.TestCategory;
 import org.janusgraph.diskstorage.configuration.Configuration;
+import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanJob;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanMetrics;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.StandardScanner;
 import org.janusgraph.diskstorage.keycolumnvalue.ttl.TTLKCVSManager;
 import org.janusgraph.diskstorage.util.*;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 
 import org.janusgraph.testutil.FeatureFlag;
 import org.janusgraph.testutil.JanusGraphFeature;
@@ -966,6 +969,37 @@ public abstract class KeyColumnValueStoreTest extends AbstractKCVSTest implement
         }
     }
 
+    @Test
+    public void testGetSliceColumnsOnly() throws Exception {
+        populateDBWith100Keys();
+
+        tx.commit();
+        tx = startTx();
+
+        StaticBuffer key = KeyColumnValueStoreUtil.longToByteBuffer(1);
+        StaticBuffer start = KeyColumnValueStoreUtil.stringToByteBuffer("a");
+        StaticBuffer end = KeyColumnValueStoreUtil.stringToByteBuffer("d");
+
+        EntryList entries = store.getSlice(new KeySliceQuery(key, start, end), tx);
+        EntryList columns = store.getSlice(new KeySliceQuery(key, start, end).setColumnsOnly(true), tx);
+        assertEquals(3, columns.size());
+        for (int i = 0; i < entries.size(); i++) {
+            assertEquals(entries.get(i).getColumn(), columns.get(i).getColumn());
+        }
+
+        if (manager.getFeatures().hasMultiQuery()) {
+            final List<StaticBuffer> keys = new ArrayList<>(100);
+            for (int i = 1; i <= 100; i++) {
+                keys.add(KeyColumnValueStoreUtil.longToByteBuffer(i));
+            }
+            Map<StaticBuffer,EntryList> results = store.getSlice(keys, new SliceQuery(start, end).setColumnsOnly(true), tx);
+            assertEquals(100, results.size());
+            for (List<Entry> result : results.values()) {
+                assertEquals(3, result.size());
+            }
+        }
+    }
+
     @Test
     @FeatureFlag(feature = JanusGraphFeature.UnorderedScan)
     public void testGetKeysWithSliceQuery(TestInfo testInfo) throws Exception {
@@ -981,6 +1015,35 @@ public abstract class KeyColumnValueStoreTest extends AbstractKCVSTest implement
         examineGetKeysResults(keyIterator, 0, 100);
     }
 
+    @Test
+    @FeatureFlag(feature = JanusGraphFeature.UnorderedScan)
+    public void testGetKeysWithSliceQueryInKeyRanges(TestInfo testInfo) throws Exception {
+        populateDBWith100Keys();
+
+        tx.commit();
+        tx = startTx();
+
+        List<KeyIterator> keyIterators = store.getKeys(
+                new SliceQuery(new ReadArrayBuffer("b".getBytes()),
+                        new ReadArrayBuffer("c".getBytes())), 4, tx);
+        assertFalse(keyIterators.isEmpty());
+        assertTrue(keyIterators.size() <= 4);
+
+        final Set<StaticBuffer> keys = new HashSet<>();
+        for (KeyIterator keyIterator : keyIterators) {
+            while (keyIterator.hasNext()) {
+                StaticBuffer key = keyIterator.next();
+                assertTrue(keys.add(key), "Key returned by more than one key range: " + key);
+                assertEquals(1, Iterators.size(keyIterator.getEntries()));
+            }
+            keyIterator.close();
+        }
+        for (int i = 1; i <= 100; i++) {
+            assertTrue(keys.contains(KeyColumnValueStoreUtil.longToByteBuffer(i)));
+        }
+        assertEquals(100, keys.size());
+    }
+
     @Test
     @FeatureFlag(feature = JanusGraphFeature.OrderedScan)
     public void testGetKeysWithKeyRange(TestInfo testInfo) throws Exception {
@@ -1169,8 +1232,36 @@ public abstract class KeyColumnValueStoreTest extends AbstractKCVSTest implement
         SimpleScanJob.runBasicTests(keys, columns, runner);
     }
 
+    @Test
+    public void scanTestWithSimpleJobInKeyRanges() throws Exception {
+        int keys = 1000, columns = 40;
+        String[][] values = KeyValueStoreUtil.generateData(keys, columns);
+        //Make it only half the number of columns for every 2nd key
+        for (int i = 0; i < values.length; i++) {
+            if (i%2==0) values[i]=Arrays.copyOf(values[i],columns/2);
+        }
+        loadValues(values);
+        clopen();
+
+        StandardScanner scanner = new StandardScanner(manager);
+        ModifiableConfiguration graphConf = GraphDatabaseConfiguration.buildGraphConfiguration();
+        graphConf.set(GraphDatabaseConfiguration.SCAN_SPLITS, 4);
+        SimpleScanJobRunner runner = (ScanJob job, Configuration jobConf, String rootNSName) -> {
+            StandardScanner.Builder jobBuilder = scanner.build();
+            jobBuilder.setGraphConfiguration(graphConf);
+            ScanMetrics metrics = runSimpleJob(jobBuilder, job, jobConf);
+            assertEquals(metrics.getCustom(ScanMetrics.KEY_RANGES), metrics.getCustom(ScanMetrics.KEY_RANGES_COMPLETED));
+            return metrics;
+        };
+
+        SimpleScanJob.runBasicTests(keys, columns, runner);
+    }
+
     private ScanMetrics runSimpleJob(StandardScanner scanner, ScanJob job, Configuration jobConf) throws BackendException, ExecutionException, InterruptedException {
-        StandardScanner.Builder jobBuilder = scanner.build();
+        return runSimpleJob(scanner.build(), job, jobConf);
+    }
+
+    private ScanMetrics runSimpleJob(StandardScanner.Builder jobBuilder, ScanJob job, Configuration jobConf) throws BackendException, ExecutionException, InterruptedException {
         jobBuilder.setStoreName(store.getName());
         jobBuilder.setJobConfiguration(jobConf);
         jobBuilder.setNumProcessingThreads(2);
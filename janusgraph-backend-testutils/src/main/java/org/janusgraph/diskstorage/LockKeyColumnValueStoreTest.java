@@ -123,6 +123,7 @@ public abstract class LockKeyColumnValueStoreTest extends AbstractKCVSTest {
             sc.set(GraphDatabaseConfiguration.UNIQUE_INSTANCE_ID,"inst"+i);
             sc.set(GraphDatabaseConfiguration.LOCK_RETRY,10);
             sc.set(GraphDatabaseConfiguration.LOCK_EXPIRE, Duration.ofMillis(EXPIRE_MS));
+            configureLocking(sc);
 
             manager[i] = openStorageManager(i, sc);
             StoreFeatures storeFeatures = manager[i].getFeatures();
@@ -143,6 +144,12 @@ public abstract class LockKeyColumnValueStoreTest extends AbstractKCVSTest {
         }
     }
 
+    /**
+     * Hook for subclasses to adjust the locking options of each store manager's configuration.
+     */
+    protected void configureLocking(ModifiableConfiguration config) {
+    }
+
     public StoreTransaction newTransaction(KeyColumnValueStoreManager manager) throws BackendException {
         StoreTransaction transaction = manager.beginTransaction(getTxConfig());
         if (!manager.getFeatures().hasLocking() && manager.getFeatures().isKeyConsistent()) {
@@ -269,6 +276,29 @@ public abstract class LockKeyColumnValueStoreTest extends AbstractKCVSTest {
         tx[0][0] = null;
     }
 
+    @Test
+    public void singleTransactionWithManyLocks() throws BackendException {
+        final int numLocks = 20;
+        for (int i = 0; i < numLocks; i++) {
+            store[0].acquireLock(KeyValueStoreUtil.getBuffer("key" + i), c1, null, tx[0][0]);
+        }
+        for (int i = 0; i < numLocks; i++) {
+            store[0].mutate(KeyValueStoreUtil.getBuffer("key" + i), Collections.singletonList(StaticArrayEntry.of(c1, v1)),
+                NO_DELETIONS, tx[0][0]);
+        }
+        tx[0][0].commit();
+
+        tx[0][0] = newTransaction(manager[0]);
+        for (int i = 0; i < numLocks; i++) {
+            assertEquals(v1, KCVSUtil.get(store[0], KeyValueStoreUtil.getBuffer("key" + i), c1, tx[0][0]));
+        }
+
+        // All locks have been released on commit
+        store[0].acquireLock(KeyValueStoreUtil.getBuffer("key0"), c1, v1, tx[0][1]);
+        store[0].mutate(KeyValueStoreUtil.getBuffer("key0"), Collections.singletonList(StaticArrayEntry.of(c1, v2)),
+            NO_DELETIONS, tx[0][1]);
+    }
+
     @Test
     public void twoLocalTransactionsWithIndependentLocks() throws BackendException {
         tryWrites(store[0], manager[0], tx[0][0], store[0], tx[0][1]);
@@ -289,9 +289,9 @@ public abstract class LogTest {
 
     /**
      * Test MessageReader implementation. Allows waiting until an expected number of messages have
-     * been read.
+     * been read, whether they are passed one by one or in batches.
      */
-    protected static class LatchMessageReader implements MessageReader {
+    protected static class LatchMessageReader implements BatchMessageReader {
         private final CountDownLatch latch;
 
         LatchMessageReader(int expectedMessageCount) {
@@ -309,6 +309,14 @@ public abstract class LogTest {
             latch.countDown();
         }
 
+        @Override
+        public final void read(List<Message> messages) {
+            assertFalse(messages.isEmpty());
+            for (Message message : messages) {
+                read(message);
+            }
+        }
+
         @Override
         public void updateState() {}
 
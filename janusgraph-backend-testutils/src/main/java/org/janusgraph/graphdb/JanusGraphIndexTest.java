@@ -14,6 +14,7 @@
 
 package org.janusgraph.graphdb;
 
+import com.codahale.metrics.Timer;
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.Iterables;
 import com.google.common.collect.Iterators;
@@ -46,6 +47,8 @@ import org.janusgraph.core.schema.JanusGraphManagement;
 import org.janusgraph.core.util.ManagementUtil;
 import org.janusgraph.diskstorage.Backend;
 import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.BackendTransaction;
+import org.janusgraph.diskstorage.TemporaryBackendException;
 import org.janusgraph.diskstorage.configuration.ConfigElement;
 import org.janusgraph.diskstorage.configuration.WriteConfiguration;
 import org.janusgraph.diskstorage.indexing.IndexFeatures;
@@ -66,6 +69,7 @@ import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
 import org.janusgraph.graphdb.types.ParameterType;
 import org.janusgraph.graphdb.types.StandardEdgeLabelMaker;
 import org.janusgraph.testutil.TestGraphConfigs;
+import org.janusgraph.util.stats.MetricManager;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
@@ -79,9 +83,11 @@ import org.apache.tinkerpop.gremlin.structure.VertexProperty;
 import org.junit.jupiter.api.Tag;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.TestInfo;
+import org.mockito.Mockito;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.lang.reflect.Field;
 import java.time.Duration;
 import java.time.Instant;
 import java.time.temporal.ChronoUnit;
@@ -1326,6 +1332,59 @@ public abstract class JanusGraphIndexTest extends JanusGraphBaseTest {
 
     }
 
+    @Test
+    public void testParallelCommit() {
+        clopen(option(PARALLEL_COMMIT), true, option(SYSTEM_LOG_TRANSACTIONS), true, option(BASIC_METRICS), true);
+        final PropertyKey name = makeKey("name", String.class);
+        makeLabel("knows");
+        mgmt.buildIndex("namev", Vertex.class).addKey(name).buildMixedIndex(INDEX);
+        mgmt.buildIndex("namee", Edge.class).addKey(name).buildMixedIndex(INDEX);
+        finishSchema();
+
+        final Timer storageCommits = MetricManager.INSTANCE.getTimer(METRICS_PREFIX_DEFAULT, BackendTransaction.METRICS_TX,
+                BackendTransaction.METRICS_COMMIT, BackendTransaction.METRICS_STORAGE);
+        final Timer indexCommits = MetricManager.INSTANCE.getTimer(METRICS_PREFIX_DEFAULT, BackendTransaction.METRICS_TX,
+                BackendTransaction.METRICS_COMMIT, BackendTransaction.METRICS_INDEX + "." + INDEX);
+        final long numStorageCommits = storageCommits.getCount();
+        final long numIndexCommits = indexCommits.getCount();
+
+        JanusGraphVertex v = tx.addVertex("name", "Marko Rodriguez");
+        v.addEdge("knows", v, "name", "Hulu Bubab");
+        newTx();
+        assertCount(1, tx.query().has("name", Text.CONTAINS, "marko").vertices());
+        assertCount(1, tx.query().has("name", Text.CONTAINS, "Hulu").edges());
+        v = getOnlyVertex(tx.query().has("name", Text.CONTAINS, "marko"));
+        v.property(VertexProperty.Cardinality.single, "name", "Marko");
+        newTx();
+        assertCount(1, tx.query().has("name", Text.CONTAINS, "marko").vertices());
+        assertCount(0, tx.query().has("name", Text.CONTAINS, "Rodriguez").vertices());
+
+        assertTrue(storageCommits.getCount() >= numStorageCommits + 2);
+        assertTrue(indexCommits.getCount() >= numIndexCommits + 2);
+    }
+
+    @Test
+    public void testParallelCommitWithFailedStorageCommit() throws Exception {
+        clopen(option(PARALLEL_COMMIT), true, option(SYSTEM_LOG_TRANSACTIONS), true);
+        final PropertyKey name = makeKey("name", String.class);
+        mgmt.buildIndex("namev", Vertex.class).addKey(name).buildMixedIndex(INDEX);
+        finishSchema();
+
+        tx.addVertex("name", "Marko Rodriguez");
+        //Let the storage commit of this transaction fail
+        final Field txHandle = StandardJanusGraphTx.class.getDeclaredField("txHandle");
+        txHandle.setAccessible(true);
+        final BackendTransaction mutator = Mockito.spy((BackendTransaction) txHandle.get(tx));
+        Mockito.doThrow(new TemporaryBackendException("Blocked storage commit")).when(mutator).commitStorage();
+        txHandle.set(tx, mutator);
+        assertThrows(JanusGraphException.class, () -> tx.commit());
+
+        //The mixed index must not contain documents of a transaction which failed to persist in the storage backend
+        newTx();
+        assertEquals(0, (long) graph.indexQuery("namev", "v.\"name\":marko").vertexTotals());
+        assertCount(0, tx.query().has("name", Text.CONTAINS, "marko").vertices());
+    }
+
     @Tag(TestCategory.BRITTLE_TESTS)
     @Test
     public void testIndexReplay() throws Exception {
@@ -67,9 +67,11 @@ import java.util.stream.StreamSupport;
 import org.apache.tinkerpop.gremlin.process.traversal.P;
 import org.apache.tinkerpop.gremlin.process.traversal.TextP;
 import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversal;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.GraphTraversalSource;
 import org.apache.tinkerpop.gremlin.process.traversal.dsl.graph.__;
 import org.apache.tinkerpop.gremlin.process.traversal.util.Metrics;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
 import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalMetrics;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Edge;
@@ -133,6 +135,7 @@ import org.janusgraph.example.GraphOfTheGodsFactory;
 import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 import org.janusgraph.graphdb.database.EdgeSerializer;
 import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.database.cache.SnapshotSchemaCache;
 import org.janusgraph.graphdb.database.log.LogTxMeta;
 import org.janusgraph.graphdb.database.log.LogTxStatus;
 import org.janusgraph.graphdb.database.log.TransactionLogHeader;
@@ -159,6 +162,7 @@ import org.janusgraph.graphdb.schema.SchemaContainer;
 import org.janusgraph.graphdb.schema.VertexLabelDefinition;
 import org.janusgraph.graphdb.serializer.SpecialInt;
 import org.janusgraph.graphdb.serializer.SpecialIntSerializer;
+import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphVertexStep;
 import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
 import org.janusgraph.graphdb.types.StandardEdgeLabelMaker;
 import org.janusgraph.graphdb.types.StandardPropertyKeyMaker;
@@ -4448,6 +4452,189 @@ public abstract class JanusGraphTest extends JanusGraphBaseTest {
         assertTrue(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIQUERY_ANNOTATION));
     }
 
+    @Test
+    public void testPipelinedMultiQuery() {
+        clopen(option(USE_MULTIQUERY), true, option(BATCH_PIPELINE), true, option(BATCH_PIPELINE_SIZE), 64,
+            option(BATCH_PIPELINE_TARGET_LATENCY), Duration.ofSeconds(1));
+        int numRoots = 3, numChildren = 40, numGrandChildren = 5;
+        for (int i = 0; i < numRoots; i++) {
+            JanusGraphVertex root = graph.addVertex("name", "root");
+            for (int j = 0; j < numChildren; j++) {
+                JanusGraphVertex child = graph.addVertex("name", "child");
+                root.addEdge("knows", child, "weight", j % 5);
+                for (int k = 0; k < numGrandChildren; k++) {
+                    child.addEdge("knows", graph.addVertex("name", "grandchild"));
+                }
+            }
+        }
+        newTx();
+
+        GraphTraversalSource gts = graph.traversal();
+        assertCount(numRoots * numChildren * numGrandChildren, gts.V().has("name", "root").outE("knows").inV().outE("knows"));
+        assertCount(numRoots * numChildren / 5, gts.V().has("name", "root").outE("knows").has("weight", 0).inV());
+        assertCount(numRoots * numChildren, gts.V().has("name", "root").out("knows").out("knows").in("knows").dedup());
+        assertCount(numRoots * numChildren * numGrandChildren, gts.V().has("name", "root").repeat(__.out("knows")).times(2));
+
+        //Chunks of the second step grow up to the maximal chunk size and only the results of one chunk are retained
+        GraphTraversal<Vertex, Vertex> t = gts.V().has("name", "root").out("knows").out("knows");
+        assertCount(numRoots * numChildren * numGrandChildren, t);
+        List<JanusGraphVertexStep> steps = TraversalHelper.getStepsOfAssignableClassRecursively(JanusGraphVertexStep.class, t.asAdmin());
+        assertEquals(2, steps.size());
+        assertEquals(64, steps.get(1).getChunkSize());
+        assertTrue(steps.get(1).getNumMultiQueryResults() <= 64);
+
+        //Starts drip fed by the filter are loaded together with chunks of the cached starts of the parent
+        t = gts.V().has("name", "root").out("knows").filter(__.out("knows"));
+        assertCount(numRoots * numChildren, t);
+        steps = TraversalHelper.getStepsOfAssignableClassRecursively(JanusGraphVertexStep.class, t.asAdmin());
+        assertEquals(2, steps.size());
+        for (JanusGraphVertexStep step : steps) {
+            assertTrue(step.getNumMultiQueryResults() <= 64);
+        }
+        assertEquals(64, steps.get(1).getChunkSize());
+    }
+
+    @Test
+    public void testAdjacentVertexProjection() {
+        clopen(option(ADJACENT_VERTEX_PROJECTION), true, option(USE_MULTIQUERY), true);
+        mgmt.makePropertyKey("since").dataType(Integer.class).make();
+        mgmt.makeEdgeLabel("follows").multiplicity(Multiplicity.MULTI).make();
+        finishSchema();
+        int numFollowed = 10;
+        JanusGraphVertex v = tx.addVertex("name", "root");
+        for (int i = 0; i < numFollowed; i++) {
+            v.addEdge("follows", tx.addVertex("name", "followed"), "since", i);
+        }
+        newTx();
+
+        //Adjacent vertices are retrieved without the edge values, the edges are still complete afterwards
+        v = getV(tx, v);
+        assertCount(numFollowed, v.query().direction(OUT).labels("follows").vertices());
+        assertEquals(numFollowed, v.query().direction(OUT).labels("follows").vertexIds().size());
+        assertCount(1, v.query().direction(OUT).labels("follows").has("since", 3).vertices());
+        int sum = 0;
+        for (JanusGraphEdge e : v.query().direction(OUT).labels("follows").edges()) {
+            sum += e.<Integer>value("since");
+        }
+        assertEquals(numFollowed * (numFollowed - 1) / 2, sum);
+        newTx();
+
+        GraphTraversalSource gts = graph.traversal();
+        assertCount(numFollowed, gts.V().has("name", "root").out("follows"));
+        assertCount(numFollowed, gts.V().has("name", "followed").in("follows").out("follows").dedup());
+        assertEquals(numFollowed * (numFollowed - 1) / 2,
+            gts.V().has("name", "root").outE("follows").values("since").sum().next().intValue());
+    }
+
+    @Test
+    public void testSnapshotSchemaCache() {
+        clopen(option(SCHEMA_CACHE_TYPE), SnapshotSchemaCache.NAME);
+        PropertyKey weight = mgmt.makePropertyKey("weight").dataType(Double.class).make();
+        mgmt.makeEdgeLabel("knows").multiplicity(Multiplicity.MULTI).make();
+        mgmt.makeVertexLabel("people").make();
+        mgmt.buildIndex("byWeight", Vertex.class).addKey(weight).buildCompositeIndex();
+        finishSchema();
+
+        //Schema is loaded in bulk when the graph is reopened
+        clopen(option(SCHEMA_CACHE_TYPE), SnapshotSchemaCache.NAME);
+        JanusGraphVertex v = tx.addVertex(T.label, "people", "weight", 1.5);
+        v.addEdge("knows", v);
+        newTx();
+        v = Iterables.getOnlyElement(tx.query().has("weight", 1.5).vertices());
+        assertEquals("people", v.label());
+        assertCount(1, v.query().direction(Direction.OUT).labels("knows").edges());
+        newTx();
+
+        //Schema elements created after loading are added to the snapshot
+        mgmt.makePropertyKey("age").dataType(Integer.class).make();
+        finishSchema();
+        getV(tx, v).property("age", 20);
+        newTx();
+        assertEquals(20, getV(tx, v).<Integer>value("age").intValue());
+        newTx();
+
+        //Expired schema elements are refreshed
+        mgmt.changeName(mgmt.getEdgeLabel("knows"), "know");
+        mgmt.changeName(mgmt.getVertexLabel("people"), "person");
+        finishSchema();
+        assertTrue(mgmt.containsRelationType("know"));
+        assertFalse(mgmt.containsRelationType("knows"));
+        assertFalse(mgmt.containsVertexLabel("people"));
+        v = getV(tx, v);
+        assertEquals("person", v.label());
+        assertCount(1, v.query().direction(Direction.OUT).labels("know").edges());
+        assertCount(0, v.query().direction(Direction.OUT).labels("knows").edges());
+    }
+
+    @Test
+    public void testParallelPrepareCommit() {
+        clopen(option(PARALLEL_PREPARE_THRESHOLD), 10);
+        PropertyKey uid = mgmt.makePropertyKey("uid").dataType(Integer.class).make();
+        PropertyKey weight = mgmt.makePropertyKey("weight").dataType(Integer.class).make();
+        EdgeLabel follows = mgmt.makeEdgeLabel("follows").multiplicity(Multiplicity.MULTI).make();
+        mgmt.buildIndex("byUid", Vertex.class).addKey(uid).unique().buildCompositeIndex();
+        mgmt.buildEdgeIndex(follows, "followsByWeight", Direction.BOTH, desc, weight);
+        mgmt.buildIndex("edgesByWeight", Edge.class).addKey(weight).buildCompositeIndex();
+        finishSchema();
+
+        int numVertices = 500;
+        JanusGraphVertex[] vertices = new JanusGraphVertex[numVertices];
+        for (int i = 0; i < numVertices; i++) {
+            vertices[i] = tx.addVertex("uid", i);
+        }
+        for (int i = 0; i < numVertices; i++) {
+            vertices[i].addEdge("follows", vertices[(i + 1) % numVertices], "weight", i);
+        }
+        newTx();
+
+        for (int i = 0; i < numVertices; i++) {
+            JanusGraphVertex v = getOnlyVertex(tx.query().has("uid", i));
+            assertCount(1, v.query().direction(OUT).labels("follows").edges());
+            assertCount(1, v.query().direction(IN).labels("follows").edges());
+            assertCount(1, v.query().direction(OUT).labels("follows").has("weight", i).edges());
+            assertCount(1, tx.query().has("weight", i).edges());
+        }
+        //Remove every other vertex together with its edges and properties
+        for (int i = 0; i < numVertices; i += 2) {
+            getOnlyVertex(tx.query().has("uid", i)).remove();
+        }
+        newTx();
+
+        for (int i = 0; i < numVertices; i++) {
+            assertCount(i % 2, tx.query().has("uid", i).vertices());
+            //Every edge is adjacent to a removed vertex
+            assertCount(0, tx.query().has("weight", i).edges());
+        }
+        for (int i = 1; i < numVertices; i += 2) {
+            JanusGraphVertex v = getOnlyVertex(tx.query().has("uid", i));
+            assertCount(0, v.query().direction(BOTH).labels("follows").edges());
+        }
+    }
+
+    @Test
+    public void testBatchPropertyPrefetchSize() {
+        clopen(option(USE_MULTIQUERY), true, option(BATCH_PROPERTY_PREFETCHING), true, option(BATCH_PROPERTY_PREFETCH_SIZE), 10);
+        int numVertices = 45;
+        JanusGraphVertex root = graph.addVertex("name", "root");
+        for (int i = 0; i < numVertices; i++) {
+            root.addEdge("knows", graph.addVertex("name", "v" + i));
+        }
+        newTx();
+
+        //The properties of the adjacent vertices are loaded with one backend call per batch of 10 vertices
+        Traversal t = graph.traversal().V(root.id()).out("knows").valueMap("name").profile("~metrics");
+        assertCount(numVertices, t);
+        TraversalMetrics metrics = t.asAdmin().getSideEffects().get("~metrics");
+        int backendCalls = 0;
+        for (Metrics metric : metrics.getMetrics()) {
+            if (!metric.getName().startsWith("JanusGraphPropertyPrefetchStep")) continue;
+            for (Metrics nested : metric.getNested()) {
+                if (nested.getName().equals("backend-query")) backendCalls++;
+            }
+        }
+        assertEquals(5, backendCalls);
+    }
+
     private static void verifyMetrics(Metrics metric, boolean fromCache, boolean multiQuery) {
         assertTrue(metric.getDuration(TimeUnit.MICROSECONDS) > 0);
         assertTrue(metric.getCount(TraversalMetrics.ELEMENT_COUNT_ID) > 0);
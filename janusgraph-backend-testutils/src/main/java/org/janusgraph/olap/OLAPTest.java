@@ -21,9 +21,12 @@ import org.janusgraph.core.JanusGraphVertex;
 import org.janusgraph.core.Multiplicity;
 import org.janusgraph.core.PropertyKey;
 import org.janusgraph.core.Transaction;
+import org.janusgraph.diskstorage.configuration.MergedConfiguration;
+import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanJob;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanMetrics;
 import org.janusgraph.graphdb.JanusGraphBaseTest;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 import org.janusgraph.graphdb.olap.QueryContainer;
 import org.janusgraph.graphdb.olap.VertexJobConverter;
 import org.janusgraph.graphdb.olap.VertexScanJob;
@@ -74,6 +77,7 @@ import java.util.Random;
 import java.util.Set;
 import java.util.concurrent.ExecutionException;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 
 import static org.janusgraph.testutil.JanusGraphAssert.assertCount;
 import static org.junit.jupiter.api.Assertions.assertEquals;
@@ -588,6 +592,38 @@ public abstract class OLAPTest extends JanusGraphBaseTest {
 
     @Test
     public void testPageRank() throws ExecutionException, InterruptedException {
+        testPageRank(() -> graph.compute());
+    }
+
+    @Test
+    public void testPageRankWithTopologySnapshot() throws ExecutionException, InterruptedException {
+        testPageRank(() -> topologySnapshotComputer(false));
+    }
+
+    @Test
+    public void testPageRankWithOffHeapTopologySnapshot() throws ExecutionException, InterruptedException {
+        testPageRank(() -> topologySnapshotComputer(true));
+    }
+
+    @Test
+    public void testPageRankWithColumnarVertexMemory() throws ExecutionException, InterruptedException {
+        testPageRank(this::columnarVertexMemoryComputer);
+    }
+
+    private JanusGraphComputer topologySnapshotComputer(boolean offHeap) {
+        ModifiableConfiguration config = GraphDatabaseConfiguration.buildGraphConfiguration();
+        config.set(GraphDatabaseConfiguration.COMPUTER_TOPOLOGY_SNAPSHOT, true);
+        config.set(GraphDatabaseConfiguration.COMPUTER_TOPOLOGY_SNAPSHOT_OFF_HEAP, offHeap);
+        return new FulgoraGraphComputer(graph, new MergedConfiguration(config, graph.getConfiguration().getConfiguration()));
+    }
+
+    private JanusGraphComputer columnarVertexMemoryComputer() {
+        ModifiableConfiguration config = GraphDatabaseConfiguration.buildGraphConfiguration();
+        config.set(GraphDatabaseConfiguration.COMPUTER_COLUMNAR_VERTEX_MEMORY, true);
+        return new FulgoraGraphComputer(graph, new MergedConfiguration(config, graph.getConfiguration().getConfiguration()));
+    }
+
+    private void testPageRank(Supplier<JanusGraphComputer> computerSupplier) throws ExecutionException, InterruptedException {
         mgmt.makePropertyKey("distance").dataType(Integer.class).cardinality(Cardinality.SINGLE).make();
         mgmt.makeEdgeLabel("knows").multiplicity(Multiplicity.MULTI).make();
         mgmt.makeEdgeLabel("likes").multiplicity(Multiplicity.MULTI).make();
@@ -617,7 +653,7 @@ public abstract class OLAPTest extends JanusGraphBaseTest {
             correctPRSum += correctPR[janusGraphVertex.<Integer>value("distance")];
         }
 
-        final JanusGraphComputer computer = graph.compute();
+        final JanusGraphComputer computer = computerSupplier.get();
         computer.resultMode(JanusGraphComputer.ResultMode.NONE);
         computer.workers(4);
         computer.program(PageRankVertexProgram.build().iterations(10).vertexCount(numV).dampingFactor(alpha).create(graph));
@@ -656,6 +692,20 @@ public abstract class OLAPTest extends JanusGraphBaseTest {
 
     @Test
     public void testShortestDistance() throws Exception {
+        testShortestDistance(() -> graph.compute());
+    }
+
+    @Test
+    public void testShortestDistanceWithTopologySnapshot() throws Exception {
+        testShortestDistance(() -> topologySnapshotComputer(false));
+    }
+
+    @Test
+    public void testShortestDistanceWithColumnarVertexMemory() throws Exception {
+        testShortestDistance(this::columnarVertexMemoryComputer);
+    }
+
+    private void testShortestDistance(Supplier<JanusGraphComputer> computerSupplier) throws Exception {
         PropertyKey distance = mgmt.makePropertyKey("distance").dataType(Integer.class).cardinality(Cardinality.SINGLE).make();
         mgmt.makeEdgeLabel("connect").signature(distance).multiplicity(Multiplicity.MULTI).make();
         finishSchema();
@@ -674,7 +724,7 @@ public abstract class OLAPTest extends JanusGraphBaseTest {
 
         clopen();
 
-        final JanusGraphComputer computer = graph.compute();
+        final JanusGraphComputer computer = computerSupplier.get();
         computer.resultMode(JanusGraphComputer.ResultMode.NONE);
         computer.workers(4);
         computer.program(ShortestDistanceVertexProgram.build().seed((long)vertex.id()).maxDepth(maxDepth + 4).create(graph));
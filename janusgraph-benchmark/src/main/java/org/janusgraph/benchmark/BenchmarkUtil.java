@@ -0,0 +1,79 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.benchmark;
+
+import org.janusgraph.core.JanusGraphFactory;
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.Entry;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+import org.janusgraph.diskstorage.util.BufferUtil;
+import org.janusgraph.diskstorage.util.StaticArrayBuffer;
+import org.janusgraph.diskstorage.util.StaticArrayEntry;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Random;
+
+/**
+ * Shared fixtures of the benchmarks.
+ */
+public class BenchmarkUtil {
+
+    private BenchmarkUtil() {
+    }
+
+    /**
+     * @return a graph on the in-memory storage backend
+     */
+    public static StandardJanusGraph openInMemoryGraph() {
+        return (StandardJanusGraph) JanusGraphFactory.build()
+            .set("storage.backend", "inmemory")
+            .open();
+    }
+
+    /**
+     * @return column sorted entries with 8 byte long columns and random values of the given size
+     */
+    public static List<Entry> getEntries(int numEntries, int valueSize) {
+        final Random random = new Random(numEntries);
+        final List<Entry> entries = new ArrayList<>(numEntries);
+        for (int i = 0; i < numEntries; i++) {
+            final byte[] value = new byte[valueSize];
+            random.nextBytes(value);
+            entries.add(StaticArrayEntry.of(BufferUtil.getLongBuffer(i), StaticArrayBuffer.of(value)));
+        }
+        return entries;
+    }
+
+    /**
+     * Writes the given number of rows, each with the given entries, into the store.
+     *
+     * @return the keys of the rows
+     */
+    public static List<StaticBuffer> loadStore(KeyColumnValueStore store, StoreTransaction txh, int numKeys,
+                                               List<Entry> entries) throws BackendException {
+        final List<StaticBuffer> keys = new ArrayList<>(numKeys);
+        for (int i = 0; i < numKeys; i++) {
+            final StaticBuffer key = BufferUtil.getLongBuffer(i);
+            store.mutate(key, entries, Collections.emptyList(), txh);
+            keys.add(key);
+        }
+        return keys;
+    }
+}
@@ -0,0 +1,118 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.benchmark;
+
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.JanusGraphVertex;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.janusgraph.diskstorage.Entry;
+import org.janusgraph.graphdb.database.EdgeSerializer;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.internal.InternalRelation;
+import org.janusgraph.graphdb.relations.RelationCache;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link EdgeSerializer#writeRelation(InternalRelation, int, org.janusgraph.graphdb.types.TypeInspector)}
+ * and {@link EdgeSerializer#parseRelation(Entry, boolean, org.janusgraph.graphdb.types.TypeInspector)} for an
+ * edge with properties and for a vertex property.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class EdgeSerializerBenchmark {
+
+    private StandardJanusGraph graph;
+    private StandardJanusGraphTx tx;
+    private EdgeSerializer serializer;
+    private InternalRelation edge;
+    private InternalRelation property;
+    private Entry edgeEntry;
+    private Entry propertyEntry;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkUtil.openInMemoryGraph();
+        final JanusGraphManagement management = graph.openManagement();
+        management.makeEdgeLabel("knows").make();
+        management.makePropertyKey("name").dataType(String.class).make();
+        management.makePropertyKey("since").dataType(Long.class).make();
+        management.makePropertyKey("weight").dataType(Double.class).make();
+        management.commit();
+
+        final JanusGraphTransaction writeTx = graph.newTransaction();
+        final JanusGraphVertex v1 = writeTx.addVertex("name", "marko");
+        final JanusGraphVertex v2 = writeTx.addVertex("name", "vadas");
+        v1.addEdge("knows", v2, "since", 2009L, "weight", 0.5d);
+        writeTx.commit();
+
+        tx = (StandardJanusGraphTx) graph.newTransaction();
+        final Vertex v = tx.traversal().V().has("name", "marko").next();
+        edge = (InternalRelation) v.edges(Direction.OUT, "knows").next();
+        property = (InternalRelation) v.property("name");
+        serializer = graph.getEdgeSerializer();
+        edgeEntry = writeEdge();
+        propertyEntry = writeProperty();
+    }
+
+    @TearDown
+    public void tearDown() {
+        tx.rollback();
+        graph.close();
+    }
+
+    @Benchmark
+    public Entry writeEdge() {
+        return serializer.writeRelation(edge, 0, tx);
+    }
+
+    @Benchmark
+    public RelationCache parseEdge() {
+        return serializer.parseRelation(edgeEntry, false, tx);
+    }
+
+    @Benchmark
+    public RelationCache parseEdgeExcludingProperties() {
+        return serializer.parseRelation(edgeEntry, true, tx);
+    }
+
+    @Benchmark
+    public Entry writeProperty() {
+        return serializer.writeRelation(property, 0, tx);
+    }
+
+    @Benchmark
+    public RelationCache parseProperty() {
+        return serializer.parseRelation(propertyEntry, false, tx);
+    }
+}
@@ -0,0 +1,113 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.benchmark;
+
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.inmemory.InMemoryStoreManager;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.CacheTransaction;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.ExpirationKCVSCache;
+import org.janusgraph.diskstorage.util.BufferUtil;
+import org.janusgraph.diskstorage.util.StandardBaseTransactionConfig;
+import org.janusgraph.diskstorage.util.time.TimestampProviders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.time.Duration;
+import java.util.List;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures {@link ExpirationKCVSCache#getSlice(KeySliceQuery, StoreTransaction)} for a working set which
+ * fits into the cache, i.e. the cost of a cache hit, and for a working set which does not.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class ExpirationCacheBenchmark {
+
+    private static final int NUM_KEYS = 10000;
+    private static final int NUM_COLUMNS = 20;
+    private static final int VALUE_SIZE = 16;
+
+    /**
+     * The number of distinct rows which are read.
+     */
+    @Param({"100", "10000"})
+    public int workingSet;
+
+    /**
+     * The size of the cache in bytes.
+     */
+    @Param({"1048576"})
+    public long cacheSize;
+
+    private InMemoryStoreManager manager;
+    private ExpirationKCVSCache cache;
+    private CacheTransaction txh;
+    private List<StaticBuffer> keys;
+    private SliceQuery slice;
+
+    @Setup(Level.Trial)
+    public void setup() throws BackendException {
+        manager = new InMemoryStoreManager();
+        final StoreTransaction storeTx = manager.beginTransaction(StandardBaseTransactionConfig.of(TimestampProviders.MICRO));
+        final KeyColumnValueStore store = manager.openDatabase("benchmark");
+        keys = BenchmarkUtil.loadStore(store, storeTx, NUM_KEYS, BenchmarkUtil.getEntries(NUM_COLUMNS, VALUE_SIZE));
+        cache = new ExpirationKCVSCache(store, "benchmark", Duration.ofDays(1).toMillis(), 0, cacheSize);
+        txh = new CacheTransaction(storeTx, manager, 1024, Duration.ofMillis(100), false);
+        slice = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(9));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws BackendException {
+        txh.commit();
+        cache.close();
+        manager.close();
+    }
+
+    @Benchmark
+    @Threads(1)
+    public EntryList getSlice() throws BackendException {
+        return cache.getSlice(new KeySliceQuery(keys.get(ThreadLocalRandom.current().nextInt(workingSet)), slice), txh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public EntryList getSliceConcurrently() throws BackendException {
+        return cache.getSlice(new KeySliceQuery(keys.get(ThreadLocalRandom.current().nextInt(workingSet)), slice), txh);
+    }
+}
@@ -0,0 +1,117 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.benchmark;
+
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.inmemory.InMemoryStoreManager;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+import org.janusgraph.diskstorage.util.BufferUtil;
+import org.janusgraph.diskstorage.util.StandardBaseTransactionConfig;
+import org.janusgraph.diskstorage.util.time.TimestampProviders;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Threads;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures slicing rows of the in-memory storage backend, which bounds the throughput of all graph
+ * benchmarks running on that backend.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class InMemoryStoreBenchmark {
+
+    private static final int NUM_KEYS = 1000;
+    private static final int VALUE_SIZE = 16;
+
+    @Param({"10", "1000"})
+    public int numColumns;
+
+    private InMemoryStoreManager manager;
+    private KeyColumnValueStore store;
+    private StoreTransaction txh;
+    private List<StaticBuffer> keys;
+    private SliceQuery fullSlice;
+    private SliceQuery partialSlice;
+
+    @Setup(Level.Trial)
+    public void setup() throws BackendException {
+        manager = new InMemoryStoreManager();
+        store = manager.openDatabase("benchmark");
+        txh = manager.beginTransaction(StandardBaseTransactionConfig.of(TimestampProviders.MICRO));
+        keys = BenchmarkUtil.loadStore(store, txh, NUM_KEYS, BenchmarkUtil.getEntries(numColumns, VALUE_SIZE));
+        fullSlice = new SliceQuery(BufferUtil.zeroBuffer(1), BufferUtil.oneBuffer(9));
+        partialSlice = new SliceQuery(BufferUtil.getLongBuffer(numColumns / 4), BufferUtil.getLongBuffer(numColumns / 4 + 5));
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws BackendException {
+        txh.commit();
+        manager.close();
+    }
+
+    private StaticBuffer randomKey() {
+        return keys.get(ThreadLocalRandom.current().nextInt(keys.size()));
+    }
+
+    @Benchmark
+    @Threads(1)
+    public EntryList getFullSlice() throws BackendException {
+        return store.getSlice(new KeySliceQuery(randomKey(), fullSlice), txh);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public EntryList getPartialSlice() throws BackendException {
+        return store.getSlice(new KeySliceQuery(randomKey(), partialSlice), txh);
+    }
+
+    @Benchmark
+    @Threads(4)
+    public EntryList getPartialSliceConcurrently() throws BackendException {
+        return store.getSlice(new KeySliceQuery(randomKey(), partialSlice), txh);
+    }
+
+    @Benchmark
+    @Threads(1)
+    public Map<StaticBuffer, EntryList> getMultiKeySlice() throws BackendException {
+        final int offset = ThreadLocalRandom.current().nextInt(keys.size() - 50);
+        return store.getSlice(keys.subList(offset, offset + 50), partialSlice, txh);
+    }
+}
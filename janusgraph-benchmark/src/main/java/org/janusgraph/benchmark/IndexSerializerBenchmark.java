@@ -0,0 +1,103 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.benchmark;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.PropertyKey;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.janusgraph.graphdb.database.IndexSerializer;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.internal.InternalRelation;
+import org.janusgraph.graphdb.internal.InternalRelationType;
+import org.janusgraph.graphdb.internal.InternalVertex;
+import org.janusgraph.graphdb.query.graph.MultiKeySliceQuery;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+import org.janusgraph.graphdb.types.CompositeIndexType;
+import org.janusgraph.graphdb.types.IndexType;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures the construction of composite index keys, both for the index updates of a new vertex and for
+ * index queries.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class IndexSerializerBenchmark {
+
+    private StandardJanusGraph graph;
+    private StandardJanusGraphTx tx;
+    private IndexSerializer serializer;
+    private InternalVertex vertex;
+    private List<InternalRelation> properties;
+    private CompositeIndexType index;
+    private List<Object[]> values;
+
+    @Setup
+    public void setup() {
+        graph = BenchmarkUtil.openInMemoryGraph();
+        final JanusGraphManagement management = graph.openManagement();
+        final PropertyKey name = management.makePropertyKey("name").dataType(String.class).make();
+        final PropertyKey age = management.makePropertyKey("age").dataType(Integer.class).make();
+        management.buildIndex("byName", Vertex.class).addKey(name).buildCompositeIndex();
+        management.buildIndex("byNameAndAge", Vertex.class).addKey(name).addKey(age).buildCompositeIndex();
+        management.commit();
+
+        tx = (StandardJanusGraphTx) graph.newTransaction();
+        vertex = (InternalVertex) tx.addVertex("name", "marko", "age", 29);
+        properties = new ArrayList<>();
+        vertex.properties().forEachRemaining(p -> properties.add((InternalRelation) p));
+        serializer = graph.getIndexSerializer();
+        for (final IndexType indexType : ((InternalRelationType) tx.getPropertyKey("age")).getKeyIndexes()) {
+            index = (CompositeIndexType) indexType;
+        }
+        values = Collections.singletonList(new Object[]{"marko", 29});
+    }
+
+    @TearDown
+    public void tearDown() {
+        tx.rollback();
+        graph.close();
+    }
+
+    @Benchmark
+    public Collection<IndexSerializer.IndexUpdate> getIndexUpdates() {
+        return serializer.getIndexUpdates(vertex, properties);
+    }
+
+    @Benchmark
+    public MultiKeySliceQuery getQuery() {
+        return serializer.getQuery(index, values);
+    }
+}
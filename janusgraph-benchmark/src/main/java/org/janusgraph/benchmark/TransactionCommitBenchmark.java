@@ -0,0 +1,100 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.benchmark;
+
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.JanusGraphVertex;
+import org.janusgraph.core.PropertyKey;
+import org.janusgraph.core.schema.JanusGraphManagement;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Measures the full commit path of a {@link org.janusgraph.graphdb.transaction.StandardJanusGraphTx}:
+ * id assignment, relation and index serialization and the storage mutations, for transactions adding
+ * vertices with indexed properties and edges between them.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class TransactionCommitBenchmark {
+
+    /**
+     * The number of vertices added by each transaction.
+     */
+    @Param({"1", "100"})
+    public int numVertices;
+
+    private StandardJanusGraph graph;
+    private final AtomicLong counter = new AtomicLong();
+
+    @Setup(Level.Trial)
+    public void setup() {
+        graph = BenchmarkUtil.openInMemoryGraph();
+        final JanusGraphManagement management = graph.openManagement();
+        final PropertyKey uid = management.makePropertyKey("uid").dataType(Long.class).make();
+        management.makePropertyKey("name").dataType(String.class).make();
+        management.makeEdgeLabel("knows").make();
+        management.buildIndex("byUid", Vertex.class).addKey(uid).buildCompositeIndex();
+        management.commit();
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() {
+        graph.close();
+    }
+
+    @Benchmark
+    public void commitVertices() {
+        final JanusGraphTransaction tx = graph.newTransaction();
+        for (int i = 0; i < numVertices; i++) {
+            tx.addVertex("uid", counter.incrementAndGet(), "name", "v" + i);
+        }
+        tx.commit();
+    }
+
+    @Benchmark
+    public void commitVerticesAndEdges() {
+        final JanusGraphTransaction tx = graph.newTransaction();
+        JanusGraphVertex previous = null;
+        for (int i = 0; i < numVertices; i++) {
+            final JanusGraphVertex vertex = tx.addVertex("uid", counter.incrementAndGet(), "name", "v" + i);
+            if (previous != null) {
+                previous.addEdge("knows", vertex);
+            }
+            previous = vertex;
+        }
+        tx.commit();
+    }
+}
@@ -0,0 +1,106 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+
+package org.janusgraph.benchmark;
+
+import org.janusgraph.diskstorage.ReadBuffer;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.util.WriteByteBuffer;
+import org.janusgraph.graphdb.database.idhandling.VariableLong;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+import org.openjdk.jmh.infra.Blackhole;
+
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * Measures writing and reading a batch of variable length encoded longs, which are used for ids and
+ * relation headers throughout the serialization layer.
+ */
+@State(Scope.Thread)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@Warmup(iterations = 5, time = 1)
+@Measurement(iterations = 5, time = 1)
+@Fork(1)
+public class VariableLongBenchmark {
+
+    private static final int NUM_VALUES = 1000;
+
+    /**
+     * The maximum number of bits of the encoded values.
+     */
+    @Param({"7", "28", "63"})
+    public int bits;
+
+    private long[] values;
+    private StaticBuffer positiveEncoded;
+    private StaticBuffer signedEncoded;
+
+    @Setup
+    public void setup() {
+        final Random random = new Random(42);
+        values = new long[NUM_VALUES];
+        for (int i = 0; i < NUM_VALUES; i++) {
+            values[i] = random.nextLong() >>> (64 - bits);
+        }
+        positiveEncoded = writePositive();
+        signedEncoded = write();
+    }
+
+    @Benchmark
+    public StaticBuffer writePositive() {
+        final WriteByteBuffer out = new WriteByteBuffer(NUM_VALUES * 9);
+        for (final long value : values) {
+            VariableLong.writePositive(out, value);
+        }
+        return out.getStaticBuffer();
+    }
+
+    @Benchmark
+    public void readPositive(Blackhole blackhole) {
+        final ReadBuffer in = positiveEncoded.asReadBuffer();
+        for (int i = 0; i < NUM_VALUES; i++) {
+            blackhole.consume(VariableLong.readPositive(in));
+        }
+    }
+
+    @Benchmark
+    public StaticBuffer write() {
+        final WriteByteBuffer out = new WriteByteBuffer(NUM_VALUES * 10);
+        for (int i = 0; i < NUM_VALUES; i++) {
+            VariableLong.write(out, (i & 1) == 0 ? values[i] : -values[i]);
+        }
+        return out.getStaticBuffer();
+    }
+
+    @Benchmark
+    public void read(Blackhole blackhole) {
+        final ReadBuffer in = signedEncoded.asReadBuffer();
+        for (int i = 0; i < NUM_VALUES; i++) {
+            blackhole.consume(VariableLong.read(in));
+        }
+    }
+}
@@ -25,6 +25,7 @@ import org.janusgraph.diskstorage.keycolumnvalue.keyvalue.KVQuery;
 import org.janusgraph.diskstorage.keycolumnvalue.keyvalue.KeySelector;
 import org.janusgraph.diskstorage.keycolumnvalue.keyvalue.KeyValueEntry;
 import org.janusgraph.diskstorage.keycolumnvalue.keyvalue.OrderedKeyValueStore;
+import org.janusgraph.diskstorage.util.BufferUtil;
 import org.janusgraph.diskstorage.util.RecordIterator;
 import org.janusgraph.diskstorage.util.StaticArrayBuffer;
 import org.slf4j.Logger;
@@ -32,8 +33,15 @@ import org.slf4j.LoggerFactory;
 
 import java.time.Duration;
 import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Future;
 import java.util.concurrent.TimeUnit;
 import java.util.function.Function;
 import java.util.NoSuchElementException;
@@ -140,6 +148,8 @@ public class BerkeleyJEKeyValueStore implements OrderedKeyValueStore {
         final KeySelector selector = query.getKeySelector();
         final DatabaseEntry foundKey = keyStart.as(ENTRY_FACTORY);
         final DatabaseEntry foundData = new DatabaseEntry();
+        // Do not read the values of a keys-only query, which saves fetching them from the log
+        foundData.setPartial(0, 0, query.isKeysOnly());
         final Cursor cursor = openCursor(txh);
 
         return new RecordIterator<KeyValueEntry>() {
@@ -203,9 +213,88 @@ public class BerkeleyJEKeyValueStore implements OrderedKeyValueStore {
         };
     }
 
+    /**
+     * Reads all slices with a single cursor which visits the queries in the order of their start keys.
+     * If the store manager is configured for parallel slice reads and there are enough queries, the sorted
+     * queries are split into contiguous ranges which are read in parallel, each with its own cursor.
+     */
     @Override
     public Map<KVQuery,RecordIterator<KeyValueEntry>> getSlices(List<KVQuery> queries, StoreTransaction txh) throws BackendException {
-        throw new UnsupportedOperationException();
+        log.trace("beginning db={}, op=getSlices, tx={}", name, txh);
+        final List<KVQuery> sortedQueries = new ArrayList<>(queries);
+        sortedQueries.sort(Comparator.comparing(KVQuery::getStart));
+
+        final ExecutorService executor = manager.getSliceExecutor();
+        final int threshold = manager.getParallelSliceThreshold();
+        if (executor == null || getTransaction(txh) == null || sortedQueries.size() < Math.max(2, threshold)) {
+            final Map<KVQuery,RecordIterator<KeyValueEntry>> results = new HashMap<>(queries.size());
+            readSlices(sortedQueries, txh, results);
+            return results;
+        }
+
+        final int numPartitions = Math.min(manager.getParallelSliceThreads(), sortedQueries.size());
+        final int partitionSize = (sortedQueries.size() + numPartitions - 1) / numPartitions;
+        final List<Future<Map<KVQuery,RecordIterator<KeyValueEntry>>>> futures = new ArrayList<>(numPartitions);
+        for (int start = 0; start < sortedQueries.size(); start += partitionSize) {
+            final List<KVQuery> partition = sortedQueries.subList(start, Math.min(start + partitionSize, sortedQueries.size()));
+            futures.add(executor.submit(() -> {
+                final Map<KVQuery,RecordIterator<KeyValueEntry>> partitionResults = new HashMap<>(partition.size());
+                readSlices(partition, txh, partitionResults);
+                return partitionResults;
+            }));
+        }
+
+        final Map<KVQuery,RecordIterator<KeyValueEntry>> results = new HashMap<>(queries.size());
+        BackendException failure = null;
+        for (Future<Map<KVQuery,RecordIterator<KeyValueEntry>>> future : futures) {
+            // Wait for all partitions so that no cursor is still in use when this method returns
+            try {
+                results.putAll(future.get());
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                if (failure == null) failure = new PermanentBackendException("Interrupted while reading slices", e);
+            } catch (ExecutionException e) {
+                if (failure == null) {
+                    failure = e.getCause() instanceof BackendException ? (BackendException) e.getCause()
+                        : new PermanentBackendException("Could not read slices", e.getCause());
+                }
+            }
+        }
+        if (failure != null) throw failure;
+        return results;
+    }
+
+    private void readSlices(List<KVQuery> sortedQueries, StoreTransaction txh,
+                            Map<KVQuery,RecordIterator<KeyValueEntry>> results) throws BackendException {
+        final ReadOptions readOptions = getReadOptions(txh);
+        final DatabaseEntry foundData = new DatabaseEntry();
+        final Cursor cursor = openCursor(txh);
+        try {
+            for (KVQuery query : sortedQueries) {
+                final StaticBuffer keyEnd = query.getEnd();
+                final KeySelector selector = query.getKeySelector();
+                final DatabaseEntry foundKey = query.getStart().as(ENTRY_FACTORY);
+                final List<KeyValueEntry> entries = new ArrayList<>();
+                foundData.setPartial(0, 0, query.isKeysOnly());
+
+                OperationResult result = cursor.get(foundKey, foundData, Get.SEARCH_GTE, readOptions);
+                while (result != null && !selector.reachedLimit()) {
+                    StaticBuffer key = getBuffer(foundKey);
+                    if (key.compareTo(keyEnd) >= 0) {
+                        break;
+                    }
+                    if (selector.include(key)) {
+                        entries.add(new KeyValueEntry(key, getBuffer(foundData)));
+                    }
+                    result = cursor.get(foundKey, foundData, Get.NEXT, readOptions);
+                }
+                results.put(query, new EntryListIterator(entries));
+            }
+        } catch (DatabaseException e) {
+            throw new PermanentBackendException(e);
+        } finally {
+            closeCursor(txh, cursor);
+        }
     }
 
     @Override
@@ -255,9 +344,39 @@ public class BerkeleyJEKeyValueStore implements OrderedKeyValueStore {
     }
 
     private static StaticBuffer getBuffer(DatabaseEntry entry) {
+        if (entry.getData() == null) return BufferUtil.emptyBuffer();
         return new StaticArrayBuffer(entry.getData(),entry.getOffset(),entry.getOffset()+entry.getSize());
     }
 
+    private static class EntryListIterator implements RecordIterator<KeyValueEntry> {
+
+        private final Iterator<KeyValueEntry> entries;
+
+        private EntryListIterator(List<KeyValueEntry> entries) {
+            this.entries = entries.iterator();
+        }
+
+        @Override
+        public boolean hasNext() {
+            return entries.hasNext();
+        }
+
+        @Override
+        public KeyValueEntry next() {
+            return entries.next();
+        }
+
+        @Override
+        public void close() {
+            // Nothing to release, the cursor has already been closed
+        }
+
+        @Override
+        public void remove() {
+            throw new UnsupportedOperationException();
+        }
+    }
+
     private WriteOptions getWriteOptions(final StoreTransaction txh) {
         return new WriteOptions().setCacheMode(((BerkeleyJETx) txh).getCacheMode());
     }
@@ -16,6 +16,7 @@ package org.janusgraph.diskstorage.berkeleyje;
 
 
 import com.google.common.base.Preconditions;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import com.sleepycat.je.*;
 import org.janusgraph.diskstorage.*;
 import org.janusgraph.diskstorage.common.LocalStoreManager;
@@ -41,6 +42,8 @@ import org.slf4j.LoggerFactory;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 
 import static org.janusgraph.diskstorage.configuration.ConfigOption.disallowEmpty;
 
@@ -78,8 +81,25 @@ public class BerkeleyJEStoreManager extends LocalStoreManager implements Ordered
             ConfigOption.Type.MASKABLE,  String.class,
             IsolationLevel.REPEATABLE_READ.toString(), disallowEmpty(String.class));
 
+    public static final ConfigOption<Integer> PARALLEL_SLICE_THRESHOLD =
+            new ConfigOption<>(BERKELEY_NS, "parallel-slice-threshold",
+            "Minimum number of slices in a multi-query for which the sorted slices are split into contiguous ranges " +
+            "that are read in parallel, each with its own cursor. Multi-queries with fewer slices are read with a " +
+            "single cursor. Only applies to transactional storage. Set to 0 to always use a single cursor.",
+            ConfigOption.Type.MASKABLE, 0, ConfigOption.nonnegativeInt());
+
+    public static final ConfigOption<Integer> PARALLEL_SLICE_THREADS =
+            new ConfigOption<>(BERKELEY_NS, "parallel-slice-threads",
+            "Number of threads used to read the slices of a multi-query in parallel when the number of slices is at " +
+            "least storage.berkeleyje.parallel-slice-threshold",
+            ConfigOption.Type.MASKABLE, 4, ConfigOption.positiveInt());
+
     private final Map<String, BerkeleyJEKeyValueStore> stores;
 
+    private final int parallelSliceThreshold;
+    private final int parallelSliceThreads;
+    private final ExecutorService sliceExecutor;
+
     protected Environment environment;
     protected final StoreFeatures features;
 
@@ -104,7 +124,35 @@ public class BerkeleyJEStoreManager extends LocalStoreManager implements Ordered
                     .supportsInterruption(false)
                     .cellTTL(true)
                     .optimisticLocking(false)
+                    .multiQuery(true)
                     .build();
+
+        parallelSliceThreshold = configuration.get(PARALLEL_SLICE_THRESHOLD);
+        parallelSliceThreads = configuration.get(PARALLEL_SLICE_THREADS);
+        if (transactional && parallelSliceThreshold > 0 && parallelSliceThreads > 1) {
+            sliceExecutor = Executors.newFixedThreadPool(parallelSliceThreads, new ThreadFactoryBuilder()
+                    .setDaemon(true)
+                    .setNameFormat("BerkeleyJESlice[%d]")
+                    .build());
+        } else {
+            sliceExecutor = null;
+        }
+    }
+
+    /**
+     * Returns the executor for reading the slices of large multi-queries in parallel,
+     * or null if multi-queries are always read with a single cursor.
+     */
+    ExecutorService getSliceExecutor() {
+        return sliceExecutor;
+    }
+
+    int getParallelSliceThreshold() {
+        return parallelSliceThreshold;
+    }
+
+    int getParallelSliceThreads() {
+        return parallelSliceThreads;
     }
 
     private void initialize(int cachePercent, final boolean sharedCache, final CacheMode cacheMode) throws BackendException {
@@ -245,6 +293,9 @@ public class BerkeleyJEStoreManager extends LocalStoreManager implements Ordered
 
     @Override
     public void close() throws BackendException {
+        if (sliceExecutor != null) {
+            sliceExecutor.shutdown();
+        }
         if (environment != null) {
             if (!stores.isEmpty())
                 throw new IllegalStateException("Cannot shutdown manager since some databases are still open");
@@ -0,0 +1,28 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.berkeleyje;
+
+import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
+import org.janusgraph.diskstorage.log.kcvs.KCVSLog;
+
+public class BerkeleyGroupCommitLogTest extends BerkeleyLogTest {
+
+    @Override
+    protected void configureLog(ModifiableConfiguration config) {
+        config.set(KCVSLog.LOG_SEND_THREADS, 3, LOG_NAME);
+        config.set(KCVSLog.LOG_ADAPTIVE_SEND_BATCH, true, LOG_NAME);
+    }
+
+}
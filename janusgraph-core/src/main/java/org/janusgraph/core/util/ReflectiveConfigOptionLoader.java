@@ -119,6 +119,7 @@ public enum ReflectiveConfigOptionLoader {
             "org.janusgraph.diskstorage.cql.CQLConfigOptions",
             "org.janusgraph.diskstorage.es.ElasticSearchIndex",
             "org.janusgraph.diskstorage.solr.SolrIndex",
+            "org.janusgraph.diskstorage.lucene.LuceneIndex",
             "org.janusgraph.diskstorage.log.kcvs.KCVSLog",
             "org.janusgraph.diskstorage.log.kcvs.KCVSLogManager",
             "org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration",
@@ -127,7 +128,8 @@ public enum ReflectiveConfigOptionLoader {
             "org.janusgraph.graphdb.query.index.ThresholdBasedIndexSelectionStrategy",
             //"org.janusgraph.graphdb.TestMockIndexProvider",
             //"org.janusgraph.graphdb.TestMockLog",
-            "org.janusgraph.diskstorage.berkeleyje.BerkeleyJEStoreManager"));
+            "org.janusgraph.diskstorage.berkeleyje.BerkeleyJEStoreManager",
+            "org.janusgraph.diskstorage.inmemory.InMemoryStoreManager"));
 
         Timer t = new Timer(TimestampProviders.MILLI);
         t.start();
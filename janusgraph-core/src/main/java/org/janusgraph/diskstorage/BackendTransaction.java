@@ -19,9 +19,13 @@ import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
 import java.util.concurrent.Callable;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.Executor;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.function.Supplier;
 import java.util.stream.Stream;
 
 import org.janusgraph.diskstorage.keycolumnvalue.cache.KCVSCache;
@@ -47,6 +51,9 @@ import org.janusgraph.diskstorage.keycolumnvalue.cache.CacheTransaction;
 import org.janusgraph.diskstorage.util.BackendOperation;
 import org.janusgraph.diskstorage.util.BufferUtil;
 import org.janusgraph.graphdb.database.serialize.DataOutput;
+import org.janusgraph.util.stats.MetricManager;
+
+import com.codahale.metrics.Timer;
 
 /**
  * Bundles all storage/index transactions and provides a proxy for some of their
@@ -63,6 +70,11 @@ public class BackendTransaction implements LoggableTransaction {
 
     public static final int MIN_TASKS_TO_PARALLELIZE = 2;
 
+    public static final String METRICS_TX = "tx";
+    public static final String METRICS_COMMIT = "commit";
+    public static final String METRICS_STORAGE = "storage";
+    public static final String METRICS_INDEX = "index";
+
     //Assumes 64 bit key length as specified in IDManager
     public static final StaticBuffer EDGESTORE_MIN_KEY = BufferUtil.zeroBuffer(8);
     public static final StaticBuffer EDGESTORE_MAX_KEY = BufferUtil.oneBuffer(8);
@@ -130,21 +142,56 @@ public class BackendTransaction implements LoggableTransaction {
     }
 
     public void commitStorage() throws BackendException {
-        storeTx.commit();
+        final Timer.Context timer = startCommitTimer(METRICS_STORAGE);
+        try {
+            storeTx.commit();
+        } finally {
+            if (timer != null) timer.stop();
+        }
     }
 
     public Map<String,Throwable> commitIndexes() {
         final Map<String,Throwable> exceptions = new HashMap<>(indexTx.size());
         for (Map.Entry<String,IndexTransaction> indexTransactionEntry : indexTx.entrySet()) {
-            try {
-                indexTransactionEntry.getValue().commit();
-            } catch (Throwable e) {
-                exceptions.put(indexTransactionEntry.getKey(),e);
-            }
+            commitIndex(indexTransactionEntry.getKey(), indexTransactionEntry.getValue(), exceptions);
         }
         return exceptions;
     }
 
+    /**
+     * Commits all index transactions concurrently on the backend thread pool. The returned future completes with
+     * the exceptions of the failed index commits keyed by index name and never completes exceptionally.
+     * If no thread pool is configured, the index transactions are committed sequentially before this method returns.
+     */
+    public CompletableFuture<Map<String,Throwable>> commitIndexesAsync() {
+        if (threadPool == null || indexTx.isEmpty()) return CompletableFuture.completedFuture(commitIndexes());
+        final Map<String,Throwable> exceptions = new ConcurrentHashMap<>(indexTx.size());
+        final CompletableFuture<?>[] commits = new CompletableFuture[indexTx.size()];
+        int i = 0;
+        for (Map.Entry<String,IndexTransaction> indexTransactionEntry : indexTx.entrySet()) {
+            commits[i++] = CompletableFuture.runAsync(() -> commitIndex(indexTransactionEntry.getKey(),
+                    indexTransactionEntry.getValue(), exceptions), threadPool);
+        }
+        return CompletableFuture.allOf(commits).thenApply(v -> exceptions);
+    }
+
+    private void commitIndex(String index, IndexTransaction itx, Map<String,Throwable> exceptions) {
+        final Timer.Context timer = startCommitTimer(METRICS_INDEX, index);
+        try {
+            itx.commit();
+        } catch (Throwable e) {
+            exceptions.put(index, e);
+        } finally {
+            if (timer != null) timer.stop();
+        }
+    }
+
+    private Timer.Context startCommitTimer(String... names) {
+        if (!txConfig.hasGroupName()) return null;
+        return MetricManager.INSTANCE.getTimer(txConfig.getGroupName(), METRICS_TX, METRICS_COMMIT,
+                String.join(".", names)).time();
+    }
+
     @Override
     public void commit() throws BackendException {
         storeTx.commit();
@@ -279,6 +326,32 @@ public class BackendTransaction implements LoggableTransaction {
         });
     }
 
+    /**
+     * Asynchronous variant of {@link #edgeStoreQuery(KeySliceQuery)}. The read is issued through
+     * {@link org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore#getSliceAsync(KeySliceQuery, StoreTransaction)}
+     * so that stores with a non-blocking client do not park the calling thread.
+     *
+     * @param query Query to execute
+     * @return Future of the query result
+     * @see #executeReadAsync(Supplier, Callable)
+     */
+    public CompletableFuture<EntryList> edgeStoreQueryAsync(final KeySliceQuery query) {
+        return executeReadAsync(() -> cacheEnabled?edgeStore.getSliceAsync(query, storeTx):
+                                                   edgeStore.getSliceNoCacheAsync(query, storeTx),
+            new Callable<EntryList>() {
+                @Override
+                public EntryList call() throws Exception {
+                    return cacheEnabled?edgeStore.getSlice(query, storeTx):
+                                        edgeStore.getSliceNoCache(query,storeTx);
+                }
+
+                @Override
+                public String toString() {
+                    return "EdgeStoreQuery";
+                }
+            });
+    }
+
     public Map<StaticBuffer,EntryList> edgeStoreMultiQuery(final List<StaticBuffer> keys, final SliceQuery query) {
         if (storeFeatures.hasMultiQuery()) {
             return executeRead(new Callable<Map<StaticBuffer,EntryList>>() {
@@ -407,6 +480,29 @@ public class BackendTransaction implements LoggableTransaction {
 
     }
 
+    /**
+     * Asynchronous variant of {@link #indexQuery(KeySliceQuery)}.
+     *
+     * @param query Query to execute
+     * @return Future of the query result
+     * @see #executeReadAsync(Supplier, Callable)
+     */
+    public CompletableFuture<EntryList> indexQueryAsync(final KeySliceQuery query) {
+        return executeReadAsync(() -> cacheEnabled?indexStore.getSliceAsync(query, storeTx):
+                                                   indexStore.getSliceNoCacheAsync(query, storeTx),
+            new Callable<EntryList>() {
+                @Override
+                public EntryList call() throws Exception {
+                    return cacheEnabled?indexStore.getSlice(query, storeTx):
+                                        indexStore.getSliceNoCache(query, storeTx);
+                }
+
+                @Override
+                public String toString() {
+                    return "VertexIndexQuery";
+                }
+            });
+    }
 
     public Stream<String> indexQuery(final String index, final IndexQuery query) {
         final IndexTransaction indexTx = getIndexTransaction(index);
@@ -464,6 +560,42 @@ public class BackendTransaction implements LoggableTransaction {
     }
 
 
+    /**
+     * Issues the asynchronous read and, should it fail with a {@link TemporaryBackendException}, falls back to
+     * retrying the equivalent synchronous read within {@link #executeRead(Callable)}. Retries are executed on the
+     * backend thread pool if one is configured and on the completing thread otherwise, so that the regular
+     * back-off and maximum read time apply to asynchronous reads as well.
+     * Any other failure completes the returned future with a {@link JanusGraphException}.
+     */
+    private <V> CompletableFuture<V> executeReadAsync(Supplier<CompletableFuture<V>> async, Callable<V> exe) {
+        final CompletableFuture<V> result = new CompletableFuture<>();
+        async.get().whenComplete((value, throwable) -> {
+            if (throwable == null) {
+                result.complete(value);
+                return;
+            }
+            final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                ? throwable.getCause() : throwable;
+            if (cause instanceof TemporaryBackendException) {
+                log.info("Temporary exception during asynchronous backend operation [{}]. Retrying synchronously.", exe, cause);
+                final Runnable retry = () -> {
+                    try {
+                        result.complete(executeRead(exe));
+                    } catch (Throwable e) {
+                        result.completeExceptionally(e);
+                    }
+                };
+                if (threadPool != null) threadPool.execute(retry);
+                else retry.run();
+            } else if (cause instanceof JanusGraphException) {
+                result.completeExceptionally(cause);
+            } else {
+                result.completeExceptionally(new JanusGraphException("Could not execute operation due to backend exception", cause));
+            }
+        });
+        return result;
+    }
+
     private <V> V executeRead(Callable<V> exe) throws JanusGraphException {
         try {
             return BackendOperation.execute(exe, maxReadTime);
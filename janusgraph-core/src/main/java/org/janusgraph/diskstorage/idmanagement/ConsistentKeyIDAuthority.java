@@ -56,6 +56,11 @@ import org.janusgraph.graphdb.database.idhandling.VariableLong;
  * The partition id is used as the key and since key operations are considered
  * consistent, this protocol guarantees unique id block assignments.
  * <p>
+ * Applications store the start of the requested block as their value. Since the size of
+ * the requested blocks may differ between instances, an application is only successful if
+ * it is the first received among all applications whose blocks overlap it, not just among
+ * those for the same block end.
+ * <p>
  * @author Matthias Broecheler (me@matthiasb.com)
  */
 
@@ -70,6 +75,8 @@ public class ConsistentKeyIDAuthority extends AbstractIDAuthority implements Bac
      * | 8 bytes counter | 8 bytes timestamp | var bytes rid/uid |
      * -----------------------------------------------------------
      *
+     * The value of an id column holds the 8 byte start of the claimed block.
+     *
      * The argument for the following two slice bounds mirrors the
      * argument for choosing bounds in ConsistentKeyLocker.
      */
@@ -258,7 +265,7 @@ public class ConsistentKeyIDAuthority extends AbstractIDAuthority implements Bac
                     target = getBlockApplication(nextEnd, writeTimer.getStartTime());
                     final StaticBuffer finalTarget = target; // copy for the inner class
                     BackendOperation.execute(txh -> {
-                        idStore.mutate(partitionKey, Collections.singletonList(StaticArrayEntry.of(finalTarget)), KeyColumnValueStore.NO_DELETIONS, txh);
+                        idStore.mutate(partitionKey, Collections.singletonList(StaticArrayEntry.of(finalTarget, getBlockStartValue(nextStart))), KeyColumnValueStore.NO_DELETIONS, txh);
                         return true;
                     },this,times);
                     writeTimer.stop();
@@ -270,29 +277,29 @@ public class ConsistentKeyIDAuthority extends AbstractIDAuthority implements Bac
                     } else {
 
                         assert 0 != target.length();
-                        final StaticBuffer[] slice = getBlockSlice(nextEnd);
+                        final StaticBuffer[] slice = getContendingSlice(nextStart);
 
                         /* At this point we've written our claim on [nextStart, nextEnd),
                          * but we haven't yet guaranteed the absence of a contending claim on
-                         * the same id block from another machine
+                         * an overlapping id block from another machine
                          */
 
                         if (distributed) {
                             sleepAndConvertInterrupts(idApplicationWaitMS.plus(waitGracePeriod));
                         }
 
-                        // Read all id allocation claims on this partition, for the counter value we're claiming
+                        // Read all id allocation claims on this partition which end after the start of our block
                         final List<Entry> blocks = BackendOperation.execute(
                             (BackendOperation.Transactional<List<Entry>>) txh -> idStore.getSlice(new KeySliceQuery(partitionKey, slice[0], slice[1]), txh),this,times);
                         if (blocks == null) throw new TemporaryBackendException("Could not read from storage");
-                        if (blocks.isEmpty())
+                        if (blocks.stream().noneMatch(e -> finalTarget.equals(e.getColumnAs(StaticBuffer.STATIC_FACTORY))))
                             throw new PermanentBackendException("It seems there is a race-condition in the block application. " +
                                     "If you have multiple JanusGraph instances running on one physical machine, ensure that they have unique machine idAuthorities");
 
-                        /* If our claim is the lexicographically first one, then our claim
-                         * is the most senior one and we own this id block
+                        /* If our claim is the first one received among all claims overlapping
+                         * our block, then our claim is the most senior one and we own this id block
                          */
-                        if (target.equals(blocks.get(0).getColumnAs(StaticBuffer.STATIC_FACTORY))) {
+                        if (isSeniorClaim(target, nextStart, nextEnd, blocks)) {
 
                             ConsistentKeyIDBlock idBlock = new ConsistentKeyIDBlock(nextStart,blockSize,uniqueIdBitWidth,uniquePID);
 
@@ -350,13 +357,40 @@ public class ConsistentKeyIDAuthority extends AbstractIDAuthority implements Bac
     }
 
 
-    private StaticBuffer[] getBlockSlice(long blockValue) {
+    /**
+     * Returns the slice of all claims with a block end larger than the given block start. Columns are
+     * sorted by descending block end.
+     */
+    private StaticBuffer[] getContendingSlice(long blockStart) {
         StaticBuffer[] slice = new StaticBuffer[2];
-        slice[0] = new WriteByteBuffer(16).putLong(-blockValue).putLong(0).getStaticBuffer();
-        slice[1] = new WriteByteBuffer(16).putLong(-blockValue).putLong(-1).getStaticBuffer();
+        slice[0] = LOWER_SLICE;
+        slice[1] = new WriteByteBuffer(8).putLong(-blockStart).getStaticBuffer();
         return slice;
     }
 
+    /**
+     * Whether our claim on [blockStart, blockEnd) is the first one received among all claims whose blocks overlap
+     * it. Claims are ordered by their timestamp and uid, which is how claims on the same block end are ordered in
+     * the store. Claims without a block start are conservatively assumed to overlap.
+     */
+    private boolean isSeniorClaim(StaticBuffer target, long blockStart, long blockEnd, List<Entry> claims) {
+        final StaticBuffer targetOrder = target.subrange(8, target.length() - 8);
+        for (Entry claim : claims) {
+            final StaticBuffer column = claim.getColumnAs(StaticBuffer.STATIC_FACTORY);
+            if (target.equals(column)) continue;
+            final long claimEnd = getBlockValue(claim);
+            if (claimEnd <= blockStart) continue;
+            if (claim.hasValue() && claim.length() - claim.getValuePosition() == 8
+                    && claim.getLong(claim.getValuePosition()) >= blockEnd) continue;
+            if (column.subrange(8, column.length() - 8).compareTo(targetOrder) < 0) return false;
+        }
+        return true;
+    }
+
+    private StaticBuffer getBlockStartValue(long blockStart) {
+        return new WriteByteBuffer(8).putLong(blockStart).getStaticBuffer();
+    }
+
     private StaticBuffer getBlockApplication(long blockValue, Instant timestamp) {
         WriteByteBuffer bb = new WriteByteBuffer(
                 8 // counter long
@@ -21,6 +21,7 @@ import org.janusgraph.diskstorage.EntryList;
 import org.janusgraph.diskstorage.StaticBuffer;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Wraps a {@link org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore} as a proxy as a basis for
@@ -61,6 +62,11 @@ public class KCVSProxy implements KeyColumnValueStore {
         return store.getKeys(columnQuery, unwrapTx(txh));
     }
 
+    @Override
+    public List<KeyIterator> getKeys(SliceQuery columnQuery, int numSplits, StoreTransaction txh) throws BackendException {
+        return store.getKeys(columnQuery, numSplits, unwrapTx(txh));
+    }
+
     @Override
     public String getName() {
         return store.getName();
@@ -76,6 +82,11 @@ public class KCVSProxy implements KeyColumnValueStore {
         return store.getSlice(query, unwrapTx(txh));
     }
 
+    @Override
+    public CompletableFuture<EntryList> getSliceAsync(KeySliceQuery query, StoreTransaction txh) {
+        return store.getSliceAsync(query, unwrapTx(txh));
+    }
+
     @Override
     public Map<StaticBuffer,EntryList> getSlice(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
         return store.getSlice(keys, query, unwrapTx(txh));
@@ -22,6 +22,7 @@ import org.janusgraph.diskstorage.util.BufferUtil;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.util.Collections;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
@@ -74,6 +75,19 @@ public class KCVSUtil {
         } else throw new UnsupportedOperationException("Provided stores does not support scan operations: " + store);
     }
 
+    /**
+     * Like {@link #getKeys(KeyColumnValueStore, SliceQuery, StoreFeatures, int, StoreTransaction)} but splits the keys
+     * into at most {@code numSplits} key ranges if the store supports unordered scans.
+     *
+     * @see KeyColumnValueStore#getKeys(SliceQuery, int, StoreTransaction)
+     */
+    public static List<KeyIterator> getKeys(KeyColumnValueStore store, SliceQuery slice, StoreFeatures features, int keyLength, int numSplits, StoreTransaction txh) throws BackendException {
+        if (numSplits > 1 && features.hasUnorderedScan()) {
+            return store.getKeys(slice, numSplits, txh);
+        }
+        return Collections.singletonList(getKeys(store, slice, features, keyLength, txh));
+    }
+
     /**
      * Returns true if the specified key-column pair exists in the store.
      *
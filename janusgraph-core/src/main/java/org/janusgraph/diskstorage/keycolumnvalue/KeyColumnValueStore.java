@@ -22,6 +22,7 @@ import org.janusgraph.diskstorage.StaticBuffer;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Interface to a data store that has a BigTable like representation of its data. In other words, the data store is comprised of a set of rows
@@ -52,6 +53,28 @@ public interface KeyColumnValueStore {
      */
     EntryList getSlice(KeySliceQuery query, StoreTransaction txh) throws BackendException;
 
+    /**
+     * Asynchronous variant of {@link #getSlice(KeySliceQuery, StoreTransaction)}. The returned future completes with the
+     * list of entries or exceptionally with the {@link BackendException} raised by the store.
+     * <p>
+     * Stores which can execute reads without blocking the calling thread should override this method. The default
+     * implementation executes {@link #getSlice(KeySliceQuery, StoreTransaction)} on the calling thread and returns
+     * an already completed future.
+     *
+     * @param query Query to get results for
+     * @param txh   Transaction
+     * @return Future of the list of entries up to a maximum of "limit" entries
+     */
+    default CompletableFuture<EntryList> getSliceAsync(KeySliceQuery query, StoreTransaction txh) {
+        final CompletableFuture<EntryList> result = new CompletableFuture<>();
+        try {
+            result.complete(getSlice(query, txh));
+        } catch (BackendException | RuntimeException e) {
+            result.completeExceptionally(e);
+        }
+        return result;
+    }
+
     /**
      * Retrieves the list of entries (i.e. column-value pairs) as specified by the given {@link SliceQuery} for all
      * of the given keys together.
@@ -173,6 +196,27 @@ public interface KeyColumnValueStore {
     KeyIterator getKeys(SliceQuery query, StoreTransaction txh) throws BackendException;
     // like current getKeys if column-slice is such that it queries for vertex state property
 
+    /**
+     * Like {@link #getKeys(SliceQuery, StoreTransaction)} but splits the keys of the store into at most {@code numSplits}
+     * disjoint key ranges and returns one {@link KeyIterator} per range. The iterators can be consumed concurrently, which
+     * allows a full scan to read multiple parts of a distributed store in parallel.
+     * <p>
+     * For a given number of splits, the key ranges are the same for all column-ranges and the keys within each range
+     * are returned in the same order, so iterators at the same position in the returned lists of different queries
+     * cover the same keys.
+     * <p>
+     * Stores which cannot split their keys return a single iterator over all keys, which is the default.
+     *
+     * @param query
+     * @param numSplits the maximum number of key ranges to split the keys into
+     * @param txh
+     * @return
+     * @throws org.janusgraph.diskstorage.BackendException
+     */
+    default List<KeyIterator> getKeys(SliceQuery query, int numSplits, StoreTransaction txh) throws BackendException {
+        return Collections.singletonList(getKeys(query, txh));
+    }
+
     /**
      * Returns the name of this store. Each store has a unique name which is used to open it.
      *
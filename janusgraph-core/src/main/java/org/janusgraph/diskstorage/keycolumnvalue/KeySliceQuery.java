@@ -53,6 +53,12 @@ public class KeySliceQuery extends SliceQuery {
         return this;
     }
 
+    @Override
+    public KeySliceQuery setColumnsOnly(boolean columnsOnly) {
+        super.setColumnsOnly(columnsOnly);
+        return this;
+    }
+
     @Override
     public KeySliceQuery updateLimit(int newLimit) {
         return new KeySliceQuery(key,this).setLimit(newLimit);
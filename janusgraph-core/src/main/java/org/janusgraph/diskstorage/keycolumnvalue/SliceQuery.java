@@ -42,6 +42,7 @@ public class SliceQuery extends BaseQuery implements BackendQuery<SliceQuery> {
 
     private final StaticBuffer sliceStart;
     private final StaticBuffer sliceEnd;
+    private boolean columnsOnly = false;
 
     public SliceQuery(final StaticBuffer sliceStart, final StaticBuffer sliceEnd) {
         assert sliceStart != null && sliceEnd != null;
@@ -53,6 +54,7 @@ public class SliceQuery extends BaseQuery implements BackendQuery<SliceQuery> {
     public SliceQuery(final SliceQuery query) {
         this(query.getSliceStart(), query.getSliceEnd());
         setLimit(query.getLimit());
+        this.columnsOnly = query.isColumnsOnly();
     }
 
     /**
@@ -73,9 +75,24 @@ public class SliceQuery extends BaseQuery implements BackendQuery<SliceQuery> {
         return sliceEnd;
     }
 
+    /**
+     * Whether only the columns of the entries in the slice are retrieved. Stores may then omit the values of the
+     * returned entries, i.e. return empty values, which saves reading and transferring them.
+     *
+     * @return whether the values of the entries are not needed
+     */
+    public boolean isColumnsOnly() {
+        return columnsOnly;
+    }
+
+    public SliceQuery setColumnsOnly(boolean columnsOnly) {
+        this.columnsOnly = columnsOnly;
+        return this;
+    }
+
     @Override
     public int hashCode() {
-        return Objects.hash(sliceStart, sliceEnd, getLimit());
+        return Objects.hash(sliceStart, sliceEnd, getLimit(), columnsOnly);
     }
 
     @Override
@@ -89,13 +106,15 @@ public class SliceQuery extends BaseQuery implements BackendQuery<SliceQuery> {
         SliceQuery oth = (SliceQuery) other;
         return sliceStart.equals(oth.sliceStart)
                 && sliceEnd.equals(oth.sliceEnd)
-                && getLimit() == oth.getLimit();
+                && getLimit() == oth.getLimit()
+                && columnsOnly == oth.columnsOnly;
     }
 
     public boolean subsumes(SliceQuery oth) {
         Preconditions.checkNotNull(oth);
         if (this == oth) return true;
         if (oth.getLimit() > getLimit()) return false;
+        else if (columnsOnly && !oth.columnsOnly) return false;
         else if (!hasLimit()) //the interval must be subsumed
             return sliceStart.compareTo(oth.sliceStart) <= 0 && sliceEnd.compareTo(oth.sliceEnd) >= 0;
         else //this the result might be cutoff due to limit, the start must be the same
@@ -134,7 +153,7 @@ public class SliceQuery extends BaseQuery implements BackendQuery<SliceQuery> {
 
     @Override
     public SliceQuery updateLimit(int newLimit) {
-        return new SliceQuery(sliceStart, sliceEnd).setLimit(newLimit);
+        return new SliceQuery(sliceStart, sliceEnd).setLimit(newLimit).setColumnsOnly(columnsOnly);
     }
 
 }
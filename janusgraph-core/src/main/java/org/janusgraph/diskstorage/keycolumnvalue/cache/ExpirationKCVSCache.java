@@ -26,6 +26,7 @@ import java.util.ArrayList;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CountDownLatch;
 import java.util.concurrent.TimeUnit;
@@ -37,6 +38,8 @@ import static org.janusgraph.util.datastructures.ByteSize.*;
  */
 public class ExpirationKCVSCache extends KCVSCache {
 
+    public static final String NAME = "expiration";
+
     //Weight estimation
     private static final int STATIC_ARRAY_BUFFER_SIZE = STATICARRAYBUFFER_RAW_SIZE + 10; // 10 = last number is average length
     private static final int KEY_QUERY_SIZE = OBJECT_HEADER + 4 + 1 + 3 * (OBJECT_REFERENCE + STATIC_ARRAY_BUFFER_SIZE); // object_size + int + boolean + 3 static buffers
@@ -97,6 +100,25 @@ public class ExpirationKCVSCache extends KCVSCache {
         }
     }
 
+    @Override
+    public CompletableFuture<EntryList> getSliceAsync(final KeySliceQuery query, final StoreTransaction txh) {
+        incActionBy(1, CacheMetricsAction.RETRIEVAL,txh);
+        if (isExpired(query)) {
+            incActionBy(1, CacheMetricsAction.MISS,txh);
+            return store.getSliceAsync(query, unwrapTx(txh));
+        }
+
+        final EntryList cached = cache.getIfPresent(query);
+        if (cached!=null) return CompletableFuture.completedFuture(cached);
+
+        incActionBy(1, CacheMetricsAction.MISS,txh);
+        return store.getSliceAsync(query, unwrapTx(txh)).thenApply(result -> {
+            //The key may have been invalidated while the slice was read, in which case the result must not be cached
+            if (!isExpired(query)) cache.put(query, result);
+            return result;
+        });
+    }
+
     @Override
     public Map<StaticBuffer,EntryList> getSlice(final List<StaticBuffer> keys, final SliceQuery query, final StoreTransaction txh) throws BackendException {
         final Map<StaticBuffer,EntryList> results = new HashMap<>(keys.size());
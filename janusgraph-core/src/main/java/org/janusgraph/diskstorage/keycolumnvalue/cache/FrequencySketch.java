@@ -0,0 +1,107 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.keycolumnvalue.cache;
+
+import com.google.common.base.Preconditions;
+
+import java.util.Arrays;
+
+/**
+ * Approximate access frequency counter (count-min sketch with four 4-bit counters per item) used as the
+ * TinyLFU admission filter of {@link VersionedRowKCVSCache}. All counters are halved once the number of recorded
+ * accesses reaches ten times the expected number of items, so that the sketch favours recent popularity.
+ * <p>
+ * This class is not thread-safe, callers guard it with the lock of the cache segment owning it.
+ */
+class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L
+    };
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final long[] table;
+    private final int tableMask;
+    private final int sampleSize;
+    private int additions;
+
+    /**
+     * @param expectedItems Number of distinct items the owning cache segment is expected to hold
+     */
+    FrequencySketch(int expectedItems) {
+        Preconditions.checkArgument(expectedItems > 0, "Expected items must be positive: %s", expectedItems);
+        final int tableSize = Integer.highestOneBit(Math.min(expectedItems, 1 << 24) - 1 | 15) << 1;
+        this.table = new long[tableSize];
+        this.tableMask = tableSize - 1;
+        this.sampleSize = 10 * expectedItems;
+    }
+
+    /**
+     * @return the estimated number of recent accesses of the item with the given hash, between 0 and 15
+     */
+    int frequency(int itemHash) {
+        int frequency = MAX_COUNT;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long hash = indexHash(itemHash, i);
+            frequency = Math.min(frequency, (int) ((table[index(hash)] >>> offset(hash)) & 0xfL));
+        }
+        return frequency;
+    }
+
+    /**
+     * Records an access of the item with the given hash.
+     */
+    void increment(int itemHash) {
+        boolean added = false;
+        for (int i = 0; i < SEEDS.length; i++) {
+            final long hash = indexHash(itemHash, i);
+            final int index = index(hash);
+            final int offset = offset(hash);
+            if (((table[index] >>> offset) & 0xfL) < MAX_COUNT) {
+                table[index] += 1L << offset;
+                added = true;
+            }
+        }
+        if (added && ++additions >= sampleSize) {
+            reset();
+        }
+    }
+
+    void clear() {
+        Arrays.fill(table, 0L);
+        additions = 0;
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length; i++) {
+            table[i] = (table[i] >>> 1) & RESET_MASK;
+        }
+        additions /= 2;
+    }
+
+    private static long indexHash(int itemHash, int i) {
+        long hash = (itemHash + SEEDS[i]) * SEEDS[i];
+        return hash ^ (hash >>> 32);
+    }
+
+    private int index(long hash) {
+        return (int) hash & tableMask;
+    }
+
+    private static int offset(long hash) {
+        return (int) ((hash >>> 40) & 15L) << 2;
+    }
+}
@@ -25,6 +25,7 @@ import org.janusgraph.util.stats.MetricManager;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * @author Matthias Broecheler (me@matthiasb.com)
@@ -75,6 +76,10 @@ public abstract class KCVSCache extends KCVSProxy {
         return store.getSlice(query,unwrapTx(txh));
     }
 
+    public CompletableFuture<EntryList> getSliceNoCacheAsync(KeySliceQuery query, StoreTransaction txh) {
+        return store.getSliceAsync(query,unwrapTx(txh));
+    }
+
     public Map<StaticBuffer, EntryList> getSliceNoCache(List<StaticBuffer> keys, SliceQuery query, StoreTransaction txh) throws BackendException {
         return store.getSlice(keys,query,unwrapTx(txh));
     }
@@ -0,0 +1,451 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.keycolumnvalue.cache;
+
+import com.google.common.base.Preconditions;
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+import org.janusgraph.diskstorage.util.CacheMetricsAction;
+import org.janusgraph.diskstorage.util.StaticArrayEntryList;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayDeque;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+/**
+ * Database level cache which keeps the serialized slices outside of the Java heap, so that very large caches do not
+ * add to the old generation the garbage collector has to scan and compact.
+ * <p>
+ * The cache is split into segments, each guarded by its own lock and owning one direct {@link ByteBuffer} of at most
+ * 1 GB which is allocated on first use. Slices are appended to the buffer like to a circular log: once the buffer is
+ * full, writing continues at its beginning and the oldest slices overlapping the newly written bytes are evicted.
+ * Only a small index of row keys, slice bounds and buffer offsets is held on heap. The weight of the cache is the
+ * exact number of serialized bytes of all live slices, see {@link StaticArrayEntryList#getSerializedSize()}.
+ * Every slice, including an empty one, reserves at least {@value #MIN_SLOT_FOOTPRINT} bytes of the log so that the
+ * number of cached slices and thereby the size of the index is bounded by the capacity of the buffer as well.
+ * Expired slices are evicted when they are looked up or when they reach the head of the log.
+ * <p>
+ * Cache hits are materialized into a new {@link StaticArrayEntryList} with a single bulk copy, since entries are backed
+ * by byte arrays. These copies are short-lived and are collected with the young generation. Unlike the on-heap caches,
+ * the relations parsed from the entries of a slice are not retained, so every hit parses its relations again.
+ * <p>
+ * Invalidation uses the same striped version stamps and per row grace deadlines as {@link VersionedRowKCVSCache}.
+ * Note that direct memory is bounded by the JVM option {@code -XX:MaxDirectMemorySize}, which defaults to the maximum
+ * heap size.
+ */
+public class OffHeapKCVSCache extends KCVSCache {
+
+    public static final String NAME = "off-heap";
+
+    private static final int MAX_SEGMENT_CAPACITY = 1 << 30;
+    private static final int MIN_SEGMENT_CAPACITY = 1 << 20;
+    private static final int VERSION_STRIPES = 1 << 12;
+    private static final int MIN_SLOT_FOOTPRINT = 64;
+
+    private final long cacheTimeMS;
+    private final long invalidationGracePeriodMS;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final AtomicLongArray versions;
+
+    public OffHeapKCVSCache(final KeyColumnValueStore store, String metricsName, final long cacheTimeMS, final long invalidationGracePeriodMS, final long maximumByteSize) {
+        super(store, metricsName);
+        Preconditions.checkArgument(cacheTimeMS > 0, "Cache expiration must be positive: %s", cacheTimeMS);
+        Preconditions.checkArgument(System.currentTimeMillis()+1000L*3600*24*365*100+cacheTimeMS>0,"Cache expiration time too large, overflow may occur: %s",cacheTimeMS);
+        Preconditions.checkArgument(invalidationGracePeriodMS >=0,"Invalid expiration grace period: %s", invalidationGracePeriodMS);
+        Preconditions.checkArgument(maximumByteSize > 0, "Cache size must be positive: %s", maximumByteSize);
+        this.cacheTimeMS = cacheTimeMS;
+        this.invalidationGracePeriodMS = invalidationGracePeriodMS;
+
+        int numSegments = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) << 1;
+        while (maximumByteSize / numSegments > MAX_SEGMENT_CAPACITY) numSegments <<= 1;
+        while (numSegments > 1 && maximumByteSize / numSegments < MIN_SEGMENT_CAPACITY) numSegments >>= 1;
+        this.segments = new Segment[numSegments];
+        this.segmentMask = numSegments - 1;
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment((int) Math.min(MAX_SEGMENT_CAPACITY, maximumByteSize / numSegments));
+        }
+        this.versions = new AtomicLongArray(VERSION_STRIPES);
+    }
+
+    @Override
+    public EntryList getSlice(final KeySliceQuery query, final StoreTransaction txh) throws BackendException {
+        incActionBy(1, CacheMetricsAction.RETRIEVAL,txh);
+        final StaticBuffer key = query.getKey();
+        final int hash = spread(key.hashCode());
+        final EntryList cached = segmentFor(hash).get(key, query);
+        if (cached!=null) return cached;
+
+        incActionBy(1, CacheMetricsAction.MISS,txh);
+        final long version = versions.get(stripe(hash));
+        final EntryList result = store.getSlice(query, unwrapTx(txh));
+        put(key, hash, query, result, version);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<EntryList> getSliceAsync(final KeySliceQuery query, final StoreTransaction txh) {
+        incActionBy(1, CacheMetricsAction.RETRIEVAL,txh);
+        final StaticBuffer key = query.getKey();
+        final int hash = spread(key.hashCode());
+        final EntryList cached = segmentFor(hash).get(key, query);
+        if (cached!=null) return CompletableFuture.completedFuture(cached);
+
+        incActionBy(1, CacheMetricsAction.MISS,txh);
+        final long version = versions.get(stripe(hash));
+        return store.getSliceAsync(query, unwrapTx(txh)).thenApply(result -> {
+            put(key, hash, query, result, version);
+            return result;
+        });
+    }
+
+    @Override
+    public Map<StaticBuffer,EntryList> getSlice(final List<StaticBuffer> keys, final SliceQuery query, final StoreTransaction txh) throws BackendException {
+        final Map<StaticBuffer,EntryList> results = new HashMap<>(keys.size());
+        final List<StaticBuffer> remainingKeys = new ArrayList<>(keys.size());
+        final int[] hashes = new int[keys.size()];
+        final long[] keyVersions = new long[keys.size()];
+        incActionBy(keys.size(), CacheMetricsAction.RETRIEVAL,txh);
+        //Find all cached slices
+        for (int i=0;i<keys.size();i++) {
+            final StaticBuffer key = keys.get(i);
+            hashes[i] = spread(key.hashCode());
+            final EntryList result = segmentFor(hashes[i]).get(key, query);
+            if (result!=null) {
+                results.put(key,result);
+            } else {
+                keyVersions[i] = versions.get(stripe(hashes[i]));
+                remainingKeys.add(key);
+            }
+        }
+        //Request remaining ones from backend
+        if (!remainingKeys.isEmpty()) {
+            incActionBy(remainingKeys.size(), CacheMetricsAction.MISS,txh);
+            final Map<StaticBuffer,EntryList> subresults = store.getSlice(remainingKeys, query, unwrapTx(txh));
+            for (int i=0;i<keys.size();i++) {
+                final StaticBuffer key = keys.get(i);
+                final EntryList subresult = subresults.get(key);
+                if (subresult!=null && !results.containsKey(key)) {
+                    results.put(key,subresult);
+                    put(key, hashes[i], query, subresult, keyVersions[i]);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void clearCache() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        for (Segment segment : segments) {
+            segment.clear(false);
+        }
+    }
+
+    @Override
+    public void invalidate(StaticBuffer key, List<CachableStaticBuffer> entries) {
+        Preconditions.checkArgument(!hasValidateKeysOnly() || entries.isEmpty());
+        final int hash = spread(key.hashCode());
+        versions.incrementAndGet(stripe(hash));
+        segmentFor(hash).remove(key);
+    }
+
+    @Override
+    public void close() throws BackendException {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        for (Segment segment : segments) {
+            segment.clear(true);
+        }
+        super.close();
+    }
+
+    /**
+     * @return the number of slices currently held by this cache, including empty ones
+     */
+    public long getNumSlices() {
+        long numSlices = 0;
+        for (Segment segment : segments) {
+            numSlices += segment.getNumSlices();
+        }
+        return numSlices;
+    }
+
+    /**
+     * @return the total number of serialized bytes of all slices currently held by this cache
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.getWeight();
+        }
+        return weight;
+    }
+
+    private void put(StaticBuffer key, int hash, SliceQuery query, EntryList result, long version) {
+        final StaticArrayEntryList entries;
+        if (result.isEmpty()) {
+            entries = null;
+        } else if (result instanceof StaticArrayEntryList) {
+            entries = (StaticArrayEntryList) result;
+        } else {
+            entries = (StaticArrayEntryList) StaticArrayEntryList.of(result);
+        }
+        segmentFor(hash).put(key, query, entries, stripe(hash), version);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    private static int stripe(int hash) {
+        return hash & (VERSION_STRIPES - 1);
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x45d9f3b;
+    }
+
+    /**
+     * Location of one cached slice within the buffer of its segment. Empty slices only reserve space in the log and
+     * do not write to the buffer.
+     */
+    private static class Slot {
+
+        private final StaticBuffer key;
+        private final StaticBuffer sliceStart;
+        private final StaticBuffer sliceEnd;
+        private final int limit;
+        private final boolean columnsOnly;
+        private final long expiration;
+        private final long lap;
+        private final int offset;
+        private final int length;
+        private boolean live = true;
+
+        private Slot(StaticBuffer key, SliceQuery query, long expiration, long lap, int offset, int length) {
+            this.key = key;
+            this.sliceStart = query.getSliceStart();
+            this.sliceEnd = query.getSliceEnd();
+            this.limit = query.getLimit();
+            this.columnsOnly = query.isColumnsOnly();
+            this.expiration = expiration;
+            this.lap = lap;
+            this.offset = offset;
+            this.length = length;
+        }
+
+        private boolean isSlice(SliceQuery query) {
+            return limit == query.getLimit() && columnsOnly == query.isColumnsOnly() && sliceStart.equals(query.getSliceStart()) && sliceEnd.equals(query.getSliceEnd());
+        }
+    }
+
+    /**
+     * One independently locked part of the cache with its own circular buffer and index of cached rows.
+     */
+    private class Segment extends ReentrantLock {
+
+        private final int capacity;
+        private final Map<StaticBuffer, List<Slot>> rows = new HashMap<>();
+        private final ArrayDeque<Slot> log = new ArrayDeque<>();
+        //Grace deadlines of invalidated rows in the order they were invalidated
+        private final LinkedHashMap<StaticBuffer, Long> invalidatedUntil = new LinkedHashMap<>();
+        private ByteBuffer buffer;
+        private long lap = 0;
+        private int writePosition = 0;
+        private long weight = 0;
+        private long numSlices = 0;
+
+        private Segment(int capacity) {
+            this.capacity = capacity;
+        }
+
+        private EntryList get(StaticBuffer key, SliceQuery query) {
+            lock();
+            try {
+                final List<Slot> slots = rows.get(key);
+                if (slots == null) return null;
+                for (Slot slot : slots) {
+                    if (!slot.isSlice(query)) continue;
+                    if (slot.expiration < System.currentTimeMillis()) {
+                        evict(slot);
+                        return null;
+                    }
+                    if (slot.length == 0) return EntryList.EMPTY_LIST;
+                    buffer.position(slot.offset);
+                    return StaticArrayEntryList.readFrom(buffer);
+                }
+                return null;
+            } finally {
+                unlock();
+            }
+        }
+
+        private void put(StaticBuffer key, SliceQuery query, StaticArrayEntryList entries, int stripe, long version) {
+            final int length = entries == null ? 0 : entries.getSerializedSize();
+            final int footprint = Math.max(length, MIN_SLOT_FOOTPRINT);
+            if (footprint > capacity) return;
+            final long now = System.currentTimeMillis();
+            final long expiration = now + cacheTimeMS;
+            lock();
+            try {
+                //Discard results loaded before the row was invalidated
+                if (versions.get(stripe) != version) return;
+                if (!invalidatedUntil.isEmpty()) {
+                    expireInvalidations(now);
+                    if (invalidatedUntil.containsKey(key)) return;
+                }
+                //Slices are logged in the order they were cached, so expired slices are at the head of the log
+                while (!log.isEmpty() && log.peekFirst().expiration < now) evict(log.pollFirst());
+                final List<Slot> slots = rows.get(key);
+                if (slots != null) {
+                    for (Slot slot : slots) {
+                        if (slot.isSlice(query)) {
+                            evict(slot);
+                            break;
+                        }
+                    }
+                }
+                final int offset = allocate(footprint);
+                if (length > 0) {
+                    if (buffer == null) buffer = ByteBuffer.allocateDirect(capacity);
+                    buffer.position(offset);
+                    entries.writeTo(buffer);
+                }
+                final Slot slot = new Slot(key, query, expiration, lap, offset, length);
+                log.addLast(slot);
+                rows.computeIfAbsent(key, k -> new ArrayList<>(2)).add(slot);
+                weight += length;
+                numSlices++;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Reserves the given number of bytes at the write position, wrapping around to the start of the buffer if
+         * needed, and evicts all slices of the previous lap which overlap the reserved bytes.
+         */
+        private int allocate(int length) {
+            if (writePosition + length > capacity) {
+                while (!log.isEmpty() && log.peekFirst().lap < lap) evict(log.pollFirst());
+                lap++;
+                writePosition = 0;
+            }
+            while (!log.isEmpty() && log.peekFirst().lap < lap && log.peekFirst().offset < writePosition + length) {
+                evict(log.pollFirst());
+            }
+            final int offset = writePosition;
+            writePosition += length;
+            return offset;
+        }
+
+        /**
+         * Drops the grace deadlines which have passed. Since all rows are invalidated with the same grace period, the
+         * deadlines which have passed are at the head of the map.
+         */
+        private void expireInvalidations(long now) {
+            final Iterator<Long> iterator = invalidatedUntil.values().iterator();
+            while (iterator.hasNext() && iterator.next() < now) {
+                iterator.remove();
+            }
+        }
+
+        private void evict(Slot slot) {
+            if (!slot.live) return;
+            slot.live = false;
+            weight -= slot.length;
+            numSlices--;
+            final List<Slot> slots = rows.get(slot.key);
+            if (slots != null && slots.remove(slot) && slots.isEmpty()) {
+                rows.remove(slot.key);
+            }
+        }
+
+        private void remove(StaticBuffer key) {
+            lock();
+            try {
+                if (invalidationGracePeriodMS > 0) {
+                    final long now = System.currentTimeMillis();
+                    expireInvalidations(now);
+                    //Re-insert the key so that the deadlines stay in ascending order
+                    invalidatedUntil.remove(key);
+                    invalidatedUntil.put(key, now + invalidationGracePeriodMS);
+                }
+                final List<Slot> slots = rows.remove(key);
+                if (slots != null) {
+                    for (Slot slot : slots) {
+                        slot.live = false;
+                        weight -= slot.length;
+                        numSlices--;
+                    }
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        private void clear(boolean release) {
+            lock();
+            try {
+                rows.clear();
+                log.clear();
+                invalidatedUntil.clear();
+                writePosition = 0;
+                weight = 0;
+                numSlices = 0;
+                if (release) buffer = null;
+            } finally {
+                unlock();
+            }
+        }
+
+        private long getWeight() {
+            lock();
+            try {
+                return weight;
+            } finally {
+                unlock();
+            }
+        }
+
+        private long getNumSlices() {
+            lock();
+            try {
+                return numSlices;
+            } finally {
+                unlock();
+            }
+        }
+    }
+}
@@ -0,0 +1,472 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.keycolumnvalue.cache;
+
+import com.google.common.base.Preconditions;
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+import org.janusgraph.diskstorage.util.CacheMetricsAction;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashMap;
+import java.util.Iterator;
+import java.util.LinkedHashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.locks.ReentrantLock;
+
+import static org.janusgraph.util.datastructures.ByteSize.OBJECT_HEADER;
+import static org.janusgraph.util.datastructures.ByteSize.OBJECT_REFERENCE;
+
+/**
+ * Database level cache which is keyed by row key and keeps all cached slices of a row together.
+ * <p>
+ * The cache is split into segments, each guarded by its own lock. Every segment runs a W-TinyLFU policy:
+ * new rows enter a small LRU admission window, and rows evicted from the window are only admitted into the main
+ * LRU area if a {@link FrequencySketch} estimates them to be accessed more frequently than the rows they would
+ * displace. Weights are the byte sizes of the cached {@link EntryList}s plus a small fixed overhead per row and slice.
+ * <p>
+ * Invalidation uses per-row version stamps kept in striped counters. A read that misses the cache captures the
+ * stamp of its row before going to the storage backend and its result is only cached if the stamp did not change
+ * in the meantime. Invalidating a row bumps the stamp, drops the row and, if a grace period is configured, makes
+ * reads of that row bypass the cache until the grace period has passed. The grace deadlines are kept per row key by
+ * each segment and are only consulted when a loaded slice is about to be cached, so lookups neither allocate query
+ * objects nor probe an additional map of expired keys.
+ *
+ * @see ExpirationKCVSCache
+ */
+public class VersionedRowKCVSCache extends KCVSCache {
+
+    public static final String NAME = "versioned-row";
+
+    //Weight estimation
+    private static final int MAP_ENTRY_SIZE = OBJECT_HEADER + 4 + 5 * OBJECT_REFERENCE; // linked hash map entry
+    private static final int ROW_SIZE = OBJECT_HEADER + 4 * OBJECT_REFERENCE + 8 + 2 * 4 + 1 // row object
+        + 3 * (OBJECT_HEADER + 4) + MAP_ENTRY_SIZE; // slice arrays and map entry
+    private static final int SLICE_SIZE = 2 * OBJECT_REFERENCE + 8; // array slots of query, result and expiration
+
+    private static final int MAX_SLICES_PER_ROW = 16;
+    private static final double WINDOW_FRACTION = 0.01;
+    private static final int EXPECTED_ROW_SIZE = 512;
+    private static final int MIN_EXPECTED_ROW_SIZE = 128; // sizes the frequency sketch for rows of small vertices
+    private static final int VERSION_STRIPES = 1 << 12;
+
+    private final long cacheTimeMS;
+    private final long invalidationGracePeriodMS;
+
+    private final Segment[] segments;
+    private final int segmentMask;
+
+    private final AtomicLongArray versions;
+
+    public VersionedRowKCVSCache(final KeyColumnValueStore store, String metricsName, final long cacheTimeMS, final long invalidationGracePeriodMS, final long maximumByteSize) {
+        super(store, metricsName);
+        Preconditions.checkArgument(cacheTimeMS > 0, "Cache expiration must be positive: %s", cacheTimeMS);
+        Preconditions.checkArgument(System.currentTimeMillis()+1000L*3600*24*365*100+cacheTimeMS>0,"Cache expiration time too large, overflow may occur: %s",cacheTimeMS);
+        Preconditions.checkArgument(invalidationGracePeriodMS >=0,"Invalid expiration grace period: %s", invalidationGracePeriodMS);
+        Preconditions.checkArgument(maximumByteSize > 0, "Cache size must be positive: %s", maximumByteSize);
+        this.cacheTimeMS = cacheTimeMS;
+        this.invalidationGracePeriodMS = invalidationGracePeriodMS;
+
+        int numSegments = Integer.highestOneBit(Math.max(1, Runtime.getRuntime().availableProcessors()) * 4 - 1) << 1;
+        while (numSegments > 1 && maximumByteSize / numSegments < 16 * EXPECTED_ROW_SIZE) numSegments >>= 1;
+        this.segments = new Segment[numSegments];
+        this.segmentMask = numSegments - 1;
+        for (int i = 0; i < numSegments; i++) {
+            segments[i] = new Segment(maximumByteSize / numSegments);
+        }
+        this.versions = new AtomicLongArray(VERSION_STRIPES);
+    }
+
+    @Override
+    public EntryList getSlice(final KeySliceQuery query, final StoreTransaction txh) throws BackendException {
+        incActionBy(1, CacheMetricsAction.RETRIEVAL,txh);
+        final StaticBuffer key = query.getKey();
+        final int hash = spread(key.hashCode());
+        final EntryList cached = segmentFor(hash).get(key, hash, query);
+        if (cached!=null) return cached;
+
+        incActionBy(1, CacheMetricsAction.MISS,txh);
+        final long version = versions.get(stripe(hash));
+        final EntryList result = store.getSlice(query, unwrapTx(txh));
+        put(key, hash, query, result, version);
+        return result;
+    }
+
+    @Override
+    public CompletableFuture<EntryList> getSliceAsync(final KeySliceQuery query, final StoreTransaction txh) {
+        incActionBy(1, CacheMetricsAction.RETRIEVAL,txh);
+        final StaticBuffer key = query.getKey();
+        final int hash = spread(key.hashCode());
+        final EntryList cached = segmentFor(hash).get(key, hash, query);
+        if (cached!=null) return CompletableFuture.completedFuture(cached);
+
+        incActionBy(1, CacheMetricsAction.MISS,txh);
+        final long version = versions.get(stripe(hash));
+        return store.getSliceAsync(query, unwrapTx(txh)).thenApply(result -> {
+            put(key, hash, query, result, version);
+            return result;
+        });
+    }
+
+    @Override
+    public Map<StaticBuffer,EntryList> getSlice(final List<StaticBuffer> keys, final SliceQuery query, final StoreTransaction txh) throws BackendException {
+        final Map<StaticBuffer,EntryList> results = new HashMap<>(keys.size());
+        final List<StaticBuffer> remainingKeys = new ArrayList<>(keys.size());
+        final int[] hashes = new int[keys.size()];
+        final long[] keyVersions = new long[keys.size()];
+        incActionBy(keys.size(), CacheMetricsAction.RETRIEVAL,txh);
+        //Find all cached slices
+        for (int i=0;i<keys.size();i++) {
+            final StaticBuffer key = keys.get(i);
+            hashes[i] = spread(key.hashCode());
+            final EntryList result = segmentFor(hashes[i]).get(key, hashes[i], query);
+            if (result!=null) {
+                results.put(key,result);
+            } else {
+                keyVersions[i] = versions.get(stripe(hashes[i]));
+                remainingKeys.add(key);
+            }
+        }
+        //Request remaining ones from backend
+        if (!remainingKeys.isEmpty()) {
+            incActionBy(remainingKeys.size(), CacheMetricsAction.MISS,txh);
+            final Map<StaticBuffer,EntryList> subresults = store.getSlice(remainingKeys, query, unwrapTx(txh));
+            for (int i=0;i<keys.size();i++) {
+                final StaticBuffer key = keys.get(i);
+                final EntryList subresult = subresults.get(key);
+                if (subresult!=null && !results.containsKey(key)) {
+                    results.put(key,subresult);
+                    put(key, hashes[i], query, subresult, keyVersions[i]);
+                }
+            }
+        }
+        return results;
+    }
+
+    @Override
+    public void clearCache() {
+        for (int i = 0; i < VERSION_STRIPES; i++) {
+            versions.incrementAndGet(i);
+        }
+        for (Segment segment : segments) {
+            segment.clear();
+        }
+    }
+
+    @Override
+    public void invalidate(StaticBuffer key, List<CachableStaticBuffer> entries) {
+        Preconditions.checkArgument(!hasValidateKeysOnly() || entries.isEmpty());
+        final int hash = spread(key.hashCode());
+        versions.incrementAndGet(stripe(hash));
+        segmentFor(hash).remove(key);
+    }
+
+    /**
+     * @return the total weight in bytes of all rows currently held by this cache
+     */
+    public long getWeight() {
+        long weight = 0;
+        for (Segment segment : segments) {
+            weight += segment.getWeight();
+        }
+        return weight;
+    }
+
+    private void put(StaticBuffer key, int hash, SliceQuery query, EntryList result, long version) {
+        segmentFor(hash).put(key, hash, query, result, stripe(hash), version);
+    }
+
+    private Segment segmentFor(int hash) {
+        return segments[(hash >>> 16) & segmentMask];
+    }
+
+    private static int stripe(int hash) {
+        return hash & (VERSION_STRIPES - 1);
+    }
+
+    private static int spread(int hash) {
+        return (hash ^ (hash >>> 16)) * 0x45d9f3b;
+    }
+
+    private static int weigh(StaticBuffer key, SliceQuery query, EntryList result) {
+        return SLICE_SIZE + query.getSliceStart().length() + query.getSliceEnd().length() + result.getByteSize()
+            + (key == null ? 0 : ROW_SIZE + key.length());
+    }
+
+    private static boolean sameSlice(SliceQuery cached, SliceQuery query) {
+        return cached.getLimit() == query.getLimit()
+            && cached.isColumnsOnly() == query.isColumnsOnly()
+            && cached.getSliceStart().equals(query.getSliceStart())
+            && cached.getSliceEnd().equals(query.getSliceEnd());
+    }
+
+    /**
+     * All cached slices of one row together with the version stamp they were loaded under.
+     */
+    private static class Row {
+
+        private final StaticBuffer key;
+        private final int hash;
+        private SliceQuery[] queries = new SliceQuery[2];
+        private EntryList[] results = new EntryList[2];
+        private long[] expirations = new long[2];
+        private int size = 0;
+        private long weight;
+        private boolean inMain = false;
+
+        private Row(StaticBuffer key, int hash) {
+            this.key = key;
+            this.hash = hash;
+            this.weight = ROW_SIZE + key.length();
+        }
+
+        private int indexOf(SliceQuery query) {
+            for (int i = 0; i < size; i++) {
+                if (sameSlice(queries[i], query)) return i;
+            }
+            return -1;
+        }
+
+        private EntryList get(SliceQuery query, long now) {
+            final int index = indexOf(query);
+            return index < 0 || expirations[index] < now ? null : results[index];
+        }
+
+        /**
+         * @return the change in weight
+         */
+        private long put(SliceQuery query, EntryList result, long expiration) {
+            int index = indexOf(query);
+            long delta = 0;
+            if (index < 0) {
+                if (size == MAX_SLICES_PER_ROW) {
+                    delta -= removeAt(0);
+                }
+                if (size == queries.length) {
+                    final int capacity = Math.min(MAX_SLICES_PER_ROW, size * 2);
+                    queries = Arrays.copyOf(queries, capacity);
+                    results = Arrays.copyOf(results, capacity);
+                    expirations = Arrays.copyOf(expirations, capacity);
+                }
+                index = size++;
+            } else {
+                delta -= weigh(null, queries[index], results[index]);
+            }
+            queries[index] = query;
+            results[index] = result;
+            expirations[index] = expiration;
+            delta += weigh(null, query, result);
+            weight += delta;
+            return delta;
+        }
+
+        private long removeAt(int index) {
+            final long removed = weigh(null, queries[index], results[index]);
+            final int tail = size - index - 1;
+            System.arraycopy(queries, index + 1, queries, index, tail);
+            System.arraycopy(results, index + 1, results, index, tail);
+            System.arraycopy(expirations, index + 1, expirations, index, tail);
+            size--;
+            queries[size] = null;
+            results[size] = null;
+            weight -= removed;
+            return removed;
+        }
+    }
+
+    /**
+     * One independently locked part of the cache with its own admission window, main area and frequency sketch.
+     */
+    private class Segment extends ReentrantLock {
+
+        private final long windowMaxWeight;
+        private final long mainMaxWeight;
+        private final LinkedHashMap<StaticBuffer, Row> window = new LinkedHashMap<>(16, 0.75f, true);
+        private final LinkedHashMap<StaticBuffer, Row> main = new LinkedHashMap<>(64, 0.75f, true);
+        private final FrequencySketch sketch;
+        //Grace deadlines of invalidated rows in the order they were invalidated
+        private final LinkedHashMap<StaticBuffer, Long> invalidatedUntil = new LinkedHashMap<>();
+        private long windowWeight = 0;
+        private long mainWeight = 0;
+
+        private Segment(long maxWeight) {
+            this.windowMaxWeight = Math.max(1, (long) (maxWeight * WINDOW_FRACTION));
+            this.mainMaxWeight = Math.max(1, maxWeight - windowMaxWeight);
+            this.sketch = new FrequencySketch((int) Math.max(16, Math.min(Integer.MAX_VALUE, maxWeight / MIN_EXPECTED_ROW_SIZE)));
+        }
+
+        private EntryList get(StaticBuffer key, int hash, SliceQuery query) {
+            lock();
+            try {
+                sketch.increment(hash);
+                Row row = main.get(key);
+                if (row == null) row = window.get(key);
+                return row == null ? null : row.get(query, System.currentTimeMillis());
+            } finally {
+                unlock();
+            }
+        }
+
+        private void put(StaticBuffer key, int hash, SliceQuery query, EntryList result, int stripe, long version) {
+            final long now = System.currentTimeMillis();
+            final long expiration = now + cacheTimeMS;
+            lock();
+            try {
+                //Discard results loaded before the row was invalidated
+                if (versions.get(stripe) != version) return;
+                if (!invalidatedUntil.isEmpty()) {
+                    expireInvalidations(now);
+                    if (invalidatedUntil.containsKey(key)) return;
+                }
+                Row row = main.get(key);
+                if (row == null) row = window.get(key);
+                if (row == null) {
+                    row = new Row(key, hash);
+                    if (row.weight + weigh(null, query, result) > windowMaxWeight + mainMaxWeight) return;
+                    window.put(key, row);
+                    windowWeight += row.weight;
+                }
+                final long delta = row.put(query, result, expiration);
+                if (row.inMain) {
+                    mainWeight += delta;
+                    evictMain(row);
+                } else {
+                    windowWeight += delta;
+                    evictWindow();
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        private void remove(StaticBuffer key) {
+            lock();
+            try {
+                if (invalidationGracePeriodMS > 0) {
+                    final long now = System.currentTimeMillis();
+                    expireInvalidations(now);
+                    //Re-insert the key so that the deadlines stay in ascending order
+                    invalidatedUntil.remove(key);
+                    invalidatedUntil.put(key, now + invalidationGracePeriodMS);
+                }
+                Row row = main.remove(key);
+                if (row != null) {
+                    mainWeight -= row.weight;
+                } else if ((row = window.remove(key)) != null) {
+                    windowWeight -= row.weight;
+                }
+            } finally {
+                unlock();
+            }
+        }
+
+        private void clear() {
+            lock();
+            try {
+                window.clear();
+                main.clear();
+                invalidatedUntil.clear();
+                windowWeight = 0;
+                mainWeight = 0;
+                sketch.clear();
+            } finally {
+                unlock();
+            }
+        }
+
+        private long getWeight() {
+            lock();
+            try {
+                return windowWeight + mainWeight;
+            } finally {
+                unlock();
+            }
+        }
+
+        /**
+         * Drops the grace deadlines which have passed. Since all rows are invalidated with the same grace period, the
+         * deadlines which have passed are at the head of the map.
+         */
+        private void expireInvalidations(long now) {
+            final Iterator<Long> iterator = invalidatedUntil.values().iterator();
+            while (iterator.hasNext() && iterator.next() < now) {
+                iterator.remove();
+            }
+        }
+
+        /**
+         * Moves rows out of the admission window until it fits its budget. A candidate enters the main area if there is
+         * room or if it is estimated to be more popular than each of the main area's least recently used rows it displaces.
+         */
+        private void evictWindow() {
+            while (windowWeight > windowMaxWeight && !window.isEmpty()) {
+                final Iterator<Row> windowIterator = window.values().iterator();
+                final Row candidate = windowIterator.next();
+                windowIterator.remove();
+                windowWeight -= candidate.weight;
+                if (admit(candidate)) {
+                    candidate.inMain = true;
+                    main.put(candidate.key, candidate);
+                    mainWeight += candidate.weight;
+                }
+            }
+        }
+
+        private boolean admit(Row candidate) {
+            if (candidate.weight > mainMaxWeight) return false;
+            final int candidateFrequency = sketch.frequency(candidate.hash);
+            long available = mainMaxWeight - mainWeight;
+            final List<Row> victims = new ArrayList<>(2);
+            final Iterator<Row> mainIterator = main.values().iterator();
+            while (available < candidate.weight) {
+                final Row victim = mainIterator.next();
+                if (sketch.frequency(victim.hash) >= candidateFrequency) return false;
+                victims.add(victim);
+                available += victim.weight;
+            }
+            for (Row victim : victims) {
+                main.remove(victim.key);
+                mainWeight -= victim.weight;
+            }
+            return true;
+        }
+
+        /**
+         * Evicts the least recently used rows of the main area, other than the one that just grew, until the main
+         * area fits its budget. The grown row itself is only dropped if it exceeds the budget on its own.
+         */
+        private void evictMain(Row grown) {
+            final Iterator<Row> mainIterator = main.values().iterator();
+            while (mainWeight > mainMaxWeight && mainIterator.hasNext()) {
+                final Row victim = mainIterator.next();
+                if (victim == grown) continue;
+                mainIterator.remove();
+                mainWeight -= victim.weight;
+            }
+            if (mainWeight > mainMaxWeight && main.remove(grown.key) != null) {
+                mainWeight -= grown.weight;
+            }
+        }
+    }
+}
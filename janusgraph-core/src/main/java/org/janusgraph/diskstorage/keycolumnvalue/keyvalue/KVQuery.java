@@ -30,6 +30,7 @@ public class KVQuery extends BaseQuery {
     private final StaticBuffer start;
     private final StaticBuffer end;
     private final Predicate<StaticBuffer> keyFilter;
+    private boolean keysOnly = false;
 
     public KVQuery(StaticBuffer start, StaticBuffer end) {
         this(start,end,BaseQuery.NO_LIMIT);
@@ -54,6 +55,20 @@ public class KVQuery extends BaseQuery {
         return end;
     }
 
+    /**
+     * Whether only the keys of the matching key-value pairs are retrieved. Stores may then return empty values.
+     *
+     * @return whether the values are not needed
+     */
+    public boolean isKeysOnly() {
+        return keysOnly;
+    }
+
+    public KVQuery setKeysOnly(boolean keysOnly) {
+        this.keysOnly = keysOnly;
+        return this;
+    }
+
     public KeySelector getKeySelector() {
         return new KeySelector(keyFilter,getLimit());
     }
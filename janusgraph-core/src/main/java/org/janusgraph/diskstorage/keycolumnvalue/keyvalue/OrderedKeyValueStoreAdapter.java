@@ -212,7 +212,7 @@ public class OrderedKeyValueStoreAdapter extends BaseKeyColumnValueAdapter {
         return new KVQuery(
                 concatenatePrefix(query.getKey(), query.getSliceStart()),
                 concatenatePrefix(query.getKey(), query.getSliceEnd()),
-                filter,query.getLimit());
+                filter,query.getLimit()).setKeysOnly(query.isColumnsOnly());
     }
 
     final StaticBuffer concatenate(StaticBuffer front, StaticBuffer end) {
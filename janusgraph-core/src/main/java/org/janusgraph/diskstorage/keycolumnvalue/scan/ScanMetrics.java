@@ -35,6 +35,29 @@ public interface ScanMetrics {
      */
     enum Metric { FAILURE, SUCCESS }
 
+    /**
+     * Name of the custom counter holding the number of key ranges a scan has been split into. Only set when the scan
+     * reads multiple key ranges in parallel.
+     */
+    String KEY_RANGES = "key-ranges";
+
+    /**
+     * Name of the custom counter holding the number of key ranges which have been read completely. Only set when the
+     * scan reads multiple key ranges in parallel.
+     */
+    String KEY_RANGES_COMPLETED = "key-ranges-completed";
+
+    /**
+     * Returns the name of the custom counter holding the number of rows read from the key range with the given index
+     * when the scan reads multiple key ranges in parallel.
+     *
+     * @param range the index of the key range
+     * @return the name of the custom counter
+     */
+    static String getKeyRangeRowsCounter(int range) {
+        return "key-range-" + range + "-rows";
+    }
+
     /**
      * Get the value of a custom counter.  Only the effects of prior calls to
      * {@link #incrementCustom(String)} and {@link #incrementCustom(String, long)}
@@ -60,8 +60,7 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
     private boolean hasCompleted = false;
     private boolean interrupted = false;
 
-    private List<BlockingQueue<SliceResult>> dataQueues;
-    private DataPuller[] pullThreads;
+    private DataPuller[][] pullThreads;
 
     StandardScannerExecutor(final ScanJob job, final Consumer<ScanMetrics> finishJob,
                             final KeyColumnValueStore store, final StoreTransaction storeTx,
@@ -82,16 +81,32 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
         metrics = new StandardScanMetrics();
     }
 
-    private DataPuller addDataPuller(SliceQuery sq, StoreTransaction stx, int pos) throws BackendException {
-        final BlockingQueue<SliceResult> queue = new LinkedBlockingQueue<>(
-                this.graphConfiguration.get(GraphDatabaseConfiguration.PAGE_SIZE));
-        dataQueues.add(queue);
+    /**
+     * Starts one data puller per key range of the given query. The key ranges of all queries are the same, hence the
+     * pullers are stored by key range first and query second.
+     */
+    private void addDataPullers(SliceQuery sq, StoreTransaction stx, int pos, int numQueries) throws BackendException {
+        final int numSplits = this.graphConfiguration.get(GraphDatabaseConfiguration.SCAN_SPLITS);
+        final List<KeyIterator> keyIterators = KCVSUtil.getKeys(store,sq,storeFeatures,MAX_KEY_LENGTH,numSplits,stx);
+        if (pullThreads == null) {
+            pullThreads = new DataPuller[keyIterators.size()][numQueries];
+        } else if (pullThreads.length != keyIterators.size()) {
+            for (KeyIterator keyIterator : keyIterators) {
+                closeSilent(keyIterator);
+            }
+            throw new IllegalStateException("Store split query " + sq + " into " + keyIterators.size() +
+                    " key ranges but expected " + pullThreads.length);
+        }
 
-        DataPuller dp = new DataPuller(sq, queue,
-                KCVSUtil.getKeys(store,sq,storeFeatures,MAX_KEY_LENGTH,stx),job.getKeyFilter());
-        dp.setName("data-puller-" + pos); // setting the name for thread dumps!
-        dp.start();
-        return dp;
+        for (int range = 0; range < keyIterators.size(); range++) {
+            final BlockingQueue<SliceResult> queue = new LinkedBlockingQueue<>(
+                    this.graphConfiguration.get(GraphDatabaseConfiguration.PAGE_SIZE));
+            DataPuller dp = new DataPuller(sq, queue, keyIterators.get(range), job.getKeyFilter());
+            // setting the name for thread dumps!
+            dp.setName(keyIterators.size() == 1 ? "data-puller-" + pos : "data-puller-" + pos + "-" + range);
+            pullThreads[range][pos] = dp;
+            dp.start();
+        }
     }
 
     @Override
@@ -114,11 +129,9 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
                 Preconditions.checkArgument(end.equals(BufferUtil.oneBuffer(end.length())),
                         "Expected end of first query to be all 1s: %s",end);
             }
-            dataQueues = new ArrayList<>(numQueries);
-            pullThreads = new DataPuller[numQueries];
 
             for (int pos = 0; pos< numQueries; pos++) {
-                pullThreads[pos] = addDataPuller(queries.get(pos), storeTx, pos);
+                addDataPullers(queries.get(pos), storeTx, pos, numQueries);
             }
         }  catch (Throwable e) {
             log.error("Exception trying to setup the job:", e);
@@ -128,8 +141,9 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
             return;
         }
 
+        final int numRanges = pullThreads.length;
         BlockingQueue<Row> processorQueue = new LinkedBlockingQueue<>(
-                this.graphConfiguration.get(GraphDatabaseConfiguration.PAGE_SIZE) * numProcessors * numQueries);
+                this.graphConfiguration.get(GraphDatabaseConfiguration.PAGE_SIZE) * numProcessors * numQueries * numRanges);
 
         Processor[] processors = new Processor[numProcessors];
         for (int i=0;i<processors.length;i++) {
@@ -137,51 +151,34 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
             processors[i].start();
         }
 
+        RangeMerger[] mergers = new RangeMerger[0];
         try {
-            SliceResult[] currentResults = new SliceResult[numQueries];
-            while (!interrupted) {
-                for (int i = 0; i < numQueries; i++) {
-                    if (currentResults[i]!=null) continue;
-                    BlockingQueue<SliceResult> queue = dataQueues.get(i);
-
-                    SliceResult qr = queue.poll(TIME_PER_TRY,TimeUnit.MILLISECONDS); //Try very short time to see if we are done
-                    if (qr==null) {
-                        if (pullThreads[i].isFinished()) continue; //No more data to be expected
-                        while (!pullThreads[i].isFinished() && qr == null) {
-                            qr = queue.poll(TIME_PER_TRY, TimeUnit.MILLISECONDS);
-                        }
-                        if (qr==null && !pullThreads[i].isFinished())
-                            throw new TemporaryBackendException("Timed out waiting for next row data - storage error likely");
-                    }
-                    currentResults[i]=qr;
+            if (numRanges == 1) {
+                mergeRange(0, queries, processorQueue);
+            } else {
+                metrics.incrementCustom(ScanMetrics.KEY_RANGES, numRanges);
+                mergers = new RangeMerger[numRanges];
+                for (int range = 0; range < numRanges; range++) {
+                    mergers[range] = new RangeMerger(range, queries, processorQueue);
+                    mergers[range].start();
                 }
-                SliceResult conditionQuery = currentResults[0];
-                if (conditionQuery==null) break; //Termination condition - primary query has no more data
-                final StaticBuffer key = conditionQuery.key;
-
-                Map<SliceQuery,EntryList> queryResults = new HashMap<>(numQueries);
-                for (int i=0;i<currentResults.length;i++) {
-                    SliceQuery query = queries.get(i);
-                    EntryList entries = EntryList.EMPTY_LIST;
-                    if (currentResults[i]!=null && currentResults[i].key.equals(key)) {
-                        assert query.equals(currentResults[i].query);
-                        entries = currentResults[i].entries;
-                        currentResults[i]=null;
-                    }
-                    queryResults.put(query,entries);
+                for (RangeMerger merger : mergers) {
+                    merger.join();
+                    if (merger.failure != null) throw merger.failure;
                 }
-                processorQueue.put(new Row(key, queryResults));
             }
 
-            for (int i = 0; i < pullThreads.length; i++) {
-                pullThreads[i].join(10);
-                if (pullThreads[i].isAlive()) {
-                    log.warn("Data pulling thread [{}] did not terminate. Forcing termination",i);
-                    if (storeFeatures.supportsInterruption()) {
-                        pullThreads[i].interrupt();
-                    } else {
-                        log.warn("Store does not support interruption, so data pulling thread [{}] cannot be interrupted", i);
-                        pullThreads[i].finished = true;
+            for (DataPuller[] rangePullThreads : pullThreads) {
+                for (int i = 0; i < rangePullThreads.length; i++) {
+                    rangePullThreads[i].join(10);
+                    if (rangePullThreads[i].isAlive()) {
+                        log.warn("Data pulling thread [{}] did not terminate. Forcing termination",rangePullThreads[i].getName());
+                        if (storeFeatures.supportsInterruption()) {
+                            rangePullThreads[i].interrupt();
+                        } else {
+                            log.warn("Store does not support interruption, so data pulling thread [{}] cannot be interrupted", rangePullThreads[i].getName());
+                            rangePullThreads[i].finished = true;
+                        }
                     }
                 }
             }
@@ -210,11 +207,58 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
             job.workerIterationEnd(metrics);
             setException(e);
         } finally {
+            Threads.terminate(mergers);
             Threads.terminate(processors);
             cleanupSilent();
         }
     }
 
+    /**
+     * Merges the results of all queries for the keys of the given key range into rows and hands them to the processors.
+     * Returns once the grounding query has no more keys in this range.
+     */
+    private void mergeRange(int range, List<SliceQuery> queries, BlockingQueue<Row> processorQueue) throws BackendException, InterruptedException {
+        final DataPuller[] rangePullThreads = pullThreads[range];
+        final int numQueries = rangePullThreads.length;
+        final String rowsCounter = pullThreads.length > 1 ? ScanMetrics.getKeyRangeRowsCounter(range) : null;
+        SliceResult[] currentResults = new SliceResult[numQueries];
+        while (!interrupted) {
+            for (int i = 0; i < numQueries; i++) {
+                if (currentResults[i]!=null) continue;
+                BlockingQueue<SliceResult> queue = rangePullThreads[i].queue;
+
+                SliceResult qr = queue.poll(TIME_PER_TRY,TimeUnit.MILLISECONDS); //Try very short time to see if we are done
+                if (qr==null) {
+                    if (rangePullThreads[i].isFinished()) continue; //No more data to be expected
+                    while (!rangePullThreads[i].isFinished() && qr == null) {
+                        qr = queue.poll(TIME_PER_TRY, TimeUnit.MILLISECONDS);
+                    }
+                    if (qr==null && !rangePullThreads[i].isFinished())
+                        throw new TemporaryBackendException("Timed out waiting for next row data - storage error likely");
+                }
+                currentResults[i]=qr;
+            }
+            SliceResult conditionQuery = currentResults[0];
+            if (conditionQuery==null) break; //Termination condition - primary query has no more data
+            final StaticBuffer key = conditionQuery.key;
+
+            Map<SliceQuery,EntryList> queryResults = new HashMap<>(numQueries);
+            for (int i=0;i<currentResults.length;i++) {
+                SliceQuery query = queries.get(i);
+                EntryList entries = EntryList.EMPTY_LIST;
+                if (currentResults[i]!=null && currentResults[i].key.equals(key)) {
+                    assert query.equals(currentResults[i].query);
+                    entries = currentResults[i].entries;
+                    currentResults[i]=null;
+                }
+                queryResults.put(query,entries);
+            }
+            processorQueue.put(new Row(key, queryResults));
+            if (rowsCounter != null) metrics.incrementCustom(rowsCounter);
+        }
+        if (rowsCounter != null && !interrupted) metrics.incrementCustom(ScanMetrics.KEY_RANGES_COMPLETED);
+    }
+
     @Override
     protected void interruptTask() {
         interrupted = true;
@@ -224,13 +268,15 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
         if (!hasCompleted) {
             hasCompleted = true;
             if (pullThreads!=null) {
-                for (DataPuller pullThread : pullThreads) {
-                    if (pullThread.isAlive()) {
-                        if (storeFeatures.supportsInterruption()) {
-                            pullThread.interrupt();
-                        } else {
-                            log.warn("Store does not support interruption, so data pulling thread cannot be interrupted");
-                            pullThread.finished = true;
+                for (DataPuller[] rangePullThreads : pullThreads) {
+                    for (DataPuller pullThread : rangePullThreads) {
+                        if (pullThread != null && pullThread.isAlive()) {
+                            if (storeFeatures.supportsInterruption()) {
+                                pullThread.interrupt();
+                            } else {
+                                log.warn("Store does not support interruption, so data pulling thread cannot be interrupted");
+                                pullThread.finished = true;
+                            }
                         }
                     }
                 }
@@ -252,6 +298,14 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
         return metrics;
     }
 
+    private static void closeSilent(KeyIterator keyIterator) {
+        try {
+            keyIterator.close();
+        } catch (IOException e) {
+            log.warn("Could not close storage iterator ", e);
+        }
+    }
+
     private static class Row {
 
         final StaticBuffer key;
@@ -265,6 +319,33 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
 
 
 
+    private class RangeMerger extends Thread {
+
+        private final int range;
+        private final List<SliceQuery> queries;
+        private final BlockingQueue<Row> processorQueue;
+        private volatile Throwable failure;
+
+        private RangeMerger(int range, List<SliceQuery> queries, BlockingQueue<Row> processorQueue) {
+            this.range = range;
+            this.queries = queries;
+            this.processorQueue = processorQueue;
+            setName("range-merger-" + range);
+        }
+
+        @Override
+        public void run() {
+            try {
+                mergeRange(range, queries, processorQueue);
+            } catch (InterruptedException e) {
+                log.error("Merging thread interrupted while waiting on queue", e);
+                failure = e;
+            } catch (Throwable e) {
+                failure = e;
+            }
+        }
+    }
+
     private class Processor extends Thread {
 
         private ScanJob job;
@@ -353,11 +434,7 @@ class StandardScannerExecutor extends AbstractFuture<ScanMetrics> implements Jan
             } catch (Throwable e) {
                 log.error("Could not load data from storage: {}",e);
             } finally {
-                try {
-                    keyIterator.close();
-                } catch (IOException e) {
-                    log.warn("Could not close storage iterator ", e);
-                }
+                closeSilent(keyIterator);
                 finished=true;
             }
         }
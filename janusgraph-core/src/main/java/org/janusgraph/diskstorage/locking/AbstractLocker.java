@@ -286,6 +286,21 @@ public abstract class AbstractLocker<S extends LockStatus> implements Locker {
      */
     protected abstract void deleteSingleLock(KeyColumn lockID, S lockStatus, StoreTransaction tx) throws Throwable;
 
+    /**
+     * Check all locks held by the transaction. The default implementation calls
+     * {@link #checkSingleLock(KeyColumn, LockStatus, StoreTransaction)} for one lock
+     * at a time. Implementations can override this to check the locks together.
+     *
+     * @param locks the locks held by the transaction and their status
+     * @param tx the transaction holding the locks
+     * @throws Throwable if any lock is not held by the transaction
+     */
+    protected void checkAllLocks(Map<KeyColumn, S> locks, StoreTransaction tx) throws Throwable {
+        for (final Map.Entry<KeyColumn, S> entry : locks.entrySet()) {
+            checkSingleLock(entry.getKey(), entry.getValue(), tx);
+        }
+    }
+
     @Override
     public void writeLock(KeyColumn lockID, StoreTransaction tx) throws TemporaryLockingException, PermanentLockingException {
 
@@ -347,9 +362,7 @@ public abstract class AbstractLocker<S extends LockStatus> implements Locker {
         // interrupt
         boolean ok = false;
         try {
-            for (final Map.Entry<KeyColumn, S> entry : m.entrySet()) {
-                checkSingleLock(entry.getKey(), entry.getValue(), tx);
-            }
+            checkAllLocks(m, tx);
             ok = true;
         } catch (TemporaryLockingException | PermanentLockingException | AssertionError tle) {
             throw tle;
@@ -21,13 +21,17 @@ import java.time.Instant;
 
 /**
  * The timestamps of a lock held by a {@link ConsistentKeyLocker}
- * and whether the held lock has or has not been checked.
+ * and whether the held lock has or has not been written and checked.
+ * <p>
+ * When the locker batches lock claims, a status is created before its claim is
+ * written to the store and has no write timestamp until
+ * {@link #setWritten(Instant, Instant)} is called.
  *
  */
 public class ConsistentKeyLockStatus implements LockStatus {
 
-    private final Instant write;
-    private final Instant expire;
+    private Instant write;
+    private Instant expire;
     private boolean checked;
 
     public ConsistentKeyLockStatus(Instant written, Instant expire) {
@@ -36,6 +40,15 @@ public class ConsistentKeyLockStatus implements LockStatus {
         this.checked = false;
     }
 
+    /**
+     * Creates the status of a lock whose claim has not been written yet.
+     *
+     * @param expire expiration timestamp of the lock until its claim is written
+     */
+    public ConsistentKeyLockStatus(Instant expire) {
+        this(null, expire);
+    }
+
     @Override
     public Instant getExpirationTimestamp() {
         return expire;
@@ -46,6 +59,15 @@ public class ConsistentKeyLockStatus implements LockStatus {
         return write;
     }
 
+    public boolean isWritten() {
+        return null != write;
+    }
+
+    public void setWritten(Instant written, Instant expire) {
+        this.write = written;
+        this.expire = expire;
+    }
+
     public boolean isChecked() {
         return checked;
     }
@@ -35,8 +35,12 @@ import org.slf4j.LoggerFactory;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.ArrayList;
+import java.util.Collection;
 import java.util.Collections;
+import java.util.HashMap;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
 
 import static org.janusgraph.util.encoding.StringEncoding.UTF8_CHARSET;
 
@@ -113,6 +117,16 @@ import static org.janusgraph.util.encoding.StringEncoding.UTF8_CHARSET;
  * {@code rid} is only unique at the process level.  Without a mediator, distinct
  * threads could write lock columns with the same {@code rid} and be unable to
  * tell their lock claims apart.
+ * <p>
+ * <h4>Batched locking</h4>
+ * <p>
+ * When batched locking is enabled, the first step is deferred until the locks
+ * are checked. All lock columns of a transaction which have not been written
+ * yet are then written with the same timestamp in a single
+ * {@link KeyColumnValueStoreManager#mutateMany(Map, StoreTransaction)} call,
+ * the locker waits {@code lockWait} only once for all of them, and all lock
+ * keys are read back with a single multi-key slice. The retry and seniority
+ * rules are the same as above.
  */
 public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus> implements Locker {
 
@@ -130,6 +144,8 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
 
     private final int lockRetryCount;
 
+    private final boolean batchLocking;
+
     /**
      * Expired lock cleaner in charge of {@link #store}.
      */
@@ -177,6 +193,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
         // Optional (has default)
         private Duration lockWait;
         private int lockRetryCount;
+        private boolean batchLocking;
 
         private enum CleanerConfig {
             NONE,
@@ -192,6 +209,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
             this.manager = manager;
             this.lockWait = GraphDatabaseConfiguration.LOCK_WAIT.getDefaultValue();
             this.lockRetryCount = GraphDatabaseConfiguration.LOCK_RETRY.getDefaultValue();
+            this.batchLocking = GraphDatabaseConfiguration.LOCK_BATCH.getDefaultValue();
         }
 
         public Builder lockWait(Duration d) {
@@ -204,6 +222,11 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
             return self();
         }
 
+        public Builder batchLocking(boolean batch) {
+            this.batchLocking = batch;
+            return self();
+        }
+
         public Builder standardCleaner() {
             this.cleanerConfig = CleanerConfig.STANDARD;
             this.customCleanerService = null;
@@ -233,6 +256,8 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
 
             lockExpire(config.get(GraphDatabaseConfiguration.LOCK_EXPIRE));
 
+            batchLocking(config.get(GraphDatabaseConfiguration.LOCK_BATCH));
+
             if (config.get(GraphDatabaseConfiguration.LOCK_CLEAN_EXPIRED)) {
                 standardCleaner();
             }
@@ -262,6 +287,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
                     serializer, llm,
                     lockWait,
                     lockRetryCount,
+                    batchLocking,
                     lockExpire,
                     lockState, cleaner);
         }
@@ -284,7 +310,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
     private ConsistentKeyLocker(KeyColumnValueStore store, StoreManager manager, StaticBuffer rid,
                                 TimestampProvider times, ConsistentKeyLockerSerializer serializer,
                                 LocalLockMediator<StoreTransaction> llm, Duration lockWait,
-                                int lockRetryCount, Duration lockExpire,
+                                int lockRetryCount, boolean batchLocking, Duration lockExpire,
                                 LockerState<ConsistentKeyLockStatus> lockState,
                                 LockCleanerService cleanerService) {
         super(rid, times, serializer, llm, lockState, lockExpire, log);
@@ -292,6 +318,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
         this.manager = manager;
         this.lockWait = lockWait;
         this.lockRetryCount = lockRetryCount;
+        this.batchLocking = batchLocking;
         this.cleanerService = cleanerService;
     }
 
@@ -305,6 +332,10 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
      * exception or a {@link org.janusgraph.diskstorage.PermanentBackendException}, then we'll try to
      * delete whatever we added and return without further retries.
      *
+     * If batched locking is enabled, nothing is written here and the lock
+     * claim is written together with the other claims of the transaction
+     * when its locks are checked.
+     *
      * @param lockID lock to acquire
      * @param txh    transaction
      * @return the timestamp, in nanoseconds since UNIX Epoch, on the lock
@@ -316,20 +347,38 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
     @Override
     protected ConsistentKeyLockStatus writeSingleLock(KeyColumn lockID, StoreTransaction txh) throws Throwable {
 
+        if (batchLocking) {
+            return new ConsistentKeyLockStatus(times.getTime().plus(lockExpire));
+        }
+
         final StaticBuffer lockKey = serializer.toLockKey(lockID.getKey(), lockID.getColumn());
+        final Instant writeInstant = writeLocks(lockID, Collections.singletonList(lockKey), txh);
+        return new ConsistentKeyLockStatus(writeInstant, writeInstant.plus(lockExpire));
+    }
+
+    /**
+     * Write one lock column with the same timestamp to each of the given lock
+     * keys, retrying as described in {@link #writeSingleLock(KeyColumn, StoreTransaction)}.
+     *
+     * @param lockIDs  the locks being acquired, for logging
+     * @param lockKeys the keys to write the lock column to
+     * @param txh      transaction
+     * @return the timestamp on the lock columns that we successfully wrote
+     * @throws Throwable if the lock retry count is exceeded or the storage
+     *                   layer throws anything other than a temporary exception
+     */
+    private Instant writeLocks(Object lockIDs, Collection<StaticBuffer> lockKeys, StoreTransaction txh) throws Throwable {
         StaticBuffer oldLockCol = null;
 
         for (int i = 0; i < lockRetryCount; i++) {
-            WriteResult wr = tryWriteLockOnce(lockKey, oldLockCol, txh);
+            WriteResult wr = tryWriteLockOnce(lockKeys, oldLockCol, txh);
             if (wr.isSuccessful() && wr.getDuration().compareTo(lockWait) <= 0) {
-                final Instant writeInstant = wr.getWriteTimestamp();
-                final Instant expireInstant = writeInstant.plus(lockExpire);
-                return new ConsistentKeyLockStatus(writeInstant, expireInstant);
+                return wr.getWriteTimestamp();
             }
             oldLockCol = wr.getLockCol();
-            handleMutationFailure(lockID, lockKey, wr, txh);
+            handleMutationFailure(lockIDs, lockKeys, wr, txh);
         }
-        tryDeleteLockOnce(lockKey, oldLockCol, txh);
+        tryDeleteLockOnce(lockKeys, oldLockCol, txh);
         // TODO log exception or successful too-slow write here
         throw new TemporaryBackendException("Lock write retry count exceeded");
     }
@@ -340,16 +389,16 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
      * but took longer to complete than configured lock wait time, or that
      * the call to mutate threw something.
      *
-     * @param lockID  coordinates identifying the lock we tried but failed to
-     *                acquire
-     * @param lockKey the byte value of the key that we mutated or attempted to
-     *                mutate in the lock store
+     * @param lockID   coordinates identifying the lock(s) we tried but failed to
+     *                 acquire
+     * @param lockKeys the byte values of the keys that we mutated or attempted to
+     *                 mutate in the lock store
      * @param wr      result of the mutation
      * @param txh     transaction attempting the lock
      * @throws Throwable if {@link WriteResult#getThrowable()} is not an instance of
      *                   {@link org.janusgraph.diskstorage.TemporaryBackendException}
      */
-    private void handleMutationFailure(KeyColumn lockID, StaticBuffer lockKey, WriteResult wr,
+    private void handleMutationFailure(Object lockID, Collection<StaticBuffer> lockKeys, WriteResult wr,
                                        StoreTransaction txh) throws Throwable {
         Throwable error = wr.getThrowable();
         if (null != error) {
@@ -363,7 +412,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
                  * we have retries left.
                  */
                 log.error("Fatal exception encountered during attempted lock write", error);
-                WriteResult dwr = tryDeleteLockOnce(lockKey, wr.getLockCol(), txh);
+                WriteResult dwr = tryDeleteLockOnce(lockKeys, wr.getLockCol(), txh);
                 if (!dwr.isSuccessful()) {
                     log.warn("Failed to delete lock write: abandoning potentially-unreleased lock on {}",
                         lockID, dwr.getThrowable());
@@ -376,7 +425,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
         }
     }
 
-    private WriteResult tryWriteLockOnce(StaticBuffer key, StaticBuffer del, StoreTransaction txh) {
+    private WriteResult tryWriteLockOnce(Collection<StaticBuffer> keys, StaticBuffer del, StoreTransaction txh) {
         Throwable t = null;
         final Timer writeTimer = times.getTimer().start();
         StaticBuffer newLockCol = serializer.toLockCol(writeTimer.getStartTime(), rid, times);
@@ -385,7 +434,7 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
         try {
             newTx = overrideTimestamp(txh, writeTimer.getStartTime());
 
-            store.mutate(key, Collections.singletonList(newLockEntry),
+            mutateLocks(keys, Collections.singletonList(newLockEntry),
                 null == del ? KeyColumnValueStore.NO_DELETIONS : Collections.singletonList(del), newTx);
 
             newTx.commit();
@@ -401,14 +450,14 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
         return new WriteResult(writeTimer.elapsed(), writeTimer.getStartTime(), newLockCol, t);
     }
 
-    private WriteResult tryDeleteLockOnce(StaticBuffer key, StaticBuffer col, StoreTransaction txh) {
+    private WriteResult tryDeleteLockOnce(Collection<StaticBuffer> keys, StaticBuffer col, StoreTransaction txh) {
         Throwable t = null;
         final Timer delTimer = times.getTimer().start();
         StoreTransaction newTx = null;
         try {
             newTx = overrideTimestamp(txh, delTimer.getStartTime());
 
-            store.mutate(key, Collections.emptyList(), Collections.singletonList(col), newTx);
+            mutateLocks(keys, Collections.emptyList(), Collections.singletonList(col), newTx);
 
             newTx.commit();
             newTx = null;
@@ -422,6 +471,78 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
         return new WriteResult(delTimer.elapsed(), delTimer.getStartTime(), null, t);
     }
 
+    /**
+     * Apply the same additions and deletions to all given lock keys. More than
+     * one key is mutated in a single {@code mutateMany} call if the store
+     * manager supports it.
+     */
+    private void mutateLocks(Collection<StaticBuffer> keys, List<Entry> additions, List<StaticBuffer> deletions,
+                             StoreTransaction tx) throws BackendException {
+        if (1 == keys.size() || !(manager instanceof KeyColumnValueStoreManager)) {
+            for (StaticBuffer key : keys) {
+                store.mutate(key, additions, deletions, tx);
+            }
+            return;
+        }
+        final Map<StaticBuffer, KCVMutation> mutations = new HashMap<>(keys.size());
+        for (StaticBuffer key : keys) {
+            mutations.put(key, new KCVMutation(additions, deletions));
+        }
+        ((KeyColumnValueStoreManager) manager).mutateMany(Collections.singletonMap(store.getName(), mutations), tx);
+    }
+
+    /**
+     * If batched locking is enabled, write all unwritten lock claims of the
+     * transaction at once, wait once and then read all lock keys with a single
+     * multi-key slice. Otherwise, check one lock at a time.
+     */
+    @Override
+    protected void checkAllLocks(Map<KeyColumn, ConsistentKeyLockStatus> locks, StoreTransaction tx) throws Throwable {
+        if (!batchLocking) {
+            super.checkAllLocks(locks, tx);
+            return;
+        }
+
+        final Map<StaticBuffer, KeyColumn> lockKeys = new LinkedHashMap<>();
+        final List<StaticBuffer> unwrittenKeys = new ArrayList<>();
+        for (Map.Entry<KeyColumn, ConsistentKeyLockStatus> entry : locks.entrySet()) {
+            final KeyColumn kc = entry.getKey();
+            final ConsistentKeyLockStatus ls = entry.getValue();
+            if (ls.isChecked())
+                continue;
+            final StaticBuffer lockKey = serializer.toLockKey(kc.getKey(), kc.getColumn());
+            lockKeys.put(lockKey, kc);
+            if (!ls.isWritten())
+                unwrittenKeys.add(lockKey);
+        }
+
+        if (lockKeys.isEmpty())
+            return;
+
+        if (!unwrittenKeys.isEmpty()) {
+            final Instant writeInstant = writeLocks(lockKeys.values(), unwrittenKeys, tx);
+            for (StaticBuffer lockKey : unwrittenKeys) {
+                locks.get(lockKeys.get(lockKey)).setWritten(writeInstant, writeInstant.plus(lockExpire));
+            }
+        }
+
+        // Sleep once past the latest claim; the wait of all other claims has elapsed by then as well
+        Instant latestWrite = null;
+        for (KeyColumn kc : lockKeys.values()) {
+            final Instant written = locks.get(kc).getWriteTimestamp();
+            if (null == latestWrite || written.isAfter(latestWrite))
+                latestWrite = written;
+        }
+        final Instant now = times.sleepPast(latestWrite.plus(lockWait));
+
+        final Map<StaticBuffer, EntryList> claims = getSlicesWithRetries(new ArrayList<>(lockKeys.keySet()), tx);
+        for (Map.Entry<StaticBuffer, KeyColumn> entry : lockKeys.entrySet()) {
+            final List<Entry> claimEntries = claims.get(entry.getKey());
+            final KeyColumn kc = entry.getValue();
+            checkClaims(kc, locks.get(kc), null == claimEntries ? EntryList.EMPTY_LIST : claimEntries, now, tx);
+        }
+    }
+
     @Override
     protected void checkSingleLock(final KeyColumn kc, final ConsistentKeyLockStatus ls,
                                    final StoreTransaction tx) throws BackendException, InterruptedException {
@@ -438,6 +559,11 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
             LOCK_COL_END);
         List<Entry> claimEntries = getSliceWithRetries(ksq, tx);
 
+        checkClaims(kc, ls, claimEntries, now, tx);
+    }
+
+    private void checkClaims(final KeyColumn kc, final ConsistentKeyLockStatus ls, final List<Entry> claimEntries,
+                             final Instant now, final StoreTransaction tx) throws BackendException {
         // Extract timestamp and rid from the column in each returned Entry...
         final Iterable<TimestampRid> iterable = Iterables.transform(claimEntries,
             e -> serializer.fromLockColumn(e.getColumnAs(StaticBuffer.STATIC_FACTORY), times));
@@ -486,6 +612,23 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
         throw new TemporaryBackendException("Maximum retries (" + lockRetryCount + ") exceeded while checking locks");
     }
 
+    private Map<StaticBuffer, EntryList> getSlicesWithRetries(List<StaticBuffer> keys, StoreTransaction tx) throws BackendException {
+        final SliceQuery query = new SliceQuery(LOCK_COL_START, LOCK_COL_END);
+
+        for (int i = 0; i < lockRetryCount; i++) {
+            try {
+                return store.getSlice(keys, query, tx);
+            } catch (PermanentBackendException e) {
+                log.error("Failed to check locks", e);
+                throw new PermanentLockingException(e);
+            } catch (TemporaryBackendException e) {
+                log.warn("Temporary storage failure while checking locks", e);
+            }
+        }
+
+        throw new TemporaryBackendException("Maximum retries (" + lockRetryCount + ") exceeded while checking locks");
+    }
+
     private void checkSeniority(KeyColumn target, ConsistentKeyLockStatus ls,
                                 Iterable<TimestampRid> claimTRs) throws BackendException {
 
@@ -544,6 +687,8 @@ public class ConsistentKeyLocker extends AbstractLocker<ConsistentKeyLockStatus>
 
     @Override
     protected void deleteSingleLock(KeyColumn kc, ConsistentKeyLockStatus ls, StoreTransaction tx) {
+        if (!ls.isWritten())
+            return; // the claim of a batched lock was never written
         List<StaticBuffer> deletions = Collections.singletonList(serializer.toLockCol(ls.getWriteTimestamp(), rid, times));
         for (int i = 0; i < lockRetryCount; i++) {
             StoreTransaction newTx = null;
@@ -0,0 +1,32 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.log;
+
+import java.util.List;
+
+/**
+ * A {@link MessageReader} which can process multiple messages at once. Logs which read messages in batches hand
+ * all messages of a batch to such a reader in a single call to {@link #read(List)} rather than calling
+ * {@link #read(Message)} for each message.
+ */
+public interface BatchMessageReader extends MessageReader {
+
+    /**
+     * Processes the given messages, which are ordered by their timestamp. The message objects may not be mutated!
+     * @param messages
+     */
+    void read(List<Message> messages);
+
+}
@@ -25,6 +25,7 @@ import org.janusgraph.diskstorage.configuration.Configuration;
 import org.janusgraph.diskstorage.keycolumnvalue.*;
 import org.janusgraph.diskstorage.log.*;
 import org.janusgraph.diskstorage.log.util.FutureMessage;
+import org.janusgraph.diskstorage.log.util.ProcessMessageBatchJob;
 import org.janusgraph.diskstorage.log.util.ProcessMessageJob;
 import org.janusgraph.diskstorage.util.*;
 
@@ -32,8 +33,11 @@ import static org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration.*;
 
 import org.janusgraph.graphdb.configuration.PreInitializeConfigOptions;
 import org.janusgraph.graphdb.database.serialize.DataOutput;
+import org.janusgraph.util.stats.MetricManager;
 import org.janusgraph.util.system.BackgroundThread;
 
+import com.codahale.metrics.Histogram;
+import com.codahale.metrics.Timer;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
@@ -99,6 +103,28 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
             "Whether to require consistency for log reading and writing messages to the storage backend",
             ConfigOption.Type.MASKABLE, false);
 
+    public static final ConfigOption<Integer> LOG_SEND_THREADS = new ConfigOption<>(LOG_NS, "send-threads",
+            "Number of threads which send queued log messages to the storage backend. Each thread sends the messages " +
+            "of its own share of the log's partitions and buckets, hence more than one thread is only effective if the log " +
+            "has multiple buckets or partitions.",
+            ConfigOption.Type.MASKABLE, 1, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Boolean> LOG_ADAPTIVE_SEND_BATCH = new ConfigOption<>(LOG_NS, "adaptive-send-batch",
+            "Whether to send queued log messages as soon as there are as many as are expected to be added while a batch " +
+            "is being written, based on the observed message rate and backend write latency. Otherwise, messages are sent once " +
+            "send-batch-size messages are queued or the oldest has been queued for send-delay. Batches never exceed send-batch-size.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Boolean> LOG_STREAMING_READ = new ConfigOption<>(LOG_NS, "streaming-read",
+            "Whether readers pull messages continuously rather than once per read-interval. A reader which is behind reads " +
+            "several timeslices at once and immediately pulls again, while a reader which finds no new messages doubles its " +
+            "polling delay up to read-interval. Messages are handed to the registered readers in batches.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Integer> LOG_READ_AHEAD_TIMESLICES = new ConfigOption<>(LOG_NS, "read-ahead-timeslices",
+            "Maximum number of timeslices of a bucket that are read at once when streaming-read is enabled",
+            ConfigOption.Type.MASKABLE, 4, ConfigOption.positiveInt());
+
     //########## INTERNAL CONSTANTS #############
 
     /**
@@ -122,6 +148,10 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
      * If back pressure is a regular occurrence, decrease the sending interval or increase the sending batch size
      */
     private final static int BATCH_SIZE_MULTIPLIER = 10;
+    /**
+     * Weight of the latest sample in the moving averages of message rate and write latency used for adaptive batching
+     */
+    private final static double ADAPTIVE_SMOOTHING_FACTOR = 0.2;
     /**
      * Wait time after close() is called for all ongoing jobs to finish and shut down.
      */
@@ -130,6 +160,11 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
      * Time before a registered reader starts processing messages
      */
     private final static Duration INITIAL_READER_DELAY = Duration.ofMillis(100L);
+    /**
+     * Polling delay of a streaming reader which has caught up, see {@link #LOG_STREAMING_READ}. The delay is doubled
+     * for every poll that does not find any messages, up to the configured read interval.
+     */
+    private final static Duration MIN_STREAMING_READ_DELAY = Duration.ofMillis(10L);
 
     private final static Duration FOREVER = Duration.ofNanos(Long.MAX_VALUE); // TODO remove this
 
@@ -156,6 +191,12 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
 
     private static final Random random = new Random();
 
+    private static final String M_LOG = "log";
+    private static final String M_SEND = "send";
+    private static final String M_FLUSH = "flush";
+    private static final String M_BATCH_SIZE = "batch-size";
+    private static final String M_QUEUE_DEPTH = "queue-depth";
+
     private static final Duration TWO_MICROSECONDS =
             Duration.of(2L, ChronoUnit.MICROS);
 
@@ -186,20 +227,28 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
     private final int sendBatchSize;
     private final Duration maxSendDelay;
     private final Duration maxWriteTime;
+    private final boolean adaptiveSendBatch;
     /**
-     * Used for batch addition of messages to the log. Newly added entries are buffered in this queue before being written in batch
+     * Background threads which periodically write out the queued up messages. Each thread has its own queue and writes
+     * the messages of a fixed share of the partition/bucket combinations, see {@link #getSendThread(int, int)}.
+     * Null if messages are sent immediately. TODO: consider batching messages across ALL logs
      */
-    private final ArrayBlockingQueue<MessageEnvelope> outgoingMsg;
+    private final SendThread[] sendThreads;
+
     /**
-     * Background thread which periodically writes out the queued up messages. TODO: consider batching messages across ALL logs
+     * Metrics on message sending, null if metrics are disabled
      */
-    private final SendThread sendThread;
+    private final Timer flushTimer;
+    private final Histogram batchSizeHistogram;
+    private final Histogram queueDepthHistogram;
 
     private final int numReadThreads;
     private final int maxReadMsg;
     private final Duration readPollingInterval;
     private final Duration readLagTime;
     private final Duration maxReadTime;
+    private final boolean streamingRead;
+    private final int readAheadTimeslices;
 
     /**
      * Thread pool to read messages in the specified interval from the various keys in a time slice AND to process
@@ -246,20 +295,35 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
         sendBatchSize = config.get(LOG_SEND_BATCH_SIZE);
         maxSendDelay = config.get(LOG_SEND_DELAY);
         maxWriteTime = config.get(LOG_MAX_WRITE_TIME);
+        adaptiveSendBatch = config.get(LOG_ADAPTIVE_SEND_BATCH);
 
         numReadThreads = config.get(LOG_READ_THREADS);
         maxReadMsg = config.get(LOG_READ_BATCH_SIZE);
+        streamingRead = config.get(LOG_STREAMING_READ);
+        readAheadTimeslices = config.get(LOG_READ_AHEAD_TIMESLICES);
         readPollingInterval = config.get(LOG_READ_INTERVAL);
         readLagTime = config.get(LOG_READ_LAG_TIME).plus(maxSendDelay);
         maxReadTime = config.get(LOG_MAX_READ_TIME);
 
+        if (config.get(BASIC_METRICS)) {
+            flushTimer = MetricManager.INSTANCE.getTimer(METRICS_SYSTEM_PREFIX_DEFAULT, M_LOG, name, M_SEND, M_FLUSH);
+            batchSizeHistogram = MetricManager.INSTANCE.getHistogram(METRICS_SYSTEM_PREFIX_DEFAULT, M_LOG, name, M_SEND, M_BATCH_SIZE);
+            queueDepthHistogram = MetricManager.INSTANCE.getHistogram(METRICS_SYSTEM_PREFIX_DEFAULT, M_LOG, name, M_SEND, M_QUEUE_DEPTH);
+        } else {
+            flushTimer = null;
+            batchSizeHistogram = null;
+            queueDepthHistogram = null;
+        }
+
         if (MIN_DELIVERY_DELAY.compareTo(maxSendDelay) <= 0) { // No need to locally queue messages since they will be sent immediately
-            outgoingMsg = new ArrayBlockingQueue<>(sendBatchSize * BATCH_SIZE_MULTIPLIER);
-            sendThread = new SendThread();
-            sendThread.start();
+            int numSendThreads = config.get(LOG_SEND_THREADS);
+            sendThreads = new SendThread[numSendThreads];
+            for (int i = 0; i < numSendThreads; i++) {
+                sendThreads[i] = new SendThread(numSendThreads == 1 ? "" : "-" + i);
+                sendThreads[i].start();
+            }
         } else {
-            outgoingMsg = null;
-            sendThread = null;
+            sendThreads = null;
         }
 
         //These will be initialized when the first readers are registered (see below)
@@ -286,8 +350,19 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
     public synchronized void close() throws BackendException {
         if (!isOpen) return;
         this.isOpen = false;
-        if (readExecutor!=null) readExecutor.shutdown();
-        if (sendThread!=null) sendThread.close(CLOSE_DOWN_WAIT);
+        if (readExecutor!=null) {
+            //Streaming pullers reschedule themselves, so their pending pulls are cancelled before the executor shuts down
+            //while already submitted messages are still processed
+            if (streamingRead) {
+                for (MessagePuller puller : msgPullers) {
+                    puller.cancel();
+                }
+            }
+            readExecutor.shutdown();
+        }
+        if (sendThreads!=null) {
+            for (SendThread sendThread : sendThreads) sendThread.close(CLOSE_DOWN_WAIT);
+        }
         if (readExecutor!=null) {
             try {
                 readExecutor.awaitTermination(1,TimeUnit.SECONDS);
@@ -415,7 +490,8 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
         KCVSMessage msg = new KCVSMessage(content,timestamp,manager.senderId);
         FutureMessage futureMessage = new FutureMessage(msg);
 
-        StaticBuffer key=getLogKey(partitionId,(int)(numBucketCounter.incrementAndGet()%numBuckets),getTimeSlice(timestamp));
+        final int bucketId = (int)(numBucketCounter.incrementAndGet()%numBuckets);
+        StaticBuffer key=getLogKey(partitionId,bucketId,getTimeSlice(timestamp));
         MessageEnvelope envelope = new MessageEnvelope(futureMessage,key,writeMessage(msg));
 
         if (persistor!=null) {
@@ -426,11 +502,11 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
                 envelope.message.failed(e);
                 throw e;
             }
-        } else if (outgoingMsg==null) {
+        } else if (sendThreads==null) {
             sendMessages(Collections.singletonList(envelope));
         } else {
             try {
-                outgoingMsg.put(envelope); //Produces back pressure when full
+                getSendThread(partitionId, bucketId).outgoingMsg.put(envelope); //Produces back pressure when full
                 log.debug("Enqueued {} for partition {}", envelope, partitionId);
             } catch (InterruptedException e) {
                 throw new JanusGraphException("Got interrupted waiting to send message",e);
@@ -439,6 +515,15 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
         return futureMessage;
     }
 
+    /**
+     * Returns the thread which sends the messages of the given partition and bucket. All messages written under the
+     * same key are sent by the same thread.
+     */
+    private SendThread getSendThread(int partitionId, int bucketId) {
+        if (sendThreads.length == 1) return sendThreads[0];
+        return sendThreads[(int) (((long) partitionId * numBuckets + bucketId) % sendThreads.length)];
+    }
+
     /**
      * Helper class to hold the message and its serialization for writing
      */
@@ -467,6 +552,8 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
      * @param msgEnvelopes
      */
     private void sendMessages(final List<MessageEnvelope> msgEnvelopes) {
+        final Timer.Context flushTime = flushTimer != null ? flushTimer.time() : null;
+        if (batchSizeHistogram != null) batchSizeHistogram.update(msgEnvelopes.size());
         try {
             boolean success=BackendOperation.execute(new BackendOperation.Transactional<Boolean>() {
                 @Override
@@ -500,6 +587,8 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
             for (MessageEnvelope msgEnvelope : msgEnvelopes)
                 msgEnvelope.message.failed(e);
             throw e;
+        } finally {
+            if (flushTime != null) flushTime.stop();
         }
     }
 
@@ -507,16 +596,53 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
      * This background thread only gets started when messages are locally queued for up to a maximum number of microseconds
      * or until the maximum number of local messages is reached.
      * This thread waits for either event and then triggers {@link #sendMessages(java.util.List)} call to persist the messages.
+     * <p>
+     * With {@link #LOG_ADAPTIVE_SEND_BATCH}, the number of messages to wait for is the number of messages which are expected
+     * to be added while a batch is written, i.e. the message rate times the write latency. At low rates, messages are
+     * therefore sent right away, while at high rates the batches grow such that writing keeps up with the rate.
      */
     private class SendThread extends BackgroundThread {
 
+        /**
+         * Used for batch addition of messages to the log. Newly added entries are buffered in this queue before being written in batch
+         */
+        private final ArrayBlockingQueue<MessageEnvelope> outgoingMsg;
         private final List<MessageEnvelope> toSend;
 
-        public SendThread() {
-            super("KCVSLogSend"+name, false);
+        /**
+         * Moving averages of the number of messages sent per nanosecond and of the write latency in nanoseconds
+         */
+        private double messageRate = 0.0;
+        private double writeLatency = 0.0;
+        private long lastSendTime = 0;
+
+        public SendThread(String suffix) {
+            super("KCVSLogSend"+name+suffix, false);
+            outgoingMsg = new ArrayBlockingQueue<>(sendBatchSize * BATCH_SIZE_MULTIPLIER);
             toSend = new ArrayList<>(sendBatchSize * 3 / 2);
         }
 
+        private int targetBatchSize() {
+            if (!adaptiveSendBatch) return sendBatchSize;
+            return (int) Math.max(1, Math.min(sendBatchSize, Math.ceil(messageRate * writeLatency)));
+        }
+
+        private void send(List<MessageEnvelope> batch) {
+            final long start = System.nanoTime();
+            try {
+                sendMessages(batch);
+            } finally {
+                if (adaptiveSendBatch) {
+                    final long end = System.nanoTime();
+                    if (lastSendTime > 0 && start > lastSendTime) {
+                        messageRate += ADAPTIVE_SMOOTHING_FACTOR * ((double) batch.size() / (start - lastSendTime) - messageRate);
+                    }
+                    writeLatency += ADAPTIVE_SMOOTHING_FACTOR * ((end - start) - writeLatency);
+                    lastSendTime = start;
+                }
+            }
+        }
+
         private Duration timeSinceFirstMsg() {
 
             Duration sinceFirst =  Duration.ZERO;
@@ -556,9 +682,10 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
                 toSend.add(msg);
             }
             //Evaluate send condition: 1) Is the oldest message waiting longer than the delay? or 2) Do we have enough messages to send?
-            if (!toSend.isEmpty() && (maxSendDelay.compareTo(timeSinceFirstMsg()) <= 0 || toSend.size() >= sendBatchSize)) {
+            if (!toSend.isEmpty() && (maxSendDelay.compareTo(timeSinceFirstMsg()) <= 0 || toSend.size() >= targetBatchSize())) {
+                if (queueDepthHistogram != null) queueDepthHistogram.update(outgoingMsg.size());
                 try {
-                    sendMessages(toSend);
+                    send(toSend);
                 } finally {
                     toSend.clear();
                 }
@@ -621,12 +748,17 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
                 for (int bucketId = 0; bucketId < numBuckets; bucketId++) {
                     msgPullers[pos]=new MessagePuller(partitionId,bucketId);
 
-                    log.debug("Creating log read executor: initialDelay={} delay={} unit={}", INITIAL_READER_DELAY.toNanos(), readPollingInterval.toNanos(), TimeUnit.NANOSECONDS);
-                    readExecutor.scheduleWithFixedDelay(
-                            msgPullers[pos],
-                            INITIAL_READER_DELAY.toNanos(),
-                            readPollingInterval.toNanos(),
-                            TimeUnit.NANOSECONDS);
+                    if (streamingRead) {
+                        log.debug("Creating streaming log reader: initialDelay={} maxDelay={} unit={}", INITIAL_READER_DELAY.toNanos(), readPollingInterval.toNanos(), TimeUnit.NANOSECONDS);
+                        msgPullers[pos].schedule(INITIAL_READER_DELAY);
+                    } else {
+                        log.debug("Creating log read executor: initialDelay={} delay={} unit={}", INITIAL_READER_DELAY.toNanos(), readPollingInterval.toNanos(), TimeUnit.NANOSECONDS);
+                        readExecutor.scheduleWithFixedDelay(
+                                msgPullers[pos],
+                                INITIAL_READER_DELAY.toNanos(),
+                                readPollingInterval.toNanos(),
+                                TimeUnit.NANOSECONDS);
+                    }
                     pos++;
                 }
             }
@@ -658,6 +790,10 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
      * or current timestamp minus the configured read lag time {@link #LOG_READ_LAG_TIME}.
      * The read marker is used to initialize the start time to read from. If a read marker is configured, then
      * the read marker time is looked up for initialization.
+     * <p>
+     * With {@link #LOG_STREAMING_READ}, the puller instead reads up to {@link #LOG_READ_AHEAD_TIMESLICES} timeslices
+     * per run, hands the messages to the readers in one batch and reschedules itself with a delay depending on
+     * whether it is behind, caught up or idle, see {@link #pullTimeslices()}.
      */
     private class MessagePuller implements Runnable {
 
@@ -665,6 +801,10 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
         private final int partitionId;
 
         private Instant messageTimeStart;
+        private Instant persistedMarkerTime;
+        private Duration streamingDelay = MIN_STREAMING_READ_DELAY;
+        private ScheduledFuture<?> scheduledPull;
+        private boolean cancelled = false;
 
         private MessagePuller(final int partitionId, final int bucketId) {
             this.bucketId = bucketId;
@@ -674,6 +814,20 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
 
         @Override
         public void run() {
+            if (streamingRead) {
+                Duration delay;
+                try {
+                    delay = pullTimeslices();
+                } catch (Throwable e) {
+                    if (e.getCause() instanceof PermanentBackendException) {
+                        throw e;
+                    }
+                    log.warn("Could not read messages for timestamp ["+messageTimeStart+"] (this read will be retried)",e);
+                    delay = readPollingInterval;
+                }
+                schedule(delay);
+                return;
+            }
             try {
                 setReadMarker();
 
@@ -747,6 +901,92 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
             }
         }
 
+        private synchronized void schedule(Duration delay) {
+            if (!isOpen || cancelled) return;
+            scheduledPull = readExecutor.schedule(this, delay.toNanos(), TimeUnit.NANOSECONDS);
+        }
+
+        /**
+         * Cancels the pending pull of a streaming puller and prevents it from being rescheduled.
+         */
+        private synchronized void cancel() {
+            cancelled = true;
+            if (scheduledPull != null) scheduledPull.cancel(false);
+        }
+
+        /**
+         * Reads all messages from the current read position up to the current time minus the read lag time, but
+         * at most from {@link #readAheadTimeslices} timeslices, and submits them to the readers in one batch.
+         *
+         * @return the delay until the next pull
+         */
+        private Duration pullTimeslices() {
+            setReadMarker();
+
+            final Instant currentTime = times.getTime();
+            final Instant maxSafeMessageTime = currentTime.minus(readLagTime);
+            if (messageTimeStart.compareTo(maxSafeMessageTime) >= 0) {
+                log.trace("MessagePuller waiting for the clock to catch up with {}", messageTimeStart);
+                return backOff();
+            }
+
+            final int firstTimeslice = getTimeSlice(messageTimeStart);
+            final List<StaticBuffer> logKeys = new ArrayList<>(readAheadTimeslices);
+            Instant messageTimeEnd = messageTimeStart;
+            for (int i = 0; i < readAheadTimeslices; i++) {
+                final long timesliceStart = (firstTimeslice + i) * TIMESLICE_INTERVAL;
+                if (i > 0 && times.getTime(timesliceStart).compareTo(maxSafeMessageTime) >= 0) break;
+                logKeys.add(getLogKey(partitionId, bucketId, firstTimeslice + i));
+                final Instant timesliceEnd = times.getTime(timesliceStart + TIMESLICE_INTERVAL);
+                messageTimeEnd = maxSafeMessageTime.compareTo(timesliceEnd) < 0 ? maxSafeMessageTime : timesliceEnd;
+            }
+            //Messages of each timeslice lie within that timeslice, hence the same column range can be used for all keys
+            final SliceQuery query = new SliceQuery(BufferUtil.getLongBuffer(times.getTime(messageTimeStart)), BufferUtil.getLongBuffer(times.getTime(messageTimeEnd)));
+            query.setLimit(maxReadMsg);
+            log.trace("Converted MessagePuller time window [{}, {}) over {} timeslices to {}", messageTimeStart, messageTimeEnd, logKeys.size(), query);
+
+            final Map<StaticBuffer, EntryList> result = BackendOperation.execute(getOperation(logKeys, query), KCVSLog.this, times, maxReadTime);
+            final List<Message> messages = new ArrayList<>();
+            for (StaticBuffer logKey : logKeys) {
+                final EntryList entries = result.get(logKey);
+                if (entries == null || entries.isEmpty()) continue;
+                for (Entry entry : entries) messages.add(parseMessage(entry));
+                if (entries.size() >= maxReadMsg) {
+                    //The limit was reached, hence retrieve all remaining messages of this timeslice in the window
+                    final KeySliceQuery remainder = new KeySliceQuery(logKey, BufferUtil.nextBiggerBuffer(entries.get(entries.size() - 1).getColumn()), query.getSliceEnd());
+                    for (Entry entry : BackendOperation.execute(getOperation(remainder), KCVSLog.this, times, maxReadTime)) {
+                        messages.add(parseMessage(entry));
+                    }
+                }
+            }
+            if (!messages.isEmpty()) {
+                log.debug("Parsed {} messages, about to submit them to the reader executor", messages.size());
+                final List<Message> batch = Collections.unmodifiableList(messages);
+                for (MessageReader reader : readers) {
+                    readExecutor.submit(new ProcessMessageBatchJob(batch, reader));
+                }
+            }
+            messageTimeStart = messageTimeEnd;
+
+            if (messageTimeEnd.compareTo(maxSafeMessageTime) < 0) {
+                //More timeslices are ready to be read
+                streamingDelay = MIN_STREAMING_READ_DELAY;
+                return Duration.ZERO;
+            } else if (!messages.isEmpty()) {
+                streamingDelay = MIN_STREAMING_READ_DELAY;
+                return streamingDelay;
+            } else {
+                return backOff();
+            }
+        }
+
+        private Duration backOff() {
+            final Duration delay = streamingDelay;
+            final Duration next = streamingDelay.multipliedBy(2);
+            streamingDelay = next.compareTo(readPollingInterval) < 0 ? next : readPollingInterval;
+            return delay;
+        }
+
         private void initializeTimepoint() {
             Preconditions.checkState(null == this.messageTimeStart);
 
@@ -771,10 +1011,11 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
         }
 
         private void setReadMarker() {
-            if (readMarker.hasIdentifier()) {
+            if (readMarker.hasIdentifier() && !messageTimeStart.equals(persistedMarkerTime)) {
                 try {
                     log.debug("Attempting to persist read marker with identifier {}", readMarker.getIdentifier());
                     writeSetting(readMarker.getIdentifier(), getMarkerColumn(partitionId, bucketId), times.getTime(messageTimeStart));
+                    persistedMarkerTime = messageTimeStart;
                     log.debug("Persisted read marker: identifier={} partitionId={} buckedId={} nextTimepoint={}",
                             readMarker.getIdentifier(), partitionId, bucketId, messageTimeStart);
                 } catch (Throwable e) {
@@ -787,6 +1028,26 @@ public class KCVSLog implements Log, BackendOperation.TransactionalProvider {
             setReadMarker();
         }
 
+        private BackendOperation.Transactional<Map<StaticBuffer, EntryList>> getOperation(final List<StaticBuffer> keys, final SliceQuery query) {
+            return new BackendOperation.Transactional<Map<StaticBuffer, EntryList>>() {
+                @Override
+                public Map<StaticBuffer, EntryList> call(StoreTransaction txh) throws BackendException {
+                    if (keys.size() > 1 && manager.storeManager.getFeatures().hasMultiQuery()) {
+                        return store.getSlice(keys, query, txh);
+                    }
+                    final Map<StaticBuffer, EntryList> result = new HashMap<>(keys.size());
+                    for (StaticBuffer key : keys) {
+                        result.put(key, store.getSlice(new KeySliceQuery(key, query), txh));
+                    }
+                    return result;
+                }
+                @Override
+                public String toString() {
+                    return "messageStreaming@"+partitionId+":"+bucketId;
+                }
+            };
+        }
+
         private BackendOperation.Transactional<List<Entry>> getOperation(final KeySliceQuery query) {
             return new BackendOperation.Transactional<List<Entry>>() {
                 @Override
@@ -0,0 +1,58 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.log.util;
+
+import com.google.common.base.Preconditions;
+import org.janusgraph.diskstorage.log.BatchMessageReader;
+import org.janusgraph.diskstorage.log.Message;
+import org.janusgraph.diskstorage.log.MessageReader;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.List;
+
+/**
+ * Helper class for processing a batch of read messages with one of the registered message readers.
+ * The messages are passed to a {@link BatchMessageReader} at once and to any other reader one by one.
+ */
+public class ProcessMessageBatchJob implements Runnable {
+
+    private static final Logger log = LoggerFactory.getLogger(ProcessMessageBatchJob.class);
+
+    private final List<Message> messages;
+    private final MessageReader reader;
+
+    public ProcessMessageBatchJob(final List<Message> messages, final MessageReader reader) {
+        Preconditions.checkArgument(messages!=null && !messages.isEmpty() && reader!=null);
+        this.messages = messages;
+        this.reader = reader;
+    }
+
+    @Override
+    public void run() {
+        if (reader instanceof BatchMessageReader) {
+            try {
+                log.debug("Passing {} messages to {}", messages.size(), reader);
+                ((BatchMessageReader) reader).read(messages);
+            } catch (Throwable e) {
+                log.error("Encountered exception when processing "+messages.size()+" messages by reader ["+reader+"]:",e);
+            }
+        } else {
+            for (Message message : messages) {
+                new ProcessMessageJob(message, reader).run();
+            }
+        }
+    }
+}
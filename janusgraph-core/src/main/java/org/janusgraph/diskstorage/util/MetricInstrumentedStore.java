@@ -15,10 +15,12 @@
 package org.janusgraph.diskstorage.util;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Arrays;
 import java.util.Collections;
 import java.util.List;
 import java.util.Map;
+import java.util.concurrent.CompletableFuture;
 
 import org.janusgraph.diskstorage.BackendException;
 import org.janusgraph.diskstorage.Entry;
@@ -108,6 +110,26 @@ public class MetricInstrumentedStore implements KeyColumnValueStore {
         });
     }
 
+    @Override
+    public CompletableFuture<EntryList> getSliceAsync(final KeySliceQuery query, final StoreTransaction txh) {
+        if (!txh.getConfiguration().hasGroupName()) {
+            return backend.getSliceAsync(query, txh);
+        }
+        final String prefix = txh.getConfiguration().getGroupName();
+        final MetricManager mgr = MetricManager.INSTANCE;
+        mgr.getCounter(prefix, metricsStoreName, M_GET_SLICE, M_CALLS).inc();
+        final Timer.Context tc = mgr.getTimer(prefix, metricsStoreName, M_GET_SLICE, M_TIME).time();
+
+        return backend.getSliceAsync(query, txh).whenComplete((result, throwable) -> {
+            tc.stop();
+            if (throwable != null) {
+                mgr.getCounter(prefix, metricsStoreName, M_GET_SLICE, M_EXCEPTIONS).inc();
+            } else {
+                recordSliceMetrics(txh, result);
+            }
+        });
+    }
+
     @Override
     public Map<StaticBuffer,EntryList> getSlice(final List<StaticBuffer> keys,
                                       final SliceQuery query,
@@ -168,6 +190,22 @@ public class MetricInstrumentedStore implements KeyColumnValueStore {
         });
     }
 
+    @Override
+    public List<KeyIterator> getKeys(final SliceQuery query, final int numSplits, final StoreTransaction txh) throws BackendException {
+        return runWithMetrics(txh, metricsStoreName, M_GET_KEYS, () -> {
+            final List<KeyIterator> iterators = backend.getKeys(query, numSplits, txh);
+            if (txh.getConfiguration().hasGroupName()) {
+                final List<KeyIterator> instrumented = new ArrayList<>(iterators.size());
+                for (final KeyIterator ki : iterators) {
+                    instrumented.add(MetricInstrumentedIterator.of(ki, txh.getConfiguration().getGroupName(), metricsStoreName, M_GET_KEYS, M_ITERATOR));
+                }
+                return instrumented;
+            } else {
+                return iterators;
+            }
+        });
+    }
+
     @Override
     public String getName() {
         return backend.getName();
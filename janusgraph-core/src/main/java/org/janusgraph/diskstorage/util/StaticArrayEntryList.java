@@ -268,6 +268,53 @@ public class StaticArrayEntryList extends AbstractList<Entry> implements EntryLi
     }
 
 
+    //############# SERIALIZATION #######################
+
+    /**
+     * Returns the number of bytes {@link #writeTo(ByteBuffer)} writes for this list.
+     *
+     * @return the serialized size of this list in bytes
+     */
+    public int getSerializedSize() {
+        return 4 + 1 + metaDataSchema.length + limitAndValuePos.length*8 + getDataLength();
+    }
+
+    /**
+     * Writes the entries of this list into the given buffer starting at its current position, such that
+     * {@link #readFrom(ByteBuffer)} can reconstruct them. Cached relations are not written.
+     *
+     * @param buffer buffer with at least {@link #getSerializedSize()} bytes remaining
+     */
+    public void writeTo(ByteBuffer buffer) {
+        buffer.putInt(limitAndValuePos.length);
+        buffer.put((byte) metaDataSchema.length);
+        for (EntryMetaData meta : metaDataSchema) buffer.put((byte) meta.ordinal());
+        for (long lvp : limitAndValuePos) buffer.putLong(lvp);
+        buffer.put(data, 0, getDataLength());
+    }
+
+    /**
+     * Reads a list written by {@link #writeTo(ByteBuffer)} starting at the current position of the given buffer
+     * with a single bulk copy of the entry data.
+     *
+     * @param buffer buffer positioned at the start of a serialized list, which is advanced past its end
+     * @return the deserialized list
+     */
+    public static EntryList readFrom(ByteBuffer buffer) {
+        final int num = buffer.getInt();
+        final EntryMetaData[] metadataSchema = new EntryMetaData[buffer.get()];
+        for (int i = 0; i < metadataSchema.length; i++) metadataSchema[i] = EntryMetaData.values()[buffer.get()];
+        final long[] limitAndValuePos = new long[num];
+        for (int i = 0; i < num; i++) limitAndValuePos[i] = buffer.getLong();
+        final byte[] data = new byte[getLimit(limitAndValuePos[num-1])];
+        buffer.get(data);
+        return new StaticArrayEntryList(data,limitAndValuePos,metadataSchema);
+    }
+
+    private int getDataLength() {
+        return getLimit(limitAndValuePos[limitAndValuePos.length-1]);
+    }
+
     //############# CONSTRUCTORS #######################
 
     public static EntryList of(Entry... entries) {
@@ -37,9 +37,13 @@ import org.janusgraph.diskstorage.configuration.backend.CommonsConfiguration;
 import org.janusgraph.diskstorage.idmanagement.ConflictAvoidanceMode;
 import org.janusgraph.diskstorage.idmanagement.ConsistentKeyIDAuthority;
 import org.janusgraph.diskstorage.keycolumnvalue.StoreFeatures;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.ExpirationKCVSCache;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.OffHeapKCVSCache;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.VersionedRowKCVSCache;
 import org.janusgraph.graphdb.database.cache.MetricInstrumentedSchemaCache;
 import org.janusgraph.graphdb.database.cache.StandardSchemaCache;
 import org.janusgraph.graphdb.database.cache.SchemaCache;
+import org.janusgraph.graphdb.database.cache.SnapshotSchemaCache;
 import org.janusgraph.graphdb.database.serialize.StandardSerializer;
 import org.janusgraph.util.system.ConfigurationUtil;
 import org.janusgraph.util.system.NetworkUtil;
@@ -49,6 +53,7 @@ import org.apache.tinkerpop.gremlin.structure.Graph;
 import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
+import java.util.function.Function;
 
 import javax.annotation.Nullable;
 import javax.management.MBeanServerFactory;
@@ -205,6 +210,23 @@ public class GraphDatabaseConfiguration {
             "How the graph computer should return the computed results. 'persist' for writing them into the graph, " +
                     "'localtx' for writing them into the local transaction, or 'none' (default)", ConfigOption.Type.MASKABLE, "none");
 
+    public static final ConfigOption<Boolean> COMPUTER_TOPOLOGY_SNAPSHOT = new ConfigOption<>(COMPUTER_NS,"topology-snapshot",
+            "Whether the graph computer should read the adjacency and properties of all vertices from the storage backend " +
+            "only once, in the first iteration of a vertex program, and run all later iterations from an in-memory snapshot. " +
+            "The snapshot holds the serialized rows of the whole graph, so it must fit into memory.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Boolean> COMPUTER_TOPOLOGY_SNAPSHOT_OFF_HEAP = new ConfigOption<>(COMPUTER_NS,"topology-snapshot-off-heap",
+            "Whether the topology snapshot of `computer.topology-snapshot` keeps the serialized rows in direct (off-heap) " +
+            "memory instead of on the Java heap. Rows are then copied back onto the heap when their vertex is processed.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Boolean> COMPUTER_COLUMNAR_VERTEX_MEMORY = new ConfigOption<>(COMPUTER_NS,"columnar-vertex-memory",
+            "Whether the graph computer should keep vertex compute keys and messages in columns indexed by vertex instead of " +
+            "one state object per vertex. Numeric values are stored in primitive slots and messages which are combined by the " +
+            "vertex program's MessageCombiner are merged without locking. All messages of a message scope must have the same type.",
+            ConfigOption.Type.MASKABLE, false);
+
 
     // ################ Transaction #######################
     // ################################################
@@ -222,6 +244,21 @@ public class GraphDatabaseConfiguration {
                     "Must be longer than the maximum allowed write time.",
             ConfigOption.Type.GLOBAL, Duration.ofSeconds(10));
 
+    public static final ConfigOption<Boolean> PARALLEL_COMMIT = new ConfigOption<>(TRANSACTION_NS,"parallel-commit",
+            "Whether to commit a transaction's mutations to the mixed indexes concurrently on the thread pool enabled by " +
+            "`storage.parallel-backend-ops`. The mixed indexes are only committed once the storage backend commit succeeded: " +
+            "index commits are deliberately not overlapped with the storage commit since transaction recovery cannot remove " +
+            "index documents of a failed storage commit.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Integer> PARALLEL_PREPARE_THRESHOLD = new ConfigOption<>(TRANSACTION_NS,"parallel-prepare-threshold",
+            "Minimum number of added and removed relations of a transaction for its commit to serialize the added relations " +
+            "and index updates in parallel on a dedicated thread pool with one thread per processor. The schema and index " +
+            "definitions and the indexed property values are still resolved by the committing thread. Locks are acquired " +
+            "and mutations are handed to the storage backend in the same order as in " +
+            "a sequential commit. Set to 0 to always prepare commits sequentially.",
+            ConfigOption.Type.MASKABLE, 0, ConfigOption.nonnegativeInt());
+
 
     public static final ConfigNamespace TRANSACTION_RECOVERY_NS = new ConfigNamespace(TRANSACTION_NS,"recovery",
             "Configuration options for transaction recovery processes");
@@ -256,6 +293,19 @@ public class GraphDatabaseConfiguration {
                     "expensive for vertices with many properties",
             ConfigOption.Type.MASKABLE, true);
 
+    public static final ConfigOption<Boolean> LAZY_PROPERTY_DECODING = new ConfigOption<>(QUERY_NS,"lazy-property-decoding",
+            "Whether the properties of edges and the meta-properties of vertex properties are decoded one at a time when they are " +
+                    "first accessed instead of all at once when the first of them is accessed. This saves decoding work for traversals " +
+                    "which only access few of the properties of relations that have many properties.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Boolean> ADJACENT_VERTEX_PROJECTION = new ConfigOption<>(QUERY_NS,"adjacent-vertex-projection",
+            "Whether vertex-centric queries which only retrieve the adjacent vertices of edges with MULTI multiplicity and " +
+                    "have no property constraints or orders read only the columns of the edges but not their values from the " +
+                    "storage backend. This reduces the amount of data read and transferred for traversals like out('follows') " +
+                    "on edges which carry properties.",
+            ConfigOption.Type.MASKABLE, false);
+
     public static final ConfigOption<Boolean> ADJUST_LIMIT = new ConfigOption<>(QUERY_NS,"smart-limit",
             "Whether the query optimizer should try to guess a smart limit for the query to ensure responsiveness in " +
                     "light of possibly large result sets. Those will be loaded incrementally if this option is enabled.",
@@ -266,6 +316,21 @@ public class GraphDatabaseConfiguration {
                     "performance improvement if there is a non-trivial latency to the backend.",
             ConfigOption.Type.MASKABLE, false);
 
+    public static final ConfigOption<Boolean> BATCH_PIPELINE = new ConfigOption<>(QUERY_NS,"batch-pipeline",
+            "Whether batched traversal queries (see `query.batch`) should be executed in chunks of traversers instead of loading " +
+                    "all traversers of a step at once. The storage backend reads for the next chunk are issued asynchronously while " +
+                    "the results of the current chunk are emitted, and the chunk size adapts to the observed backend latency.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Integer> BATCH_PIPELINE_SIZE = new ConfigOption<>(QUERY_NS,"batch-pipeline-size",
+            "Maximum number of traversers per chunk when `query.batch-pipeline` is enabled.",
+            ConfigOption.Type.MASKABLE, 1000, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Duration> BATCH_PIPELINE_TARGET_LATENCY = new ConfigOption<>(QUERY_NS,"batch-pipeline-target-latency",
+            "Targeted storage backend latency (in ms) for loading one chunk when `query.batch-pipeline` is enabled. Chunks grow " +
+                    "while they are loaded in less than half of this time and shrink when loading takes longer.",
+            ConfigOption.Type.MASKABLE, Duration.ofMillis(20));
+
     public static final ConfigOption<String> INDEX_SELECT_STRATEGY = new ConfigOption<>(QUERY_NS, "index-select-strategy",
             String.format("Name of the index selection strategy or full class name. Following shorthands can be used: <br>" +
                     "- `%s` (Try all combinations of index candidates and pick up optimal one)<br>" +
@@ -278,9 +343,15 @@ public class GraphDatabaseConfiguration {
     public static final ConfigOption<Boolean> BATCH_PROPERTY_PREFETCHING = new ConfigOption<>(QUERY_NS,"batch-property-prefetch",
             "Whether to do a batched pre-fetch of all properties on adjacent vertices against the storage backend prior to evaluating a has condition against those vertices. " +
                     "Because these vertex properties will be loaded into the transaction-level cache of recently-used vertices when the condition is evaluated this can " +
-                    "lead to significant performance improvement if there are many edges to adjacent vertices and there is a non-trivial latency to the backend.",
+                    "lead to significant performance improvement if there are many edges to adjacent vertices and there is a non-trivial latency to the backend. " +
+                    "The properties accessed by has, valueMap, elementMap and values steps are likewise pre-fetched for batches of incoming vertices.",
             ConfigOption.Type.MASKABLE, false);
 
+    public static final ConfigOption<Integer> BATCH_PROPERTY_PREFETCH_SIZE = new ConfigOption<>(QUERY_NS,"batch-property-prefetch-size",
+            "Maximum number of incoming vertices whose properties are pre-fetched at once when `query.batch-property-prefetch` is " +
+                    "enabled. Batches are further limited to `cache.tx-cache-size` vertices.",
+            ConfigOption.Type.MASKABLE, 1000, ConfigOption.positiveInt());
+
     // ################ SCHEMA #######################
     // ################################################
 
@@ -344,6 +415,17 @@ public class GraphDatabaseConfiguration {
             "transaction to independently fetch graph elements from storage before reading/writing them.",
             ConfigOption.Type.MASKABLE, false);
 
+    public static final ConfigOption<String> DB_CACHE_TYPE = new ConfigOption<>(CACHE_NS,"db-cache-type",
+            String.format("Implementation of the database-level cache. Following shorthands can be used: <br>" +
+                    "- `%s` (Caches each slice query separately and expires invalidated keys after a grace period)<br>" +
+                    "- `%s` (Caches all slices of a row together, admits rows by estimated access frequency and " +
+                    "invalidates rows through version stamps)<br>" +
+                    "- `%s` (Keeps serialized slices in direct memory outside of the heap, bounded by " +
+                    "`-XX:MaxDirectMemorySize`, and evicts the oldest slices first. Relations are parsed again on every cache " +
+                    "hit since parsed relations are not kept off heap)",
+                    ExpirationKCVSCache.NAME, VersionedRowKCVSCache.NAME, OffHeapKCVSCache.NAME),
+            ConfigOption.Type.MASKABLE, ExpirationKCVSCache.NAME);
+
     /**
      * The size of the database level cache.
      * If this value is between 0.0 (strictly bigger) and 1.0 (strictly smaller), then it is interpreted as a
@@ -380,6 +462,14 @@ public class GraphDatabaseConfiguration {
             "triggers eviction when set to 0).",
             ConfigOption.Type.GLOBAL_OFFLINE, 10000L);
 
+    public static final ConfigOption<String> SCHEMA_CACHE_TYPE = new ConfigOption<>(CACHE_NS,"schema-cache-type",
+            String.format("Implementation of the cache for schema vertices and their definitions. Following shorthands can be used: <br>" +
+                    "- `%s` (Loads each schema element from storage on first access)<br>" +
+                    "- `%s` (Loads the whole schema in a single bulk pass into an immutable snapshot which is read " +
+                    "without locking and refreshed per element on schema eviction)",
+                    StandardSchemaCache.NAME, SnapshotSchemaCache.NAME),
+            ConfigOption.Type.MASKABLE, StandardSchemaCache.NAME);
+
     /**
      * Configures the maximum number of recently-used vertices cached by a transaction. The smaller the cache size, the
      * less memory a transaction can consume at maximum. For many concurrent, long running transactions in memory constraint
@@ -594,6 +684,15 @@ public class GraphDatabaseConfiguration {
             "up to this many elements.",
             ConfigOption.Type.MASKABLE, 100);
 
+    /**
+     * Number of key ranges into which full scans of a store are split. The key ranges are read concurrently.
+     */
+    public static final ConfigOption<Integer> SCAN_SPLITS = new ConfigOption<>(STORAGE_NS,"scan-splits",
+            "Number of key ranges into which full scans of the storage backend, such as those of reindex and ghost vertex " +
+            "removal jobs, are split. Each key range is read concurrently by its own thread. Only storage backends which " +
+            "can split their keys, i.e. cql with a random partitioner and inmemory, use more than one key range.",
+            ConfigOption.Type.MASKABLE, 1, ConfigOption.positiveInt());
+
     public static final ConfigOption<Boolean> DROP_ON_CLEAR = new ConfigOption<>(STORAGE_NS, "drop-on-clear",
             "Whether to drop the graph database (true) or delete rows (false) when clearing storage. " +
             "Note that some backends always drop the graph database when clearing storage. Also note that indices are " +
@@ -646,6 +745,19 @@ public class GraphDatabaseConfiguration {
             "Whether to delete expired locks from the storage backend",
             ConfigOption.Type.MASKABLE, false);
 
+    /**
+     * Whether the default lock backend writes and checks all lock claims of a transaction together instead of one
+     * lock at a time. This option is only meaningful for the default lock backend.
+     *
+     * @see #LOCK_BACKEND
+     */
+    public static final ConfigOption<Boolean> LOCK_BATCH = new ConfigOption<>(LOCK_NS, "batch",
+            "Whether to write all lock claims of a transaction in a single batch mutation right before the " +
+            "transaction's first mutation and verify them with a single multi-key read after one shared wait period, " +
+            "instead of writing and verifying each lock claim separately. This reduces the number of storage round " +
+            "trips of transactions that acquire many locks.",
+            ConfigOption.Type.MASKABLE, false);
+
     /**
      * Locker type to use.  The supported types are in {@link org.janusgraph.diskstorage.Backend}.
      */
@@ -763,6 +875,32 @@ public class GraphDatabaseConfiguration {
             "This helps avoid transaction commits waiting on ID reservation even if the block size is relatively small.",
             ConfigOption.Type.MASKABLE, 0.3);
 
+    /**
+     * If enabled, the size of the id blocks requested by this instance follows the rate at which ids of each
+     * id namespace are consumed. Id pools also start renewing their block early enough to cover the observed
+     * renewal latency at that rate.
+     */
+    public static final ConfigOption<Boolean> IDS_ADAPTIVE_BLOCK_SIZE = new ConfigOption<>(IDS_NS,"adaptive-block-size",
+            "When true, the size of the ID blocks reserved by this instance is adapted to the observed rate at which " +
+            "IDs are consumed, such that a block lasts for about ids.adaptive-block-duration, within the bounds " +
+            "ids.adaptive-block-size-min and ids.adaptive-block-size-max. The first block of each ID pool has the size " +
+            "determined by ids.block-size. ID pools then also start reserving the next block early enough to cover " +
+            "the observed reservation latency.",
+            ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Integer> IDS_ADAPTIVE_BLOCK_SIZE_MIN = new ConfigOption<>(IDS_NS,"adaptive-block-size-min",
+            "The smallest ID block reserved when ids.adaptive-block-size is enabled.",
+            ConfigOption.Type.MASKABLE, 1000, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Integer> IDS_ADAPTIVE_BLOCK_SIZE_MAX = new ConfigOption<>(IDS_NS,"adaptive-block-size-max",
+            "The largest ID block reserved when ids.adaptive-block-size is enabled.",
+            ConfigOption.Type.MASKABLE, 1000000, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Duration> IDS_ADAPTIVE_BLOCK_DURATION = new ConfigOption<>(IDS_NS,"adaptive-block-duration",
+            "The time for which an ID block should last at the observed ID consumption rate when " +
+            "ids.adaptive-block-size is enabled.",
+            ConfigOption.Type.MASKABLE, Duration.ofSeconds(60L));
+
     // ################ IDAUTHORITY ###################
     // ################################################
 
@@ -1169,6 +1307,14 @@ public class GraphDatabaseConfiguration {
     private Boolean useMultiQuery;
     private IndexSelectionStrategy indexSelectionStrategy;
     private Boolean batchPropertyPrefetching;
+    private int batchPropertyPrefetchSize;
+    private boolean batchPipeline;
+    private boolean lazyPropertyDecoding;
+    private boolean parallelCommit;
+    private int parallelPrepareThreshold;
+    private boolean adjacentVertexProjection;
+    private int batchPipelineSize;
+    private Duration batchPipelineTargetLatency;
     private boolean allowVertexIdSetting;
     private boolean logTransactions;
     private String metricsPrefix;
@@ -1263,6 +1409,38 @@ public class GraphDatabaseConfiguration {
         return batchPropertyPrefetching;
     }
 
+    public int getBatchPropertyPrefetchSize() {
+        return batchPropertyPrefetchSize;
+    }
+
+    public boolean batchPipeline() {
+        return batchPipeline;
+    }
+
+    public int getBatchPipelineSize() {
+        return batchPipelineSize;
+    }
+
+    public Duration getBatchPipelineTargetLatency() {
+        return batchPipelineTargetLatency;
+    }
+
+    public boolean lazyPropertyDecoding() {
+        return lazyPropertyDecoding;
+    }
+
+    public boolean adjacentVertexProjection() {
+        return adjacentVertexProjection;
+    }
+
+    public boolean parallelCommit() {
+        return parallelCommit;
+    }
+
+    public int getParallelPrepareThreshold() {
+        return parallelPrepareThreshold;
+    }
+
     public boolean adjustQueryLimit() {
         return adjustQueryLimit;
     }
@@ -1333,8 +1511,16 @@ public class GraphDatabaseConfiguration {
     }
 
     public SchemaCache getTypeCache(SchemaCache.StoreRetrieval retriever) {
-        if (configuration.get(BASIC_METRICS)) return new MetricInstrumentedSchemaCache(retriever);
-        else return new StandardSchemaCache(retriever);
+        final String cacheType = configuration.get(SCHEMA_CACHE_TYPE);
+        final Function<SchemaCache.StoreRetrieval,SchemaCache> cacheFactory;
+        if (SnapshotSchemaCache.NAME.equals(cacheType)) {
+            cacheFactory = SnapshotSchemaCache::new;
+        } else {
+            Preconditions.checkArgument(StandardSchemaCache.NAME.equals(cacheType),"Unknown schema cache type: %s",cacheType);
+            cacheFactory = StandardSchemaCache::new;
+        }
+        if (configuration.get(BASIC_METRICS)) return new MetricInstrumentedSchemaCache(cacheFactory, retriever);
+        else return cacheFactory.apply(retriever);
     }
 
     public org.apache.commons.configuration.Configuration getLocalConfiguration() {
@@ -1378,6 +1564,14 @@ public class GraphDatabaseConfiguration {
         indexSelectionStrategy = Backend.getImplementationClass(configuration, configuration.get(INDEX_SELECT_STRATEGY),
             REGISTERED_INDEX_SELECTION_STRATEGIES);
         batchPropertyPrefetching = configuration.get(BATCH_PROPERTY_PREFETCHING);
+        batchPropertyPrefetchSize = configuration.get(BATCH_PROPERTY_PREFETCH_SIZE);
+        batchPipeline = configuration.get(BATCH_PIPELINE);
+        lazyPropertyDecoding = configuration.get(LAZY_PROPERTY_DECODING);
+        parallelCommit = configuration.get(PARALLEL_COMMIT);
+        parallelPrepareThreshold = configuration.get(PARALLEL_PREPARE_THRESHOLD);
+        adjacentVertexProjection = configuration.get(ADJACENT_VERTEX_PROJECTION);
+        batchPipelineSize = configuration.get(BATCH_PIPELINE_SIZE);
+        batchPipelineTargetLatency = configuration.get(BATCH_PIPELINE_TARGET_LATENCY);
         adjustQueryLimit = configuration.get(ADJUST_LIMIT);
         allowVertexIdSetting = configuration.get(ALLOW_SETTING_VERTEX_ID);
         logTransactions = configuration.get(SYSTEM_LOG_TRANSACTIONS);
@@ -18,6 +18,7 @@ import com.carrotsearch.hppc.LongArrayList;
 import com.carrotsearch.hppc.LongObjectHashMap;
 import com.carrotsearch.hppc.LongHashSet;
 import com.carrotsearch.hppc.LongSet;
+import com.carrotsearch.hppc.cursors.LongObjectCursor;
 import com.google.common.base.Preconditions;
 import org.janusgraph.core.*;
 import org.janusgraph.diskstorage.Entry;
@@ -35,6 +36,7 @@ import org.janusgraph.graphdb.database.serialize.Serializer;
 import org.janusgraph.graphdb.internal.*;
 import org.janusgraph.graphdb.relations.EdgeDirection;
 import org.janusgraph.graphdb.relations.RelationCache;
+import org.janusgraph.graphdb.types.RelationTypeInspector;
 import org.janusgraph.graphdb.types.TypeInspector;
 import org.janusgraph.graphdb.types.system.ImplicitKey;
 import org.janusgraph.util.datastructures.Interval;
@@ -43,6 +45,7 @@ import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
 import java.util.Arrays;
+import java.util.Iterator;
 import java.util.Map;
 
 import static org.janusgraph.graphdb.database.idhandling.IDHandler.DirectionID;
@@ -61,29 +64,78 @@ public class EdgeSerializer implements RelationReader {
     private static final int DEFAULT_COLUMN_CAPACITY = 60;
     private static final int DEFAULT_CAPACITY = 128;
 
+    /**
+     * Key id passed to {@link #decodeProperties(LazyRelationCache, Entry, long, TypeInspector)} to decode all properties
+     */
+    private static final long ALL_PROPERTIES = -1;
+
+    private static final String PARTIAL_RELATION_ERROR =
+        "The properties of relation [%s] cannot be read since it was retrieved without its value";
+
     private final Serializer serializer;
+    private final boolean lazyPropertyDecoding;
 
     public EdgeSerializer(Serializer serializer) {
+        this(serializer, false);
+    }
+
+    public EdgeSerializer(Serializer serializer, boolean lazyPropertyDecoding) {
         this.serializer = serializer;
+        this.lazyPropertyDecoding = lazyPropertyDecoding;
     }
 
     public RelationCache readRelation(Entry data, boolean parseHeaderOnly, TypeInspector tx) {
         RelationCache map = data.getCache();
-        if (map == null || !(parseHeaderOnly || map.hasProperties())) {
-            map = parseRelation(data, parseHeaderOnly, tx);
-            data.setCache(map);
+        if (map != null && map.isPartial()) {
+            Preconditions.checkState(parseHeaderOnly, PARTIAL_RELATION_ERROR, map);
+            if (map == RelationCache.UNPARSED_PARTIAL) {
+                RelationCache header = parseRelation(data, true, tx);
+                map = new RelationCache(header.direction, header.typeId, header.relationId, header.getValue(), null, true);
+                data.setCache(map);
+            }
+            return map;
+        }
+        if (map == null || !(parseHeaderOnly || map.isPropertiesLoaded())) {
+            if (lazyPropertyDecoding && (map == null || map instanceof LazyRelationCache)) {
+                if (map == null) {
+                    map = parseRelation(data, false, true, tx);
+                    data.setCache(map);
+                }
+                if (!parseHeaderOnly) decodeProperties((LazyRelationCache) map, data, ALL_PROPERTIES, tx);
+            } else {
+                map = parseRelation(data, parseHeaderOnly, tx);
+                data.setCache(map);
+            }
         }
         return map;
     }
 
+    /**
+     * Returns the value of the given property of the relation in the given entry. With lazy property decoding, only the
+     * properties which are serialized before the requested one are decoded, if they have not been decoded before.
+     */
+    @SuppressWarnings("unchecked")
+    public <O> O readProperty(Entry data, long keyId, TypeInspector tx) {
+        RelationCache map = readRelation(data, lazyPropertyDecoding, tx);
+        Preconditions.checkState(!map.isPartial(), PARTIAL_RELATION_ERROR, map);
+        if (map instanceof LazyRelationCache && !map.isPropertiesLoaded()) {
+            return (O) decodeProperties((LazyRelationCache) map, data, keyId, tx);
+        }
+        return map.get(keyId);
+    }
+
     public Direction parseDirection(Entry data) {
         RelationCache map = data.getCache();
-        if (map != null) return map.direction;
+        if (map != null && map != RelationCache.UNPARSED_PARTIAL) return map.direction;
         return IDHandler.readRelationType(data.asReadBuffer()).dirID.getDirection();
     }
 
     @Override
     public RelationCache parseRelation(Entry data, boolean excludeProperties, TypeInspector tx) {
+        return parseRelation(data, excludeProperties, false, tx);
+    }
+
+    private RelationCache parseRelation(Entry data, boolean excludeProperties, boolean lazy, TypeInspector tx) {
         ReadBuffer in = data.asReadBuffer();
 
         RelationTypeParse typeAndDir = IDHandler.readRelationType(in);
@@ -138,7 +190,15 @@ public class EdgeSerializer implements RelationReader {
                 "Encountered error in deserializer [null value returned]. Check serializer compatibility.");
         }
 
-        if (!excludeProperties) {
+        if (lazy) {
+            boolean hasSortKey = !multiplicity.isConstrained() && keySignature.length > 0;
+            assert !hasSortKey || endKeyPos > startKeyPos;
+            LazyRelationCache cache = new LazyRelationCache(dir, typeId, relationId, other,
+                hasSortKey ? keySignature : new long[0], def.getSortOrder() == Order.DESC, def.getSignature(),
+                startKeyPos, endKeyPos - startKeyPos, in.getPosition());
+            readMetaData(data, cache.decoded);
+            return cache;
+        } else if (!excludeProperties) {
 
             LongObjectHashMap<Object> properties = new LongObjectHashMap<>(4);
 
@@ -165,15 +225,7 @@ public class EdgeSerializer implements RelationReader {
                 properties.put(type.longId(), propertyValue);
             }
 
-            if (data.hasMetaData()) {
-                for (Map.Entry<EntryMetaData,Object> metas : data.getMetaData().entrySet()) {
-                    ImplicitKey key = ImplicitKey.MetaData2ImplicitKey.get(metas.getKey());
-                    if (key != null) {
-                        assert metas.getValue() != null;
-                        properties.put(key.longId(),metas.getValue());
-                    }
-                }
-            }
+            readMetaData(data, properties);
 
             return new RelationCache(dir, typeId, relationId, other, properties);
         } else {
@@ -181,6 +233,161 @@ public class EdgeSerializer implements RelationReader {
         }
     }
 
+    private static void readMetaData(Entry data, LongObjectHashMap<Object> properties) {
+        if (data.hasMetaData()) {
+            for (Map.Entry<EntryMetaData,Object> metas : data.getMetaData().entrySet()) {
+                ImplicitKey key = ImplicitKey.MetaData2ImplicitKey.get(metas.getKey());
+                if (key != null) {
+                    assert metas.getValue() != null;
+                    properties.put(key.longId(),metas.getValue());
+                }
+            }
+        }
+    }
+
+    /**
+     * Decodes the properties of the given lazily parsed relation in the order in which they are serialized, until the
+     * property with the given key id has been decoded or all properties have been decoded.
+     *
+     * @return the value of the property with the given key id or null if the relation does not have this property
+     */
+    private Object decodeProperties(LazyRelationCache cache, Entry data, long keyId, TypeInspector tx) {
+        synchronized (cache) {
+            if (cache.decoded.containsKey(keyId)) return cache.decoded.get(keyId);
+            ReadBuffer in = data.asReadBuffer();
+            while (!cache.isPropertiesLoaded()) {
+                long decodedKeyId = decodeNextProperty(cache, in, tx);
+                if (keyId != ALL_PROPERTIES && decodedKeyId == keyId) return cache.decoded.get(keyId);
+            }
+            return null;
+        }
+    }
+
+    /**
+     * Decodes the next serialized property of the given relation.
+     *
+     * @return the key id of the decoded property, or {@link #ALL_PROPERTIES} if no property was decoded
+     */
+    private long decodeNextProperty(LazyRelationCache cache, ReadBuffer in, TypeInspector tx) {
+        switch (cache.section) {
+            case LazyRelationCache.SORT_KEY: {
+                if (cache.index >= cache.sortKey.length) {
+                    cache.nextSection(LazyRelationCache.SIGNATURE, cache.valuePos);
+                    return ALL_PROPERTIES;
+                }
+                ReadBuffer inKey = in;
+                if (cache.sortKeyDescending) {
+                    in.movePositionTo(cache.keyPos);
+                    inKey = in.subrange(cache.keyLength, true);
+                }
+                inKey.movePositionTo(cache.position);
+                long id = cache.sortKey[cache.index++];
+                Object value = readInline(inKey, tx.getExistingPropertyKey(id), InlineType.KEY);
+                if (value != null) cache.decoded.put(id, value);
+                cache.position = inKey.getPosition();
+                return id;
+            }
+            case LazyRelationCache.SIGNATURE: {
+                if (cache.index >= cache.signature.length) {
+                    cache.nextSection(LazyRelationCache.OTHER, cache.position);
+                    return ALL_PROPERTIES;
+                }
+                in.movePositionTo(cache.position);
+                long id = cache.signature[cache.index++];
+                Object value = readInline(in, tx.getExistingPropertyKey(id), InlineType.SIGNATURE);
+                if (value != null) cache.decoded.put(id, value);
+                cache.position = in.getPosition();
+                return id;
+            }
+            default: {
+                in.movePositionTo(cache.position);
+                if (!in.hasRemaining()) {
+                    cache.loaded = true;
+                    return ALL_PROPERTIES;
+                }
+                PropertyKey type = tx.getExistingPropertyKey(IDHandler.readInlineRelationType(in));
+                Object value = readInline(in, type, InlineType.NORMAL);
+                assert value != null;
+                cache.decoded.put(type.longId(), value);
+                cache.position = in.getPosition();
+                return type.longId();
+            }
+        }
+    }
+
+    /**
+     * {@link RelationCache} which holds the header of a relation and decodes its properties from the relation's
+     * {@link Entry} only when they are accessed through {@link #readProperty(Entry, long, TypeInspector)}.
+     * The cache does not copy the entry's bytes but remembers the position up to which they have been decoded,
+     * so that each property is decoded at most once. Once all properties are decoded, the cache is used like an
+     * eagerly parsed {@link RelationCache}.
+     */
+    private static final class LazyRelationCache extends RelationCache {
+
+        private static final int SORT_KEY = 0;
+        private static final int SIGNATURE = 1;
+        private static final int OTHER = 2;
+
+        private final long[] sortKey;
+        private final boolean sortKeyDescending;
+        private final long[] signature;
+        private final int keyPos;
+        private final int keyLength;
+        private final int valuePos;
+
+        private final LongObjectHashMap<Object> decoded = new LongObjectHashMap<>(4);
+        private int section;
+        private int index;
+        private int position;
+        private volatile boolean loaded = false;
+
+        private LazyRelationCache(Direction direction, long typeId, long relationId, Object other,
+                                  long[] sortKey, boolean sortKeyDescending, long[] signature,
+                                  int keyPos, int keyLength, int valuePos) {
+            super(direction, typeId, relationId, other);
+            this.sortKey = sortKey;
+            this.sortKeyDescending = sortKeyDescending;
+            this.signature = signature;
+            this.keyPos = keyPos;
+            this.keyLength = keyLength;
+            this.valuePos = valuePos;
+            this.section = SORT_KEY;
+            this.position = sortKeyDescending ? 0 : keyPos;
+        }
+
+        private void nextSection(int section, int position) {
+            this.section = section;
+            this.index = 0;
+            this.position = position;
+        }
+
+        @Override
+        public boolean isPropertiesLoaded() {
+            return loaded;
+        }
+
+        @Override
+        @SuppressWarnings("unchecked")
+        public <O> O get(long key) {
+            return (O) decoded.get(key);
+        }
+
+        @Override
+        public boolean hasProperties() {
+            return !decoded.isEmpty();
+        }
+
+        @Override
+        public int numProperties() {
+            return decoded.size();
+        }
+
+        @Override
+        public Iterator<LongObjectCursor<Object>> propertyIterator() {
+            return decoded.iterator();
+        }
+    }
+
     private void readInlineTypes(long[] keyIds, LongObjectHashMap<Object> properties, ReadBuffer in, TypeInspector tx,
                                  InlineType inlineType) {
         for (long keyId : keyIds) {
@@ -237,7 +444,7 @@ public class EdgeSerializer implements RelationReader {
     }
 
     public StaticArrayEntry writeRelation(InternalRelation relation, InternalRelationType type, int position,
-                                          TypeInspector tx) {
+                                          RelationTypeInspector tx) {
         assert type==relation.getType() || (type.getBaseType() != null
                 && type.getBaseType().equals(relation.getType()));
         Direction dir = EdgeDirection.fromPosition(position);
@@ -346,7 +553,7 @@ public class EdgeSerializer implements RelationReader {
 
     }
 
-    private void writeInlineTypes(long[] keyIds, InternalRelation relation, DataOutput out, TypeInspector tx,
+    private void writeInlineTypes(long[] keyIds, InternalRelation relation, DataOutput out, RelationTypeInspector tx,
                                   InlineType inlineType) {
         for (long keyId : keyIds) {
             PropertyKey t = tx.getExistingPropertyKey(keyId);
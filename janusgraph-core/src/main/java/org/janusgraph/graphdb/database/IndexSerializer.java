@@ -265,9 +265,41 @@ public class IndexSerializer {
                 index.getElement().matchesConstraint(index.getSchemaTypeConstraint(),element));
     }
 
+    /**
+     * An index update whose index key and entry have not been serialized yet. The index definitions and property values
+     * it depends on are resolved through the transaction when it is created, so that {@link #getIndexUpdates(Collection)}
+     * can serialize it without the transaction, e.g. on another thread.
+     */
+    public static class IndexRecord {
+
+        private final IndexType index;
+        private final IndexUpdate.Type updateType;
+        private final JanusGraphElement element;
+        //The matching record of a composite index or the indexed key and value of a mixed index
+        private final RecordEntry[] record;
+        private final PropertyKey key;
+        private final Object value;
+        private final int ttl;
+
+        private IndexRecord(IndexType index, IndexUpdate.Type updateType, JanusGraphElement element,
+                            RecordEntry[] record, PropertyKey key, Object value, int ttl) {
+            this.index = index;
+            this.updateType = updateType;
+            this.element = element;
+            this.record = record;
+            this.key = key;
+            this.value = value;
+            this.ttl = ttl;
+        }
+    }
+
     public Collection<IndexUpdate> getIndexUpdates(InternalRelation relation) {
+        return getIndexUpdates(getIndexRecords(relation));
+    }
+
+    public List<IndexRecord> getIndexRecords(InternalRelation relation) {
         assert relation.isNew() || relation.isRemoved();
-        final Set<IndexUpdate> updates = Sets.newHashSet();
+        final List<IndexRecord> records = new ArrayList<>();
         final IndexUpdate.Type updateType = getUpdateType(relation);
         final int ttl = updateType==IndexUpdate.Type.ADD?StandardJanusGraph.getTTL(relation):0;
         for (final RelationType type : relation.getPropertyKeysDirect()) {
@@ -275,22 +307,20 @@ public class IndexSerializer {
             final PropertyKey key = (PropertyKey)type;
             for (final IndexType index : ((InternalRelationType)key).getKeyIndexes()) {
                 if (!indexAppliesTo(index,relation)) continue;
-                IndexUpdate update;
                 if (index instanceof CompositeIndexType) {
                     final CompositeIndexType iIndex= (CompositeIndexType) index;
                     final RecordEntry[] record = indexMatch(relation, iIndex);
                     if (record==null) continue;
-                    update = new IndexUpdate<>(iIndex, updateType, getIndexKey(iIndex, record), getIndexEntry(iIndex, record, relation), relation);
+                    resolveDefinition(iIndex);
+                    records.add(new IndexRecord(iIndex, updateType, relation, record, null, null, ttl));
                 } else {
                     assert relation.valueOrNull(key)!=null;
                     if (((MixedIndexType)index).getField(key).getStatus()== SchemaStatus.DISABLED) continue;
-                    update = getMixedIndexUpdate(relation, key, relation.valueOrNull(key), (MixedIndexType) index, updateType);
+                    records.add(new IndexRecord(index, updateType, relation, null, key, relation.valueOrNull(key), ttl));
                 }
-                if (ttl>0) update.setTTL(ttl);
-                updates.add(update);
             }
         }
-        return updates;
+        return records;
     }
 
     private static PropertyKey[] getKeysOfRecords(RecordEntry[] record) {
@@ -309,8 +339,12 @@ public class IndexSerializer {
     }
 
     public Collection<IndexUpdate> getIndexUpdates(InternalVertex vertex, Collection<InternalRelation> updatedProperties) {
+        return getIndexUpdates(getIndexRecords(vertex, updatedProperties));
+    }
+
+    public List<IndexRecord> getIndexRecords(InternalVertex vertex, Collection<InternalRelation> updatedProperties) {
         if (updatedProperties.isEmpty()) return Collections.emptyList();
-        final Set<IndexUpdate> updates = Sets.newHashSet();
+        final List<IndexRecord> records = new ArrayList<>();
 
         for (final InternalRelation rel : updatedProperties) {
             assert rel.isProperty();
@@ -322,24 +356,51 @@ public class IndexSerializer {
                 if (index.isCompositeIndex()) { //Gather composite indexes
                     final CompositeIndexType cIndex = (CompositeIndexType)index;
                     final IndexRecords updateRecords = indexMatches(vertex,cIndex,updateType==IndexUpdate.Type.DELETE,p.propertyKey(),new RecordEntry(p));
+                    if (!updateRecords.isEmpty()) resolveDefinition(cIndex);
                     for (final RecordEntry[] record : updateRecords) {
-                        final IndexUpdate update = new IndexUpdate<>(cIndex, updateType, getIndexKey(cIndex, record), getIndexEntry(cIndex, record, vertex), vertex);
                         final int ttl = getIndexTTL(vertex,getKeysOfRecords(record));
-                        if (ttl>0 && updateType== IndexUpdate.Type.ADD) update.setTTL(ttl);
-                        updates.add(update);
+                        records.add(new IndexRecord(cIndex, updateType, vertex, record, null, null, updateType==IndexUpdate.Type.ADD ? ttl : 0));
                     }
                 } else { //Update mixed indexes
                     if (((MixedIndexType)index).getField(p.propertyKey()).getStatus()== SchemaStatus.DISABLED) continue;
-                    final IndexUpdate update = getMixedIndexUpdate(vertex, p.propertyKey(), p.value(), (MixedIndexType) index, updateType);
                     final int ttl = getIndexTTL(vertex,p.propertyKey());
-                    if (ttl>0 && updateType== IndexUpdate.Type.ADD) update.setTTL(ttl);
-                    updates.add(update);
+                    records.add(new IndexRecord(index, updateType, vertex, null, p.propertyKey(), p.value(), updateType==IndexUpdate.Type.ADD ? ttl : 0));
                 }
             }
         }
+        return records;
+    }
+
+    /**
+     * Serializes the index keys and entries of the given index records. Only reads the definitions resolved when the
+     * records were created, so it is safe to call concurrently for records of the same transaction.
+     */
+    public Collection<IndexUpdate> getIndexUpdates(Collection<IndexRecord> records) {
+        final Set<IndexUpdate> updates = Sets.newHashSet();
+        for (final IndexRecord record : records) {
+            final IndexUpdate update;
+            if (record.index.isCompositeIndex()) {
+                final CompositeIndexType cIndex = (CompositeIndexType) record.index;
+                update = new IndexUpdate<>(cIndex, record.updateType, getIndexKey(cIndex, record.record),
+                    getIndexEntry(cIndex, record.record, record.element), record.element);
+            } else {
+                update = getMixedIndexUpdate(record.element, record.key, record.value, (MixedIndexType) record.index, record.updateType);
+            }
+            if (record.ttl>0) update.setTTL(record.ttl);
+            updates.add(update);
+        }
         return updates;
     }
 
+    /**
+     * Loads the parts of the index definition which are read when serializing its keys and entries.
+     */
+    private static void resolveDefinition(CompositeIndexType index) {
+        index.getID();
+        index.getCardinality();
+        for (final IndexField field : index.getFieldKeys()) field.getFieldKey().dataType();
+    }
+
     private IndexUpdate<String,IndexEntry> getMixedIndexUpdate(JanusGraphElement element, PropertyKey key, Object value,
                                                                MixedIndexType index, IndexUpdate.Type updateType)  {
         return new IndexUpdate<>(index, updateType, element2String(element), new IndexEntry(key2Field(index.getField(key)), value), element);
@@ -22,13 +22,19 @@ import com.google.common.base.Preconditions;
 import com.google.common.base.Predicate;
 import com.google.common.base.Predicates;
 import com.google.common.collect.*;
+import com.google.common.primitives.Longs;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 import java.io.IOException;
 import java.time.Instant;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
 import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategies;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Graph;
@@ -43,6 +49,7 @@ import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
 import org.janusgraph.diskstorage.indexing.IndexEntry;
 import org.janusgraph.diskstorage.indexing.IndexTransaction;
 import org.janusgraph.diskstorage.keycolumnvalue.*;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.KCVEntryMutation;
 import org.janusgraph.diskstorage.keycolumnvalue.cache.KCVSCache;
 import org.janusgraph.diskstorage.log.Log;
 import org.janusgraph.diskstorage.log.Message;
@@ -65,12 +72,14 @@ import org.janusgraph.graphdb.internal.InternalRelation;
 import org.janusgraph.graphdb.internal.InternalRelationType;
 import org.janusgraph.graphdb.internal.InternalVertex;
 import org.janusgraph.graphdb.internal.InternalVertexLabel;
+import org.janusgraph.graphdb.internal.JanusGraphSchemaCategory;
 import org.janusgraph.graphdb.query.QueryUtil;
 import org.janusgraph.graphdb.query.index.ApproximateIndexSelectionStrategy;
 import org.janusgraph.graphdb.query.index.BruteForceIndexSelectionStrategy;
 import org.janusgraph.graphdb.query.index.IndexSelectionStrategy;
 import org.janusgraph.graphdb.query.index.ThresholdBasedIndexSelectionStrategy;
 import org.janusgraph.graphdb.relations.EdgeDirection;
+import org.janusgraph.graphdb.relations.RelationCache;
 import org.janusgraph.graphdb.tinkerpop.JanusGraphBlueprintsGraph;
 import org.janusgraph.graphdb.tinkerpop.JanusGraphFeatures;
 import org.janusgraph.graphdb.tinkerpop.optimize.strategy.AdjacentVertexFilterOptimizerStrategy;
@@ -78,12 +87,14 @@ import org.janusgraph.graphdb.tinkerpop.optimize.strategy.AdjacentVertexIsOptimi
 import org.janusgraph.graphdb.tinkerpop.optimize.strategy.AdjacentVertexHasIdOptimizerStrategy;
 import org.janusgraph.graphdb.tinkerpop.optimize.strategy.JanusGraphIoRegistrationStrategy;
 import org.janusgraph.graphdb.tinkerpop.optimize.strategy.JanusGraphLocalQueryOptimizerStrategy;
+import org.janusgraph.graphdb.tinkerpop.optimize.strategy.JanusGraphPropertyPrefetchStrategy;
 import org.janusgraph.graphdb.tinkerpop.optimize.strategy.JanusGraphStepStrategy;
 import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
 import org.janusgraph.graphdb.transaction.StandardTransactionBuilder;
 import org.janusgraph.graphdb.transaction.TransactionConfiguration;
 import org.janusgraph.graphdb.types.CompositeIndexType;
 import org.janusgraph.graphdb.types.MixedIndexType;
+import org.janusgraph.graphdb.types.RelationTypeInspector;
 import org.janusgraph.graphdb.types.system.BaseKey;
 import org.janusgraph.graphdb.types.system.BaseRelationType;
 import org.janusgraph.graphdb.types.vertices.JanusGraphSchemaVertex;
@@ -98,6 +109,11 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
     private static final Logger log =
             LoggerFactory.getLogger(StandardJanusGraph.class);
 
+    /**
+     * Number of vertex rows serialized by one task of the prepare commit executor
+     */
+    private static final int PREPARE_BATCH_SIZE = 256;
+
 
     static {
         TraversalStrategies graphStrategies =
@@ -108,6 +124,7 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
                                AdjacentVertexIsOptimizerStrategy.instance(),
                                JanusGraphLocalQueryOptimizerStrategy.instance(),
                                JanusGraphStepStrategy.instance(),
+                               JanusGraphPropertyPrefetchStrategy.instance(),
                                JanusGraphIoRegistrationStrategy.instance());
 
         //Register with cache
@@ -121,6 +138,9 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
     private final VertexIDAssigner idAssigner;
     private final TimestampProvider times;
 
+    //Serializes the relations of large commits, see GraphDatabaseConfiguration#PARALLEL_PREPARE_THRESHOLD
+    private final ExecutorService prepareCommitExecutor;
+
     //Serializers
     protected final IndexSerializer indexSerializer;
     protected final EdgeSerializer edgeSerializer;
@@ -161,13 +181,20 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
         StoreFeatures storeFeatures = backend.getStoreFeatures();
         this.indexSerializer = new IndexSerializer(configuration.getConfiguration(), this.serializer,
                 this.backend.getIndexInformation(), storeFeatures.isDistributed() && storeFeatures.isKeyOrdered());
-        this.edgeSerializer = new EdgeSerializer(this.serializer);
+        this.edgeSerializer = new EdgeSerializer(this.serializer, config.lazyPropertyDecoding());
         this.vertexExistenceQuery = edgeSerializer.getQuery(BaseKey.VertexExists, Direction.OUT, new EdgeSerializer.TypedInterval[0]).setLimit(1);
         this.queryCache = new RelationQueryCache(this.edgeSerializer);
         this.schemaCache = configuration.getTypeCache(typeCacheRetrieval);
         this.times = configuration.getTimestampProvider();
         this.indexSelector = getConfiguration().getIndexSelectionStrategy();
 
+        if (config.getParallelPrepareThreshold() > 0) {
+            this.prepareCommitExecutor = Executors.newFixedThreadPool(Runtime.getRuntime().availableProcessors(),
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("JanusGraphPrepareCommit[%d]").build());
+        } else {
+            this.prepareCommitExecutor = null;
+        }
+
         isOpen = true;
         txCounter = new AtomicLong(0);
         openTransactions = Collections.newSetFromMap(new ConcurrentHashMap<StandardJanusGraphTx, Boolean>(100, 0.75f, 1));
@@ -251,6 +278,7 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
 
             super.close();
 
+            if (prepareCommitExecutor != null) prepareCommitExecutor.shutdown();
             IOUtils.closeQuietly(idAssigner);
             IOUtils.closeQuietly(backend);
             IOUtils.closeQuietly(queryCache);
@@ -385,13 +413,9 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
 
         @Override
         public Long retrieveSchemaByName(String typeName) {
-            // Get a consistent tx
-            Configuration customTxOptions = backend.getStoreFeatures().getKeyConsistentTxConfig();
             StandardJanusGraphTx consistentTx = null;
             try {
-                consistentTx = StandardJanusGraph.this.newTransaction(new StandardTransactionBuilder(getConfiguration(),
-                        StandardJanusGraph.this, customTxOptions).groupName(GraphDatabaseConfiguration.METRICS_SCHEMA_PREFIX_DEFAULT));
-                consistentTx.getTxHandle().disableCache();
+                consistentTx = newConsistentSchemaTransaction();
                 JanusGraphVertex v = Iterables.getOnlyElement(QueryUtil.getVertices(consistentTx, BaseKey.SchemaName, typeName), null);
                 return v!=null?v.longId():null;
             } finally {
@@ -402,18 +426,69 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
         @Override
         public EntryList retrieveSchemaRelations(final long schemaId, final BaseRelationType type, final Direction dir) {
             SliceQuery query = queryCache.getQuery(type,dir);
-            Configuration customTxOptions = backend.getStoreFeatures().getKeyConsistentTxConfig();
             StandardJanusGraphTx consistentTx = null;
             try {
-                consistentTx = StandardJanusGraph.this.newTransaction(new StandardTransactionBuilder(getConfiguration(),
-                        StandardJanusGraph.this, customTxOptions).groupName(GraphDatabaseConfiguration.METRICS_SCHEMA_PREFIX_DEFAULT));
-                consistentTx.getTxHandle().disableCache();
+                consistentTx = newConsistentSchemaTransaction();
                 return edgeQuery(schemaId, query, consistentTx.getTxHandle());
             } finally {
                 TXUtils.rollbackQuietly(consistentTx);
             }
         }
 
+        @Override
+        public Map<String,Long> retrieveSchemaNames() {
+            StandardJanusGraphTx consistentTx = null;
+            try {
+                consistentTx = newConsistentSchemaTransaction();
+                LongArrayList schemaIds = new LongArrayList();
+                for (JanusGraphSchemaCategory category : JanusGraphSchemaCategory.values()) {
+                    for (JanusGraphVertex v : QueryUtil.getVertices(consistentTx, BaseKey.SchemaCategory, category)) {
+                        schemaIds.add(v.longId());
+                    }
+                }
+                Map<String,Long> names = new HashMap<>(schemaIds.size());
+                if (schemaIds.isEmpty()) return names;
+                List<EntryList> nameEntries = edgeMultiQuery(schemaIds,
+                        queryCache.getQuery(BaseKey.SchemaName, Direction.OUT), consistentTx.getTxHandle());
+                for (int i = 0; i < schemaIds.size(); i++) {
+                    for (Entry entry : nameEntries.get(i)) {
+                        names.put((String) edgeSerializer.readRelation(entry, false, consistentTx).getValue(), schemaIds.get(i));
+                    }
+                }
+                return names;
+            } finally {
+                TXUtils.rollbackQuietly(consistentTx);
+            }
+        }
+
+        @Override
+        public Map<Long,EntryList> retrieveSchemaRelations(final Collection<Long> schemaIds, final BaseRelationType type, final Direction dir) {
+            Map<Long,EntryList> result = new HashMap<>(schemaIds.size());
+            if (schemaIds.isEmpty()) return result;
+            LongArrayList ids = new LongArrayList(schemaIds.size());
+            for (Long schemaId : schemaIds) ids.add(schemaId);
+            StandardJanusGraphTx consistentTx = null;
+            try {
+                consistentTx = newConsistentSchemaTransaction();
+                List<EntryList> entries = edgeMultiQuery(ids, queryCache.getQuery(type,dir), consistentTx.getTxHandle());
+                for (int i = 0; i < ids.size(); i++) result.put(ids.get(i), entries.get(i));
+                return result;
+            } finally {
+                TXUtils.rollbackQuietly(consistentTx);
+            }
+        }
+
+        /**
+         * Opens a transaction with key-consistent reads and without database-level cache to read schema elements.
+         */
+        private StandardJanusGraphTx newConsistentSchemaTransaction() {
+            Configuration customTxOptions = backend.getStoreFeatures().getKeyConsistentTxConfig();
+            StandardJanusGraphTx consistentTx = StandardJanusGraph.this.newTransaction(new StandardTransactionBuilder(getConfiguration(),
+                    StandardJanusGraph.this, customTxOptions).groupName(GraphDatabaseConfiguration.METRICS_SCHEMA_PREFIX_DEFAULT));
+            consistentTx.getTxHandle().disableCache();
+            return consistentTx;
+        }
+
     };
 
     public RecordIterator<Long> getVertexIDs(final BackendTransaction tx) {
@@ -454,7 +529,13 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
 
     public EntryList edgeQuery(long vid, SliceQuery query, BackendTransaction tx) {
         Preconditions.checkArgument(vid > 0);
-        return tx.edgeStoreQuery(new KeySliceQuery(idManager.getKey(vid), query));
+        return markPartial(tx.edgeStoreQuery(new KeySliceQuery(idManager.getKey(vid), query)), query);
+    }
+
+    public CompletableFuture<EntryList> edgeQueryAsync(long vid, SliceQuery query, BackendTransaction tx) {
+        Preconditions.checkArgument(vid > 0);
+        final CompletableFuture<EntryList> result = tx.edgeStoreQueryAsync(new KeySliceQuery(idManager.getKey(vid), query));
+        return query.isColumnsOnly() ? result.thenApply(entries -> markPartial(entries, query)) : result;
     }
 
     public List<EntryList> edgeMultiQuery(LongArrayList vertexIdsAsLongs, SliceQuery query, BackendTransaction tx) {
@@ -466,10 +547,23 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
         }
         final Map<StaticBuffer,EntryList> result = tx.edgeStoreMultiQuery(vertexIds, query);
         final List<EntryList> resultList = new ArrayList<>(result.size());
-        for (StaticBuffer v : vertexIds) resultList.add(result.get(v));
+        for (StaticBuffer v : vertexIds) resultList.add(markPartial(result.get(v), query));
         return resultList;
     }
 
+    /**
+     * Marks the entries retrieved by a columns-only query as partial since the storage backend may have omitted
+     * their values. Entries which were already parsed, e.g. because they came from a cache, are left as they are.
+     */
+    private static EntryList markPartial(EntryList entries, SliceQuery query) {
+        if (query.isColumnsOnly() && entries != null) {
+            for (Entry entry : entries) {
+                if (entry.getCache() == null) entry.setCache(RelationCache.UNPARSED_PARTIAL);
+            }
+        }
+        return entries;
+    }
+
     private ModifiableConfiguration getGlobalSystemConfig(Backend backend) {
 
         return new ModifiableConfiguration(GraphDatabaseConfiguration.ROOT_NS,
@@ -546,9 +640,11 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
                                      final boolean acquireLocks) throws BackendException {
 
 
+        final boolean parallel = config.getParallelPrepareThreshold() > 0
+                && addedRelations.size() + deletedRelations.size() >= config.getParallelPrepareThreshold();
         ListMultimap<Long, InternalRelation> mutations = ArrayListMultimap.create();
         ListMultimap<InternalVertex, InternalRelation> mutatedProperties = ArrayListMultimap.create();
-        List<IndexSerializer.IndexUpdate> indexUpdates = Lists.newArrayList();
+        List<List<IndexSerializer.IndexRecord>> indexRecords = Lists.newArrayList();
         //1) Collect deleted edges and their index updates and acquire edge locks
         for (InternalRelation del : Iterables.filter(deletedRelations,filter)) {
             Preconditions.checkArgument(del.isRemoved());
@@ -563,7 +659,7 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
                     mutator.acquireEdgeLock(idManager.getKey(vertex.longId()), entry);
                 }
             }
-            indexUpdates.addAll(indexSerializer.getIndexUpdates(del));
+            indexRecords.add(indexSerializer.getIndexRecords(del));
         }
 
         //2) Collect added edges and their index updates and acquire edge locks
@@ -581,12 +677,23 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
                     mutator.acquireEdgeLock(idManager.getKey(vertex.longId()), entry.getColumn());
                 }
             }
-            indexUpdates.addAll(indexSerializer.getIndexUpdates(add));
+            indexRecords.add(indexSerializer.getIndexRecords(add));
         }
 
         //3) Collect all index update for vertices
         for (InternalVertex v : mutatedProperties.keySet()) {
-            indexUpdates.addAll(indexSerializer.getIndexUpdates(v,mutatedProperties.get(v)));
+            indexRecords.add(indexSerializer.getIndexRecords(v,mutatedProperties.get(v)));
+        }
+        //   and serialize the index updates, which no longer reads through the transaction
+        List<IndexSerializer.IndexUpdate> indexUpdates = Lists.newArrayList();
+        if (parallel) {
+            for (Collection<IndexSerializer.IndexUpdate> updates : mapInParallel(indexRecords, indexSerializer::getIndexUpdates)) {
+                indexUpdates.addAll(updates);
+            }
+        } else {
+            for (List<IndexSerializer.IndexRecord> records : indexRecords) {
+                indexUpdates.addAll(indexSerializer.getIndexUpdates(records));
+            }
         }
         //4) Acquire index locks (deletions first)
         for (IndexSerializer.IndexUpdate update : indexUpdates) {
@@ -605,39 +712,19 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
         }
 
         //5) Add relation mutations
-        for (Long vertexId : mutations.keySet()) {
-            Preconditions.checkArgument(vertexId > 0, "Vertex has no id: %s", vertexId);
-            final List<InternalRelation> edges = mutations.get(vertexId);
-            final List<Entry> additions = new ArrayList<>(edges.size());
-            final List<Entry> deletions = new ArrayList<>(Math.max(10, edges.size() / 10));
-            for (final InternalRelation edge : edges) {
-                final InternalRelationType baseType = (InternalRelationType) edge.getType();
-                assert baseType.getBaseType()==null;
-
-                for (InternalRelationType type : baseType.getRelationIndexes()) {
-                    if (type.getStatus()== SchemaStatus.DISABLED) continue;
-                    for (int pos = 0; pos < edge.getArity(); pos++) {
-                        if (!type.isUnidirected(Direction.BOTH) && !type.isUnidirected(EdgeDirection.fromPosition(pos)))
-                            continue; //Directionality is not covered
-                        if (edge.getVertex(pos).longId()==vertexId) {
-                            StaticArrayEntry entry = edgeSerializer.writeRelation(edge, type, pos, tx);
-                            if (edge.isRemoved()) {
-                                deletions.add(entry);
-                            } else {
-                                Preconditions.checkArgument(edge.isNew());
-                                int ttl = getTTL(edge);
-                                if (ttl > 0) {
-                                    entry.setMetaData(EntryMetaData.TTL, ttl);
-                                }
-                                additions.add(entry);
-                            }
-                        }
-                    }
-                }
+        List<Long> vertexIds = new ArrayList<>(mutations.keySet());
+        List<KCVEntryMutation> vertexMutations;
+        if (parallel) {
+            vertexMutations = serializeRelationsInParallel(vertexIds, mutations, tx);
+        } else {
+            vertexMutations = new ArrayList<>(vertexIds.size());
+            for (Long vertexId : vertexIds) {
+                vertexMutations.add(serializeRelations(vertexId, mutations.get(vertexId), tx));
             }
-
-            StaticBuffer vertexKey = idManager.getKey(vertexId);
-            mutator.mutateEdges(vertexKey, additions, deletions);
+        }
+        for (int i = 0; i < vertexIds.size(); i++) {
+            KCVEntryMutation vertexMutation = vertexMutations.get(i);
+            mutator.mutateEdges(idManager.getKey(vertexIds.get(i)), vertexMutation.getAdditions(), vertexMutation.getDeletions());
         }
 
         //6) Add index updates
@@ -664,6 +751,189 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
         return new ModificationSummary(!mutations.isEmpty(),has2iMods);
     }
 
+    /**
+     * Serializes the given relations of the vertex with the given id into the additions and deletions of its row.
+     */
+    private KCVEntryMutation serializeRelations(long vertexId, List<InternalRelation> edges, StandardJanusGraphTx tx) {
+        final List<Entry> deletions = new ArrayList<>(Math.max(10, edges.size() / 10));
+        final List<RelationEntry> additions = collectRelationEntries(vertexId, edges, deletions, tx);
+        return new KCVEntryMutation(writeRelationEntries(additions, tx), deletions);
+    }
+
+    /**
+     * Serializes the rows of the given vertices like {@link #serializeRelations} does, but writes the added relations
+     * on the prepare commit executor. Everything which is read through the transaction, i.e. the relation indexes,
+     * time-to-live and schema definitions of the relation types and the inlined property keys, is resolved by the
+     * calling thread beforehand, since the transaction is not thread-safe. Deleted relations are serialized by the
+     * calling thread as well, since their properties may be read from the transaction's cache.
+     */
+    private List<KCVEntryMutation> serializeRelationsInParallel(List<Long> vertexIds, ListMultimap<Long, InternalRelation> mutations,
+                                                                StandardJanusGraphTx tx) throws BackendException {
+        final List<List<Entry>> deletions = new ArrayList<>(vertexIds.size());
+        final List<List<RelationEntry>> additions = new ArrayList<>(vertexIds.size());
+        final Map<Long, RelationType> types = new HashMap<>();
+        final Set<InternalRelationType> resolvedTypes = new HashSet<>();
+        for (Long vertexId : vertexIds) {
+            final List<InternalRelation> edges = mutations.get(vertexId);
+            final List<Entry> rowDeletions = new ArrayList<>(Math.max(10, edges.size() / 10));
+            final List<RelationEntry> rowAdditions = collectRelationEntries(vertexId, edges, rowDeletions, tx);
+            for (RelationEntry relationEntry : rowAdditions) {
+                resolveTypes(relationEntry, types, resolvedTypes, tx);
+            }
+            deletions.add(rowDeletions);
+            additions.add(rowAdditions);
+        }
+
+        final RelationTypeInspector typeInspector = new ResolvedTypeInspector(types);
+        final List<List<Entry>> rows = mapInParallel(additions, rowAdditions -> writeRelationEntries(rowAdditions, typeInspector));
+        final List<KCVEntryMutation> vertexMutations = new ArrayList<>(vertexIds.size());
+        for (int i = 0; i < rows.size(); i++) {
+            vertexMutations.add(new KCVEntryMutation(rows.get(i), deletions.get(i)));
+        }
+        return vertexMutations;
+    }
+
+    /**
+     * Applies the given function to the inputs in batches on the prepare commit executor and returns the results in
+     * the order of the inputs. The function must not read through the transaction, since it is not thread-safe.
+     */
+    private <I, O> List<O> mapInParallel(List<I> inputs, Function<I, O> function) throws BackendException {
+        final List<Future<List<O>>> batches = new ArrayList<>(inputs.size() / PREPARE_BATCH_SIZE + 1);
+        for (int from = 0; from < inputs.size(); from += PREPARE_BATCH_SIZE) {
+            final List<I> batch = inputs.subList(from, Math.min(from + PREPARE_BATCH_SIZE, inputs.size()));
+            batches.add(prepareCommitExecutor.submit(() -> {
+                final List<O> outputs = new ArrayList<>(batch.size());
+                for (I input : batch) outputs.add(function.apply(input));
+                return outputs;
+            }));
+        }
+
+        final List<O> outputs = new ArrayList<>(inputs.size());
+        try {
+            for (Future<List<O>> batch : batches) outputs.addAll(batch.get());
+        } catch (InterruptedException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new PermanentBackendException("Interrupted while preparing commit", e);
+        } catch (ExecutionException e) {
+            batches.forEach(batch -> batch.cancel(true));
+            if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+            throw new JanusGraphException("Could not prepare commit", e.getCause());
+        }
+        return outputs;
+    }
+
+    /**
+     * Collects the entries of the given relations in the row of the vertex with the given id. Deleted relations are
+     * serialized into the given list right away, added relations are returned to be written by
+     * {@link #writeRelationEntries}.
+     */
+    private List<RelationEntry> collectRelationEntries(long vertexId, List<InternalRelation> edges, List<Entry> deletions,
+                                                       StandardJanusGraphTx tx) {
+        Preconditions.checkArgument(vertexId > 0, "Vertex has no id: %s", vertexId);
+        final List<RelationEntry> additions = new ArrayList<>(edges.size());
+        for (final InternalRelation edge : edges) {
+            final InternalRelationType baseType = (InternalRelationType) edge.getType();
+            assert baseType.getBaseType()==null;
+
+            for (InternalRelationType type : baseType.getRelationIndexes()) {
+                if (type.getStatus()== SchemaStatus.DISABLED) continue;
+                for (int pos = 0; pos < edge.getArity(); pos++) {
+                    if (!type.isUnidirected(Direction.BOTH) && !type.isUnidirected(EdgeDirection.fromPosition(pos)))
+                        continue; //Directionality is not covered
+                    if (edge.getVertex(pos).longId()==vertexId) {
+                        if (edge.isRemoved()) {
+                            deletions.add(edgeSerializer.writeRelation(edge, type, pos, tx));
+                        } else {
+                            Preconditions.checkArgument(edge.isNew());
+                            additions.add(new RelationEntry(edge, type, pos, getTTL(edge)));
+                        }
+                    }
+                }
+            }
+        }
+        return additions;
+    }
+
+    private List<Entry> writeRelationEntries(List<RelationEntry> relationEntries, RelationTypeInspector typeInspector) {
+        final List<Entry> additions = new ArrayList<>(relationEntries.size());
+        for (RelationEntry relationEntry : relationEntries) {
+            StaticArrayEntry entry = edgeSerializer.writeRelation(relationEntry.relation, relationEntry.type,
+                relationEntry.position, typeInspector);
+            if (relationEntry.ttl > 0) {
+                entry.setMetaData(EntryMetaData.TTL, relationEntry.ttl);
+            }
+            additions.add(entry);
+        }
+        return additions;
+    }
+
+    /**
+     * Loads the schema definitions of the relation type of the given entry and resolves the property keys which are
+     * inlined into its serialized form, so that the entry can be serialized without reading through the transaction.
+     */
+    private static void resolveTypes(RelationEntry relationEntry, Map<Long, RelationType> types,
+                                     Set<InternalRelationType> resolvedTypes, StandardJanusGraphTx tx) {
+        final InternalRelationType type = relationEntry.type;
+        if (resolvedTypes.add(type)) {
+            type.getBaseType();
+            type.multiplicity();
+            type.getSortOrder();
+            type.isInvisibleType();
+            if (type.isPropertyKey()) ((PropertyKey) type).dataType();
+            for (long keyId : Longs.concat(type.getSortKey(), type.getSignature())) {
+                if (!types.containsKey(keyId)) {
+                    PropertyKey key = tx.getExistingPropertyKey(keyId);
+                    key.dataType();
+                    types.put(keyId, key);
+                }
+            }
+        }
+        for (PropertyKey key : relationEntry.relation.getPropertyKeysDirect()) {
+            if (!types.containsKey(key.longId())) {
+                key.dataType();
+                types.put(key.longId(), key);
+            }
+        }
+    }
+
+    /**
+     * An added relation in the row of a vertex together with the relation index and position it is written under.
+     */
+    private static class RelationEntry {
+
+        private final InternalRelation relation;
+        private final InternalRelationType type;
+        private final int position;
+        private final int ttl;
+
+        private RelationEntry(InternalRelation relation, InternalRelationType type, int position, int ttl) {
+            this.relation = relation;
+            this.type = type;
+            this.position = position;
+            this.ttl = ttl;
+        }
+    }
+
+    /**
+     * Provides the relation types resolved by {@link #resolveTypes} to the prepare commit executor.
+     */
+    private static class ResolvedTypeInspector implements RelationTypeInspector {
+
+        private final Map<Long, RelationType> types;
+
+        private ResolvedTypeInspector(Map<Long, RelationType> types) {
+            this.types = types;
+        }
+
+        @Override
+        public RelationType getExistingRelationType(long id) {
+            final RelationType type = types.get(id);
+            Preconditions.checkState(type != null, "Relation type has not been resolved: %s", id);
+            return type;
+        }
+    }
+
     private static final Predicate<InternalRelation> SCHEMA_FILTER =
         internalRelation -> internalRelation.getType() instanceof BaseRelationType && internalRelation.getVertex(0) instanceof JanusGraphSchemaVertex;
 
@@ -770,7 +1040,9 @@ public class StandardJanusGraph extends JanusGraphBlueprintsGraph {
 
                     try {
                         //2. Commit indexes - [FAILURE] all exceptions are collected and logged but nothing is aborted
-                        indexFailures = mutator.commitIndexes();
+                        //   Indexes are committed after storage since recovery cannot undo index mutations of a failed storage commit
+                        if (config.parallelCommit()) indexFailures = mutator.commitIndexesAsync().join();
+                        else indexFailures = mutator.commitIndexes();
                         if (!indexFailures.isEmpty()) {
                             status = LogTxStatus.SECONDARY_FAILURE;
                             for (Map.Entry<String,Throwable> entry : indexFailures.entrySet()) {
@@ -21,6 +21,10 @@ import org.janusgraph.graphdb.types.system.BaseRelationType;
 import org.janusgraph.util.stats.MetricManager;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 
+import java.util.Collection;
+import java.util.Map;
+import java.util.function.Function;
+
 /**
  * @author Matthias Broecheler (me@matthiasb.com)
  */
@@ -34,7 +38,11 @@ public class MetricInstrumentedSchemaCache implements SchemaCache {
     private final SchemaCache cache;
 
     public MetricInstrumentedSchemaCache(final StoreRetrieval retriever) {
-        cache = new StandardSchemaCache(new StoreRetrieval() {
+        this(StandardSchemaCache::new, retriever);
+    }
+
+    public MetricInstrumentedSchemaCache(final Function<StoreRetrieval,SchemaCache> cacheFactory, final StoreRetrieval retriever) {
+        cache = cacheFactory.apply(new StoreRetrieval() {
             @Override
             public Long retrieveSchemaByName(String typeName) {
                 incAction(METRICS_TYPENAME,CacheMetricsAction.MISS);
@@ -46,6 +54,18 @@ public class MetricInstrumentedSchemaCache implements SchemaCache {
                 incAction(METRICS_RELATIONS,CacheMetricsAction.MISS);
                 return retriever.retrieveSchemaRelations(schemaId, type, dir);
             }
+
+            @Override
+            public Map<String,Long> retrieveSchemaNames() {
+                incAction(METRICS_TYPENAME,CacheMetricsAction.MISS);
+                return retriever.retrieveSchemaNames();
+            }
+
+            @Override
+            public Map<Long,EntryList> retrieveSchemaRelations(Collection<Long> schemaIds, BaseRelationType type, Direction dir) {
+                incAction(METRICS_RELATIONS,CacheMetricsAction.MISS);
+                return retriever.retrieveSchemaRelations(schemaIds, type, dir);
+            }
         });
     }
 
@@ -18,6 +18,10 @@ import org.janusgraph.diskstorage.EntryList;
 import org.janusgraph.graphdb.types.system.BaseRelationType;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 
+import java.util.Collection;
+import java.util.HashMap;
+import java.util.Map;
+
 /**
  * This interface defines the methods that a SchemaCache must implement. A SchemaCache is maintained by the JanusGraph graph
  * database in order to make the frequent lookups of schema vertices and their attributes more efficient through a dedicated
@@ -45,6 +49,27 @@ public interface SchemaCache {
 
         EntryList retrieveSchemaRelations(final long schemaId, final BaseRelationType type, final Direction dir);
 
+        /**
+         * Retrieves the names of all schema vertices in a single pass, mapped to their ids.
+         *
+         * @throws UnsupportedOperationException if this retriever cannot enumerate the schema
+         */
+        default Map<String,Long> retrieveSchemaNames() {
+            throw new UnsupportedOperationException("Bulk retrieval of schema names is not supported");
+        }
+
+        /**
+         * Retrieves the relations of the given type and direction for all of the given schema vertices at once.
+         * Implementations should override this method when the storage backend can answer the lookups in bulk.
+         */
+        default Map<Long,EntryList> retrieveSchemaRelations(final Collection<Long> schemaIds, final BaseRelationType type, final Direction dir) {
+            final Map<Long,EntryList> result = new HashMap<>(schemaIds.size());
+            for (Long schemaId : schemaIds) {
+                result.put(schemaId, retrieveSchemaRelations(schemaId, type, dir));
+            }
+            return result;
+        }
+
     }
 
 }
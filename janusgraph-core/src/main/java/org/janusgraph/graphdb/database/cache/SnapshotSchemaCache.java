@@ -0,0 +1,218 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.database.cache;
+
+import com.carrotsearch.hppc.LongObjectHashMap;
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.structure.Direction;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.graphdb.idmanagement.IDManager;
+import org.janusgraph.graphdb.types.system.BaseKey;
+import org.janusgraph.graphdb.types.system.BaseLabel;
+import org.janusgraph.graphdb.types.system.BaseRelationType;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
+
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.function.UnaryOperator;
+
+import static org.janusgraph.graphdb.database.cache.StandardSchemaCache.SCHEMAID_BACK_SHIFT;
+import static org.janusgraph.graphdb.database.cache.StandardSchemaCache.SCHEMAID_TOTALFORW_SHIFT;
+
+/**
+ * {@link SchemaCache} which holds the schema in an immutable {@link Snapshot} that is swapped atomically.
+ * <p>
+ * On first access the names of all schema vertices and their definitions are loaded in a single bulk pass through
+ * {@link StoreRetrieval#retrieveSchemaNames()} and {@link StoreRetrieval#retrieveSchemaRelations(java.util.Collection, BaseRelationType, Direction)}.
+ * Afterwards, lookups only read the current snapshot and never lock. Schema elements which are missing from the
+ * snapshot, e.g. because they were created later, are retrieved individually and added to a copy of the snapshot.
+ * <p>
+ * Expiring a schema element removes it from the snapshot and increments the snapshot's generation so that concurrent
+ * retrievals which started before the expiration cannot re-insert stale data. The expired element is re-read from
+ * storage on its next access.
+ */
+public class SnapshotSchemaCache implements SchemaCache {
+
+    private static final Logger log = LoggerFactory.getLogger(SnapshotSchemaCache.class);
+
+    public static final String NAME = "snapshot";
+
+    /**
+     * Number of times the bulk load is repeated when schema elements get expired while it is running
+     */
+    private static final int MAX_LOAD_ATTEMPTS = 3;
+
+    /**
+     * The relations of schema vertices which are read by {@link org.janusgraph.graphdb.types.vertices.JanusGraphSchemaVertex}
+     */
+    private static final BaseRelationType[] PRELOADED_TYPES = {BaseKey.SchemaName, BaseKey.SchemaDefinitionProperty,
+            BaseLabel.SchemaDefinitionEdge, BaseLabel.SchemaDefinitionEdge};
+    private static final Direction[] PRELOADED_DIRECTIONS = {Direction.OUT, Direction.OUT, Direction.OUT, Direction.IN};
+
+    private final StoreRetrieval retriever;
+    private final AtomicReference<Snapshot> snapshot = new AtomicReference<>(Snapshot.EMPTY);
+
+    private final Object loadLock = new Object();
+    private boolean loading = false;
+
+    public SnapshotSchemaCache(final StoreRetrieval retriever) {
+        Preconditions.checkNotNull(retriever);
+        this.retriever = retriever;
+    }
+
+    @Override
+    public Long getSchemaId(final String schemaName) {
+        final Snapshot current = loadedSnapshot();
+        if (current == null) return retriever.retrieveSchemaByName(schemaName);
+        Long id = current.names.get(schemaName);
+        if (id == null) {
+            id = retriever.retrieveSchemaByName(schemaName);
+            if (id != null) { //only cache if type exists
+                final long schemaId = id;
+                publish(current.generation, s -> s.withName(schemaName, schemaId));
+            }
+        }
+        return id;
+    }
+
+    @Override
+    public EntryList getSchemaRelations(final long schemaId, final BaseRelationType type, final Direction dir) {
+        assert IDManager.isSystemRelationTypeId(type.longId()) && type.longId()>0;
+        Preconditions.checkArgument(IDManager.VertexIDType.Schema.is(schemaId));
+        Preconditions.checkArgument((Long.MAX_VALUE>>>(SCHEMAID_TOTALFORW_SHIFT-SCHEMAID_BACK_SHIFT))>= schemaId);
+
+        final Snapshot current = loadedSnapshot();
+        if (current == null) return retriever.retrieveSchemaRelations(schemaId, type, dir);
+        final long identifier = StandardSchemaCache.getIdentifier(schemaId, type, dir);
+        EntryList entries = current.relations.get(identifier);
+        if (entries == null) {
+            entries = retriever.retrieveSchemaRelations(schemaId, type, dir);
+            final EntryList retrieved = entries;
+            publish(current.generation, s -> s.withRelations(identifier, retrieved));
+        }
+        assert entries != null;
+        return entries;
+    }
+
+    @Override
+    public void expireSchemaElement(final long schemaId) {
+        snapshot.updateAndGet(s -> s.without(schemaId));
+    }
+
+    /**
+     * Returns the current snapshot after making sure that the schema was loaded, or null if the calling thread is
+     * the one loading the schema and hence has to bypass the cache.
+     */
+    private Snapshot loadedSnapshot() {
+        Snapshot current = snapshot.get();
+        if (current.loaded) return current;
+        synchronized (loadLock) {
+            current = snapshot.get();
+            if (current.loaded) return current;
+            if (loading) return null;
+            loading = true;
+            try {
+                for (int attempt = 0; attempt < MAX_LOAD_ATTEMPTS; attempt++) {
+                    final Snapshot loaded = load(current.generation);
+                    if (snapshot.compareAndSet(current, loaded)) return loaded;
+                    current = snapshot.get();
+                }
+                log.warn("Schema was modified during each of {} attempts to load it, schema elements will be loaded on demand",
+                        MAX_LOAD_ATTEMPTS);
+            } catch (UnsupportedOperationException e) {
+                log.debug("Schema cannot be loaded in bulk, schema elements will be loaded on demand", e);
+            } finally {
+                loading = false;
+            }
+            return snapshot.updateAndGet(s -> s.loaded ? s : new Snapshot(s.generation, true, s.names, s.relations));
+        }
+    }
+
+    private Snapshot load(final long generation) {
+        final Map<String,Long> names = retriever.retrieveSchemaNames();
+        final Set<Long> schemaIds = new HashSet<>(names.values());
+        final LongObjectHashMap<EntryList> relations = new LongObjectHashMap<>(schemaIds.size() * PRELOADED_TYPES.length);
+        if (!schemaIds.isEmpty()) {
+            for (int i = 0; i < PRELOADED_TYPES.length; i++) {
+                final BaseRelationType type = PRELOADED_TYPES[i];
+                final Direction dir = PRELOADED_DIRECTIONS[i];
+                for (Map.Entry<Long,EntryList> entry : retriever.retrieveSchemaRelations(schemaIds, type, dir).entrySet()) {
+                    relations.put(StandardSchemaCache.getIdentifier(entry.getKey(), type, dir), entry.getValue());
+                }
+            }
+        }
+        log.debug("Loaded {} schema elements into schema cache", schemaIds.size());
+        return new Snapshot(generation, true, new HashMap<>(names), relations);
+    }
+
+    /**
+     * Applies the given update to the current snapshot unless the snapshot's generation has moved past the given one,
+     * in which case the update is based on data that might have been expired in the meantime and is dropped.
+     */
+    private void publish(final long generation, final UnaryOperator<Snapshot> update) {
+        Snapshot current;
+        do {
+            current = snapshot.get();
+            if (current.generation != generation || !current.loaded) return;
+        } while (!snapshot.compareAndSet(current, update.apply(current)));
+    }
+
+    /**
+     * Immutable view of the cached schema. Modifications create a copy.
+     */
+    private static class Snapshot {
+
+        private static final Snapshot EMPTY = new Snapshot(0, false, Collections.emptyMap(), new LongObjectHashMap<>(0));
+
+        private final long generation;
+        private final boolean loaded;
+        private final Map<String,Long> names;
+        private final LongObjectHashMap<EntryList> relations;
+
+        private Snapshot(long generation, boolean loaded, Map<String,Long> names, LongObjectHashMap<EntryList> relations) {
+            this.generation = generation;
+            this.loaded = loaded;
+            this.names = names;
+            this.relations = relations;
+        }
+
+        private Snapshot withName(String name, long schemaId) {
+            final Map<String,Long> newNames = new HashMap<>(names);
+            newNames.put(name, schemaId);
+            return new Snapshot(generation, loaded, newNames, relations);
+        }
+
+        private Snapshot withRelations(long identifier, EntryList entries) {
+            final LongObjectHashMap<EntryList> newRelations = new LongObjectHashMap<>(relations);
+            newRelations.put(identifier, entries);
+            return new Snapshot(generation, loaded, names, newRelations);
+        }
+
+        private Snapshot without(long schemaId) {
+            final long cutTypeId = (schemaId >>> SCHEMAID_BACK_SHIFT);
+            final Map<String,Long> newNames = new HashMap<>(names);
+            newNames.values().removeIf(id -> id == schemaId);
+            final LongObjectHashMap<EntryList> newRelations = new LongObjectHashMap<>(relations);
+            newRelations.removeAll(key -> (key >>> SCHEMAID_TOTALFORW_SHIFT) == cutTypeId);
+            return new Snapshot(generation + 1, loaded, newNames, newRelations);
+        }
+    }
+
+}
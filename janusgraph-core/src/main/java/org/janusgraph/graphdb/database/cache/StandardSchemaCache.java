@@ -36,6 +36,8 @@ import java.util.concurrent.ConcurrentMap;
  */
 public class StandardSchemaCache implements SchemaCache {
 
+    public static final String NAME = "standard";
+
     public static final int MAX_CACHED_TYPES_DEFAULT = 10000;
 
     private static final int INITIAL_CAPACITY = 128;
@@ -44,8 +46,8 @@ public class StandardSchemaCache implements SchemaCache {
     private static final int CONCURRENCY_LEVEL = 2;
 
 //    private static final int SCHEMAID_FORW_SHIFT = 4; //Number of bits at the end to append the id of the system type
-    private static final int SCHEMAID_TOTALFORW_SHIFT = 3; //Total number of bits appended - the 1 is for the 1 bit direction
-    private static final int SCHEMAID_BACK_SHIFT = 2; //Number of bits to remove from end of schema id since its just the padding
+    static final int SCHEMAID_TOTALFORW_SHIFT = 3; //Total number of bits appended - the 1 is for the 1 bit direction
+    static final int SCHEMAID_BACK_SHIFT = 2; //Number of bits to remove from end of schema id since its just the padding
     static {
         assert IDManager.VertexIDType.Schema.removePadding(1L<<SCHEMAID_BACK_SHIFT)==1;
         assert SCHEMAID_TOTALFORW_SHIFT-SCHEMAID_BACK_SHIFT>=0;
@@ -118,7 +120,7 @@ public class StandardSchemaCache implements SchemaCache {
         return id;
     }
 
-    private long getIdentifier(final long schemaId, final SystemRelationType type, final Direction dir) {
+    static long getIdentifier(final long schemaId, final SystemRelationType type, final Direction dir) {
         int edgeDir = EdgeDirection.position(dir);
         assert edgeDir==0 || edgeDir==1;
 
@@ -0,0 +1,94 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.database.idassigner;
+
+import com.google.common.base.Preconditions;
+
+import java.time.Duration;
+import java.util.HashMap;
+import java.util.Map;
+
+/**
+ * {@link IDBlockSizer} which sizes id blocks according to the rate at which ids of an id namespace are consumed.
+ * <p>
+ * {@link StandardIDPool}s report how many ids they consumed from a block and how long that took through
+ * {@link #recordConsumption(int, long, Duration)}. The per-pool consumption rate of each id namespace is tracked as an
+ * exponentially weighted moving average and the block size is chosen such that a block lasts for the configured target
+ * duration at that rate, bounded by the configured minimum and maximum. Namespaces for which no consumption has been
+ * recorded yet use the block size of the wrapped sizer.
+ */
+public class AdaptiveIDBlockSizer implements IDBlockSizer {
+
+    private static final double SMOOTHING_FACTOR = 0.3;
+
+    private final IDBlockSizer baseSizer;
+    private final long minBlockSize;
+    private final long maxBlockSize;
+    private final double targetSeconds;
+
+    private final Map<Integer, Double> consumptionRates = new HashMap<>();
+
+    public AdaptiveIDBlockSizer(IDBlockSizer baseSizer, long minBlockSize, long maxBlockSize, Duration targetBlockDuration) {
+        Preconditions.checkNotNull(baseSizer);
+        Preconditions.checkArgument(minBlockSize > 0 && minBlockSize <= maxBlockSize,
+                "Invalid block size bounds [%s,%s]", minBlockSize, maxBlockSize);
+        Preconditions.checkArgument(!targetBlockDuration.isZero() && !targetBlockDuration.isNegative(),
+                "Target block duration must be positive");
+        this.baseSizer = baseSizer;
+        this.minBlockSize = minBlockSize;
+        this.maxBlockSize = maxBlockSize;
+        this.targetSeconds = targetBlockDuration.toNanos() / 1e9;
+    }
+
+    /**
+     * Records that an id pool of the given namespace consumed {@code numIds} ids within {@code elapsed}.
+     * Samples without any consumption or elapsed time are ignored.
+     *
+     * @param idNamespace
+     * @param numIds
+     * @param elapsed
+     */
+    public synchronized void recordConsumption(int idNamespace, long numIds, Duration elapsed) {
+        if (numIds <= 0 || elapsed.isZero() || elapsed.isNegative()) return;
+        double rate = numIds / (elapsed.toNanos() / 1e9);
+        consumptionRates.merge(idNamespace, rate, (previous, sample) -> previous + SMOOTHING_FACTOR * (sample - previous));
+    }
+
+    /**
+     * Returns the observed consumption rate of a single id pool of the given namespace in ids per second, or 0 if
+     * nothing has been recorded for this namespace yet.
+     *
+     * @param idNamespace
+     * @return
+     */
+    public synchronized double getConsumptionRate(int idNamespace) {
+        return consumptionRates.getOrDefault(idNamespace, 0.0);
+    }
+
+    @Override
+    public long getBlockSize(int idNamespace) {
+        double rate = getConsumptionRate(idNamespace);
+        if (rate <= 0.0) return baseSizer.getBlockSize(idNamespace);
+        long size = Math.round(Math.min(rate * targetSeconds, (double) Long.MAX_VALUE));
+        size = Math.max(minBlockSize, Math.min(maxBlockSize, size));
+        //A block must always fit below the upper bound of the namespace
+        return Math.max(1, Math.min(size, baseSizer.getIdUpperBound(idNamespace) - 1));
+    }
+
+    @Override
+    public long getIdUpperBound(int idNamespace) {
+        return baseSizer.getIdUpperBound(idNamespace);
+    }
+}
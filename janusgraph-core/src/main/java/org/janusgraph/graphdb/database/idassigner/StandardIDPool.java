@@ -81,10 +81,14 @@ public class StandardIDPool implements IDPool {
 
     private final Duration renewTimeout;
     private final double renewBufferPercentage;
+    private final AdaptiveIDBlockSizer blockSizer;
 
     private IDBlock currentBlock;
     private long currentIndex;
     private long renewBlockIndex;
+    private long blockAcquiredNanos;
+    private boolean consumptionRecorded;
+    private long renewalLatencyNanos;
 //    private long nextID;
 //    private long currentMaxID;
 //    private long renewBufferID;
@@ -99,6 +103,15 @@ public class StandardIDPool implements IDPool {
     private final Queue<Future<?>> closeBlockers;
 
     public StandardIDPool(IDAuthority idAuthority, int partition, int idNamespace, long idUpperBound, Duration renewTimeout, double renewBufferPercentage) {
+        this(idAuthority, partition, idNamespace, idUpperBound, renewTimeout, renewBufferPercentage, null);
+    }
+
+    /**
+     * @param blockSizer if not null, the pool reports its id consumption to this sizer and renews its block early
+     *                   enough that the observed renewal latency is covered at the observed consumption rate
+     */
+    public StandardIDPool(IDAuthority idAuthority, int partition, int idNamespace, long idUpperBound, Duration renewTimeout,
+                          double renewBufferPercentage, AdaptiveIDBlockSizer blockSizer) {
         Preconditions.checkArgument(idUpperBound > 0);
         this.idAuthority = idAuthority;
         Preconditions.checkArgument(partition>=0);
@@ -110,10 +123,14 @@ public class StandardIDPool implements IDPool {
         this.renewTimeout = renewTimeout;
         Preconditions.checkArgument(renewBufferPercentage>0.0 && renewBufferPercentage<=1.0,"Renew-buffer percentage must be in (0.0,1.0]");
         this.renewBufferPercentage = renewBufferPercentage;
+        this.blockSizer = blockSizer;
 
         currentBlock = UNINITIALIZED_BLOCK;
         currentIndex = 0;
         renewBlockIndex = 0;
+        blockAcquiredNanos = 0;
+        consumptionRecorded = true;
+        renewalLatencyNanos = 0;
 
         nextBlock = null;
 
@@ -137,6 +154,7 @@ public class StandardIDPool implements IDPool {
         if (null != idBlockFuture) {
             try {
                 nextBlock = idBlockFuture.get(renewTimeout.toMillis(), TimeUnit.MILLISECONDS);
+                renewalLatencyNanos = idBlockGetter.getLatencyNanos();
             } catch (ExecutionException e) {
                 String msg = String.format("ID block allocation on partition(%d)-namespace(%d) failed with an exception in %s",
                         partition, idNamespace, sw.stop());
@@ -185,8 +203,12 @@ public class StandardIDPool implements IDPool {
         if (nextBlock == ID_POOL_EXHAUSTION)
             throw new IDPoolExhaustedException("Exhausted ID Pool for partition(" + partition+")-namespace("+idNamespace+")");
 
+        if (currentBlock != UNINITIALIZED_BLOCK) recordConsumption();
+
         currentBlock = nextBlock;
         currentIndex = 0;
+        blockAcquiredNanos = System.nanoTime();
+        consumptionRecorded = false;
 
         log.debug("ID partition({})-namespace({}) acquired block: [{}]", partition, idNamespace, currentBlock);
 
@@ -196,6 +218,12 @@ public class StandardIDPool implements IDPool {
 
         assert RENEW_ID_COUNT>0;
         renewBlockIndex = Math.max(0,currentBlock.numIds()-Math.max(RENEW_ID_COUNT, Math.round(currentBlock.numIds()*renewBufferPercentage)));
+        if (blockSizer != null && renewalLatencyNanos > 0) {
+            //Leave enough ids to cover twice the last renewal latency at the observed rate so that renewal never blocks
+            double latencyBuffer = 2.0 * blockSizer.getConsumptionRate(idNamespace) * renewalLatencyNanos / 1e9;
+            long buffer = (long) Math.ceil(Math.min(latencyBuffer, (double) currentBlock.numIds()));
+            renewBlockIndex = Math.min(renewBlockIndex, currentBlock.numIds() - buffer);
+        }
         assert renewBlockIndex<currentBlock.numIds() && renewBlockIndex>=currentIndex;
     }
 
@@ -212,6 +240,7 @@ public class StandardIDPool implements IDPool {
         }
 
         if (currentIndex == renewBlockIndex) {
+            if (currentIndex > 0) recordConsumption();
             startIDBlockGetter();
         }
 
@@ -243,6 +272,16 @@ public class StandardIDPool implements IDPool {
         exec.shutdownNow();
     }
 
+    /**
+     * Reports the consumption of the current block to the block sizer. Each block is reported once, either when its
+     * renewal starts or, if no ids had been consumed by then, when it is replaced.
+     */
+    private void recordConsumption() {
+        if (blockSizer == null || consumptionRecorded) return;
+        consumptionRecorded = true;
+        blockSizer.recordConsumption(idNamespace, currentIndex, Duration.ofNanos(System.nanoTime() - blockAcquiredNanos));
+    }
+
     private synchronized void startIDBlockGetter() {
         Preconditions.checkArgument(idBlockFuture == null, idBlockFuture);
         if (closed) return; //Don't renew anymore if closed
@@ -260,6 +299,7 @@ public class StandardIDPool implements IDPool {
         private final int idNamespace;
         private final Duration renewTimeout;
         private volatile boolean stopRequested;
+        private volatile long latencyNanos;
 
         public IDBlockGetter(IDAuthority idAuthority, int partition, int idNamespace, Duration renewTimeout) {
             this.idAuthority = idAuthority;
@@ -274,6 +314,10 @@ public class StandardIDPool implements IDPool {
             this.stopRequested = true;
         }
 
+        private long getLatencyNanos() {
+            return latencyNanos;
+        }
+
         @Override
         public IDBlock call() {
             Stopwatch running = Stopwatch.createStarted();
@@ -286,6 +330,7 @@ public class StandardIDPool implements IDPool {
                     throw new JanusGraphException("ID block retrieval aborted by caller");
                 }
                 IDBlock idBlock = idAuthority.getIDBlock(partition, idNamespace, renewTimeout);
+                latencyNanos = alive.elapsed(TimeUnit.NANOSECONDS);
                 log.debug("Retrieved ID block from authority on partition({})-namespace({}), " +
                           "exec time {}, exec+q time {}",
                           partition, idNamespace, running.stop(), alive.stop());
@@ -69,6 +69,7 @@ public class VertexIDAssigner implements AutoCloseable {
     //For StandardIDPool
     private final Duration renewTimeoutMS;
     private final double renewBufferPercentage;
+    private final AdaptiveIDBlockSizer adaptiveBlockSizer;
 
     private final int partitionIdBound;
     private final boolean hasLocalPartitions;
@@ -90,7 +91,15 @@ public class VertexIDAssigner implements AutoCloseable {
         log.debug("Partition IDs? [{}], Local Partitions? [{}]",true,hasLocalPartitions);
 
         long baseBlockSize = config.get(IDS_BLOCK_SIZE);
-        idAuthority.setIDBlockSizer(new SimpleVertexIDBlockSizer(baseBlockSize));
+        if (config.get(IDS_ADAPTIVE_BLOCK_SIZE)) {
+            adaptiveBlockSizer = new AdaptiveIDBlockSizer(new SimpleVertexIDBlockSizer(baseBlockSize),
+                    config.get(IDS_ADAPTIVE_BLOCK_SIZE_MIN), config.get(IDS_ADAPTIVE_BLOCK_SIZE_MAX),
+                    config.get(IDS_ADAPTIVE_BLOCK_DURATION));
+            idAuthority.setIDBlockSizer(adaptiveBlockSizer);
+        } else {
+            adaptiveBlockSizer = null;
+            idAuthority.setIDBlockSizer(new SimpleVertexIDBlockSizer(baseBlockSize));
+        }
 
         renewTimeoutMS = config.get(IDS_RENEW_TIMEOUT);
         renewBufferPercentage = config.get(IDS_RENEW_BUFFER_PERCENTAGE);
@@ -99,7 +108,7 @@ public class VertexIDAssigner implements AutoCloseable {
         schemaIdPool = new StandardIDPool(idAuthority, IDManager.SCHEMA_PARTITION, PoolType.SCHEMA.getIDNamespace(),
                 IDManager.getSchemaCountBound(), renewTimeoutMS, renewBufferPercentage);
         partitionVertexIdPool = new StandardIDPool(idAuthority, IDManager.PARTITIONED_VERTEX_PARTITION, PoolType.PARTITIONED_VERTEX.getIDNamespace(),
-                PoolType.PARTITIONED_VERTEX.getCountBound(idManager), renewTimeoutMS, renewBufferPercentage);
+                PoolType.PARTITIONED_VERTEX.getCountBound(idManager), renewTimeoutMS, renewBufferPercentage, adaptiveBlockSizer);
         setLocalPartitions(partitionBits);
     }
 
@@ -308,7 +317,7 @@ public class VertexIDAssigner implements AutoCloseable {
         } else {
             PartitionIDPool partitionPool = idPools.get(partitionID);
             if (partitionPool == null) {
-                partitionPool = new PartitionIDPool(partitionID, idAuthority, idManager, renewTimeoutMS, renewBufferPercentage);
+                partitionPool = new PartitionIDPool(partitionID, idAuthority, idManager, renewTimeoutMS, renewBufferPercentage, adaptiveBlockSizer);
                 idPools.putIfAbsent(partitionID,partitionPool);
                 partitionPool = idPools.get(partitionID);
             }
@@ -452,11 +461,12 @@ public class VertexIDAssigner implements AutoCloseable {
         private volatile long lastAccess;
         private volatile boolean exhausted;
 
-        PartitionIDPool(int partitionID, IDAuthority idAuthority, IDManager idManager, Duration renewTimeoutMS, double renewBufferPercentage) {
+        PartitionIDPool(int partitionID, IDAuthority idAuthority, IDManager idManager, Duration renewTimeoutMS,
+                        double renewBufferPercentage, AdaptiveIDBlockSizer adaptiveBlockSizer) {
             super(PoolType.class);
             for (PoolType type : PoolType.values()) {
                 if (!type.hasOnePerPartition()) continue;
-                put(type,new StandardIDPool(idAuthority, partitionID, type.getIDNamespace(), type.getCountBound(idManager), renewTimeoutMS, renewBufferPercentage));
+                put(type,new StandardIDPool(idAuthority, partitionID, type.getIDNamespace(), type.getCountBound(idManager), renewTimeoutMS, renewBufferPercentage, adaptiveBlockSizer));
             }
         }
 
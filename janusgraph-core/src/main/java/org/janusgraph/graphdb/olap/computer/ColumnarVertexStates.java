@@ -0,0 +1,531 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.olap.computer;
+
+import com.google.common.base.Preconditions;
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.cliffc.high_scale_lib.NonBlockingHashMapLong;
+
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.AtomicReference;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+import java.util.stream.Stream;
+
+/**
+ * Columnar alternative to keeping one {@link VertexState} per vertex in {@link FulgoraVertexMemory}.
+ * <p>
+ * Every vertex is assigned a dense index on first access. Properties and messages are stored in one paged column per
+ * vertex compute key and per message scope, respectively. Values of type {@link Long}, {@link Integer}, {@link Double}
+ * and {@link Float} are kept in primitive slots, all other values in reference slots.
+ * <p>
+ * Primitive messages sent to the same vertex are combined through compare-and-set on their slot instead of locking the
+ * vertex. Other messages may be mutated by the combiner, so they are combined while holding one of a fixed set of
+ * locks striped over the vertices.
+ * The message columns of the current and the previous iteration are swapped when an iteration completes and are
+ * cleared rather than reallocated before they are written again.
+ * <p>
+ * Properties of a vertex are only written by the thread which executes the vertex program on it, hence property
+ * columns do not need to be atomic.
+ */
+class ColumnarVertexStates<M> {
+
+    private static final int PAGE_BITS = 12;
+    private static final int PAGE_SIZE = 1 << PAGE_BITS;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+    private static final int LOCK_STRIPES = 256;
+
+    private final NonBlockingHashMapLong<Integer> indexes;
+    private final AtomicInteger nextIndex = new AtomicInteger(0);
+    private final PropertyColumn[] properties;
+    private final MessageCombiner<M> combiner;
+
+    private MessageColumn[] previousMessages = new MessageColumn[0];
+    private MessageColumn[] currentMessages = new MessageColumn[0];
+
+    ColumnarVertexStates(int numVertices, int numKeys, MessageCombiner<M> combiner) {
+        indexes = new NonBlockingHashMapLong<>(numVertices);
+        properties = new PropertyColumn[numKeys];
+        for (int i = 0; i < numKeys; i++) properties[i] = new PropertyColumn();
+        this.combiner = combiner;
+    }
+
+    /**
+     * Returns the dense index of the given vertex, or -1 if the vertex has no state and none should be created.
+     */
+    int getIndex(long vertexId, boolean create) {
+        Integer index = indexes.get(vertexId);
+        if (index == null) {
+            if (!create) return -1;
+            Integer candidate = nextIndex.getAndIncrement();
+            index = indexes.putIfAbsent(vertexId, candidate);
+            if (index == null) index = candidate;
+        }
+        return index;
+    }
+
+    /**
+     * Map from the id of each vertex with state to its dense index.
+     */
+    Map<Long, Integer> getIndexes() {
+        return indexes;
+    }
+
+    <V> void setProperty(int index, int key, V value) {
+        properties[key].set(index, value);
+    }
+
+    <V> V getProperty(int index, int key) {
+        return (V) properties[key].get(index);
+    }
+
+    /**
+     * Adds the message to the messages of the given scope, combining it with a message that has already been sent to
+     * the vertex if a {@link MessageCombiner} has been provided.
+     */
+    void addMessage(int index, M message, int scope) {
+        currentMessages[scope].add(index, message, combiner);
+    }
+
+    /**
+     * Replaces the message of the given scope.
+     */
+    void setMessage(int index, M message, int scope) {
+        currentMessages[scope].set(index, message);
+    }
+
+    Stream<M> getMessage(int index, int scope) {
+        if (scope >= previousMessages.length) return Stream.empty();
+        return previousMessages[scope].get(index);
+    }
+
+    /**
+     * Prepares the message columns for the given number of scopes. Must not be called concurrently with any other
+     * method.
+     */
+    void nextIteration(int numScopes) {
+        if (currentMessages.length < numScopes) {
+            MessageColumn[] columns = Arrays.copyOf(currentMessages, numScopes);
+            for (int i = currentMessages.length; i < numScopes; i++) columns[i] = new MessageColumn();
+            currentMessages = columns;
+        }
+        for (MessageColumn column : currentMessages) column.clear();
+    }
+
+    /**
+     * Makes the messages of the current iteration available for reading. Must not be called concurrently with any
+     * other method.
+     */
+    void completeIteration() {
+        MessageColumn[] columns = previousMessages;
+        previousMessages = currentMessages;
+        currentMessages = columns;
+    }
+
+    /**
+     * Encodes values of a boxed primitive type into the bits of a long.
+     */
+    enum PrimitiveCodec {
+
+        LONG {
+            @Override
+            boolean accepts(Object value) {
+                return value instanceof Long;
+            }
+
+            @Override
+            long encode(Object value) {
+                return (Long) value;
+            }
+
+            @Override
+            Object decode(long bits) {
+                return bits;
+            }
+        },
+
+        INTEGER {
+            @Override
+            boolean accepts(Object value) {
+                return value instanceof Integer;
+            }
+
+            @Override
+            long encode(Object value) {
+                return (Integer) value;
+            }
+
+            @Override
+            Object decode(long bits) {
+                return (int) bits;
+            }
+        },
+
+        DOUBLE {
+            @Override
+            boolean accepts(Object value) {
+                return value instanceof Double;
+            }
+
+            @Override
+            long encode(Object value) {
+                return Double.doubleToRawLongBits((Double) value);
+            }
+
+            @Override
+            Object decode(long bits) {
+                return Double.longBitsToDouble(bits);
+            }
+        },
+
+        FLOAT {
+            @Override
+            boolean accepts(Object value) {
+                return value instanceof Float;
+            }
+
+            @Override
+            long encode(Object value) {
+                return Float.floatToRawIntBits((Float) value);
+            }
+
+            @Override
+            Object decode(long bits) {
+                return Float.intBitsToFloat((int) bits);
+            }
+        },
+
+        OBJECT {
+            @Override
+            boolean accepts(Object value) {
+                return true;
+            }
+
+            @Override
+            long encode(Object value) {
+                throw new UnsupportedOperationException();
+            }
+
+            @Override
+            Object decode(long bits) {
+                throw new UnsupportedOperationException();
+            }
+        };
+
+        abstract boolean accepts(Object value);
+
+        abstract long encode(Object value);
+
+        abstract Object decode(long bits);
+
+        static PrimitiveCodec of(Object value) {
+            for (PrimitiveCodec codec : values()) {
+                if (codec.accepts(value)) return codec;
+            }
+            throw new AssertionError();
+        }
+    }
+
+    /**
+     * Column which grows in pages of {@link #PAGE_SIZE} slots as vertices are added. Existing pages are never moved.
+     */
+    private abstract static class PagedColumn<P> {
+
+        private volatile Object[] pages = new Object[16];
+
+        abstract P newPage();
+
+        P page(int index, boolean create) {
+            int pos = index >>> PAGE_BITS;
+            Object[] current = pages;
+            if (pos < current.length) {
+                P page = (P) current[pos];
+                if (page != null || !create) return page;
+            } else if (!create) {
+                return null;
+            }
+            synchronized (this) {
+                current = pages;
+                if (pos >= current.length) current = Arrays.copyOf(current, Math.max(pos + 1, current.length * 2));
+                if (current[pos] == null) current[pos] = newPage();
+                pages = current;
+                return (P) current[pos];
+            }
+        }
+
+        Object[] pages() {
+            return pages;
+        }
+    }
+
+    private static class PropertyPage {
+
+        private static final byte ABSENT = 0;
+        private static final byte PRIMITIVE = 1;
+        private static final byte REFERENCE = 2;
+
+        private final long[] values = new long[PAGE_SIZE];
+        private final byte[] kinds = new byte[PAGE_SIZE];
+        private volatile Object[] objects;
+
+        private Object[] objects() {
+            Object[] result = objects;
+            if (result == null) {
+                synchronized (this) {
+                    if (objects == null) objects = new Object[PAGE_SIZE];
+                    result = objects;
+                }
+            }
+            return result;
+        }
+    }
+
+    private static class PropertyColumn extends PagedColumn<PropertyPage> {
+
+        private final AtomicReference<PrimitiveCodec> codec = new AtomicReference<>();
+
+        @Override
+        PropertyPage newPage() {
+            return new PropertyPage();
+        }
+
+        void set(int index, Object value) {
+            PropertyPage page = page(index, true);
+            int slot = index & PAGE_MASK;
+            if (page.kinds[slot] == PropertyPage.REFERENCE) page.objects()[slot] = null;
+            if (value == null) {
+                page.kinds[slot] = PropertyPage.ABSENT;
+                return;
+            }
+            if (codec.get() == null) codec.compareAndSet(null, PrimitiveCodec.of(value));
+            PrimitiveCodec primitive = codec.get();
+            if (primitive != PrimitiveCodec.OBJECT && primitive.accepts(value)) {
+                page.values[slot] = primitive.encode(value);
+                page.kinds[slot] = PropertyPage.PRIMITIVE;
+            } else {
+                page.objects()[slot] = value;
+                page.kinds[slot] = PropertyPage.REFERENCE;
+            }
+        }
+
+        Object get(int index) {
+            PropertyPage page = page(index, false);
+            if (page == null) return null;
+            int slot = index & PAGE_MASK;
+            switch (page.kinds[slot]) {
+                case PropertyPage.PRIMITIVE:
+                    return codec.get().decode(page.values[slot]);
+                case PropertyPage.REFERENCE:
+                    return page.objects()[slot];
+                default:
+                    return null;
+            }
+        }
+    }
+
+    private static class MessagePage {
+
+        private static final int EMPTY = 0;
+        private static final int WRITING = 1;
+        private static final int FULL = 2;
+
+        //Two bits of state per primitive slot
+        private volatile AtomicIntegerArray states;
+        private volatile AtomicLongArray values;
+        private volatile AtomicReferenceArray<Object> objects;
+
+        private synchronized void allocatePrimitives() {
+            if (values == null) {
+                states = new AtomicIntegerArray(PAGE_SIZE >>> 4);
+                values = new AtomicLongArray(PAGE_SIZE);
+            }
+        }
+
+        private AtomicLongArray values() {
+            if (values == null) allocatePrimitives();
+            return values;
+        }
+
+        private AtomicIntegerArray states() {
+            if (values == null) allocatePrimitives();
+            return states;
+        }
+
+        private AtomicReferenceArray<Object> objects() {
+            AtomicReferenceArray<Object> result = objects;
+            if (result == null) {
+                synchronized (this) {
+                    if (objects == null) objects = new AtomicReferenceArray<>(PAGE_SIZE);
+                    result = objects;
+                }
+            }
+            return result;
+        }
+
+        private int getState(int slot) {
+            return (states().get(slot >>> 4) >>> ((slot & 15) << 1)) & 3;
+        }
+
+        private boolean casState(int slot, int expected, int update) {
+            AtomicIntegerArray words = states();
+            int word = slot >>> 4;
+            int shift = (slot & 15) << 1;
+            while (true) {
+                int current = words.get(word);
+                if (((current >>> shift) & 3) != expected) return false;
+                int next = (current & ~(3 << shift)) | (update << shift);
+                if (words.compareAndSet(word, current, next)) return true;
+            }
+        }
+
+        private void clear() {
+            AtomicIntegerArray currentStates = states;
+            if (currentStates != null) {
+                for (int i = 0; i < currentStates.length(); i++) currentStates.set(i, EMPTY);
+            }
+            AtomicReferenceArray<Object> currentObjects = objects;
+            if (currentObjects != null) {
+                for (int i = 0; i < currentObjects.length(); i++) currentObjects.set(i, null);
+            }
+        }
+    }
+
+    /**
+     * Collects messages which cannot be combined. Private so that it cannot be confused with a message.
+     */
+    private static class MessageQueue extends ConcurrentLinkedQueue<Object> {
+    }
+
+    private static class MessageColumn extends PagedColumn<MessagePage> {
+
+        private final AtomicReference<PrimitiveCodec> codec = new AtomicReference<>();
+        private final Object[] locks = new Object[LOCK_STRIPES];
+
+        private MessageColumn() {
+            for (int i = 0; i < LOCK_STRIPES; i++) locks[i] = new Object();
+        }
+
+        @Override
+        MessagePage newPage() {
+            return new MessagePage();
+        }
+
+        private PrimitiveCodec getCodec(Object message, boolean primitive) {
+            PrimitiveCodec result = codec.get();
+            if (result == null) {
+                codec.compareAndSet(null, primitive ? PrimitiveCodec.of(message) : PrimitiveCodec.OBJECT);
+                result = codec.get();
+            }
+            Preconditions.checkArgument(result.accepts(message),
+                "Columnar vertex memory expects all messages of a scope to be of the same type, but got: %s", message);
+            return result;
+        }
+
+        <M> void add(int index, M message, MessageCombiner<M> combiner) {
+            assert message != null;
+            MessagePage page = page(index, true);
+            int slot = index & PAGE_MASK;
+            PrimitiveCodec primitive = getCodec(message, combiner != null);
+            if (primitive == PrimitiveCodec.OBJECT) {
+                synchronized (locks[index & (LOCK_STRIPES - 1)]) {
+                    addObject(page.objects(), slot, message, combiner);
+                }
+                return;
+            }
+            AtomicLongArray values = page.values();
+            while (true) {
+                int state = page.getState(slot);
+                if (state == MessagePage.EMPTY) {
+                    if (page.casState(slot, MessagePage.EMPTY, MessagePage.WRITING)) {
+                        values.set(slot, primitive.encode(message));
+                        page.casState(slot, MessagePage.WRITING, MessagePage.FULL);
+                        return;
+                    }
+                } else if (state == MessagePage.FULL) {
+                    long current = values.get(slot);
+                    M combined = combiner.combine(message, (M) primitive.decode(current));
+                    Preconditions.checkArgument(primitive.accepts(combined),
+                        "Message combiner changed the type of messages: %s", combined);
+                    if (values.compareAndSet(slot, current, primitive.encode(combined))) return;
+                } else {
+                    //Another thread is writing the first message into this slot
+                    Thread.yield();
+                }
+            }
+        }
+
+        /**
+         * Adds a message to a reference slot. Must be called while holding the lock stripe of the slot since the
+         * combiner may mutate the messages it is given.
+         */
+        private static <M> void addObject(AtomicReferenceArray<Object> objects, int slot, M message,
+                                          MessageCombiner<M> combiner) {
+            Object current = objects.get(slot);
+            if (current == null) {
+                objects.set(slot, message);
+            } else if (combiner != null) {
+                objects.set(slot, combiner.combine(message, (M) current));
+            } else if (current instanceof MessageQueue) {
+                ((MessageQueue) current).add(message);
+            } else {
+                MessageQueue queue = new MessageQueue();
+                queue.add(current);
+                queue.add(message);
+                objects.set(slot, queue);
+            }
+        }
+
+        <M> void set(int index, M message) {
+            assert message != null;
+            MessagePage page = page(index, true);
+            int slot = index & PAGE_MASK;
+            PrimitiveCodec primitive = getCodec(message, true);
+            if (primitive == PrimitiveCodec.OBJECT) {
+                page.objects().set(slot, message);
+            } else {
+                //Only the vertex itself sets its message, hence there is no concurrent writer of this slot
+                page.values().set(slot, primitive.encode(message));
+                page.casState(slot, MessagePage.EMPTY, MessagePage.FULL);
+            }
+        }
+
+        <M> Stream<M> get(int index) {
+            MessagePage page = page(index, false);
+            PrimitiveCodec primitive = codec.get();
+            if (page == null || primitive == null) return Stream.empty();
+            int slot = index & PAGE_MASK;
+            if (primitive != PrimitiveCodec.OBJECT) {
+                if (page.values == null || page.getState(slot) != MessagePage.FULL) return Stream.empty();
+                return Stream.of((M) primitive.decode(page.values().get(slot)));
+            }
+            if (page.objects == null) return Stream.empty();
+            Object message = page.objects().get(slot);
+            if (message == null) return Stream.empty();
+            else if (message instanceof MessageQueue) return ((MessageQueue) message).stream().map(m -> (M) m);
+            else return Stream.of((M) message);
+        }
+
+        void clear() {
+            codec.set(null);
+            for (Object page : pages()) {
+                if (page != null) ((MessagePage) page).clear();
+            }
+        }
+    }
+}
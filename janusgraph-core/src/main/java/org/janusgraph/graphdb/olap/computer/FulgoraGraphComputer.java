@@ -24,6 +24,7 @@ import org.janusgraph.core.schema.JanusGraphManagement;
 import org.janusgraph.diskstorage.BackendException;
 import org.janusgraph.diskstorage.configuration.Configuration;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanMetrics;
+import org.janusgraph.diskstorage.keycolumnvalue.scan.StandardScanMetrics;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.StandardScanner;
 import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 import org.janusgraph.graphdb.database.StandardJanusGraph;
@@ -62,9 +63,13 @@ import java.util.HashSet;
 import java.util.List;
 import java.util.Map;
 import java.util.Optional;
+import java.util.Queue;
 import java.util.Set;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentLinkedQueue;
 import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
 import java.util.concurrent.Future;
 import java.util.concurrent.atomic.AtomicInteger;
 
@@ -88,6 +93,10 @@ public class FulgoraGraphComputer implements JanusGraphComputer {
     private int numThreads = 1;//Math.max(1,Runtime.getRuntime().availableProcessors());
     private final int readBatchSize;
     private final int writeBatchSize;
+    private final boolean useTopologySnapshot;
+    private final boolean topologySnapshotOffHeap;
+    private final boolean columnarVertexMemory;
+    private FulgoraTopologySnapshot topologySnapshot;
 
     private ResultGraph resultGraphMode = null;
     private Persist persistMode = null;
@@ -102,6 +111,9 @@ public class FulgoraGraphComputer implements JanusGraphComputer {
         this.graph = graph;
         this.writeBatchSize = configuration.get(GraphDatabaseConfiguration.BUFFER_SIZE);
         this.readBatchSize = this.writeBatchSize * 10;
+        this.useTopologySnapshot = configuration.get(GraphDatabaseConfiguration.COMPUTER_TOPOLOGY_SNAPSHOT);
+        this.topologySnapshotOffHeap = configuration.get(GraphDatabaseConfiguration.COMPUTER_TOPOLOGY_SNAPSHOT_OFF_HEAP);
+        this.columnarVertexMemory = configuration.get(GraphDatabaseConfiguration.COMPUTER_COLUMNAR_VERTEX_MEMORY);
         this.name = "compute" + computerCounter.incrementAndGet();
     }
 
@@ -210,10 +222,11 @@ public class FulgoraGraphComputer implements JanusGraphComputer {
     private void executeVertexProgram() {
         if (null == vertexProgram) return;
 
-        vertexMemory = new FulgoraVertexMemory(expectedNumVertices, graph.getIDManager(), vertexProgram);
+        vertexMemory = new FulgoraVertexMemory(expectedNumVertices, graph.getIDManager(), vertexProgram, columnarVertexMemory);
         vertexProgram.setup(memory);
+        topologySnapshot = useTopologySnapshot ? new FulgoraTopologySnapshot(topologySnapshotOffHeap) : null;
 
-        try (VertexProgramScanJob.Executor job = VertexProgramScanJob.getVertexProgramScanJob(graph, memory, vertexMemory, vertexProgram)) {
+        try (VertexProgramScanJob.Executor job = VertexProgramScanJob.getVertexProgramScanJob(graph, memory, vertexMemory, vertexProgram, topologySnapshot)) {
             for (int iteration = 1; ; iteration++) {
                 memory.completeSubRound();
                 executeIterationOfJob(job, iteration);
@@ -226,16 +239,28 @@ public class FulgoraGraphComputer implements JanusGraphComputer {
                     memory.incrIteration();
                 }
             }
+        } finally {
+            //The snapshot is only valid for a single job
+            topologySnapshot = null;
         }
     }
 
     private void executeIterationOfJob(VertexProgramScanJob.Executor job, int iteration) {
         initializeVertexMemoryForIteration();
-        StandardScanner.Builder scanBuilder = createScanBuilderForJob(job, iteration);
         PartitionedVertexProgramExecutor programExecutor = new PartitionedVertexProgramExecutor(graph, memory, vertexMemory, vertexProgram);
         try {
             //Iterates over all vertices and computes the vertex program on all non-partitioned vertices. For partitioned ones, the data is aggregated
-            ScanMetrics jobResult = executeOnNonPartitionedVertices(iteration, scanBuilder);
+            ScanMetrics jobResult;
+            if (topologySnapshot != null && topologySnapshot.isComplete()) {
+                jobResult = executeOnSnapshot(iteration, job);
+            } else {
+                jobResult = executeOnNonPartitionedVertices(iteration, createScanBuilderForJob(job, iteration));
+                if (topologySnapshot != null) {
+                    topologySnapshot.complete();
+                    log.debug("Captured topology snapshot of {} rows and {} bytes in iteration [{}]",
+                        topologySnapshot.getNumRows(), topologySnapshot.getByteSize(), iteration);
+                }
+            }
 
             executeOnPartitionedVertices(iteration, programExecutor, jobResult);
         } catch (Exception e) {
@@ -276,6 +301,42 @@ public class FulgoraGraphComputer implements JanusGraphComputer {
         return jobResult;
     }
 
+    private ScanMetrics executeOnSnapshot(int iteration, VertexProgramScanJob.Executor job) throws InterruptedException, ExecutionException {
+        jobId = name + "#" + iteration;
+        ScanMetrics jobResult = new StandardScanMetrics();
+        //Computes the queries of this iteration, which are copied into the clones of the job
+        job.getQueries();
+        Queue<FulgoraTopologySnapshot.Segment> segments = new ConcurrentLinkedQueue<>(topologySnapshot.getSegments());
+        ExecutorService workers = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<?>> results = new ArrayList<>(numThreads);
+            for (int i = 0; i < numThreads; i++) {
+                final VertexProgramScanJob.Executor worker = job.clone();
+                results.add(workers.submit(() -> {
+                    try {
+                        FulgoraTopologySnapshot.Segment segment;
+                        while ((segment = segments.poll()) != null) {
+                            worker.processSnapshot(segment, jobResult);
+                        }
+                    } finally {
+                        worker.close();
+                    }
+                }));
+            }
+            for (Future<?> result : results) {
+                result.get();
+            }
+        } finally {
+            workers.shutdownNow();
+        }
+        long failures = jobResult.get(ScanMetrics.Metric.FAILURE);
+        if (failures > 0) {
+            throw new JanusGraphException("Failed to process [" + failures + "] vertices in vertex program iteration " +
+                "[" + iteration + "]. Computer is aborting.");
+        }
+        return jobResult;
+    }
+
     private void executeOnPartitionedVertices(int iteration, PartitionedVertexProgramExecutor programExecutor, ScanMetrics jobResult) {
         programExecutor.run(numThreads, jobResult);
         long failures = jobResult.getCustom(PartitionedVertexProgramExecutor.PARTITION_VERTEX_POSTFAIL);
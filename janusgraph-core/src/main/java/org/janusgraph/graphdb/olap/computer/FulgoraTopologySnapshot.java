@@ -0,0 +1,242 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.olap.computer;
+
+import com.google.common.base.Preconditions;
+import org.janusgraph.core.JanusGraphException;
+import org.janusgraph.diskstorage.Entry;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.util.EntryArrayList;
+import org.janusgraph.diskstorage.util.StaticArrayEntry;
+
+import java.nio.ByteBuffer;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentLinkedQueue;
+
+/**
+ * In-memory snapshot of the edge store rows read by a {@link FulgoraGraphComputer} job. The rows are captured while
+ * the first iteration scans the storage backend, so that all later iterations of the vertex program can be run from
+ * memory. The topology of the graph does not change while a job is running.
+ * <p>
+ * The snapshot is made up of independent segments, one per worker block of the capturing scan. Each segment stores its
+ * rows in compressed sparse row layout: the vertex ids, the offsets of the first entry of each row and the offsets of
+ * each entry into a single data array are primitive arrays, while the serialized entries are either kept in one byte
+ * array on the heap or in a direct buffer off-heap.
+ */
+public class FulgoraTopologySnapshot {
+
+    private static final int INITIAL_ROWS = 1024;
+    private static final int INITIAL_BYTES = 64 * 1024;
+    private static final int MAX_SEGMENT_BYTES = Integer.MAX_VALUE - 16;
+
+    private final boolean offHeap;
+    private final Queue<Segment> segments = new ConcurrentLinkedQueue<>();
+    private volatile boolean complete = false;
+
+    public FulgoraTopologySnapshot(boolean offHeap) {
+        this.offHeap = offHeap;
+    }
+
+    /**
+     * Whether all rows of the graph have been captured and iterations can be run from this snapshot.
+     */
+    public boolean isComplete() {
+        return complete;
+    }
+
+    void complete() {
+        complete = true;
+    }
+
+    SegmentWriter newWriter() {
+        Preconditions.checkState(!complete, "Snapshot has already been completed");
+        return new SegmentWriter();
+    }
+
+    List<Segment> getSegments() {
+        Preconditions.checkState(complete, "Snapshot has not been completed");
+        return new ArrayList<>(segments);
+    }
+
+    public long getNumRows() {
+        long rows = 0;
+        for (Segment segment : segments) rows += segment.size();
+        return rows;
+    }
+
+    public long getByteSize() {
+        long bytes = 0;
+        for (Segment segment : segments) bytes += segment.getByteSize();
+        return bytes;
+    }
+
+    /**
+     * Immutable block of rows in compressed sparse row layout.
+     */
+    static class Segment {
+
+        private final long[] vertexIds;
+        private final int[] rowOffsets;
+        private final int[] entryOffsets;
+        private final int[] valuePositions;
+        private final byte[] data;
+        private final ByteBuffer offHeapData;
+
+        private Segment(long[] vertexIds, int[] rowOffsets, int[] entryOffsets, int[] valuePositions,
+                        byte[] data, ByteBuffer offHeapData) {
+            assert rowOffsets.length == vertexIds.length + 1 && entryOffsets.length == valuePositions.length + 1;
+            assert (data == null) != (offHeapData == null);
+            this.vertexIds = vertexIds;
+            this.rowOffsets = rowOffsets;
+            this.entryOffsets = entryOffsets;
+            this.valuePositions = valuePositions;
+            this.data = data;
+            this.offHeapData = offHeapData;
+        }
+
+        int size() {
+            return vertexIds.length;
+        }
+
+        long getVertexId(int row) {
+            return vertexIds[row];
+        }
+
+        /**
+         * Returns the entries of the given row in column order. Entries of an off-heap segment are copied onto the
+         * heap in one block per row.
+         */
+        EntryList getRow(int row) {
+            final int firstEntry = rowOffsets[row];
+            final int lastEntry = rowOffsets[row + 1];
+            final byte[] array;
+            final int shift;
+            if (data != null) {
+                array = data;
+                shift = 0;
+            } else {
+                shift = entryOffsets[firstEntry];
+                array = new byte[entryOffsets[lastEntry] - shift];
+                ByteBuffer buffer = offHeapData.duplicate();
+                buffer.position(shift);
+                buffer.get(array);
+            }
+            EntryArrayList entries = new EntryArrayList();
+            entries.ensureCapacity(lastEntry - firstEntry);
+            for (int i = firstEntry; i < lastEntry; i++) {
+                entries.add(new StaticArrayEntry(array, entryOffsets[i] - shift, entryOffsets[i + 1] - shift,
+                    valuePositions[i]));
+            }
+            return entries;
+        }
+
+        long getByteSize() {
+            long bytes = 8L * vertexIds.length + 4L * (rowOffsets.length + entryOffsets.length + valuePositions.length);
+            return bytes + (data != null ? data.length : offHeapData.capacity());
+        }
+    }
+
+    /**
+     * Appends rows to a new segment. A writer is confined to a single worker thread and publishes its segments to the
+     * snapshot when it is closed.
+     */
+    class SegmentWriter {
+
+        private long[] vertexIds = new long[INITIAL_ROWS];
+        private int[] rowOffsets = new int[INITIAL_ROWS + 1];
+        private int[] entryOffsets = new int[INITIAL_ROWS + 1];
+        private int[] valuePositions = new int[INITIAL_ROWS];
+        private byte[] data = new byte[INITIAL_BYTES];
+
+        private int numRows = 0;
+        private int numEntries = 0;
+        private int dataLength = 0;
+
+        private SegmentWriter() {
+        }
+
+        void add(long vertexId, EntryList entries) {
+            long rowBytes = 0;
+            for (Entry entry : entries) rowBytes += entry.length();
+            if (rowBytes > MAX_SEGMENT_BYTES) {
+                throw new JanusGraphException("Row of vertex [" + vertexId + "] is too large for the topology snapshot: "
+                    + rowBytes + " bytes");
+            }
+            if (dataLength + rowBytes > MAX_SEGMENT_BYTES) flush();
+
+            if (numRows == vertexIds.length) {
+                int capacity = grow(numRows, numRows + 1);
+                vertexIds = Arrays.copyOf(vertexIds, capacity);
+                rowOffsets = Arrays.copyOf(rowOffsets, capacity + 1);
+            }
+            if (numEntries + entries.size() > valuePositions.length) {
+                int capacity = grow(valuePositions.length, numEntries + entries.size());
+                valuePositions = Arrays.copyOf(valuePositions, capacity);
+                entryOffsets = Arrays.copyOf(entryOffsets, capacity + 1);
+            }
+            if (dataLength + rowBytes > data.length) {
+                data = Arrays.copyOf(data, grow(data.length, (int) (dataLength + rowBytes)));
+            }
+
+            vertexIds[numRows] = vertexId;
+            rowOffsets[numRows] = numEntries;
+            for (Entry entry : entries) {
+                entryOffsets[numEntries] = dataLength;
+                valuePositions[numEntries] = entry.getValuePosition();
+                dataLength += entry.as((array, offset, limit) -> {
+                    System.arraycopy(array, offset, data, dataLength, limit - offset);
+                    return limit - offset;
+                });
+                numEntries++;
+            }
+            numRows++;
+            rowOffsets[numRows] = numEntries;
+            entryOffsets[numEntries] = dataLength;
+        }
+
+        void close() {
+            flush();
+            data = null;
+        }
+
+        private void flush() {
+            if (numRows == 0) return;
+            final Segment segment;
+            if (offHeap) {
+                ByteBuffer buffer = ByteBuffer.allocateDirect(dataLength);
+                buffer.put(data, 0, dataLength);
+                segment = new Segment(Arrays.copyOf(vertexIds, numRows), Arrays.copyOf(rowOffsets, numRows + 1),
+                    Arrays.copyOf(entryOffsets, numEntries + 1), Arrays.copyOf(valuePositions, numEntries),
+                    null, buffer);
+            } else {
+                segment = new Segment(Arrays.copyOf(vertexIds, numRows), Arrays.copyOf(rowOffsets, numRows + 1),
+                    Arrays.copyOf(entryOffsets, numEntries + 1), Arrays.copyOf(valuePositions, numEntries),
+                    Arrays.copyOf(data, dataLength), null);
+            }
+            segments.add(segment);
+            numRows = 0;
+            numEntries = 0;
+            dataLength = 0;
+        }
+
+        private int grow(int current, int required) {
+            long capacity = Math.max((long) required, current + (current >> 1) + 1);
+            return (int) Math.min(capacity, MAX_SEGMENT_BYTES);
+        }
+    }
+}
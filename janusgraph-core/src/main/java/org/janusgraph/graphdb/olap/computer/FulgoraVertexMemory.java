@@ -39,6 +39,7 @@ public class FulgoraVertexMemory<M> {
 
 
     private final NonBlockingHashMapLong<VertexState<M>> vertexStates;
+    private final ColumnarVertexStates<M> columnarStates;
     private final IDManager idManager;
     private final Set<VertexComputeKey> computeKeys;
     private final Map<String,Integer> elementKeyMap;
@@ -50,14 +51,28 @@ public class FulgoraVertexMemory<M> {
     private final NonBlockingHashMapLong<PartitionVertexAggregate<M>> partitionVertices;
 
     public FulgoraVertexMemory(int numVertices, final IDManager idManager, final VertexProgram<M> vertexProgram) {
+        this(numVertices, idManager, vertexProgram, false);
+    }
+
+    /**
+     * @param columnar whether vertex states are kept in primitive columns instead of one {@link VertexState}
+     *                 per vertex
+     */
+    public FulgoraVertexMemory(int numVertices, final IDManager idManager, final VertexProgram<M> vertexProgram, boolean columnar) {
         Preconditions.checkArgument(numVertices>=0 && vertexProgram!=null && idManager!=null);
-        vertexStates = new NonBlockingHashMapLong<>(numVertices);
         partitionVertices = new NonBlockingHashMapLong<>(64);
         this.idManager = idManager;
         this.combiner = vertexProgram.getMessageCombiner().orElse(null);
         this.computeKeys = vertexProgram.getVertexComputeKeys();
         this.elementKeyMap = getIdMap(vertexProgram.getVertexComputeKeys().stream().map(VertexComputeKey::getKey).collect(Collectors.toCollection(HashSet::new)));
         this.previousScopes = Collections.emptyMap();
+        if (columnar) {
+            vertexStates = null;
+            columnarStates = new ColumnarVertexStates<>(numVertices, elementKeyMap.size(), combiner);
+        } else {
+            vertexStates = new NonBlockingHashMapLong<>(numVertices);
+            columnarStates = null;
+        }
     }
 
     private VertexState<M> get(long vertexId, boolean create) {
@@ -76,30 +91,61 @@ public class FulgoraVertexMemory<M> {
         else return idManager.getCanonicalVertexId(vertexId);
     }
 
+    private int getIndex(long vertexId, boolean create) {
+        assert vertexId==getCanonicalId(vertexId);
+        return columnarStates.getIndex(vertexId, create);
+    }
+
+    private int getKeyIndex(String key) {
+        Integer keyIndex = elementKeyMap.get(key);
+        assert keyIndex!=null;
+        return keyIndex;
+    }
+
+    private static int getScopeIndex(MessageScope scope, Map<MessageScope,Integer> scopeMap) {
+        Integer scopeIndex = scopeMap.get(scope);
+        Preconditions.checkArgument(scopeIndex!=null,"Provided scope was not declared in the VertexProgram: %s",scope);
+        return scopeIndex;
+    }
+
     public Set<MessageScope> getPreviousScopes() {
         return previousScopes.keySet();
     }
 
     public<V> void setProperty(long vertexId, String key, V value) {
-        get(vertexId,true).setProperty(key,value,elementKeyMap);
+        if (columnarStates!=null) columnarStates.setProperty(getIndex(vertexId,true),getKeyIndex(key),value);
+        else get(vertexId,true).setProperty(key,value,elementKeyMap);
     }
 
     public<V> V getProperty(long vertexId, String key) {
-        return get(vertexId,false).getProperty(key,elementKeyMap);
+        if (columnarStates==null) return get(vertexId,false).getProperty(key,elementKeyMap);
+        int index = getIndex(vertexId,false);
+        return index<0 ? null : columnarStates.getProperty(index,getKeyIndex(key));
     }
 
     void sendMessage(long vertexId, M message, MessageScope scope) {
+        if (columnarStates!=null) {
+            int index = getIndex(vertexId,true);
+            if (scope instanceof MessageScope.Global) columnarStates.addMessage(index,message,getScopeIndex(GLOBAL_SCOPE,currentScopes));
+            else columnarStates.setMessage(index,message,getScopeIndex(scope,currentScopes));
+            return;
+        }
         VertexState<M> state = get(vertexId,true);
         if (scope instanceof MessageScope.Global) state.addMessage(message,GLOBAL_SCOPE,currentScopes,combiner);
         else state.setMessage(message,scope,currentScopes);
     }
 
     Stream<M> getMessage(long vertexId, MessageScope scope) {
-        return get(vertexId,false).getMessage(normalizeScope(scope),previousScopes);
+        if (columnarStates==null) return get(vertexId,false).getMessage(normalizeScope(scope),previousScopes);
+        int index = getIndex(vertexId,false);
+        Integer scopeIndex = previousScopes.get(normalizeScope(scope));
+        if (index<0 || scopeIndex==null) return Stream.empty();
+        return columnarStates.getMessage(index,scopeIndex);
     }
 
     void completeIteration() {
-        for (VertexState<M> state : vertexStates.values()) state.completeIteration();
+        if (columnarStates!=null) columnarStates.completeIteration();
+        else for (VertexState<M> state : vertexStates.values()) state.completeIteration();
         partitionVertices.clear();
         previousScopes = currentScopes;
         inExecute = false;
@@ -107,11 +153,22 @@ public class FulgoraVertexMemory<M> {
 
     void nextIteration(Set<MessageScope> scopes) {
         currentScopes = getIdMap(normalizeScopes(scopes));
+        if (columnarStates!=null) columnarStates.nextIteration(currentScopes.size());
         partitionVertices.clear();
         inExecute = true;
     }
 
     public Map<Long,Map<String,Object>> getMutableVertexProperties() {
+        if (columnarStates!=null) {
+            return Maps.transformValues(columnarStates.getIndexes(), index -> {
+                Map<String,Object> map = new HashMap<>(elementKeyMap.size());
+                for (Map.Entry<String,Integer> key : elementKeyMap.entrySet()) {
+                    Object v = columnarStates.getProperty(index,key.getValue());
+                    if (v!=null) map.put(key.getKey(),v);
+                }
+                return map;
+            });
+        }
         return Maps.transformValues(vertexStates, vs -> {
             Map<String,Object> map = new HashMap<>(elementKeyMap.size());
             for (String key : elementKeyMap.keySet()) {
@@ -18,9 +18,11 @@ import org.janusgraph.core.JanusGraph;
 import org.janusgraph.core.JanusGraphVertex;
 import org.janusgraph.core.ReadOnlyTransactionException;
 import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.StaticBuffer;
 import org.janusgraph.diskstorage.configuration.Configuration;
 import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
 import org.janusgraph.diskstorage.keycolumnvalue.scan.ScanMetrics;
+import org.janusgraph.diskstorage.util.BufferUtil;
 import org.janusgraph.graphdb.database.StandardJanusGraph;
 import org.janusgraph.graphdb.database.idhandling.IDHandler;
 import org.janusgraph.graphdb.idmanagement.IDManager;
@@ -38,9 +40,14 @@ import org.apache.tinkerpop.gremlin.process.computer.search.path.ShortestPathVer
 import org.apache.tinkerpop.gremlin.process.computer.traversal.TraversalVertexProgram;
 import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.slf4j.Logger;
+import org.slf4j.LoggerFactory;
 
 import java.io.Closeable;
+import java.util.ArrayList;
+import java.util.HashMap;
 import java.util.List;
+import java.util.Map;
 import java.util.Set;
 
 /**
@@ -48,6 +55,8 @@ import java.util.Set;
  */
 public class VertexProgramScanJob<M> implements VertexScanJob {
 
+    private static final Logger log = LoggerFactory.getLogger(VertexProgramScanJob.class);
+
     private final static MessageScope.Global globalScope = MessageScope.Global.instance();
     private final IDManager idManager;
     private final FulgoraMemory memory;
@@ -136,8 +145,14 @@ public class VertexProgramScanJob<M> implements VertexScanJob {
 
     public static<M> Executor getVertexProgramScanJob(StandardJanusGraph graph, FulgoraMemory memory,
                                                   FulgoraVertexMemory vertexMemory, VertexProgram<M> vertexProgram) {
+        return getVertexProgramScanJob(graph, memory, vertexMemory, vertexProgram, null);
+    }
+
+    public static<M> Executor getVertexProgramScanJob(StandardJanusGraph graph, FulgoraMemory memory,
+                                                  FulgoraVertexMemory vertexMemory, VertexProgram<M> vertexProgram,
+                                                  FulgoraTopologySnapshot snapshot) {
         final VertexProgramScanJob<M> job = new VertexProgramScanJob<>(graph.getIDManager(), memory, vertexMemory, vertexProgram);
-        return new Executor(graph,job);
+        return new Executor(graph,job,snapshot);
     }
 
     //Query for all system properties+edges and normal properties
@@ -145,15 +160,25 @@ public class VertexProgramScanJob<M> implements VertexScanJob {
             IDHandler.getBounds(RelationCategory.PROPERTY, true)[0],
             IDHandler.getBounds(RelationCategory.PROPERTY,false)[1]);
 
+    //Query for entire rows, from which all other queries are answered when a topology snapshot is used
+    static final SliceQuery ROW_QUERY = new SliceQuery(BufferUtil.zeroBuffer(1),BufferUtil.oneBuffer(4));
+
     public static class Executor extends VertexJobConverter implements Closeable {
 
-        private Executor(JanusGraph graph, VertexProgramScanJob job) {
+        private final FulgoraTopologySnapshot snapshot;
+        private List<SliceQuery> rowQueries;
+        private FulgoraTopologySnapshot.SegmentWriter snapshotWriter;
+
+        private Executor(JanusGraph graph, VertexProgramScanJob job, FulgoraTopologySnapshot snapshot) {
             super(graph, job);
+            this.snapshot = snapshot;
             open(this.graph.get().getConfiguration().getConfiguration());
         }
 
         private Executor(final Executor copy) {
             super(copy);
+            this.snapshot = copy.snapshot;
+            this.rowQueries = copy.rowQueries;
             open(this.graph.get().getConfiguration().getConfiguration());
         }
 
@@ -161,7 +186,58 @@ public class VertexProgramScanJob<M> implements VertexScanJob {
         public List<SliceQuery> getQueries() {
             List<SliceQuery> queries = super.getQueries();
             queries.add(SYSTEM_PROPS_QUERY);
-            return queries;
+            if (snapshot == null) return queries;
+            //The queries depend on the message scopes of the current iteration, hence they are answered from
+            //entire rows which are captured in the snapshot during the first iteration
+            rowQueries = queries;
+            List<SliceQuery> scanQueries = new ArrayList<>(2);
+            scanQueries.add(VERTEX_EXISTS_QUERY);
+            scanQueries.add(ROW_QUERY);
+            return scanQueries;
+        }
+
+        @Override
+        public void process(StaticBuffer key, Map<SliceQuery, EntryList> entries, ScanMetrics metrics) {
+            if (snapshot == null) {
+                super.process(key, entries, metrics);
+                return;
+            }
+            EntryList row = entries.get(ROW_QUERY);
+            if (snapshotWriter == null) snapshotWriter = snapshot.newWriter();
+            snapshotWriter.add(getVertexId(key), row);
+            processRow(key, row, metrics);
+        }
+
+        private void processRow(StaticBuffer key, EntryList row, ScanMetrics metrics) {
+            assert rowQueries != null;
+            Map<SliceQuery, EntryList> entries = new HashMap<>(rowQueries.size());
+            for (SliceQuery query : rowQueries) {
+                entries.put(query, query.getSubset(ROW_QUERY, row));
+            }
+            super.process(key, entries, metrics);
+        }
+
+        /**
+         * Processes all rows of the given segment of a completed snapshot like a worker of the scanner would.
+         */
+        void processSnapshot(FulgoraTopologySnapshot.Segment segment, ScanMetrics metrics) {
+            assert snapshot != null && snapshot.isComplete();
+            IDManager idManager = graph.get().getIDManager();
+            workerIterationStart(Configuration.EMPTY, Configuration.EMPTY, metrics);
+            try {
+                for (int i = 0; i < segment.size(); i++) {
+                    StaticBuffer key = idManager.getKey(segment.getVertexId(i));
+                    try {
+                        processRow(key, segment.getRow(i), metrics);
+                        metrics.increment(ScanMetrics.Metric.SUCCESS);
+                    } catch (Throwable ex) {
+                        log.error("Exception processing row [" + key + "]: ", ex);
+                        metrics.increment(ScanMetrics.Metric.FAILURE);
+                    }
+                }
+            } finally {
+                workerIterationEnd(metrics);
+            }
         }
 
         @Override
@@ -171,6 +247,10 @@ public class VertexProgramScanJob<M> implements VertexScanJob {
 
         @Override
         public void workerIterationEnd(ScanMetrics metrics) {
+            if (snapshotWriter != null) {
+                snapshotWriter.close();
+                snapshotWriter = null;
+            }
             job.workerIterationEnd(metrics);
         }
 
@@ -184,5 +264,3 @@ public class VertexProgramScanJob<M> implements VertexScanJob {
 
     }
 }
-
-
@@ -21,6 +21,7 @@ import com.google.common.collect.Iterables;
 import org.janusgraph.core.*;
 import org.janusgraph.core.attribute.Cmp;
 import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 import org.janusgraph.graphdb.database.EdgeSerializer;
 import org.janusgraph.graphdb.internal.*;
 import org.janusgraph.graphdb.query.*;
@@ -218,6 +219,13 @@ public abstract class BasicVertexCentricQueryBuilder<Q extends BaseVertexQuery<Q
 
         Q emptyResult();
 
+        /**
+         * Whether the result requires the properties of the retrieved relations or only their adjacent vertices
+         */
+        default boolean requiresRelationValues() {
+            return true;
+        }
+
     }
 
     protected class RelationConstructor implements ResultConstructor<Iterable<? extends JanusGraphRelation>> {
@@ -246,6 +254,11 @@ public abstract class BasicVertexCentricQueryBuilder<Q extends BaseVertexQuery<Q
             return Collections.emptyList();
         }
 
+        @Override
+        public boolean requiresRelationValues() {
+            return false;
+        }
+
     }
 
     protected class VertexIdConstructor implements ResultConstructor<VertexList> {
@@ -260,6 +273,11 @@ public abstract class BasicVertexCentricQueryBuilder<Q extends BaseVertexQuery<Q
             return new VertexArrayList(tx);
         }
 
+        @Override
+        public boolean requiresRelationValues() {
+            return false;
+        }
+
     }
 
     protected List<InternalVertex> allRequiredRepresentatives(InternalVertex partitionedVertex) {
@@ -419,6 +437,29 @@ public abstract class BasicVertexCentricQueryBuilder<Q extends BaseVertexQuery<Q
         return query;
     }
 
+    /**
+     * Restricts the slice queries of the given query to the columns of the matching entries if the query only needs
+     * to retrieve adjacent vertices and is enabled by {@link GraphDatabaseConfiguration#ADJACENT_VERTEX_PROJECTION}.
+     * This requires that all queried types are edge labels with multiplicity {@link Multiplicity#MULTI}, whose
+     * relation header is entirely serialized into the column, and that no property constraints or orders need to
+     * be evaluated.
+     *
+     * @param query as constructed by {@link #constructQuery(org.janusgraph.graphdb.internal.RelationCategory)}
+     */
+    protected void projectAdjacentVertices(BaseVertexCentricQuery query) {
+        if (query.isEmpty() || !tx.getGraph().getConfiguration().adjacentVertexProjection()
+                || !hasTypes() || !constraints.isEmpty() || !orders.isEmpty()) {
+            return;
+        }
+        for (String typeName : types) {
+            InternalRelationType type = QueryUtil.getType(tx, typeName);
+            if (type != null && (!type.isEdgeLabel() || type.multiplicity() != Multiplicity.MULTI)) return;
+        }
+        for (BackendQueryHolder<SliceQuery> sq : query.getQueries()) {
+            sq.getBackendQuery().setColumnsOnly(true);
+        }
+    }
+
     protected BaseVertexCentricQuery constructQueryWithoutProfile(RelationCategory returnType) {
         assert returnType != null;
         Preconditions.checkArgument(adjacentVertex==null || returnType == RelationCategory.EDGE,
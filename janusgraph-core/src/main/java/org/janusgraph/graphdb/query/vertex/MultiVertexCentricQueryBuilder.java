@@ -25,6 +25,7 @@ import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
 
 /**
  * Implementation of {@link JanusGraphMultiVertexQuery} that extends {@link BasicVertexCentricQueryBuilder}
@@ -95,18 +96,12 @@ public class MultiVertexCentricQueryBuilder extends BasicVertexCentricQueryBuild
         Preconditions.checkArgument(!vertices.isEmpty(), "Need to add at least one vertex to query");
         final Map<JanusGraphVertex, Q> result = new HashMap<>(vertices.size());
         BaseVertexCentricQuery bq = super.constructQuery(returnType);
+        if (!resultConstructor.requiresRelationValues()) projectAdjacentVertices(bq);
         profiler.setAnnotation(QueryProfiler.MULTIQUERY_ANNOTATION,true);
         profiler.setAnnotation(QueryProfiler.NUMVERTICES_ANNOTATION,vertices.size());
         if (!bq.isEmpty()) {
             for (BackendQueryHolder<SliceQuery> sq : bq.getQueries()) {
-                Set<InternalVertex> adjVertices = new HashSet<>(vertices);
-                for (InternalVertex v : vertices) {
-                    if (isPartitionedVertex(v)) {
-                        profiler.setAnnotation(QueryProfiler.PARTITIONED_VERTEX_ANNOTATION,true);
-                        adjVertices.remove(v);
-                        adjVertices.addAll(allRequiredRepresentatives(v));
-                    }
-                }
+                Set<InternalVertex> adjVertices = getAdjacentVertices();
                 //Overwrite with more accurate size accounting for partitioned vertices
                 profiler.setAnnotation(QueryProfiler.NUMVERTICES_ANNOTATION,adjVertices.size());
                 tx.executeMultiQuery(adjVertices, sq.getBackendQuery(), sq.getProfiler());
@@ -121,6 +116,55 @@ public class MultiVertexCentricQueryBuilder extends BasicVertexCentricQueryBuild
         return result;
     }
 
+    /**
+     * Issues the backend reads of this query for all vertices asynchronously, such that the result sets are loaded
+     * into the associated {@link org.janusgraph.graphdb.vertices.CacheVertex} without blocking the calling thread.
+     * Executing the same query through {@link #edges()}, {@link #vertices()} etc. once the returned future has completed
+     * does not require any further calls to the storage backend.
+     *
+     * @param returnType
+     * @return Future which completes once all result sets have been loaded
+     */
+    public CompletableFuture<Void> preFetchAsync(RelationCategory returnType) {
+        return preFetchAsync(returnType, false);
+    }
+
+    /**
+     * Like {@link #preFetchAsync(RelationCategory)}, but if only the adjacent vertices of the result will be
+     * retrieved through {@link #vertices()} or {@link #vertexIds()}, the loaded result sets may omit the
+     * properties of the relations, see {@link #projectAdjacentVertices(BaseVertexCentricQuery)}.
+     *
+     * @param returnType
+     * @param adjacentVerticesOnly whether only the adjacent vertices of the result will be retrieved
+     * @return Future which completes once all result sets have been loaded
+     */
+    public CompletableFuture<Void> preFetchAsync(RelationCategory returnType, boolean adjacentVerticesOnly) {
+        Preconditions.checkArgument(!vertices.isEmpty(), "Need to add at least one vertex to query");
+        BaseVertexCentricQuery bq = super.constructQuery(returnType);
+        if (bq.isEmpty()) return CompletableFuture.completedFuture(null);
+        if (adjacentVerticesOnly) projectAdjacentVertices(bq);
+        final List<CompletableFuture<Void>> futures = new ArrayList<>(bq.getQueries().size());
+        for (BackendQueryHolder<SliceQuery> sq : bq.getQueries()) {
+            futures.add(tx.executeMultiQueryAsync(getAdjacentVertices(), sq.getBackendQuery()));
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Returns the base vertices of this query where partitioned vertices are replaced by all of their representatives.
+     */
+    private Set<InternalVertex> getAdjacentVertices() {
+        Set<InternalVertex> adjVertices = new HashSet<>(vertices);
+        for (InternalVertex v : vertices) {
+            if (isPartitionedVertex(v)) {
+                profiler.setAnnotation(QueryProfiler.PARTITIONED_VERTEX_ANNOTATION,true);
+                adjVertices.remove(v);
+                adjVertices.addAll(allRequiredRepresentatives(v));
+            }
+        }
+        return adjVertices;
+    }
+
     public Map<JanusGraphVertex, Iterable<? extends JanusGraphRelation>> executeImplicitKeyQuery() {
         return new HashMap<JanusGraphVertex, Iterable<? extends JanusGraphRelation>>(vertices.size()){{
             for (InternalVertex v : vertices ) put(v,executeImplicitKeyQuery(v));
@@ -66,6 +66,7 @@ public class VertexCentricQueryBuilder extends BasicVertexCentricQueryBuilder<Ve
 
     protected<Q> Q execute(RelationCategory returnType, ResultConstructor<Q> resultConstructor) {
         BaseVertexCentricQuery bq = super.constructQuery(returnType);
+        if (!resultConstructor.requiresRelationValues()) projectAdjacentVertices(bq);
         if (bq.isEmpty()) return resultConstructor.emptyResult();
         if (returnType==RelationCategory.PROPERTY && hasSingleType() && !hasQueryOnlyLoaded()
                 && tx.getConfiguration().hasPropertyPrefetching()) {
@@ -96,7 +96,7 @@ public class CacheEdge extends AbstractEdge {
 
     private RelationCache getPropertyMap() {
         RelationCache map = data.getCache();
-        if (map == null || !map.hasProperties()) {
+        if (map == null || !map.isPropertiesLoaded()) {
             map = RelationConstructor.readRelationCache(data, tx());
         }
         return map;
@@ -104,7 +104,7 @@ public class CacheEdge extends AbstractEdge {
 
     @Override
     public <O> O getValueDirect(PropertyKey key) {
-        return getPropertyMap().get(key.longId());
+        return RelationConstructor.readRelationProperty(data, key, tx());
     }
 
     @Override
@@ -80,7 +80,7 @@ public class CacheVertexProperty extends AbstractVertexProperty {
 
     private RelationCache getPropertyMap() {
         RelationCache map = data.getCache();
-        if (map == null || !map.hasProperties()) {
+        if (map == null || !map.isPropertiesLoaded()) {
             map = RelationConstructor.readRelationCache(data, tx());
         }
         return map;
@@ -88,7 +88,7 @@ public class CacheVertexProperty extends AbstractVertexProperty {
 
     @Override
     public <O> O getValueDirect(PropertyKey key) {
-        return getPropertyMap().get(key.longId());
+        return RelationConstructor.readRelationProperty(data, key, tx());
     }
 
     @Override
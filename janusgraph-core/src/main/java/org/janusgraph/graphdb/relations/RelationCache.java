@@ -30,19 +30,33 @@ public class RelationCache implements Iterable<LongObjectCursor<Object>> {
 
     private static final LongObjectHashMap<Object> EMPTY = new LongObjectHashMap<>(0);
 
+    /**
+     * Placeholder for the cache of an entry which was read without its value by a columns-only
+     * {@link org.janusgraph.diskstorage.keycolumnvalue.SliceQuery}. When the entry is parsed, the placeholder is
+     * replaced by a partial cache which holds the relation header.
+     */
+    public static final RelationCache UNPARSED_PARTIAL = new RelationCache(null, 0, 0, null, null, true);
+
     public final Direction direction;
     public final long typeId;
     public final long relationId;
     private final Object other;
     private final LongObjectHashMap<Object> properties;
+    private final boolean partial;
 
     public RelationCache(final Direction direction, final long typeId, final long relationId,
                          final Object other, final LongObjectHashMap<Object> properties) {
+        this(direction, typeId, relationId, other, properties, false);
+    }
+
+    public RelationCache(final Direction direction, final long typeId, final long relationId,
+                         final Object other, final LongObjectHashMap<Object> properties, final boolean partial) {
         this.direction = direction;
         this.typeId = typeId;
         this.relationId = relationId;
         this.other = other;
         this.properties = (properties == null || properties.size() > 0) ? properties : EMPTY;
+        this.partial = partial;
     }
 
     public RelationCache(final Direction direction, final long typeId, final long relationId,
@@ -59,6 +73,22 @@ public class RelationCache implements Iterable<LongObjectCursor<Object>> {
         return properties != null && !properties.isEmpty();
     }
 
+    /**
+     * Whether the properties of the relation have been read, as opposed to a cache which only holds the relation header.
+     * Once loaded, the cache can be reused without parsing the relation again, even if it has no properties.
+     */
+    public boolean isPropertiesLoaded() {
+        return properties != null;
+    }
+
+    /**
+     * Whether the relation was read without its value, so that only the header but none of the properties can be
+     * retrieved from this cache or the entry it belongs to.
+     */
+    public boolean isPartial() {
+        return partial;
+    }
+
     public int numProperties() {
         return properties.size();
     }
@@ -39,6 +39,7 @@ public final class JanusGraphMultiQueryStep extends AbstractStep<Vertex, Vertex>
     private final Set<Traverser.Admin<Vertex>> cachedStarts = new HashSet<Traverser.Admin<Vertex>>();
     private final String forStep;
     private boolean cachedStartsAccessed = false;
+    private long cachedStartsVersion = 0;
 
     public JanusGraphMultiQueryStep(Step<Vertex,?> originalStep) {
         super(originalStep.getTraversal());
@@ -61,6 +62,7 @@ public final class JanusGraphMultiQueryStep extends AbstractStep<Vertex, Vertex>
             });
             starts.add(newStarters.iterator());
             cachedStarts.add(start);
+            cachedStartsVersion++;
         }
         return start;
     }
@@ -70,6 +72,14 @@ public final class JanusGraphMultiQueryStep extends AbstractStep<Vertex, Vertex>
         return new ArrayList<>(cachedStarts);
     }
 
+    /**
+     * @return a number which changes whenever new starts are cached, so that a child step can tell whether the
+     * cached starts it retrieved before are still current
+     */
+    public long getCachedStartsVersion() {
+        return cachedStartsVersion;
+    }
+
     @Override
     public String toString() {
         return StringFactory.stepString(this, forStep);
@@ -79,5 +89,6 @@ public final class JanusGraphMultiQueryStep extends AbstractStep<Vertex, Vertex>
     public void reset() {
         super.reset();
         this.cachedStarts.clear();
+        this.cachedStartsVersion++;
     }
 }
@@ -0,0 +1,119 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.tinkerpop.optimize.step;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.Traverser;
+import org.apache.tinkerpop.gremlin.process.traversal.step.Profiling;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.AbstractStep;
+import org.apache.tinkerpop.gremlin.process.traversal.util.MutableMetrics;
+import org.apache.tinkerpop.gremlin.structure.Vertex;
+import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
+import org.janusgraph.core.JanusGraphMultiVertexQuery;
+import org.janusgraph.graphdb.query.profile.QueryProfiler;
+import org.janusgraph.graphdb.query.vertex.BasicVertexCentricQueryBuilder;
+import org.janusgraph.graphdb.tinkerpop.optimize.JanusGraphTraversalUtil;
+import org.janusgraph.graphdb.tinkerpop.profile.TP3ProfileWrapper;
+
+import java.util.ArrayDeque;
+import java.util.Arrays;
+import java.util.Deque;
+import java.util.HashSet;
+import java.util.NoSuchElementException;
+import java.util.Set;
+
+/**
+ * This step can be injected before a step which accesses properties of the elements it receives, such as a
+ * has condition or a valueMap. It collects a batch of starts and loads the requested properties of all vertices
+ * in that batch with a single multiQuery into the transaction's vertex cache, so that the following step can
+ * access them without going to the storage backend for each vertex. All starts are passed on unchanged.
+ */
+public final class JanusGraphPropertyPrefetchStep<S> extends AbstractStep<S, S> implements Profiling {
+
+    private final String[] keys;
+    private final String forStep;
+    private final int batchSize;
+    private Deque<Traverser.Admin<S>> batch;
+    private QueryProfiler queryProfiler = QueryProfiler.NO_OP;
+
+    /**
+     * @param traversal The traversal containing this step
+     * @param forStep The step accessing the properties
+     * @param keys The property keys accessed by that step, all properties are loaded if empty
+     * @param batchSize The maximum number of starts which are loaded at once
+     */
+    public JanusGraphPropertyPrefetchStep(Traversal.Admin traversal, Step<?, ?> forStep, String[] keys, int batchSize) {
+        super(traversal);
+        this.keys = keys;
+        this.forStep = forStep.getClass().getSimpleName();
+        this.batchSize = batchSize;
+        this.batch = new ArrayDeque<>(Math.min(batchSize, 1024));
+    }
+
+    public String[] getKeys() {
+        return keys;
+    }
+
+    @Override
+    protected Traverser.Admin<S> processNextStart() throws NoSuchElementException {
+        if (batch.isEmpty()) {
+            batch.add(starts.next());
+            while (batch.size() < batchSize && starts.hasNext()) {
+                batch.add(starts.next());
+            }
+            prefetch();
+        }
+        return batch.poll();
+    }
+
+    private void prefetch() {
+        final Set<Vertex> vertices = new HashSet<>();
+        for (Traverser.Admin<S> traverser : batch) {
+            if (traverser.get() instanceof Vertex) {
+                vertices.add(JanusGraphTraversalUtil.getJanusGraphVertex((Vertex) traverser.get()));
+            }
+        }
+        if (vertices.size() > 1) {
+            final JanusGraphMultiVertexQuery multiQuery = JanusGraphTraversalUtil.getTx(traversal).multiQuery();
+            ((BasicVertexCentricQueryBuilder) multiQuery).profiler(queryProfiler);
+            if (keys.length > 0) multiQuery.keys(keys);
+            multiQuery.addAllVertices(vertices).preFetch();
+        }
+    }
+
+    @Override
+    public void reset() {
+        super.reset();
+        this.batch.clear();
+    }
+
+    @Override
+    public JanusGraphPropertyPrefetchStep<S> clone() {
+        final JanusGraphPropertyPrefetchStep<S> clone = (JanusGraphPropertyPrefetchStep<S>) super.clone();
+        clone.batch = new ArrayDeque<>(Math.min(batchSize, 1024));
+        return clone;
+    }
+
+    @Override
+    public void setMetrics(MutableMetrics metrics) {
+        queryProfiler = new TP3ProfileWrapper(metrics);
+    }
+
+    @Override
+    public String toString() {
+        return StringFactory.stepString(this, forStep, Arrays.asList(keys));
+    }
+}
@@ -19,11 +19,13 @@ import org.janusgraph.core.JanusGraphElement;
 import org.janusgraph.core.JanusGraphMultiVertexQuery;
 import org.janusgraph.core.JanusGraphVertex;
 import org.janusgraph.core.JanusGraphVertexQuery;
+import org.janusgraph.graphdb.internal.RelationCategory;
 import org.janusgraph.graphdb.query.BaseQuery;
 import org.janusgraph.graphdb.query.JanusGraphPredicateUtils;
 import org.janusgraph.graphdb.query.Query;
 import org.janusgraph.graphdb.query.profile.QueryProfiler;
 import org.janusgraph.graphdb.query.vertex.BasicVertexCentricQueryBuilder;
+import org.janusgraph.graphdb.query.vertex.MultiVertexCentricQueryBuilder;
 import org.janusgraph.graphdb.tinkerpop.optimize.JanusGraphTraversalUtil;
 import org.janusgraph.graphdb.tinkerpop.profile.TP3ProfileWrapper;
 import org.apache.tinkerpop.gremlin.process.traversal.Order;
@@ -45,7 +47,10 @@ import org.apache.tinkerpop.gremlin.structure.Element;
 import org.apache.tinkerpop.gremlin.structure.Vertex;
 import org.apache.tinkerpop.gremlin.structure.util.StringFactory;
 
+import java.time.Duration;
 import java.util.*;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 
 import com.google.common.base.Preconditions;
 
@@ -62,6 +67,21 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
     private int txVertexCacheSize = 20000;
     private JanusGraphMultiQueryStep parentMultiQueryStep;
 
+    private static final int INITIAL_CHUNK_SIZE = 16;
+
+    private boolean pipelined = false;
+    private int maxChunkSize = 1000;
+    private long targetChunkLatencyNanos = 0;
+    private int chunkSize = INITIAL_CHUNK_SIZE;
+    private Deque<Traverser.Admin<Vertex>> currentChunk = null;
+    private Chunk nextChunk = null;
+    private Traverser.Admin<Vertex> pipelineHead = null;
+    private Iterator<E> pipelineIterator = Collections.emptyIterator();
+    //Cached starts of the parent step which are loaded chunk by chunk together with drip fed starts
+    private List<Traverser.Admin<Vertex>> cachedParentStarts = Collections.emptyList();
+    private int cachedParentStartsPosition = 0;
+    private long cachedParentStartsVersion = -1;
+
     public JanusGraphVertexStep(VertexStep<E> originalStep) {
         super(originalStep.getTraversal(), originalStep.getReturnClass(), originalStep.getDirection(), originalStep.getEdgeLabels());
         originalStep.getLabels().forEach(this::addLabel);
@@ -78,10 +98,31 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
         this.batchPropertyPrefetching = batchPropertyPrefetching;
     }
 
+    public boolean isBatchPropertyPrefetching() {
+        return batchPropertyPrefetching;
+    }
+
     public void setTxVertexCacheSize(int txVertexCacheSize) {
         this.txVertexCacheSize = txVertexCacheSize;
     }
 
+    /**
+     * Enables the pipelined execution of the batched queries of this step. Instead of loading the adjacent elements
+     * of all starts at once, starts are processed in chunks and the backend reads for the next chunk are issued
+     * while the results of the current chunk are emitted. Chunks grow while they are loaded faster than half of the
+     * target latency and shrink when loading takes longer than the target latency.
+     *
+     * @param maxChunkSize Maximum number of starts per chunk
+     * @param targetChunkLatency Targeted time to load the adjacent elements of one chunk
+     */
+    public void setBatchPipeline(int maxChunkSize, Duration targetChunkLatency) {
+        Preconditions.checkArgument(maxChunkSize > 0, "Invalid chunk size: %s", maxChunkSize);
+        this.pipelined = true;
+        this.maxChunkSize = maxChunkSize;
+        this.targetChunkLatencyNanos = targetChunkLatency.toNanos();
+        this.chunkSize = Math.min(INITIAL_CHUNK_SIZE, maxChunkSize);
+    }
+
     public <Q extends BaseVertexQuery> Q makeQuery(Q query) {
         query.labels(getEdgeLabels());
         query.direction(getDirection());
@@ -99,6 +140,10 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
         initialized = true;
         if (useMultiQuery) {
             setParentMultiQueryStep();
+            if (pipelined) {
+                //Starts are loaded chunk by chunk as they are processed
+                return;
+            }
 
             if (!starts.hasNext()) {
                 throw FastNoSuchElementException.instance();
@@ -116,14 +161,16 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
      * This initialisation method is called the first time this instance is used and also when
      * an attempt to retrieve a vertex from the cached multiQuery results doesn't find an entry.
      * If initialised with just a single vertex this might be a drip feed from a parent so it
-     * will additionally include any cached starts the parent step may have.
+     * will additionally include any cached starts the parent step may have. If pipelined, only
+     * as many cached starts of the parent are included as fit into the current chunk.
      * @param vertices A list of vertices with which to initialise the multiQuery
+     * @return the number of vertices which have been loaded
      */
-    private void initializeMultiQuery(final List<Traverser.Admin<Vertex>> vertices) {
+    private int initializeMultiQuery(final List<Traverser.Admin<Vertex>> vertices) {
         assert vertices.size() > 0;
         List<Admin<Vertex>> parentStarts = new ArrayList<>();
         if (vertices.size() == 1 && parentMultiQueryStep != null) {
-            parentStarts = parentMultiQueryStep.getCachedStarts();
+            parentStarts = pipelined ? nextParentStarts(chunkSize - 1) : parentMultiQueryStep.getCachedStarts();
         }
         final JanusGraphMultiVertexQuery multiQuery = JanusGraphTraversalUtil.getTx(traversal).multiQuery();
         vertices.forEach(v -> multiQuery.addVertex(v.get()));
@@ -136,6 +183,23 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
         } else {
             multiQueryResults.putAll(results);
         }
+        return vertices.size() + parentStarts.size();
+    }
+
+    /**
+     * Returns up to the given number of cached starts of the parent step which have not been loaded by a previous
+     * chunk. Starts which are drip fed later on are then read from the vertex cache of the transaction.
+     */
+    private List<Admin<Vertex>> nextParentStarts(int limit) {
+        if (cachedParentStartsVersion != parentMultiQueryStep.getCachedStartsVersion()) {
+            cachedParentStarts = parentMultiQueryStep.getCachedStarts();
+            cachedParentStartsVersion = parentMultiQueryStep.getCachedStartsVersion();
+            cachedParentStartsPosition = 0;
+        }
+        final int end = Math.min(cachedParentStarts.size(), cachedParentStartsPosition + limit);
+        final List<Admin<Vertex>> next = new ArrayList<>(cachedParentStarts.subList(cachedParentStartsPosition, end));
+        cachedParentStartsPosition = end;
+        return next;
     }
 
     /**
@@ -174,7 +238,86 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
     @Override
     protected Traverser.Admin<E> processNextStart() {
         if (!initialized) initialize();
-        return super.processNextStart();
+        if (!useMultiQuery || !pipelined) return super.processNextStart();
+        while (true) {
+            if (pipelineIterator.hasNext()) {
+                return pipelineHead.split(pipelineIterator.next(), this);
+            } else {
+                pipelineHead = nextPipelinedStart();
+                pipelineIterator = flatMap(pipelineHead);
+            }
+        }
+    }
+
+    /**
+     * Returns the next start of the current chunk. Once the current chunk is exhausted, the prefetched next chunk
+     * becomes the current one, its results are materialized from the vertex caches and replace the results of the
+     * previous chunk, and the backend reads for the chunk after it are issued asynchronously.
+     */
+    private Traverser.Admin<Vertex> nextPipelinedStart() {
+        if (currentChunk == null || currentChunk.isEmpty()) {
+            Chunk chunk = nextChunk != null ? nextChunk : pullChunk();
+            nextChunk = null;
+            if (chunk == null) throw FastNoSuchElementException.instance();
+            final long start = System.nanoTime();
+            try {
+                chunk.prefetch.join();
+            } catch (CompletionException e) {
+                //Failed reads are retried when the chunk is loaded synchronously below
+            }
+            //The results of the previous chunk have been consumed, repeated starts are read from the vertex cache
+            multiQueryResults = null;
+            final int loaded = initializeMultiQuery(new ArrayList<>(chunk.starts));
+            final long latency = chunk.prefetched ? chunk.latencyNanos : System.nanoTime() - start;
+            adaptChunkSize(loaded, latency);
+            currentChunk = chunk.starts;
+
+            nextChunk = pullChunk();
+            if (nextChunk != null) nextChunk.prefetch();
+        }
+        return currentChunk.poll();
+    }
+
+    private Chunk pullChunk() {
+        final Deque<Traverser.Admin<Vertex>> chunkStarts = new ArrayDeque<>(chunkSize);
+        while (chunkStarts.size() < chunkSize && starts.hasNext()) {
+            chunkStarts.add(starts.next());
+        }
+        return chunkStarts.isEmpty() ? null : new Chunk(chunkStarts);
+    }
+
+    private void adaptChunkSize(int loadedChunkSize, long latencyNanos) {
+        if (loadedChunkSize < chunkSize) return;
+        if (latencyNanos < targetChunkLatencyNanos / 2) {
+            chunkSize = Math.min(maxChunkSize, chunkSize * 2);
+        } else if (latencyNanos > targetChunkLatencyNanos) {
+            chunkSize = Math.max(1, chunkSize / 2);
+        }
+    }
+
+    /**
+     * Starts of this step which are loaded together, possibly ahead of time.
+     */
+    private class Chunk {
+
+        private final Deque<Traverser.Admin<Vertex>> starts;
+        private CompletableFuture<Void> prefetch = CompletableFuture.completedFuture(null);
+        private boolean prefetched = false;
+        private volatile long latencyNanos = 0;
+
+        private Chunk(Deque<Traverser.Admin<Vertex>> starts) {
+            this.starts = starts;
+        }
+
+        private void prefetch() {
+            final MultiVertexCentricQueryBuilder multiQuery = (MultiVertexCentricQueryBuilder) JanusGraphTraversalUtil.getTx(traversal).multiQuery();
+            starts.forEach(v -> multiQuery.addVertex(v.get()));
+            makeQuery(multiQuery);
+            final long start = System.nanoTime();
+            prefetched = true;
+            prefetch = multiQuery.preFetchAsync(RelationCategory.EDGE, Vertex.class.isAssignableFrom(getReturnClass()))
+                .whenComplete((r, t) -> latencyNanos = System.nanoTime() - start);
+        }
     }
 
     @Override
@@ -216,15 +359,47 @@ public class JanusGraphVertexStep<E extends Element> extends VertexStep<E> imple
     public void reset() {
         super.reset();
         this.initialized = false;
+        resetPipeline();
     }
 
     @Override
     public JanusGraphVertexStep<E> clone() {
         final JanusGraphVertexStep<E> clone = (JanusGraphVertexStep<E>) super.clone();
         clone.initialized = false;
+        clone.resetPipeline();
+        clone.chunkSize = Math.min(INITIAL_CHUNK_SIZE, maxChunkSize);
+        clone.cachedParentStarts = Collections.emptyList();
+        clone.cachedParentStartsPosition = 0;
+        clone.cachedParentStartsVersion = -1;
         return clone;
     }
 
+    /**
+     * Drops the state of the current chunks. The chunk size and the position in the cached starts of the parent are
+     * kept, since drip fed child traversals are reset for every start.
+     */
+    private void resetPipeline() {
+        this.multiQueryResults = null;
+        this.currentChunk = null;
+        this.nextChunk = null;
+        this.pipelineHead = null;
+        this.pipelineIterator = Collections.emptyIterator();
+    }
+
+    /**
+     * @return the current number of starts per chunk if pipelined
+     */
+    public int getChunkSize() {
+        return chunkSize;
+    }
+
+    /**
+     * @return the number of starts whose adjacent elements are currently held by this step
+     */
+    public int getNumMultiQueryResults() {
+        return multiQueryResults == null ? 0 : multiQueryResults.size();
+    }
+
     /*
     ===== HOLDER =====
      */
@@ -94,6 +94,10 @@ public class JanusGraphLocalQueryOptimizerStrategy extends AbstractTraversalStra
 
             if (useMultiQuery) {
                 vertexStep.setUseMultiQuery(true);
+                if (janusGraph.getConfiguration().batchPipeline()) {
+                    vertexStep.setBatchPipeline(janusGraph.getConfiguration().getBatchPipelineSize(),
+                        janusGraph.getConfiguration().getBatchPipelineTargetLatency());
+                }
             }
 
             if (janusGraph.getConfiguration().batchPropertyPrefetching()) {
@@ -0,0 +1,161 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.tinkerpop.optimize.strategy;
+
+import org.apache.tinkerpop.gremlin.process.traversal.Step;
+import org.apache.tinkerpop.gremlin.process.traversal.Traversal;
+import org.apache.tinkerpop.gremlin.process.traversal.TraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.HasStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.filter.RangeGlobalStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.ElementMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.NoOpBarrierStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.map.PropertyMapStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.sideEffect.IdentityStep;
+import org.apache.tinkerpop.gremlin.process.traversal.step.util.HasContainer;
+import org.apache.tinkerpop.gremlin.process.traversal.strategy.AbstractTraversalStrategy;
+import org.apache.tinkerpop.gremlin.process.traversal.util.TraversalHelper;
+import org.apache.tinkerpop.gremlin.structure.Graph;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
+import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphEdgeVertexStep;
+import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphPropertiesStep;
+import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphPropertyPrefetchStep;
+import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphVertexStep;
+import org.janusgraph.graphdb.transaction.StandardJanusGraphTx;
+
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.LinkedHashSet;
+import java.util.Set;
+
+/**
+ * Inserts a {@link JanusGraphPropertyPrefetchStep} before all steps which access properties of the elements they
+ * receive one at a time, i.e. has conditions which could not be folded into a preceding step, valueMap, elementMap
+ * and properties steps which are not already executed as multiQuery. The properties of a batch of vertices are then
+ * loaded with a single multiQuery instead of one backend call per vertex.
+ * <p>
+ * No prefetch step is inserted if the preceding vertex step already prefetches the properties of the adjacent
+ * vertices or if the step is followed by a limit, since it is then unknown how many elements need to be fetched.
+ */
+public class JanusGraphPropertyPrefetchStrategy extends AbstractTraversalStrategy<TraversalStrategy.ProviderOptimizationStrategy> implements TraversalStrategy.ProviderOptimizationStrategy {
+
+    private static final JanusGraphPropertyPrefetchStrategy INSTANCE = new JanusGraphPropertyPrefetchStrategy();
+
+    private static final String[] ALL_KEYS = new String[0];
+
+    private JanusGraphPropertyPrefetchStrategy() {
+    }
+
+    @Override
+    public void apply(final Traversal.Admin<?, ?> traversal) {
+        if (!traversal.getGraph().isPresent() || TraversalHelper.onGraphComputer(traversal))
+            return;
+
+        final Graph graph = traversal.getGraph().get();
+        final StandardJanusGraph janusGraph = graph instanceof StandardJanusGraphTx ? ((StandardJanusGraphTx) graph).getGraph() : (StandardJanusGraph) graph;
+        final GraphDatabaseConfiguration configuration = janusGraph.getConfiguration();
+        if (!configuration.batchPropertyPrefetching())
+            return;
+
+        final boolean fastProperty = configuration.hasPropertyPrefetching();
+        final int batchSize = Math.min(configuration.getBatchPropertyPrefetchSize(), configuration.getTxVertexCacheSize());
+
+        TraversalHelper.getStepsOfClass(HasStep.class, traversal).forEach(hasStep -> {
+            final Step<?, ?> previousStep = hasStep.getPreviousStep();
+            //Has conditions on adjacent elements are folded into or pre-fetched by the vertex steps and consecutive
+            //has steps share one pre-fetch
+            if (previousStep instanceof HasStep || previousStep instanceof JanusGraphVertexStep || previousStep instanceof JanusGraphEdgeVertexStep) {
+                return;
+            }
+            final Set<String> keys = new LinkedHashSet<>();
+            Step<?, ?> currentStep = hasStep;
+            while (currentStep instanceof HasStep) {
+                for (final HasContainer hasContainer : ((HasStep<?>) currentStep).getHasContainers()) {
+                    if (!Graph.Hidden.isHidden(hasContainer.getKey())) keys.add(hasContainer.getKey());
+                }
+                currentStep = skipIdentitySteps(currentStep.getNextStep());
+            }
+            //With a subsequent limit it is unknown how many elements need to be fetched
+            if (!keys.isEmpty() && !(currentStep instanceof RangeGlobalStep)) {
+                insertPrefetchStep(traversal, hasStep, fastProperty ? ALL_KEYS : keys.toArray(new String[0]), batchSize);
+            }
+        });
+
+        TraversalHelper.getStepsOfClass(PropertyMapStep.class, traversal).forEach(propertyMapStep -> {
+            if (isPrefetchable(propertyMapStep)) {
+                insertPrefetchStep(traversal, propertyMapStep, getKeys(propertyMapStep.getPropertyKeys(), fastProperty), batchSize);
+            }
+        });
+
+        TraversalHelper.getStepsOfClass(ElementMapStep.class, traversal).forEach(elementMapStep -> {
+            if (isPrefetchable(elementMapStep)) {
+                insertPrefetchStep(traversal, elementMapStep, getKeys(elementMapStep.getPropertyKeys(), fastProperty), batchSize);
+            }
+        });
+
+        if (!configuration.useMultiQuery()) {
+            TraversalHelper.getStepsOfClass(JanusGraphPropertiesStep.class, traversal).forEach(propertiesStep -> {
+                if (isPrefetchable(propertiesStep)) {
+                    insertPrefetchStep(traversal, propertiesStep, getKeys(propertiesStep.getPropertyKeys(), fastProperty), batchSize);
+                }
+            });
+        }
+    }
+
+    private static boolean isPrefetchable(Step<?, ?> step) {
+        return !isPrefetchedByPreviousStep(step) && !(skipIdentitySteps(step.getNextStep()) instanceof RangeGlobalStep);
+    }
+
+    /**
+     * Adjacent vertices are already pre-fetched by the vertex steps which batch their property pre-fetching.
+     */
+    private static boolean isPrefetchedByPreviousStep(Step<?, ?> step) {
+        final Step<?, ?> previousStep = step.getPreviousStep();
+        return previousStep instanceof JanusGraphEdgeVertexStep ||
+            (previousStep instanceof JanusGraphVertexStep && ((JanusGraphVertexStep<?>) previousStep).isBatchPropertyPrefetching());
+    }
+
+    private static Step<?, ?> skipIdentitySteps(Step<?, ?> step) {
+        while (step instanceof IdentityStep || step instanceof NoOpBarrierStep) {
+            step = step.getNextStep();
+        }
+        return step;
+    }
+
+    /**
+     * A single property key is loaded together with all other properties of the vertex if fast property
+     * access is enabled, hence all properties are prefetched in that case.
+     */
+    private static String[] getKeys(String[] keys, boolean fastProperty) {
+        return keys.length == 1 && fastProperty ? ALL_KEYS : keys;
+    }
+
+    private static void insertPrefetchStep(Traversal.Admin<?, ?> traversal, Step<?, ?> step, String[] keys, int batchSize) {
+        if (step.getPreviousStep() instanceof JanusGraphPropertyPrefetchStep) return;
+        TraversalHelper.insertBeforeStep(new JanusGraphPropertyPrefetchStep<>(traversal, step, keys, batchSize), step, traversal);
+    }
+
+    private static final Set<Class<? extends ProviderOptimizationStrategy>> PRIORS = new HashSet<>(Arrays.asList(
+        JanusGraphLocalQueryOptimizerStrategy.class, JanusGraphStepStrategy.class));
+
+    @Override
+    public Set<Class<? extends ProviderOptimizationStrategy>> applyPrior() {
+        return PRIORS;
+    }
+
+    public static JanusGraphPropertyPrefetchStrategy instance() {
+        return INSTANCE;
+    }
+}
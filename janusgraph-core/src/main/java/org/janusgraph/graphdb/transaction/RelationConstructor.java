@@ -41,6 +41,10 @@ public class RelationConstructor {
         return tx.getEdgeSerializer().readRelation(data, false, tx);
     }
 
+    public static <O> O readRelationProperty(Entry data, PropertyKey key, StandardJanusGraphTx tx) {
+        return tx.getEdgeSerializer().readProperty(data, key.longId(), tx);
+    }
+
     public static Iterable<JanusGraphRelation> readRelation(final InternalVertex vertex, final Iterable<Entry> data, final StandardJanusGraphTx tx) {
         return () -> new Iterator<JanusGraphRelation>() {
 
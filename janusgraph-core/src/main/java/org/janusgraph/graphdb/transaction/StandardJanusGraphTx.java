@@ -54,8 +54,8 @@ import org.janusgraph.graphdb.query.vertex.MultiVertexCentricQueryBuilder;
 import org.janusgraph.graphdb.query.vertex.VertexCentricQuery;
 import org.janusgraph.graphdb.query.vertex.VertexCentricQueryBuilder;
 import org.janusgraph.graphdb.transaction.addedrelations.AddedRelationsContainer;
-import org.janusgraph.graphdb.transaction.addedrelations.ConcurrentAddedRelations;
 import org.janusgraph.graphdb.transaction.addedrelations.SimpleAddedRelations;
+import org.janusgraph.graphdb.transaction.addedrelations.StripedAddedRelations;
 import org.janusgraph.graphdb.transaction.indexcache.ConcurrentIndexCache;
 import org.janusgraph.graphdb.transaction.indexcache.IndexCache;
 import org.janusgraph.graphdb.transaction.indexcache.SimpleIndexCache;
@@ -227,7 +227,7 @@ public class StandardJanusGraphTx extends JanusGraphBlueprintsTransaction implem
             newTypeCache = new HashMap<>();
             newVertexIndexEntries = new SimpleIndexCache();
         } else {
-            addedRelations = new ConcurrentAddedRelations();
+            addedRelations = new StripedAddedRelations();
             concurrencyLevel = 1; //TODO: should we increase this?
             newTypeCache = new NonBlockingHashMap<>();
             newVertexIndexEntries = new ConcurrentIndexCache();
@@ -1147,6 +1147,43 @@ public class StandardJanusGraphTx extends JanusGraphBlueprintsTransaction implem
         }
     }
 
+    /**
+     * Asynchronous counterpart of {@link #executeMultiQuery(Collection, SliceQuery, QueryProfiler)}. Issues one
+     * asynchronous read per vertex which has not yet loaded the relations matching the given slice query, so that
+     * all reads are in flight at the same time without occupying a thread each.
+     *
+     * @param vertices Vertices whose relations should be loaded
+     * @param sq Slice query to load
+     * @return Future which completes once the relations of all vertices are loaded into their query caches
+     */
+    public CompletableFuture<Void> executeMultiQueryAsync(final Collection<InternalVertex> vertices, final SliceQuery sq) {
+        final List<CompletableFuture<EntryList>> futures = new ArrayList<>(vertices.size());
+        for (InternalVertex v : vertices) {
+            if (!v.isNew() && v.hasId() && (v instanceof CacheVertex) && !v.hasLoadedRelations(sq)) {
+                futures.add(loadRelationsAsync(v, sq));
+            }
+        }
+        return CompletableFuture.allOf(futures.toArray(new CompletableFuture[0]));
+    }
+
+    /**
+     * Loads the relations of the given vertex which match the slice query without blocking the calling thread.
+     * Results are added to the query cache of the vertex, hence subsequent vertex-centric queries covered by
+     * the slice query are answered without going to the storage backend.
+     *
+     * @param v Vertex whose relations should be loaded
+     * @param sq Slice query to load
+     * @return Future of the matching entries
+     */
+    public CompletableFuture<EntryList> loadRelationsAsync(final InternalVertex v, final SliceQuery sq) {
+        if (v.isNew()) return CompletableFuture.completedFuture(EntryList.EMPTY_LIST);
+        if (v.hasLoadedRelations(sq)) {
+            return CompletableFuture.completedFuture(v.loadRelations(sq, q -> graph.edgeQuery(v.longId(), q, txHandle)));
+        }
+        return graph.edgeQueryAsync(v.longId(), sq, txHandle)
+            .thenApply(result -> v.loadRelations(sq, q -> result));
+    }
+
     public final QueryExecutor<VertexCentricQuery, JanusGraphRelation, SliceQuery> edgeProcessor;
 
     public final QueryExecutor<VertexCentricQuery, JanusGraphRelation, SliceQuery> edgeProcessorImpl = new QueryExecutor<VertexCentricQuery, JanusGraphRelation, SliceQuery>() {
@@ -0,0 +1,116 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.transaction.addedrelations;
+
+import com.google.common.base.Predicate;
+import com.google.common.collect.Iterables;
+import com.google.common.collect.Iterators;
+import org.janusgraph.graphdb.internal.InternalRelation;
+
+import javax.annotation.Nonnull;
+import java.util.AbstractCollection;
+import java.util.Arrays;
+import java.util.Collection;
+import java.util.Collections;
+import java.util.Iterator;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * Thread-safe {@link AddedRelationsContainer} for transactions which are shared between threads.
+ * <p>
+ * Relations are partitioned into shards by the id of their first vertex so that threads which write relations of
+ * different vertices do not contend with each other. Each shard is a concurrent set, hence neither reads nor
+ * writes take a lock on the container. Views iterate the shards directly instead of copying them and are weakly
+ * consistent: they never fail due to concurrent modifications but may or may not reflect them.
+ */
+public class StripedAddedRelations implements AddedRelationsContainer {
+
+    private static final int MIN_SHARDS = 4;
+    private static final int MAX_SHARDS = 64;
+
+    private final Set<InternalRelation>[] shards;
+    private final int shardMask;
+
+    public StripedAddedRelations() {
+        this(Runtime.getRuntime().availableProcessors() * 2);
+    }
+
+    @SuppressWarnings("unchecked")
+    public StripedAddedRelations(int concurrency) {
+        int numShards = Integer.highestOneBit(Math.max(MIN_SHARDS, Math.min(MAX_SHARDS, concurrency)) * 2 - 1);
+        shards = new Set[numShards];
+        for (int i = 0; i < numShards; i++) shards[i] = ConcurrentHashMap.newKeySet();
+        shardMask = numShards - 1;
+    }
+
+    private Set<InternalRelation> getShard(InternalRelation relation) {
+        int hash = Long.hashCode(relation.getVertex(0).longId());
+        return shards[(hash ^ (hash >>> 16)) & shardMask];
+    }
+
+    @Override
+    public boolean add(InternalRelation relation) {
+        getShard(relation).add(relation);
+        return true;
+    }
+
+    @Override
+    public boolean remove(InternalRelation relation) {
+        final Set<InternalRelation> shard = getShard(relation);
+        if (!shard.remove(relation)) {
+            //The id of the vertex may have changed since the relation was added
+            for (Set<InternalRelation> other : shards) {
+                if (other != shard && other.remove(relation)) break;
+            }
+        }
+        return true;
+    }
+
+    @Override
+    public Iterable<InternalRelation> getView(Predicate<InternalRelation> filter) {
+        return Iterables.filter(this::iterator, filter);
+    }
+
+    @Override
+    public boolean isEmpty() {
+        for (Set<InternalRelation> shard : shards) {
+            if (!shard.isEmpty()) return false;
+        }
+        return true;
+    }
+
+    @Override
+    public Collection<InternalRelation> getAll() {
+        return Collections.unmodifiableCollection(new AbstractCollection<InternalRelation>() {
+            @Override
+            @Nonnull
+            public Iterator<InternalRelation> iterator() {
+                return StripedAddedRelations.this.iterator();
+            }
+
+            @Override
+            public int size() {
+                int size = 0;
+                for (Set<InternalRelation> shard : shards) size += shard.size();
+                return size;
+            }
+        });
+    }
+
+    private Iterator<InternalRelation> iterator() {
+        return Iterators.concat(Iterators.transform(Arrays.asList(shards).iterator(), Set::iterator));
+    }
+}
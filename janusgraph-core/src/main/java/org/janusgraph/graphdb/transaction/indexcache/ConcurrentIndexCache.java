@@ -14,41 +14,51 @@
 
 package org.janusgraph.graphdb.transaction.indexcache;
 
-import com.google.common.collect.HashMultimap;
+import com.google.common.collect.Iterables;
 import org.janusgraph.core.PropertyKey;
 import org.janusgraph.core.JanusGraphVertexProperty;
 
-import java.util.ArrayList;
-import java.util.List;
+import java.util.Collections;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 
 /**
+ * Thread-safe {@link IndexCache} which maps each value to a concurrent set of properties. Lookups do not lock and
+ * return a weakly consistent view of the properties instead of a copy. Updates of different values do not contend.
+ *
  * @author Matthias Broecheler (me@matthiasb.com)
  */
 
 public class ConcurrentIndexCache implements IndexCache {
 
-    private final HashMultimap<Object,JanusGraphVertexProperty> map;
+    private final ConcurrentMap<Object,Set<JanusGraphVertexProperty>> map;
 
     public ConcurrentIndexCache() {
-        this.map = HashMultimap.create();
+        this.map = new ConcurrentHashMap<>();
     }
 
     @Override
-    public synchronized void add(JanusGraphVertexProperty property) {
-        map.put(property.value(),property);
+    public void add(JanusGraphVertexProperty property) {
+        map.compute(property.value(), (value, properties) -> {
+            if (properties == null) properties = ConcurrentHashMap.newKeySet();
+            properties.add(property);
+            return properties;
+        });
     }
 
     @Override
-    public synchronized void remove(JanusGraphVertexProperty property) {
-        map.remove(property.value(),property);
+    public void remove(JanusGraphVertexProperty property) {
+        map.computeIfPresent(property.value(), (value, properties) -> {
+            properties.remove(property);
+            return properties.isEmpty() ? null : properties;
+        });
     }
 
     @Override
-    public synchronized Iterable<JanusGraphVertexProperty> get(final Object value, final PropertyKey key) {
-        final List<JanusGraphVertexProperty> result = new ArrayList<>(4);
-        for (JanusGraphVertexProperty p : map.get(value)) {
-            if (p.propertyKey().equals(key)) result.add(p);
-        }
-        return result;
+    public Iterable<JanusGraphVertexProperty> get(final Object value, final PropertyKey key) {
+        final Set<JanusGraphVertexProperty> properties = map.get(value);
+        if (properties == null) return Collections.emptyList();
+        return Iterables.filter(properties, janusgraphProperty -> janusgraphProperty.propertyKey().equals(key));
     }
 }
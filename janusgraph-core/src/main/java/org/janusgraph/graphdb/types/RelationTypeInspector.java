@@ -0,0 +1,36 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.types;
+
+import org.janusgraph.core.EdgeLabel;
+import org.janusgraph.core.PropertyKey;
+import org.janusgraph.core.RelationType;
+
+/**
+ * Resolves relation types by their id, which is all that is needed to serialize relations.
+ */
+public interface RelationTypeInspector {
+
+    default PropertyKey getExistingPropertyKey(long id) {
+        return (PropertyKey)getExistingRelationType(id);
+    }
+
+    default EdgeLabel getExistingEdgeLabel(long id) {
+        return (EdgeLabel)getExistingRelationType(id);
+    }
+
+    RelationType getExistingRelationType(long id);
+
+}
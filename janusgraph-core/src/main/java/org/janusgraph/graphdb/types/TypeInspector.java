@@ -14,25 +14,13 @@
 
 package org.janusgraph.graphdb.types;
 
-import org.janusgraph.core.EdgeLabel;
-import org.janusgraph.core.PropertyKey;
 import org.janusgraph.core.RelationType;
 import org.janusgraph.core.VertexLabel;
 
 /**
  * @author Matthias Broecheler (me@matthiasb.com)
  */
-public interface TypeInspector {
-
-    default PropertyKey getExistingPropertyKey(long id) {
-        return (PropertyKey)getExistingRelationType(id);
-    }
-
-    default EdgeLabel getExistingEdgeLabel(long id) {
-        return (EdgeLabel)getExistingRelationType(id);
-    }
-
-    RelationType getExistingRelationType(long id);
+public interface TypeInspector extends RelationTypeInspector {
 
     VertexLabel getExistingVertexLabel(long id);
 
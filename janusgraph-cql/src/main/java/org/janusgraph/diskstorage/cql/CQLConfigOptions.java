@@ -87,6 +87,16 @@ public interface CQLConfigOptions {
             ConfigOption.Type.MASKABLE,
             20);
 
+    ConfigOption<Integer> MULTI_QUERY_MAX_IN_FLIGHT = new ConfigOption<>(
+            CQL_NS,
+            "multi-query-max-in-flight",
+            "The maximum number of single-key slice requests which multi-key queries keep in flight against " +
+            "the cluster at the same time. Multi-key queries issue one asynchronous request per key and wait " +
+            "for a free slot once this limit is reached.",
+            ConfigOption.Type.MASKABLE,
+            256,
+            ConfigOption.positiveInt());
+
     // Whether to use un-logged batches
     ConfigOption<Boolean> ATOMIC_BATCH_MUTATE = new ConfigOption<>(
             CQL_NS,
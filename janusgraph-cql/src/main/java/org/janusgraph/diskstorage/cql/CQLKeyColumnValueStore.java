@@ -14,27 +14,29 @@
 
 package org.janusgraph.diskstorage.cql;
 
+import com.datastax.oss.driver.api.core.ConsistencyLevel;
 import com.datastax.oss.driver.api.core.CqlSession;
 import com.datastax.oss.driver.api.core.cql.AsyncResultSet;
 import com.datastax.oss.driver.api.core.cql.BatchableStatement;
 import com.datastax.oss.driver.api.core.cql.BoundStatement;
+import com.datastax.oss.driver.api.core.cql.BoundStatementBuilder;
 import com.datastax.oss.driver.api.core.cql.ExecutionInfo;
 import com.datastax.oss.driver.api.core.cql.PreparedStatement;
 import com.datastax.oss.driver.api.core.cql.ResultSet;
 import com.datastax.oss.driver.api.core.cql.Row;
 import com.datastax.oss.driver.api.core.metadata.TokenMap;
+import com.datastax.oss.driver.api.core.metadata.token.Token;
+import com.datastax.oss.driver.api.core.metadata.token.TokenRange;
 import com.datastax.oss.driver.api.core.servererrors.QueryValidationException;
 import com.datastax.oss.driver.api.core.type.DataTypes;
 import com.datastax.oss.driver.api.querybuilder.relation.Relation;
 import com.datastax.oss.driver.api.querybuilder.schema.CreateTableWithOptions;
 import com.datastax.oss.driver.api.querybuilder.schema.compaction.CompactionStrategy;
-import com.datastax.oss.driver.internal.core.cql.ResultSets;
 import com.datastax.oss.driver.shaded.guava.common.collect.ImmutableMap;
 import io.vavr.Tuple;
 import io.vavr.Tuple3;
 import io.vavr.collection.Array;
 import io.vavr.collection.Iterator;
-import io.vavr.concurrent.Future;
 import io.vavr.control.Try;
 import org.janusgraph.diskstorage.BackendException;
 import org.janusgraph.diskstorage.Entry;
@@ -51,16 +53,28 @@ import org.janusgraph.diskstorage.keycolumnvalue.KeyRangeQuery;
 import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
 import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
 import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+import org.janusgraph.diskstorage.util.BufferUtil;
 import org.janusgraph.diskstorage.util.RecordIterator;
 import org.janusgraph.diskstorage.util.StaticArrayBuffer;
 import org.janusgraph.diskstorage.util.StaticArrayEntry.GetColVal;
 import org.janusgraph.diskstorage.util.StaticArrayEntryList;
 
 import java.io.IOException;
+import java.util.ArrayList;
 import java.util.Collections;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.LinkedHashSet;
 import java.util.List;
 import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ExecutionException;
 import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Semaphore;
 import java.util.function.Function;
 
 import static com.datastax.oss.driver.api.querybuilder.QueryBuilder.bindMarker;
@@ -113,15 +127,20 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
             Case($(), TemporaryBackendException::new));
 
     private final CQLStoreManager storeManager;
-    private final ExecutorService executorService;
+    private final Semaphore multiQueryPermits;
     private final CqlSession session;
+    private final ExecutorService executorService;
     private final String tableName;
     private final CQLColValGetter getter;
     private final Runnable closer;
 
     private final PreparedStatement getSlice;
+    private final PreparedStatement getSliceColumnsOnly;
     private final PreparedStatement getKeysAll;
     private final PreparedStatement getKeysRanged;
+    private final PreparedStatement getKeysTokenRange;
+    private final PreparedStatement getKeysAfterToken;
+    private final PreparedStatement getKeysUpToToken;
     private final PreparedStatement deleteColumn;
     private final PreparedStatement insertColumn;
     private final PreparedStatement insertColumnWithTTL;
@@ -136,10 +155,11 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
      */
     public CQLKeyColumnValueStore(final CQLStoreManager storeManager, final String tableName, final Configuration configuration, final Runnable closer) {
         this.storeManager = storeManager;
-        this.executorService = this.storeManager.getExecutorService();
+        this.multiQueryPermits = this.storeManager.getMultiQueryPermits();
         this.tableName = tableName;
         this.closer = closer;
         this.session = this.storeManager.getSession();
+        this.executorService = this.storeManager.getExecutorService();
         this.getter = new CQLColValGetter(storeManager.getMetaDataSchema(this.tableName));
 
         if(shouldInitializeTable()) {
@@ -159,6 +179,17 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
                 )
                 .limit(bindMarker(LIMIT_BINDING)).build());
 
+        this.getSliceColumnsOnly = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                .column(COLUMN_COLUMN_NAME)
+                .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                .where(
+                    Relation.column(KEY_COLUMN_NAME).isEqualTo(bindMarker(KEY_BINDING)),
+                    Relation.column(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING)),
+                    Relation.column(COLUMN_COLUMN_NAME).isLessThan(bindMarker(SLICE_END_BINDING))
+                )
+                .limit(bindMarker(LIMIT_BINDING)).build());
+
         this.getKeysRanged = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
                 .column(KEY_COLUMN_NAME)
                 .column(COLUMN_COLUMN_NAME)
@@ -185,6 +216,45 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
                 .whereColumn(COLUMN_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(SLICE_END_BINDING))
                 .build());
 
+        this.getKeysTokenRange = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                .column(KEY_COLUMN_NAME)
+                .column(COLUMN_COLUMN_NAME)
+                .column(VALUE_COLUMN_NAME)
+                .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                .allowFiltering()
+                .where(
+                    Relation.token(KEY_COLUMN_NAME).isGreaterThan(bindMarker(KEY_START_BINDING)),
+                    Relation.token(KEY_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(KEY_END_BINDING))
+                )
+                .whereColumn(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING))
+                .whereColumn(COLUMN_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(SLICE_END_BINDING))
+                .build());
+
+        this.getKeysAfterToken = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                .column(KEY_COLUMN_NAME)
+                .column(COLUMN_COLUMN_NAME)
+                .column(VALUE_COLUMN_NAME)
+                .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                .allowFiltering()
+                .where(Relation.token(KEY_COLUMN_NAME).isGreaterThan(bindMarker(KEY_START_BINDING)))
+                .whereColumn(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING))
+                .whereColumn(COLUMN_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(SLICE_END_BINDING))
+                .build());
+
+        this.getKeysUpToToken = this.session.prepare(selectFrom(this.storeManager.getKeyspaceName(), this.tableName)
+                .column(KEY_COLUMN_NAME)
+                .column(COLUMN_COLUMN_NAME)
+                .column(VALUE_COLUMN_NAME)
+                .function(WRITETIME_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(WRITETIME_COLUMN_NAME)
+                .function(TTL_FUNCTION_NAME, column(VALUE_COLUMN_NAME)).as(TTL_COLUMN_NAME)
+                .allowFiltering()
+                .where(Relation.token(KEY_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(KEY_END_BINDING)))
+                .whereColumn(COLUMN_COLUMN_NAME).isGreaterThanOrEqualTo(bindMarker(SLICE_START_BINDING))
+                .whereColumn(COLUMN_COLUMN_NAME).isLessThanOrEqualTo(bindMarker(SLICE_END_BINDING))
+                .build());
+
         this.deleteColumn = this.session.prepare(deleteFrom(this.storeManager.getKeyspaceName(), this.tableName)
                 .usingTimestamp(bindMarker(TIMESTAMP_BINDING))
                 .whereColumn(KEY_COLUMN_NAME).isEqualTo(bindMarker(KEY_BINDING))
@@ -278,54 +348,162 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public EntryList getSlice(final KeySliceQuery query, final StoreTransaction txh) throws BackendException {
-        final Future<EntryList> result = Future.fromJavaFuture(
-                this.executorService,
-                this.session.executeAsync(this.getSlice.boundStatementBuilder()
-                        .setByteBuffer(KEY_BINDING, query.getKey().asByteBuffer())
-                        .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
-                        .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
-                        .setInt(LIMIT_BINDING, query.getLimit())
-                        .setConsistencyLevel(getTransaction(txh).getReadConsistencyLevel()).build())
-                        .toCompletableFuture())
-                .map(resultSet -> fromResultSet(resultSet, this.getter));
-        interruptibleWait(result);
-        return result.getValue().get().getOrElseThrow(EXCEPTION_MAPPER);
+        final CompletableFuture<EntryList> result = getSliceAsync(query, txh);
+        try {
+            return result.get();
+        } catch (InterruptedException e) {
+            result.cancel(true);
+            Thread.currentThread().interrupt();
+            throw new PermanentBackendException(e);
+        } catch (ExecutionException e) {
+            if (e.getCause() instanceof BackendException) throw (BackendException) e.getCause();
+            throw EXCEPTION_MAPPER.apply(e.getCause());
+        }
     }
 
+    /**
+     * Executes the slice query without blocking. All result pages are fetched through the driver's asynchronous
+     * paging, while decoding the rows and completing the returned future happens on the store manager's executor so
+     * that dependent stages do not occupy the driver's I/O threads. Failures are mapped to {@link BackendException}s.
+     */
     @Override
-    public Map<StaticBuffer, EntryList> getSlice(final List<StaticBuffer> keys, final SliceQuery query, final StoreTransaction txh) throws BackendException {
-        throw new UnsupportedOperationException("The CQL backend does not support multi-key queries");
+    public CompletableFuture<EntryList> getSliceAsync(final KeySliceQuery query, final StoreTransaction txh) {
+        final CompletableFuture<EntryList> result = new CompletableFuture<>();
+        this.session.executeAsync(buildSliceStatement(query.getKey(), query, getTransaction(txh).getReadConsistencyLevel()))
+            .thenCompose(resultSet -> collectRowsAsync(resultSet, new ArrayList<>()))
+            .whenCompleteAsync((rows, throwable) -> {
+                if (throwable != null) {
+                    final Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                        ? throwable.getCause() : throwable;
+                    result.completeExceptionally(EXCEPTION_MAPPER.apply(cause));
+                } else {
+                    try {
+                        result.complete(fromRows(rows, this.getter, query.isColumnsOnly()));
+                    } catch (RuntimeException e) {
+                        result.completeExceptionally(e);
+                    }
+                }
+            }, this.executorService)
+            //Fails the result if the executor rejected the decoding, e.g. because the store manager has been closed
+            .whenComplete((rows, throwable) -> {
+                if (throwable != null) result.completeExceptionally(throwable);
+            });
+        return result;
     }
 
     /**
-     * VAVR Future.await will throw InterruptedException wrapped in a FatalException. If the Thread was in Object.wait, the interrupted
-     * flag will be cleared as a side effect and needs to be reset. This method checks that the underlying cause of the FatalException is
-     * InterruptedException and resets the interrupted flag.
-     * 
-     * @param result the future to wait on
-     * @throws PermanentBackendException if the thread was interrupted while waiting for the future result
+     * Issues one asynchronous slice request per distinct key and waits for all of them on the calling thread.
+     * Requests are submitted in token order so that keys owned by the same replicas go out back to back, and
+     * the number of requests in flight is bounded by {@link CQLConfigOptions#MULTI_QUERY_MAX_IN_FLIGHT}.
+     * Result pages are collected on the driver threads, decoding into {@link EntryList}s happens on the caller.
      */
-    private void interruptibleWait(final Future<?> result) throws PermanentBackendException {
+    @Override
+    public Map<StaticBuffer, EntryList> getSlice(final List<StaticBuffer> keys, final SliceQuery query, final StoreTransaction txh) throws BackendException {
+        final ConsistencyLevel consistencyLevel = getTransaction(txh).getReadConsistencyLevel();
+        final List<StaticBuffer> orderedKeys = orderByToken(keys);
+        final List<CompletableFuture<List<Row>>> futures = new ArrayList<>(orderedKeys.size());
         try {
-            result.await();
-        } catch (Exception e) {
-            if (e instanceof InterruptedException) {
+            for (final StaticBuffer key : orderedKeys) {
+                futures.add(executeSliceWithPermit(key, query, consistencyLevel));
+            }
+        } catch (InterruptedException e) {
+            futures.forEach(future -> future.cancel(true));
+            Thread.currentThread().interrupt();
+            throw new PermanentBackendException("Interrupted while submitting multi-key slice query", e);
+        }
+
+        final Map<StaticBuffer, EntryList> result = new HashMap<>(orderedKeys.size());
+        for (int i = 0; i < orderedKeys.size(); i++) {
+            try {
+                result.put(orderedKeys.get(i), fromRows(futures.get(i).get(), this.getter, query.isColumnsOnly()));
+            } catch (InterruptedException e) {
+                futures.forEach(future -> future.cancel(true));
                 Thread.currentThread().interrupt();
+                throw new PermanentBackendException("Interrupted while waiting for multi-key slice query", e);
+            } catch (ExecutionException e) {
+                futures.forEach(future -> future.cancel(true));
+                throw EXCEPTION_MAPPER.apply(e.getCause());
             }
-            throw new PermanentBackendException(e);
         }
+        return result;
+    }
+
+    private CompletableFuture<List<Row>> executeSliceWithPermit(final StaticBuffer key, final SliceQuery query,
+                                                               final ConsistencyLevel consistencyLevel) throws InterruptedException {
+        this.multiQueryPermits.acquire();
+        final CompletionStage<List<Row>> rows;
+        try {
+            rows = this.session.executeAsync(buildSliceStatement(key, query, consistencyLevel))
+                .thenCompose(resultSet -> collectRowsAsync(resultSet, new ArrayList<>()));
+        } catch (RuntimeException e) {
+            this.multiQueryPermits.release();
+            throw e;
+        }
+        //The permit is released once the driver has delivered all pages, cancelling the returned future does not
+        //abort the request and hence must not release the permit early
+        final CompletableFuture<List<Row>> future = new CompletableFuture<>();
+        rows.whenComplete((result, throwable) -> {
+            this.multiQueryPermits.release();
+            if (throwable != null) future.completeExceptionally(throwable);
+            else future.complete(result);
+        });
+        return future;
+    }
+
+    private BoundStatement buildSliceStatement(final StaticBuffer key, final SliceQuery query, final ConsistencyLevel consistencyLevel) {
+        final PreparedStatement statement = query.isColumnsOnly() ? this.getSliceColumnsOnly : this.getSlice;
+        return statement.boundStatementBuilder()
+            .setByteBuffer(KEY_BINDING, key.asByteBuffer())
+            .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+            .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+            .setInt(LIMIT_BINDING, query.getLimit())
+            .setConsistencyLevel(consistencyLevel).build();
+    }
+
+    /**
+     * Removes duplicate keys and sorts the remaining ones by their partitioner token, if the token map is known.
+     */
+    private List<StaticBuffer> orderByToken(final List<StaticBuffer> keys) {
+        final List<StaticBuffer> distinctKeys = new ArrayList<>(new LinkedHashSet<>(keys));
+        final Optional<TokenMap> tokenMap = this.session.getMetadata().getTokenMap();
+        if (!tokenMap.isPresent() || distinctKeys.size() < 2) {
+            return distinctKeys;
+        }
+        final Map<StaticBuffer, Token> tokens = new HashMap<>(distinctKeys.size());
+        for (final StaticBuffer key : distinctKeys) {
+            tokens.put(key, tokenMap.get().newToken(key.asByteBuffer()));
+        }
+        distinctKeys.sort(Comparator.comparing(tokens::get));
+        return distinctKeys;
     }
 
-    private static EntryList fromResultSet(final AsyncResultSet resultSet, final GetColVal<Tuple3<StaticBuffer, StaticBuffer, Row>, StaticBuffer> getter) {
-        return StaticArrayEntryList.ofStaticBuffer(new CQLResultSetIterator(ResultSets.newInstance(resultSet)), getter);
+    /**
+     * Collects the rows of all pages of the given result set without blocking, requesting the next page once
+     * the current one has been consumed.
+     */
+    private static CompletionStage<List<Row>> collectRowsAsync(AsyncResultSet resultSet, List<Row> rows) {
+        for (Row row : resultSet.currentPage()) {
+            rows.add(row);
+        }
+        if (resultSet.hasMorePages()) {
+            return resultSet.fetchNextPage().thenCompose(nextPage -> collectRowsAsync(nextPage, rows));
+        }
+        return CompletableFuture.completedFuture(rows);
+    }
+
+    private static EntryList fromRows(final List<Row> rows, final GetColVal<Tuple3<StaticBuffer, StaticBuffer, Row>, StaticBuffer> getter,
+                                      final boolean columnsOnly) {
+        return StaticArrayEntryList.ofStaticBuffer(new CQLResultSetIterator(rows.iterator(), columnsOnly), getter);
     }
 
     private static class CQLResultSetIterator implements RecordIterator<Tuple3<StaticBuffer, StaticBuffer, Row>> {
 
         private java.util.Iterator<Row> resultSetIterator;
+        private final boolean columnsOnly;
 
-        public CQLResultSetIterator(ResultSet rs) {
-            resultSetIterator = rs.iterator();
+        public CQLResultSetIterator(java.util.Iterator<Row> rows, boolean columnsOnly) {
+            resultSetIterator = rows;
+            this.columnsOnly = columnsOnly;
         }
 
         @Override
@@ -339,7 +517,8 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
             return nextRow == null
                 ? null
                 : Tuple.of(StaticArrayBuffer.of(nextRow.getByteBuffer(COLUMN_COLUMN_NAME)),
-                           StaticArrayBuffer.of(nextRow.getByteBuffer(VALUE_COLUMN_NAME)), nextRow);
+                           columnsOnly ? BufferUtil.emptyBuffer() : StaticArrayBuffer.of(nextRow.getByteBuffer(VALUE_COLUMN_NAME)),
+                           nextRow);
         }
 
         @Override
@@ -432,6 +611,125 @@ public class CQLKeyColumnValueStore implements KeyColumnValueStore {
                 .getOrElseThrow(EXCEPTION_MAPPER);
     }
 
+    /**
+     * Splits the token ring into at most {@code numSplits} groups of consecutive token ranges and returns one iterator
+     * per group. The token ranges of a group are read one after the other, each with its own paged query.
+     */
+    @Override
+    public List<KeyIterator> getKeys(final SliceQuery query, final int numSplits, final StoreTransaction txh) throws BackendException {
+        final Optional<TokenMap> tokenMap = this.session.getMetadata().getTokenMap();
+        if (numSplits <= 1 || !tokenMap.isPresent() || this.storeManager.getFeatures().hasOrderedScan()) {
+            return Collections.singletonList(getKeys(query, txh));
+        }
+
+        final ConsistencyLevel consistencyLevel = getTransaction(txh).getReadConsistencyLevel();
+        final List<KeyIterator> keyIterators = new ArrayList<>(numSplits);
+        for (final List<TokenRange> split : splitTokenRing(tokenMap.get(), numSplits)) {
+            keyIterators.add(new CQLResultSetKeyIterator(
+                query,
+                this.getter,
+                Iterator.ofAll(split)
+                    .flatMap(range -> buildTokenRangeStatements(range, query, consistencyLevel))
+                    .flatMap(CQLPrefetchingPagingIterator::new)));
+        }
+        return keyIterators;
+    }
+
+    /**
+     * Splits the token ranges of the ring evenly such that there are at least {@code numSplits} of them, and assigns
+     * consecutive ranges to at most {@code numSplits} groups of about the same size. The result only depends on the
+     * token map, hence all scan queries of a job are split the same way.
+     */
+    static List<List<TokenRange>> splitTokenRing(final TokenMap tokenMap, final int numSplits) {
+        final List<TokenRange> ranges = new ArrayList<>(tokenMap.getTokenRanges());
+        Collections.sort(ranges);
+        final int splitsPerRange = (numSplits + ranges.size() - 1) / ranges.size();
+        final List<TokenRange> subRanges = new ArrayList<>(ranges.size() * splitsPerRange);
+        for (final TokenRange range : ranges) {
+            if (splitsPerRange > 1) {
+                subRanges.addAll(range.splitEvenly(splitsPerRange));
+            } else {
+                subRanges.add(range);
+            }
+        }
+
+        final int numGroups = Math.min(numSplits, subRanges.size());
+        final List<List<TokenRange>> splits = new ArrayList<>(numGroups);
+        for (int i = 0; i < numGroups; i++) {
+            splits.add(new ArrayList<>());
+        }
+        for (int i = 0; i < subRanges.size(); i++) {
+            splits.get((int) ((long) i * numGroups / subRanges.size())).add(subRanges.get(i));
+        }
+        return splits;
+    }
+
+    /**
+     * Token ranges are start-exclusive and end-inclusive. A range which wraps around the end of the ring, or covers
+     * the whole ring, is read with two queries: one for the tokens after its start and one for those up to its end.
+     */
+    private List<BoundStatement> buildTokenRangeStatements(final TokenRange range, final SliceQuery query, final ConsistencyLevel consistencyLevel) {
+        final List<BoundStatement> statements = new ArrayList<>(2);
+        for (final TokenRange unwrapped : range.unwrap()) {
+            if (unwrapped.getStart().compareTo(unwrapped.getEnd()) < 0) {
+                statements.add(buildKeysStatement(getKeysTokenRange.boundStatementBuilder()
+                    .setToken(KEY_START_BINDING, unwrapped.getStart())
+                    .setToken(KEY_END_BINDING, unwrapped.getEnd()), query, consistencyLevel));
+            } else {
+                statements.add(buildKeysStatement(getKeysAfterToken.boundStatementBuilder()
+                    .setToken(KEY_START_BINDING, unwrapped.getStart()), query, consistencyLevel));
+                statements.add(buildKeysStatement(getKeysUpToToken.boundStatementBuilder()
+                    .setToken(KEY_END_BINDING, unwrapped.getEnd()), query, consistencyLevel));
+            }
+        }
+        return statements;
+    }
+
+    private BoundStatement buildKeysStatement(final BoundStatementBuilder builder, final SliceQuery query, final ConsistencyLevel consistencyLevel) {
+        return builder
+            .setByteBuffer(SLICE_START_BINDING, query.getSliceStart().asByteBuffer())
+            .setByteBuffer(SLICE_END_BINDING, query.getSliceEnd().asByteBuffer())
+            .setPageSize(this.storeManager.getPageSize())
+            .setConsistencyLevel(consistencyLevel).build();
+    }
+
+    /**
+     * Pages through the result of a statement with the driver's asynchronous paging. The next page is requested as soon
+     * as the current one has arrived, so that fetching it overlaps with consuming the current page. Only the current
+     * page is referenced, so the paging metadata of consumed pages can be garbage collected.
+     */
+    private class CQLPrefetchingPagingIterator implements Iterator<Row> {
+
+        private CompletionStage<AsyncResultSet> nextPage;
+        private java.util.Iterator<Row> currentPageIterator = Collections.emptyIterator();
+
+        private CQLPrefetchingPagingIterator(final BoundStatement boundStatement) {
+            this.nextPage = session.executeAsync(boundStatement);
+        }
+
+        @Override
+        public boolean hasNext() {
+            while (!currentPageIterator.hasNext() && nextPage != null) {
+                final AsyncResultSet page;
+                try {
+                    page = nextPage.toCompletableFuture().join();
+                } catch (CompletionException e) {
+                    if (e.getCause() instanceof RuntimeException) throw (RuntimeException) e.getCause();
+                    throw e;
+                }
+                nextPage = page.hasMorePages() ? page.fetchNextPage() : null;
+                currentPageIterator = page.currentPage().iterator();
+            }
+            return currentPageIterator.hasNext();
+        }
+
+        @Override
+        public Row next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            return currentPageIterator.next();
+        }
+    }
+
     /**
      * This class provides a paging implementation that sits on top of the DSE Cassandra driver. The driver already
      * has its own built in paging support but this has limitations when doing a full scan of the key ring due
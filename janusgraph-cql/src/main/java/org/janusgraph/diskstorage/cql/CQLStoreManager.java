@@ -68,6 +68,7 @@ import java.util.Map;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.Semaphore;
 import java.util.concurrent.ThreadPoolExecutor;
 import java.util.concurrent.TimeUnit;
 
@@ -85,6 +86,7 @@ import static org.janusgraph.diskstorage.cql.CQLConfigOptions.KEYSPACE;
 import static org.janusgraph.diskstorage.cql.CQLConfigOptions.LOCAL_DATACENTER;
 import static org.janusgraph.diskstorage.cql.CQLConfigOptions.LOCAL_MAX_CONNECTIONS_PER_HOST;
 import static org.janusgraph.diskstorage.cql.CQLConfigOptions.MAX_REQUESTS_PER_CONNECTION;
+import static org.janusgraph.diskstorage.cql.CQLConfigOptions.MULTI_QUERY_MAX_IN_FLIGHT;
 import static org.janusgraph.diskstorage.cql.CQLConfigOptions.METRICS_NODE_ENABLED;
 import static org.janusgraph.diskstorage.cql.CQLConfigOptions.METRICS_NODE_EXPIRE_AFTER;
 import static org.janusgraph.diskstorage.cql.CQLConfigOptions.METRICS_NODE_MESSAGES_HIGHEST_LATENCY;
@@ -158,6 +160,7 @@ public class CQLStoreManager extends DistributedStoreManager implements KeyColum
     private final boolean atomicBatch;
 
     final ExecutorService executorService;
+    private final Semaphore multiQueryPermits;
 
     @Resource
     private CqlSession session;
@@ -175,6 +178,7 @@ public class CQLStoreManager extends DistributedStoreManager implements KeyColum
         this.keyspace = determineKeyspaceName(configuration);
         this.batchSize = configuration.get(BATCH_STATEMENT_SIZE);
         this.atomicBatch = configuration.get(ATOMIC_BATCH_MUTATE);
+        this.multiQueryPermits = new Semaphore(configuration.get(MULTI_QUERY_MAX_IN_FLIGHT));
 
         this.executorService = new ThreadPoolExecutor(10,
                 100,
@@ -211,7 +215,7 @@ public class CQLStoreManager extends DistributedStoreManager implements KeyColum
         fb.keyConsistent((onlyUseLocalConsistency ? local : global), local);
         fb.locking(useExternalLocking);
         fb.optimisticLocking(true);
-        fb.multiQuery(false);
+        fb.multiQuery(true);
 
         final String partitioner = this.session.getMetadata().getTokenMap().get().getPartitionerName();
         switch (partitioner.substring(partitioner.lastIndexOf('.') + 1)) {
@@ -357,6 +361,14 @@ public class CQLStoreManager extends DistributedStoreManager implements KeyColum
         return this.executorService;
     }
 
+    /**
+     * Permits bounding the number of single-key slice requests that multi-key queries of all stores
+     * opened by this manager keep in flight.
+     */
+    Semaphore getMultiQueryPermits() {
+        return this.multiQueryPermits;
+    }
+
     CqlSession getSession() {
         return this.session;
     }
@@ -69,6 +69,7 @@ import org.slf4j.LoggerFactory;
 
 import java.io.IOException;
 import java.io.UncheckedIOException;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
@@ -261,6 +262,41 @@ public class ElasticSearchIndex implements IndexProvider {
         new ConfigOption<>(ELASTICSEARCH_NS, "retry_on_conflict",
             "Specify how many times should the operation be retried when a conflict occurs.", ConfigOption.Type.MASKABLE, 0);
 
+    public static final ConfigOption<Integer> BULK_CHUNK_SIZE_LIMIT_BYTES =
+        new ConfigOption<>(ELASTICSEARCH_NS, "bulk-chunk-size-limit-bytes",
+            "The maximum size in bytes of a single bulk request sent to Elasticsearch. Larger mutations are split " +
+            "into several bulk requests. This should not exceed the http.max_content_length setting of the cluster.",
+            ConfigOption.Type.MASKABLE, 100_000_000, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Integer> BULK_MAX_DOCUMENTS =
+        new ConfigOption<>(ELASTICSEARCH_NS, "bulk-max-documents",
+            "The maximum number of document operations in a single bulk request sent to Elasticsearch. Larger " +
+            "mutations are split into several bulk requests.", ConfigOption.Type.MASKABLE, 5000, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Integer> BULK_CONCURRENT_REQUESTS =
+        new ConfigOption<>(ELASTICSEARCH_NS, "bulk-concurrent-requests",
+            "The maximum number of bulk requests which are sent to Elasticsearch concurrently when a mutation is " +
+            "split into several bulk requests. All operations on the same document are sent in order by the same " +
+            "request sequence.", ConfigOption.Type.MASKABLE, 4, ConfigOption.positiveInt());
+
+    public static final ConfigOption<Integer> BULK_RETRY_LIMIT =
+        new ConfigOption<>(ELASTICSEARCH_NS, "bulk-retry-limit",
+            "How many times the operations of a bulk request which were rejected by Elasticsearch because of a full " +
+            "queue (status 429) are retried. Only the rejected operations are sent again.",
+            ConfigOption.Type.MASKABLE, 3);
+
+    public static final ConfigOption<Duration> BULK_RETRY_INITIAL_WAIT =
+        new ConfigOption<>(ELASTICSEARCH_NS, "bulk-retry-initial-wait",
+            "How long to wait before rejected bulk operations are retried the first time. The wait time is doubled " +
+            "for every further retry.", ConfigOption.Type.MASKABLE, Duration.ofMillis(100L));
+
+    public static final ConfigOption<Boolean> BULK_REFRESH_COALESCE =
+        new ConfigOption<>(ELASTICSEARCH_NS, "bulk-refresh-coalesce",
+            "Whether the refresh requested by bulk-refresh is executed as a single refresh of the affected indices " +
+            "after all bulk requests of a mutation have completed, instead of once per bulk request. Mutations of " +
+            "concurrent transactions which complete while a refresh is pending share that refresh.",
+            ConfigOption.Type.MASKABLE, false);
+
     public static final ConfigOption<Boolean> ENABLE_INDEX_STORE_NAMES_CACHE =
         new ConfigOption<>(ELASTICSEARCH_NS, "enable_index_names_cache",
             "Enables cache for generated index store names. " +
@@ -81,6 +81,13 @@ public class RestClientSetup {
         Integer retryOnConflict = config.has(ElasticSearchIndex.RETRY_ON_CONFLICT) ? config.get(ElasticSearchIndex.RETRY_ON_CONFLICT) : null;
         client.setRetryOnConflict(retryOnConflict);
 
+        client.setBulkChunkSizeLimitBytes(config.get(ElasticSearchIndex.BULK_CHUNK_SIZE_LIMIT_BYTES));
+        client.setBulkMaxDocuments(config.get(ElasticSearchIndex.BULK_MAX_DOCUMENTS));
+        client.setBulkConcurrentRequests(config.get(ElasticSearchIndex.BULK_CONCURRENT_REQUESTS));
+        client.setBulkRetry(config.get(ElasticSearchIndex.BULK_RETRY_LIMIT),
+            config.get(ElasticSearchIndex.BULK_RETRY_INITIAL_WAIT));
+        client.setBulkRefreshCoalesced(config.get(ElasticSearchIndex.BULK_REFRESH_COALESCE));
+
         return client;
     }
 
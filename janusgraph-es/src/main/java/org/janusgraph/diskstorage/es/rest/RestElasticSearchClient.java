@@ -16,6 +16,7 @@ package org.janusgraph.diskstorage.es.rest;
 
 import com.google.common.collect.ImmutableList;
 import com.google.common.collect.ImmutableMap;
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
 
 import org.apache.http.HttpEntity;
 import org.apache.http.entity.ByteArrayEntity;
@@ -48,10 +49,21 @@ import org.slf4j.LoggerFactory;
 import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.io.InterruptedIOException;
+import java.time.Duration;
+import java.util.ArrayList;
 import java.util.HashMap;
+import java.util.HashSet;
+import java.util.Iterator;
 import java.util.List;
 import java.util.Map;
 import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
 import java.util.function.Function;
 import java.util.stream.Collectors;
 
@@ -72,6 +84,8 @@ public class RestElasticSearchClient implements ElasticSearchClient {
 
     public static final String INCLUDE_TYPE_NAME_PARAMETER = "include_type_name";
 
+    private static final int TOO_MANY_REQUESTS = 429;
+
     private static final byte[] NEW_LINE_BYTES = "\n".getBytes(UTF8_CHARSET);
 
     private static final Request INFO_REQUEST = new Request(REQUEST_TYPE_GET, REQUEST_SEPARATOR);
@@ -112,6 +126,26 @@ public class RestElasticSearchClient implements ElasticSearchClient {
 
     private final String retryOnConflictKey;
 
+    private int bulkChunkSizeLimitBytes = Integer.MAX_VALUE;
+
+    private int bulkMaxDocuments = Integer.MAX_VALUE;
+
+    private int bulkConcurrentRequests = 1;
+
+    private int bulkRetryLimit = 0;
+
+    private long bulkRetryInitialWaitMs = 0;
+
+    private boolean bulkRefreshCoalesced = false;
+
+    private ExecutorService bulkExecutor;
+
+    private final Object refreshLock = new Object();
+
+    private final Object refreshExecutionLock = new Object();
+
+    private PendingRefresh pendingRefresh;
+
     public RestElasticSearchClient(RestClient delegate, int scrollKeepAlive, boolean useMappingTypesForES7) {
         this.delegate = delegate;
         majorVersion = getMajorVersion();
@@ -123,6 +157,11 @@ public class RestElasticSearchClient implements ElasticSearchClient {
 
     @Override
     public void close() throws IOException {
+        synchronized (this) {
+            if (bulkExecutor != null) {
+                bulkExecutor.shutdownNow();
+            }
+        }
         delegate.close();
     }
 
@@ -359,53 +398,265 @@ public class RestElasticSearchClient implements ElasticSearchClient {
 
     @Override
     public void bulkRequest(List<ElasticSearchMutation> requests, String ingestPipeline) throws IOException {
-        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        final List<BulkItem> items = new ArrayList<>(requests.size());
+        long totalBytes = 0;
         for (final ElasticSearchMutation request : requests) {
-            Map<String, Object> requestData = new HashMap<>();
-            if (useMappingTypes) {
-                requestData.put("_index", request.getIndex());
-                requestData.put("_type", request.getType());
-                requestData.put("_id", request.getId());
-            } else {
-                requestData.put("_index", request.getIndex());
-                requestData.put("_id", request.getId());
+            final BulkItem item = new BulkItem(request, serialize(request));
+            totalBytes += item.data.length;
+            items.add(item);
+        }
+
+        final boolean refreshPerRequest = bulkRefreshEnabled && !bulkRefreshCoalesced;
+        if (items.size() <= bulkMaxDocuments && totalBytes <= bulkChunkSizeLimitBytes) {
+            bulkRequestWithRetries(items, ingestPipeline, refreshPerRequest);
+        } else {
+            bulkRequestInChunks(items, ingestPipeline, refreshPerRequest);
+        }
+
+        if (bulkRefreshEnabled && bulkRefreshCoalesced && !items.isEmpty()) {
+            refresh(items.stream().map(item -> item.request.getIndex()).collect(Collectors.toSet()));
+        }
+    }
+
+    private byte[] serialize(ElasticSearchMutation request) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        Map<String, Object> requestData = new HashMap<>();
+        if (useMappingTypes) {
+            requestData.put("_index", request.getIndex());
+            requestData.put("_type", request.getType());
+            requestData.put("_id", request.getId());
+        } else {
+            requestData.put("_index", request.getIndex());
+            requestData.put("_id", request.getId());
+        }
+
+        if (retryOnConflict != null && request.getRequestType() == ElasticSearchMutation.RequestType.UPDATE) {
+            requestData.put(retryOnConflictKey, retryOnConflict);
+        }
+
+        outputStream.write(mapWriter.writeValueAsBytes(
+            ImmutableMap.of(request.getRequestType().name().toLowerCase(), requestData))
+        );
+        outputStream.write(NEW_LINE_BYTES);
+        if (request.getSource() != null) {
+            outputStream.write(mapWriter.writeValueAsBytes(request.getSource()));
+            outputStream.write(NEW_LINE_BYTES);
+        }
+        return outputStream.toByteArray();
+    }
+
+    /**
+     * Distributes the items over at most {@link #bulkConcurrentRequests} lanes by document, splits every lane into
+     * chunks which respect the configured size limits and sends the chunks of each lane in order while the lanes are
+     * processed concurrently. Since all operations on a document end up in the same lane, they are applied in the
+     * order in which they were given.
+     */
+    private void bulkRequestInChunks(List<BulkItem> items, String ingestPipeline, boolean refresh) throws IOException {
+        final int numLanes = Math.min(bulkConcurrentRequests, items.size());
+        final List<List<BulkItem>> lanes = new ArrayList<>(numLanes);
+        for (int i = 0; i < numLanes; i++) {
+            lanes.add(new ArrayList<>());
+        }
+        for (final BulkItem item : items) {
+            final int lane = Math.floorMod(Objects.hash(item.request.getIndex(), item.request.getId()), numLanes);
+            lanes.get(lane).add(item);
+        }
+
+        if (numLanes == 1) {
+            sendLane(lanes.get(0), ingestPipeline, refresh);
+            return;
+        }
+
+        final ExecutorService executor = getBulkExecutor();
+        final List<Future<?>> futures = new ArrayList<>(numLanes);
+        for (final List<BulkItem> lane : lanes) {
+            if (lane.isEmpty()) continue;
+            futures.add(executor.submit(() -> {
+                sendLane(lane, ingestPipeline, refresh);
+                return null;
+            }));
+        }
+        IOException failure = null;
+        for (final Future<?> future : futures) {
+            try {
+                future.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                futures.forEach(f -> f.cancel(true));
+                throw new InterruptedIOException("Interrupted while waiting for Elasticsearch bulk requests");
+            } catch (ExecutionException e) {
+                final IOException cause = e.getCause() instanceof IOException ? (IOException) e.getCause()
+                    : new IOException("Failure in Elasticsearch bulk request", e.getCause());
+                if (failure == null) failure = cause;
+                else failure.addSuppressed(cause);
             }
+        }
+        if (failure != null) throw failure;
+    }
 
-            if (retryOnConflict != null && request.getRequestType() == ElasticSearchMutation.RequestType.UPDATE) {
-                requestData.put(retryOnConflictKey, retryOnConflict);
+    private void sendLane(List<BulkItem> lane, String ingestPipeline, boolean refresh) throws IOException {
+        List<BulkItem> chunk = new ArrayList<>();
+        long chunkBytes = 0;
+        for (final BulkItem item : lane) {
+            if (!chunk.isEmpty() && (chunk.size() >= bulkMaxDocuments || chunkBytes + item.data.length > bulkChunkSizeLimitBytes)) {
+                bulkRequestWithRetries(chunk, ingestPipeline, refresh);
+                chunk = new ArrayList<>();
+                chunkBytes = 0;
             }
+            chunk.add(item);
+            chunkBytes += item.data.length;
+        }
+        if (!chunk.isEmpty()) {
+            bulkRequestWithRetries(chunk, ingestPipeline, refresh);
+        }
+    }
 
-            outputStream.write(mapWriter.writeValueAsBytes(
-                ImmutableMap.of(request.getRequestType().name().toLowerCase(), requestData))
-            );
-            outputStream.write(NEW_LINE_BYTES);
-            if (request.getSource() != null) {
-                outputStream.write(mapWriter.writeValueAsBytes(request.getSource()));
-                outputStream.write(NEW_LINE_BYTES);
+    /**
+     * Sends the items as one bulk request and retries those items which were rejected by Elasticsearch because of
+     * a full queue, waiting exponentially longer between the attempts.
+     */
+    private void bulkRequestWithRetries(List<BulkItem> items, String ingestPipeline, boolean refresh) throws IOException {
+        List<BulkItem> pending = items;
+        long waitMs = bulkRetryInitialWaitMs;
+        for (int retry = 0; ; retry++) {
+            pending = performBulkRequest(pending, ingestPipeline, refresh);
+            if (pending.isEmpty()) {
+                return;
+            }
+            if (retry >= bulkRetryLimit) {
+                throw new IOException("Elasticsearch rejected " + pending.size() + " bulk operation(s) after " +
+                    retry + " retries");
             }
+            log.debug("Elasticsearch rejected {} bulk operation(s), retrying in {} ms", pending.size(), waitMs);
+            try {
+                Thread.sleep(waitMs);
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting to retry Elasticsearch bulk request");
+            }
+            waitMs *= 2;
+        }
+    }
+
+    /**
+     * @return the items which were rejected with status 429 and can be retried
+     */
+    private List<BulkItem> performBulkRequest(List<BulkItem> items, String ingestPipeline, boolean refresh) throws IOException {
+        final ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        for (final BulkItem item : items) {
+            outputStream.write(item.data);
         }
 
         final StringBuilder builder = new StringBuilder();
         if (ingestPipeline != null) {
             APPEND_OP.apply(builder).append("pipeline=").append(ingestPipeline);
         }
-        if (bulkRefreshEnabled) {
+        if (refresh) {
             APPEND_OP.apply(builder).append("refresh=").append(bulkRefresh);
         }
         builder.insert(0, REQUEST_SEPARATOR + "_bulk");
 
-        final Response response = performRequest(REQUEST_TYPE_POST, builder.toString(), outputStream.toByteArray());
+        final Response response;
+        try {
+            response = performRequest(REQUEST_TYPE_POST, builder.toString(), outputStream.toByteArray());
+        } catch (ResponseException e) {
+            if (e.getResponse().getStatusLine().getStatusCode() == TOO_MANY_REQUESTS) {
+                return items;
+            }
+            throw e;
+        }
         try (final InputStream inputStream = response.getEntity().getContent()) {
             final RestBulkResponse bulkResponse = mapper.readValue(inputStream, RestBulkResponse.class);
-            final List<Object> errors = bulkResponse.getItems().stream()
-                .flatMap(item -> item.values().stream())
-                .filter(item -> item.getError() != null && item.getStatus() != 404)
-                .map(RestBulkItemResponse::getError).collect(Collectors.toList());
+            final List<BulkItem> rejected = new ArrayList<>();
+            final List<Object> errors = new ArrayList<>();
+            final Iterator<BulkItem> requestItems = items.iterator();
+            for (final Map<String, RestBulkItemResponse> itemResponses : bulkResponse.getItems()) {
+                final BulkItem item = requestItems.next();
+                for (final RestBulkItemResponse itemResponse : itemResponses.values()) {
+                    if (itemResponse.getError() == null || itemResponse.getStatus() == 404) continue;
+                    if (itemResponse.getStatus() == TOO_MANY_REQUESTS) {
+                        rejected.add(item);
+                    } else {
+                        errors.add(itemResponse.getError());
+                    }
+                }
+            }
             if (!errors.isEmpty()) {
                 errors.forEach(error -> log.error("Failed to execute ES query: {}", error));
                 throw new IOException("Failure(s) in Elasticsearch bulk request: " + errors);
             }
+            return rejected;
+        }
+    }
+
+    /**
+     * Refreshes the given indices. Callers which arrive while a refresh is waiting for the previous one to finish
+     * join that pending refresh, so concurrently committing transactions share a single refresh.
+     */
+    private void refresh(Set<String> indices) throws IOException {
+        final PendingRefresh refresh;
+        final boolean executor;
+        synchronized (refreshLock) {
+            executor = pendingRefresh == null;
+            if (executor) {
+                pendingRefresh = new PendingRefresh();
+            }
+            refresh = pendingRefresh;
+            refresh.indices.addAll(indices);
+        }
+        if (executor) {
+            synchronized (refreshExecutionLock) {
+                synchronized (refreshLock) {
+                    pendingRefresh = null;
+                }
+                try {
+                    performRequest(REQUEST_TYPE_POST,
+                        REQUEST_SEPARATOR + String.join(",", refresh.indices) + REQUEST_SEPARATOR + "_refresh", null);
+                    refresh.result.complete(null);
+                } catch (IOException | RuntimeException e) {
+                    refresh.result.completeExceptionally(e);
+                    throw e;
+                }
+            }
+        } else {
+            try {
+                refresh.result.get();
+            } catch (InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new InterruptedIOException("Interrupted while waiting for Elasticsearch refresh");
+            } catch (ExecutionException e) {
+                throw new IOException("Failure in Elasticsearch refresh", e.getCause());
+            }
+        }
+    }
+
+    private synchronized ExecutorService getBulkExecutor() {
+        if (bulkExecutor == null) {
+            bulkExecutor = Executors.newFixedThreadPool(bulkConcurrentRequests,
+                new ThreadFactoryBuilder().setDaemon(true).setNameFormat("ES-bulk-%d").build());
         }
+        return bulkExecutor;
+    }
+
+    public void setBulkChunkSizeLimitBytes(int bulkChunkSizeLimitBytes) {
+        this.bulkChunkSizeLimitBytes = bulkChunkSizeLimitBytes;
+    }
+
+    public void setBulkMaxDocuments(int bulkMaxDocuments) {
+        this.bulkMaxDocuments = bulkMaxDocuments;
+    }
+
+    public void setBulkConcurrentRequests(int bulkConcurrentRequests) {
+        this.bulkConcurrentRequests = bulkConcurrentRequests;
+    }
+
+    public void setBulkRetry(int bulkRetryLimit, Duration bulkRetryInitialWait) {
+        this.bulkRetryLimit = bulkRetryLimit;
+        this.bulkRetryInitialWaitMs = bulkRetryInitialWait.toMillis();
+    }
+
+    public void setBulkRefreshCoalesced(boolean bulkRefreshCoalesced) {
+        this.bulkRefreshCoalesced = bulkRefreshCoalesced;
     }
 
     public void setRetryOnConflict(Integer retryOnConflict) {
@@ -488,6 +739,25 @@ public class RestElasticSearchClient implements ElasticSearchClient {
         return response;
     }
 
+    private static final class BulkItem {
+
+        private final ElasticSearchMutation request;
+
+        private final byte[] data;
+
+        private BulkItem(ElasticSearchMutation request, byte[] data) {
+            this.request = request;
+            this.data = data;
+        }
+    }
+
+    private static final class PendingRefresh {
+
+        private final Set<String> indices = new HashSet<>();
+
+        private final CompletableFuture<Void> result = new CompletableFuture<>();
+    }
+
     @JsonIgnoreProperties(ignoreUnknown=true)
     private static final class ClusterInfo {
 
@@ -78,6 +78,8 @@ public class RestClientSetupTest {
 
     private static final Integer RETRY_ON_CONFLICT = ElasticSearchIndex.RETRY_ON_CONFLICT.getDefaultValue();
 
+    private static final int ES_BULK_MAX_DOCUMENTS = ElasticSearchIndex.BULK_MAX_DOCUMENTS.getDefaultValue() / 2;
+
     private static final AtomicInteger instanceCount = new AtomicInteger();
 
     @Captor
@@ -193,6 +195,8 @@ public class RestClientSetupTest {
                 put("index." + INDEX_NAME + ".elasticsearch.scroll-keep-alive", String.valueOf(ES_SCROLL_KA)).
                 put("index." + INDEX_NAME + ".elasticsearch.bulk-refresh", ES_BULK_REFRESH).
                 put("index." + INDEX_NAME + ".elasticsearch.retry_on_conflict", String.valueOf(RETRY_ON_CONFLICT)).
+                put("index." + INDEX_NAME + ".elasticsearch.bulk-max-documents", String.valueOf(ES_BULK_MAX_DOCUMENTS)).
+                put("index." + INDEX_NAME + ".elasticsearch.bulk-refresh-coalesce", "true").
                 build());
 
         assertNotNull(hostsConfigured);
@@ -209,6 +213,8 @@ public class RestClientSetupTest {
 
         verify(restElasticSearchClientMock).setBulkRefresh(eq(ES_BULK_REFRESH));
         verify(restElasticSearchClientMock).setRetryOnConflict(eq(RETRY_ON_CONFLICT));
+        verify(restElasticSearchClientMock).setBulkMaxDocuments(eq(ES_BULK_MAX_DOCUMENTS));
+        verify(restElasticSearchClientMock).setBulkRefreshCoalesced(eq(true));
 
     }
 
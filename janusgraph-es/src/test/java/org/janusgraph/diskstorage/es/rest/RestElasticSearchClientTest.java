@@ -0,0 +1,165 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.es.rest;
+
+import static org.junit.jupiter.api.Assertions.*;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
+import static org.mockito.Mockito.*;
+
+import java.io.IOException;
+import java.time.Duration;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import java.util.stream.IntStream;
+
+import org.apache.commons.io.IOUtils;
+import org.apache.http.StatusLine;
+import org.apache.http.entity.ContentType;
+import org.apache.http.entity.StringEntity;
+import org.elasticsearch.client.Request;
+import org.elasticsearch.client.Response;
+import org.elasticsearch.client.RestClient;
+import org.janusgraph.diskstorage.es.ElasticSearchMutation;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import com.google.common.collect.ImmutableMap;
+
+public class RestElasticSearchClientTest {
+
+    private static final String INDEX_NAME = "janusgraph_test";
+
+    private RestClient restClientMock;
+
+    private final List<String> requests = Collections.synchronizedList(new ArrayList<>());
+
+    private final Map<String, Integer> rejections = new ConcurrentHashMap<>();
+
+    @BeforeEach
+    public void setUp() throws IOException {
+        restClientMock = mock(RestClient.class);
+        when(restClientMock.performRequest(any(Request.class))).thenAnswer(invocation -> {
+            final Request request = invocation.getArgument(0);
+            if (!request.getEndpoint().startsWith("/_bulk")) {
+                requests.add(request.getEndpoint());
+                return response("{\"version\":{\"number\":\"7.6.2\"}}");
+            }
+            final String body = IOUtils.toString(request.getEntity().getContent(), "UTF-8");
+            requests.add(body);
+            final String items = lines(body).stream().filter(line -> line.contains("\"_id\"")).map(line -> {
+                final String id = line.replaceAll(".*\"_id\":\"([^\"]*)\".*", "$1");
+                final int rejected = rejections.getOrDefault(id, 0);
+                if (rejected > 0) {
+                    rejections.put(id, rejected - 1);
+                    return "{\"index\":{\"status\":429,\"error\":{\"type\":\"es_rejected_execution_exception\"}}}";
+                }
+                return "{\"index\":{\"status\":201}}";
+            }).collect(Collectors.joining(","));
+            return response("{\"errors\":false,\"items\":[" + items + "]}");
+        });
+    }
+
+    private static List<String> lines(String body) {
+        return Arrays.asList(body.split("\n"));
+    }
+
+    private static Response response(String body) {
+        final Response response = mock(Response.class);
+        final StatusLine statusLine = mock(StatusLine.class);
+        when(statusLine.getStatusCode()).thenReturn(200);
+        when(response.getStatusLine()).thenReturn(statusLine);
+        when(response.getEntity()).thenReturn(new StringEntity(body, ContentType.APPLICATION_JSON));
+        return response;
+    }
+
+    private RestElasticSearchClient getClient(int maxDocuments, int concurrentRequests) {
+        final RestElasticSearchClient client = new RestElasticSearchClient(restClientMock, 60, false);
+        client.setBulkMaxDocuments(maxDocuments);
+        client.setBulkConcurrentRequests(concurrentRequests);
+        client.setBulkRetry(2, Duration.ofMillis(1));
+        requests.clear();
+        return client;
+    }
+
+    private static List<ElasticSearchMutation> getMutations(int numDocuments, Function<Integer, String> id) {
+        return IntStream.range(0, numDocuments).mapToObj(i -> ElasticSearchMutation.createIndexRequest(INDEX_NAME,
+            "vertex", id.apply(i), ImmutableMap.of("name", "v" + i))).collect(Collectors.toList());
+    }
+
+    @Test
+    public void testSmallBulkIsSentAsSingleRequest() throws IOException {
+        final RestElasticSearchClient client = getClient(10, 4);
+        client.bulkRequest(getMutations(10, String::valueOf), null);
+        assertEquals(1, requests.size());
+    }
+
+    @Test
+    public void testLargeBulkIsSplitAndKeepsOrderPerDocument() throws IOException {
+        final RestElasticSearchClient client = getClient(3, 4);
+        //Every document is updated five times
+        client.bulkRequest(getMutations(50, i -> "doc" + (i % 10)), null);
+        assertTrue(requests.size() > 4);
+        assertTrue(requests.stream().allMatch(body -> lines(body).stream().filter(line -> line.contains("\"_id\"")).count() <= 3));
+
+        final List<String> lines = requests.stream().flatMap(body -> lines(body).stream()).collect(Collectors.toList());
+        assertEquals(100, lines.size());
+        for (int doc = 0; doc < 10; doc++) {
+            final String id = "\"_id\":\"doc" + doc + "\"";
+            final List<String> sources = new ArrayList<>();
+            for (int i = 0; i < lines.size(); i += 2) {
+                if (lines.get(i).contains(id)) sources.add(lines.get(i + 1));
+            }
+            final int first = doc;
+            assertEquals(IntStream.range(0, 5).mapToObj(i -> "{\"name\":\"v" + (first + 10 * i) + "\"}")
+                .collect(Collectors.toList()), sources);
+        }
+    }
+
+    @Test
+    public void testOnlyRejectedItemsAreRetried() throws IOException {
+        final RestElasticSearchClient client = getClient(10, 1);
+        rejections.put("3", 2);
+        client.bulkRequest(getMutations(5, String::valueOf), null);
+        assertEquals(3, requests.size());
+        assertEquals(1, lines(requests.get(1)).stream().filter(line -> line.contains("\"_id\"")).count());
+        assertTrue(requests.get(2).contains("\"_id\":\"3\""));
+    }
+
+    @Test
+    public void testRejectedItemsFailAfterRetryLimit() {
+        final RestElasticSearchClient client = getClient(10, 1);
+        rejections.put("1", 3);
+        assertThrows(IOException.class, () -> client.bulkRequest(getMutations(5, String::valueOf), null));
+        assertEquals(3, requests.size());
+    }
+
+    @Test
+    public void testCoalescedRefreshIsSentOnceAfterAllChunks() throws IOException {
+        final RestElasticSearchClient client = getClient(2, 2);
+        client.setBulkRefresh("true");
+        client.setBulkRefreshCoalesced(true);
+        client.bulkRequest(getMutations(10, String::valueOf), null);
+        assertEquals("/" + INDEX_NAME + "/_refresh", requests.get(requests.size() - 1));
+        assertEquals(1, requests.stream().filter(request -> request.endsWith("_refresh")).count());
+        verify(restClientMock, never()).performRequest(argThat(request -> request.getEndpoint().contains("refresh=")));
+    }
+}
@@ -65,11 +65,14 @@ class BufferPage {
     }
 
     public boolean isEmpty() {
-        return offsetIndex.length == 0;
+        return getOffsetIndex().length == 0;
     }
 
     public int getIndex(final StaticBuffer column) {
         //binary search on column names
+        //NOTE: accessing the arrays through the getters allows subclasses to load them lazily, see MappedBufferPage
+        final int[] offsetIndex = getOffsetIndex();
+        final byte[] rawData = getRawData();
         int low = 0;
         int high = offsetIndex.length - 1;
         int compare;
@@ -96,25 +99,27 @@ class BufferPage {
     }
 
     private int getEntryLength(final int index) {
+        final int[] offsetIndex = getOffsetIndex();
         if (index < offsetIndex.length - 1) {
             return offsetIndex[index + 1] - offsetIndex[index];
         } else {
-            return rawData.length - offsetIndex[index];
+            return getRawData().length - offsetIndex[index];
         }
     }
 
     private int getEntryEndOffset(final int index) {
+        final int[] offsetIndex = getOffsetIndex();
         if (index < offsetIndex.length - 1) {
             return offsetIndex[index + 1];
         } else {
-            return rawData.length;
+            return getRawData().length;
         }
     }
 
     public Entry get(final int index) {
         final int entryBufLen = getEntryLength(index);
 
-        final ByteBuffer entryBuffer = ByteBuffer.wrap(rawData, offsetIndex[index], entryBufLen);
+        final ByteBuffer entryBuffer = ByteBuffer.wrap(getRawData(), getOffsetIndex()[index], entryBufLen);
 
         final byte valPos = entryBuffer.get();
 
@@ -128,15 +133,17 @@ class BufferPage {
     }
 
     public Entry getNoCopy(final int index) {
-        return new StaticArrayEntry(rawData, offsetIndex[index] + 1, getEntryEndOffset(index), rawData[offsetIndex[index]]);
+        final byte[] rawData = getRawData();
+        final int offset = getOffsetIndex()[index];
+        return new StaticArrayEntry(rawData, offset + 1, getEntryEndOffset(index), rawData[offset]);
     }
 
     public int numEntries() {
-        return offsetIndex.length;
+        return getOffsetIndex().length;
     }
 
     public int byteSize() {
-        return rawData.length + offsetIndex.length * Integer.BYTES + 16;
+        return getRawData().length + getOffsetIndex().length * Integer.BYTES + 16;
     }
 
     public static List<BufferPage> merge(List<BufferPage> pagesToMerge, int maxPageSize) {
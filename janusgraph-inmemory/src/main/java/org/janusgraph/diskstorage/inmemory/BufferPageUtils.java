@@ -23,6 +23,7 @@ import org.slf4j.LoggerFactory;
 import java.io.DataInputStream;
 import java.io.DataOutputStream;
 import java.io.IOException;
+import java.nio.ByteBuffer;
 import java.util.ArrayList;
 import java.util.List;
 
@@ -59,6 +60,40 @@ public final class BufferPageUtils {
             return new BufferPage(BufferPage.EMPTY_INDEX, BufferPage.EMPTY_DATA);
     }
 
+    /**
+     * Reads a page which was written by {@link #dumpTo(BufferPage, DataOutputStream)} at the given position of a
+     * buffer, e.g. a memory-mapped snapshot file. The buffer's position is not modified.
+     */
+    public static BufferPage readPage(ByteBuffer buffer, int position) {
+        ByteBuffer in = buffer.duplicate();
+        in.position(position);
+        int numEntries = in.getInt();
+        if (numEntries > 0) {
+            int[] index = new int[numEntries];
+            //unlike DataInputStream, a ByteBuffer can read the whole int[] at once
+            in.asIntBuffer().get(index);
+            in.position(in.position() + numEntries * Integer.BYTES);
+
+            byte[] data = new byte[in.getInt()];
+            in.get(data);
+
+            return new BufferPage(index, data);
+        } else
+            return new BufferPage(BufferPage.EMPTY_INDEX, BufferPage.EMPTY_DATA);
+    }
+
+    /**
+     * Returns the number of bytes occupied by the page dumped at the given position of a buffer.
+     */
+    public static int getPageByteSize(ByteBuffer buffer, int position) {
+        int numEntries = buffer.getInt(position);
+        if (numEntries > 0) {
+            int dataLengthPosition = position + Integer.BYTES + numEntries * Integer.BYTES;
+            return dataLengthPosition + Integer.BYTES + buffer.getInt(dataLengthPosition) - position;
+        } else
+            return Integer.BYTES;
+    }
+
     public static void readWholeArray(DataInputStream in, byte[] data) throws IOException {
         int offset = 0;
         do {
@@ -92,6 +127,26 @@ public final class BufferPageUtils {
         }
     }
 
+    /**
+     * Creates a buffer for a row which was dumped by {@link SharedEntryBuffer#dumpTo(DataOutputStream)} at the given
+     * position of a memory-mapped snapshot file. The pages of the buffer are only read from the file when they are first
+     * accessed.
+     */
+    public static SharedEntryBuffer mapFrom(ByteBuffer mapped, int numPages, int position) {
+        //skip the number of pages, which precedes the pages of a dumped row
+        int pagePosition = position + Integer.BYTES;
+        if (numPages == 1) {
+            return new MappedSinglePageEntryBuffer(mapped, pagePosition);
+        } else {
+            List<BufferPage> pages = new ArrayList<>(numPages);
+            for (int i = 0; i < numPages; i++) {
+                pages.add(new MappedBufferPage(mapped, pagePosition));
+                pagePosition += getPageByteSize(mapped, pagePosition);
+            }
+            return new MultiPageEntryBuffer(pages);
+        }
+    }
+
     public static BufferPage buildFromEntryArray(final Entry[] array, final int start, final int end) {
         Preconditions.checkArgument(start >= 0 && end <= array.length);
         final int size = end - start;
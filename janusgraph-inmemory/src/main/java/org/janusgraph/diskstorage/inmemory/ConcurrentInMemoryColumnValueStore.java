@@ -0,0 +1,93 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.inmemory;
+
+import org.janusgraph.diskstorage.Entry;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+
+import java.io.DataOutputStream;
+import java.io.IOException;
+
+/**
+ * Copy-on-write variant of {@link InMemoryColumnValueStore} used by {@link ConcurrentInMemoryKeyColumnValueStore}.
+ * <p>
+ * Writers serialize on this store, apply their mutation to a copy of the current {@link SharedEntryBuffer} and then
+ * publish the copy. Since published buffers are never modified again, readers neither lock nor validate: they simply
+ * read the current buffer, which is always a consistent version of the row.
+ * <p>
+ * Copying a buffer is cheap because pages are shared between versions: a mutation rewrites only the pages it hits
+ * (which {@link BufferPage#merge} does anyway) and otherwise just copies the list of pages.
+ */
+class ConcurrentInMemoryColumnValueStore extends InMemoryColumnValueStore {
+
+    ConcurrentInMemoryColumnValueStore() {
+        super();
+    }
+
+    ConcurrentInMemoryColumnValueStore(SharedEntryBuffer buffer) {
+        super(buffer);
+    }
+
+    @Override
+    boolean isEmpty(StoreTransaction txh) {
+        return buffer.isEmpty();
+    }
+
+    @Override
+    EntryList getSlice(KeySliceQuery query, StoreTransaction txh) {
+        return buffer.getSlice(query);
+    }
+
+    @Override
+    protected synchronized void mutate(Entry[] add, Entry[] del, StoreTransaction txh) {
+        SharedEntryBuffer next = buffer.copy();
+        next.mutate(add, del, getMaxPageSize());
+        if (!next.isPaged() && next.numEntries() > getMaxPageSize()) {
+            next = new MultiPageEntryBuffer((BufferPage) next);
+        }
+        buffer = next;
+    }
+
+    @Override
+    public int numPages(StoreTransaction txh) {
+        return buffer.numPages();
+    }
+
+    @Override
+    public int numEntries(StoreTransaction txh) {
+        return buffer.numEntries();
+    }
+
+    @Override
+    public SharedEntryBufferFragmentationReport createFragmentationReport(StoreTransaction txh) {
+        return buffer.createFragmentationReport(getMaxPageSize());
+    }
+
+    @Override
+    public synchronized void quickDefragment(StoreTransaction txh) {
+        SharedEntryBuffer next = buffer.copy();
+        next.quickDefragment(getMaxPageSize());
+        buffer = next;
+    }
+
+    @Override
+    public int dumpTo(DataOutputStream out) throws IOException {
+        SharedEntryBuffer current = buffer;
+        current.dumpTo(out);
+        return current.numPages();
+    }
+}
@@ -0,0 +1,354 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.inmemory;
+
+import com.google.common.base.Preconditions;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.util.StaticArrayBuffer;
+
+import javax.annotation.Nullable;
+import java.util.AbstractMap;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.locks.StampedLock;
+
+/**
+ * Variant of {@link InMemoryKeyColumnValueStore} for workloads with many concurrent threads.
+ * <p>
+ * Instead of a skip list of key objects, rows are held in an immutable key arena: all keys are stored back to back
+ * in a single sorted byte array, alongside an offset index and an array of the corresponding rows. Rows created since
+ * the arena was last built are held in a hash map and periodically merged into a new arena, which is then published.
+ * Looking up a row therefore never locks, and the rows themselves are {@link ConcurrentInMemoryColumnValueStore}s
+ * which do not lock on reads either.
+ * <p>
+ * Row creation takes the read lock of one of a fixed number of {@link StampedLock} stripes, selected by the key's hash,
+ * so that concurrent row creation does not contend. Publishing a new arena takes the write locks of all stripes, which
+ * guarantees that a key is never added to the hash map while it is being moved into the arena.
+ */
+public class ConcurrentInMemoryKeyColumnValueStore extends InMemoryKeyColumnValueStore {
+
+    //power of two, so that the stripe can be selected by masking the key's hash
+    private static final int NUM_STRIPES = 64;
+    private static final int MIN_MERGE_THRESHOLD = 1024;
+    //new rows are merged into the arena once they amount to this fraction of the rows in the arena
+    private static final int MERGE_RATIO = 8;
+
+    private static final Comparator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> KEY_ORDER = Map.Entry.comparingByKey();
+
+    private final StampedLock[] stripes;
+    private final ConcurrentHashMap<StaticBuffer, InMemoryColumnValueStore> newRows;
+    private final AtomicBoolean merging;
+    private volatile KeyArena arena;
+
+    public ConcurrentInMemoryKeyColumnValueStore(final String name) {
+        super(name);
+        this.stripes = new StampedLock[NUM_STRIPES];
+        for (int i = 0; i < stripes.length; i++) {
+            stripes[i] = new StampedLock();
+        }
+        this.newRows = new ConcurrentHashMap<>();
+        this.merging = new AtomicBoolean(false);
+        this.arena = KeyArena.EMPTY;
+    }
+
+    @Override
+    protected InMemoryColumnValueStore getRow(StaticBuffer key) {
+        //check new rows before the arena: a row is removed from the new rows only after the arena containing it was published
+        InMemoryColumnValueStore row = newRows.get(key);
+        return row != null ? row : arena.get(key);
+    }
+
+    @Override
+    protected InMemoryColumnValueStore getOrCreateRow(StaticBuffer key) {
+        InMemoryColumnValueStore row = getRow(key);
+        if (row != null) return row;
+        StampedLock stripe = getStripe(key);
+        long stamp = stripe.readLock();
+        try {
+            //the row may have been moved into the arena since it was looked up
+            row = arena.get(key);
+            if (row == null) row = newRows.computeIfAbsent(key, k -> new ConcurrentInMemoryColumnValueStore());
+        } finally {
+            stripe.unlockRead(stamp);
+        }
+        mergeIfNeeded();
+        return row;
+    }
+
+    @Override
+    protected void putRow(StaticBuffer key, InMemoryColumnValueStore row) {
+        StampedLock stripe = getStripe(key);
+        long stamp = stripe.readLock();
+        try {
+            Preconditions.checkState(arena.get(key) == null, "Row already exists: %s", key);
+            newRows.put(key, row);
+        } finally {
+            stripe.unlockRead(stamp);
+        }
+        mergeIfNeeded();
+    }
+
+    @Override
+    protected InMemoryColumnValueStore newRow(SharedEntryBuffer buffer) {
+        return new ConcurrentInMemoryColumnValueStore(buffer);
+    }
+
+    @Override
+    protected Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> getRows(@Nullable StaticBuffer start, @Nullable StaticBuffer end) {
+        //collect the new rows before reading the arena, for the same reason as in getRow
+        List<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> added = new ArrayList<>();
+        newRows.forEach((key, row) -> {
+            if ((start == null || key.compareTo(start) >= 0) && (end == null || key.compareTo(end) < 0)) {
+                added.add(new AbstractMap.SimpleImmutableEntry<>(key, row));
+            }
+        });
+        added.sort(KEY_ORDER);
+        KeyArena current = arena;
+        return new MergingRowIterator(current, current.lowerBound(start), end == null ? current.size() : current.lowerBound(end), added.iterator());
+    }
+
+    @Override
+    protected int getNumRows() {
+        return arena.size() + newRows.size();
+    }
+
+    @Override
+    public void clear() {
+        long[] stamps = lockAll();
+        try {
+            arena = KeyArena.EMPTY;
+            newRows.clear();
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    private StampedLock getStripe(StaticBuffer key) {
+        int h = key.hashCode();
+        return stripes[(h ^ (h >>> 16)) & (NUM_STRIPES - 1)];
+    }
+
+    private long[] lockAll() {
+        long[] stamps = new long[stripes.length];
+        for (int i = 0; i < stripes.length; i++) {
+            stamps[i] = stripes[i].writeLock();
+        }
+        return stamps;
+    }
+
+    private void unlockAll(long[] stamps) {
+        for (int i = stripes.length - 1; i >= 0; i--) {
+            stripes[i].unlockWrite(stamps[i]);
+        }
+    }
+
+    private void mergeIfNeeded() {
+        if (newRows.size() < Math.max(MIN_MERGE_THRESHOLD, arena.size() / MERGE_RATIO)) return;
+        //only one thread merges at a time, the others carry on adding new rows
+        if (!merging.compareAndSet(false, true)) return;
+        try {
+            mergeNewRows();
+        } finally {
+            merging.set(false);
+        }
+    }
+
+    /**
+     * Builds a new arena from the current one and the new rows without holding any lock, then publishes it and
+     * removes the merged rows from the new rows while holding all stripe locks.
+     */
+    void mergeNewRows() {
+        KeyArena base = arena;
+        List<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> added = new ArrayList<>(newRows.size());
+        newRows.forEach((key, row) -> added.add(new AbstractMap.SimpleImmutableEntry<>(key, row)));
+        if (added.isEmpty()) return;
+        added.sort(KEY_ORDER);
+        KeyArena merged = KeyArena.merge(base, added);
+
+        long[] stamps = lockAll();
+        try {
+            //the store may have been cleared in the meantime, in which case the merged rows are gone
+            if (arena != base) return;
+            arena = merged;
+            for (Map.Entry<StaticBuffer, InMemoryColumnValueStore> e : added) {
+                newRows.remove(e.getKey(), e.getValue());
+            }
+        } finally {
+            unlockAll(stamps);
+        }
+    }
+
+    /**
+     * Immutable sorted set of keys held in a single byte array, with their rows.
+     */
+    private static final class KeyArena {
+
+        static final KeyArena EMPTY = new KeyArena(new byte[0], new int[]{0}, new InMemoryColumnValueStore[0]);
+
+        private final byte[] keys;
+        //offsets[i] is the start of the i-th key, offsets[size()] is the end of the last key
+        private final int[] offsets;
+        private final InMemoryColumnValueStore[] rows;
+
+        KeyArena(byte[] keys, int[] offsets, InMemoryColumnValueStore[] rows) {
+            this.keys = keys;
+            this.offsets = offsets;
+            this.rows = rows;
+        }
+
+        int size() {
+            return rows.length;
+        }
+
+        StaticBuffer getKey(int index) {
+            return new StaticArrayBuffer(keys, offsets[index], offsets[index + 1]);
+        }
+
+        InMemoryColumnValueStore getRow(int index) {
+            return rows[index];
+        }
+
+        int compareTo(StaticBuffer key, int index) {
+            Preconditions.checkArgument(key instanceof StaticArrayBuffer);
+            return ((StaticArrayBuffer) key).compareTo(keys, offsets[index], offsets[index + 1]);
+        }
+
+        int find(StaticBuffer key) {
+            int low = 0;
+            int high = rows.length - 1;
+            while (low <= high) {
+                int mid = (low + high) >>> 1;
+                int compare = compareTo(key, mid);
+                if (compare > 0) {
+                    low = mid + 1;
+                } else if (compare < 0) {
+                    high = mid - 1;
+                } else {
+                    return mid;
+                }
+            }
+            return -(low + 1);
+        }
+
+        InMemoryColumnValueStore get(StaticBuffer key) {
+            int index = find(key);
+            return index >= 0 ? rows[index] : null;
+        }
+
+        /**
+         * Returns the index of the first key which is greater than or equal to the given key, 0 for a null key.
+         */
+        int lowerBound(@Nullable StaticBuffer key) {
+            if (key == null) return 0;
+            int index = find(key);
+            return index >= 0 ? index : -index - 1;
+        }
+
+        static KeyArena merge(KeyArena base, List<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> sortedAdditions) {
+            int numKeys = base.size() + sortedAdditions.size();
+            int numBytes = base.keys.length;
+            for (Map.Entry<StaticBuffer, InMemoryColumnValueStore> e : sortedAdditions) {
+                numBytes += e.getKey().length();
+            }
+            byte[] keys = new byte[numBytes];
+            int[] offsets = new int[numKeys + 1];
+            InMemoryColumnValueStore[] rows = new InMemoryColumnValueStore[numKeys];
+
+            int i = 0;
+            int iadd = 0;
+            int pos = 0;
+            int count = 0;
+            while (i < base.size() || iadd < sortedAdditions.size()) {
+                int compare;
+                if (i >= base.size()) compare = 1;
+                else if (iadd >= sortedAdditions.size()) compare = -1;
+                else compare = -base.compareTo(sortedAdditions.get(iadd).getKey(), i);
+
+                offsets[count] = pos;
+                if (compare <= 0) {
+                    int length = base.offsets[i + 1] - base.offsets[i];
+                    System.arraycopy(base.keys, base.offsets[i], keys, pos, length);
+                    pos += length;
+                    rows[count++] = base.rows[i++];
+                    //a key is never held by both, but skip duplicates just in case
+                    if (compare == 0) iadd++;
+                } else {
+                    StaticArrayBuffer key = (StaticArrayBuffer) sortedAdditions.get(iadd).getKey();
+                    key.copyTo(keys, pos);
+                    pos += key.length();
+                    rows[count++] = sortedAdditions.get(iadd++).getValue();
+                }
+            }
+            offsets[count] = pos;
+            if (count < numKeys) {
+                return new KeyArena(keys, Arrays.copyOf(offsets, count + 1), Arrays.copyOf(rows, count));
+            }
+            return new KeyArena(keys, offsets, rows);
+        }
+    }
+
+    /**
+     * Merges a range of an arena with a sorted list of new rows. A row which is contained in both is returned once.
+     */
+    private static class MergingRowIterator implements Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> {
+
+        private final KeyArena arena;
+        private final int end;
+        private final Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> added;
+
+        private int index;
+        private Map.Entry<StaticBuffer, InMemoryColumnValueStore> nextAdded;
+
+        MergingRowIterator(KeyArena arena, int start, int end, Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> added) {
+            this.arena = arena;
+            this.index = start;
+            this.end = end;
+            this.added = added;
+            this.nextAdded = added.hasNext() ? added.next() : null;
+        }
+
+        @Override
+        public boolean hasNext() {
+            return index < end || nextAdded != null;
+        }
+
+        @Override
+        public Map.Entry<StaticBuffer, InMemoryColumnValueStore> next() {
+            if (!hasNext()) throw new NoSuchElementException();
+            int compare;
+            if (index >= end) compare = 1;
+            else if (nextAdded == null) compare = -1;
+            else compare = -arena.compareTo(nextAdded.getKey(), index);
+
+            Map.Entry<StaticBuffer, InMemoryColumnValueStore> result;
+            if (compare <= 0) {
+                result = new AbstractMap.SimpleImmutableEntry<>(arena.getKey(index), arena.getRow(index));
+                index++;
+                if (compare == 0) nextAdded = added.hasNext() ? added.next() : null;
+            } else {
+                result = nextAdded;
+                nextAdded = added.hasNext() ? added.next() : null;
+            }
+            return result;
+        }
+    }
+}
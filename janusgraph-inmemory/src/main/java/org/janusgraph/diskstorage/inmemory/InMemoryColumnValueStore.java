@@ -43,11 +43,15 @@ class InMemoryColumnValueStore {
 
     static final int DEF_PAGE_SIZE = 500;
 
-    private SharedEntryBuffer buffer;
+    protected volatile SharedEntryBuffer buffer;
 
     public InMemoryColumnValueStore() {
         //we expect most stores to fit into one page, so start with a single-page implementation which has much less overhead
-        buffer = new SinglePageEntryBuffer();
+        this(new SinglePageEntryBuffer());
+    }
+
+    protected InMemoryColumnValueStore(SharedEntryBuffer buffer) {
+        this.buffer = buffer;
     }
 
     public int getMaxPageSize() {
@@ -95,7 +99,7 @@ class InMemoryColumnValueStore {
         }
     }
 
-    synchronized void mutate(List<Entry> additions, List<StaticBuffer> deletions, StoreTransaction txh) {
+    void mutate(List<Entry> additions, List<StaticBuffer> deletions, StoreTransaction txh) {
         //Prepare data
         Entry[] add;
         if (!additions.isEmpty()) {
@@ -122,6 +126,17 @@ class InMemoryColumnValueStore {
             Arrays.sort(del);
         } else del = new Entry[0];
 
+        mutate(add, del, txh);
+    }
+
+    /**
+     * Applies the sorted additions and deletions to this store.
+     *
+     * @param add sorted additions
+     * @param del sorted deletions, none of which is also contained in the additions
+     * @param txh
+     */
+    protected synchronized void mutate(Entry[] add, Entry[] del, StoreTransaction txh) {
         Lock lock = getLock(txh);
         lock.lock();
         try {
@@ -194,21 +209,23 @@ class InMemoryColumnValueStore {
         }
     }
 
-    public void dumpTo(DataOutputStream out) throws IOException {
+    /**
+     * Writes the contents of this store to the given stream.
+     *
+     * @return the number of pages written
+     */
+    public int dumpTo(DataOutputStream out) throws IOException {
         this.lock.lock();
         try {
             buffer.dumpTo(out);
+            return buffer.numPages();
         } finally {
             lock.unlock();
         }
     }
 
     public static InMemoryColumnValueStore readFrom(DataInputStream in) throws IOException {
-        InMemoryColumnValueStore store = new InMemoryColumnValueStore();
-
-        store.buffer = BufferPageUtils.readFrom(in);
-
-        return store;
+        return new InMemoryColumnValueStore(BufferPageUtils.readFrom(in));
     }
 
 }
@@ -18,6 +18,7 @@ import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Lists;
 import com.google.common.collect.Maps;
+import com.google.common.io.CountingOutputStream;
 import org.janusgraph.diskstorage.BackendException;
 import org.janusgraph.diskstorage.Entry;
 import org.janusgraph.diskstorage.EntryList;
@@ -31,6 +32,9 @@ import org.slf4j.LoggerFactory;
 
 import javax.annotation.Nullable;
 import java.io.*;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
@@ -42,6 +46,7 @@ import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
 import java.util.stream.IntStream;
+import java.util.stream.Stream;
 import java.util.zip.Deflater;
 import java.util.zip.DeflaterOutputStream;
 import java.util.zip.Inflater;
@@ -57,6 +62,8 @@ import static org.janusgraph.diskstorage.StaticBuffer.ARRAY_FACTORY;
  *
  * The implementation also provides basic dump/restore capabilities, so that a "snapshot" of its contents can be saved to filesystem
  * and loaded back.
+ * Snapshots can alternatively be written in an uncompressed format which is memory-mapped on restore, so that
+ * restoring only reads the keys and the data of each row is read when it is first accessed.
  *
  * Finally, it provides a means to assess the fragmentation of the data across allocated memory storage, and to defragment it if required.
  * NOTE: with usual "populate then query" and "add only" use cases, fragmentation is of no concern. Only if your application performs
@@ -71,6 +78,11 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
     private static final int READ_BUFFER_SIZE = 1024 * 1024 * 8;
     private static final int WRITE_BUFFER_SIZE = READ_BUFFER_SIZE;
 
+    static final String MAPPED_FILE_SUFFIX = ".mapped";
+    private static final int MAPPED_SNAPSHOT_MAGIC = 0x4A474D53;
+    private static final int MAPPED_SNAPSHOT_VERSION = 1;
+    private static final long MAX_MAPPED_FILE_SIZE = 1L << 30;
+
     private static final Logger log = LoggerFactory.getLogger(InMemoryKeyColumnValueStore.class);
 
     private final String name;
@@ -82,9 +94,55 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
         this.kcv = new ConcurrentSkipListMap<>();
     }
 
+    /**
+     * Returns the row stored under the given key, or null if there is none.
+     */
+    protected InMemoryColumnValueStore getRow(StaticBuffer key) {
+        return kcv.get(key);
+    }
+
+    /**
+     * Returns the row stored under the given key, creating an empty one if there is none.
+     */
+    protected InMemoryColumnValueStore getOrCreateRow(StaticBuffer key) {
+        InMemoryColumnValueStore cvs = kcv.get(key);
+        if (cvs == null) {
+            kcv.putIfAbsent(key, new InMemoryColumnValueStore());
+            cvs = kcv.get(key);
+        }
+        return cvs;
+    }
+
+    /**
+     * Adds a row, e.g. one that was read from a snapshot. Safe to call concurrently.
+     */
+    protected void putRow(StaticBuffer key, InMemoryColumnValueStore row) {
+        kcv.put(key, row);
+    }
+
+    /**
+     * Creates a row with the given contents, e.g. ones that were read from a snapshot.
+     */
+    protected InMemoryColumnValueStore newRow(SharedEntryBuffer buffer) {
+        return new InMemoryColumnValueStore(buffer);
+    }
+
+    /**
+     * Iterates over the rows with keys in [start, end) in key order, where a null start or end means unbounded.
+     */
+    protected Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> getRows(@Nullable StaticBuffer start, @Nullable StaticBuffer end) {
+        final Map<StaticBuffer, InMemoryColumnValueStore> range = start == null ? (end == null ? kcv : kcv.headMap(end))
+            : end == null ? kcv.tailMap(start) : kcv.subMap(start, end);
+        return range.entrySet().iterator();
+    }
+
+    protected int getNumRows() {
+        return kcv.size();
+    }
+
     @Override
     public EntryList getSlice(KeySliceQuery query, StoreTransaction txh) throws BackendException {
-        InMemoryColumnValueStore cvs = kcv.get(query.getKey());
+        InMemoryColumnValueStore cvs = getRow(query.getKey());
         if (cvs == null) return EntryList.EMPTY_LIST;
         else return cvs.getSlice(query, txh);
     }
@@ -98,12 +156,7 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public void mutate(StaticBuffer key, List<Entry> additions, List<StaticBuffer> deletions, StoreTransaction txh) throws BackendException {
-        InMemoryColumnValueStore cvs = kcv.get(key);
-        if (cvs == null) {
-            kcv.putIfAbsent(key, new InMemoryColumnValueStore());
-            cvs = kcv.get(key);
-        }
-        cvs.mutate(additions, deletions, txh);
+        getOrCreateRow(key).mutate(additions, deletions, txh);
     }
 
     @Override
@@ -113,12 +166,30 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public KeyIterator getKeys(final KeyRangeQuery query, final StoreTransaction txh) throws BackendException {
-        return new RowIterator(kcv.subMap(query.getKeyStart(), query.getKeyEnd()).entrySet().iterator(), query, txh);
+        return new RowIterator(getRows(query.getKeyStart(), query.getKeyEnd()), query, txh);
     }
 
     @Override
     public KeyIterator getKeys(SliceQuery query, StoreTransaction txh) throws BackendException {
-        return new RowIterator(kcv.entrySet().iterator(), query, txh);
+        return new RowIterator(getRows(null, null), query, txh);
+    }
+
+    /**
+     * Splits the keys by the value of their first byte, so that the key ranges do not depend on the keys
+     * currently in the store.
+     */
+    @Override
+    public List<KeyIterator> getKeys(SliceQuery query, int numSplits, StoreTransaction txh) throws BackendException {
+        if (numSplits <= 1) return Collections.singletonList(getKeys(query, txh));
+        final int numRanges = Math.min(numSplits, 256);
+        final List<KeyIterator> keyIterators = new ArrayList<>(numRanges);
+        StaticBuffer start = null;
+        for (int i = 1; i <= numRanges; i++) {
+            final StaticBuffer end = i < numRanges ? StaticArrayBuffer.of(new byte[]{(byte) (256 * i / numRanges)}) : null;
+            keyIterators.add(new RowIterator(getRows(start, end), query, txh));
+            start = end;
+        }
+        return keyIterators;
     }
 
     @Override
@@ -132,7 +203,7 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
 
     @Override
     public void close() throws BackendException {
-        kcv.clear();
+        clear();
     }
 
     public InMemoryKeyColumnValueStoreFragmentationReport createFragmentationReport(StoreTransaction txh) throws BackendException {
@@ -155,7 +226,11 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
         int totalCompressablePages = 0;
         int totalAchievablePageReduction = 0;
 
-        for (Map.Entry<StaticBuffer, InMemoryColumnValueStore> e : kcv.entrySet()) {
+        int numStores = 0;
+        Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> rows = getRows(null, null);
+        while (rows.hasNext()) {
+            Map.Entry<StaticBuffer, InMemoryColumnValueStore> e = rows.next();
+            numStores++;
             keysByteSize += e.getKey().length();
             int i;
             int numEntries = e.getValue().numEntries(txh);
@@ -208,7 +283,7 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
         }
 
         return new InMemoryKeyColumnValueStoreFragmentationReport.Builder().name(name)
-        .numStores(kcv.size())
+        .numStores(numStores)
         .numMultipageStores(numMultipageStores)
         .totalPageCount(totalPageCount)
         .numFragmentedStores(numFragmentedStores)
@@ -241,7 +316,9 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
     }
 
     public void quickDefragment(StoreTransaction txh) throws BackendException {
-        quickDefragment(kcv.values(), txh);
+        List<InMemoryColumnValueStore> stores = new ArrayList<>(getNumRows());
+        getRows(null, null).forEachRemaining(e -> stores.add(e.getValue()));
+        quickDefragment(stores, txh);
     }
 
     private static OutputStream compressedOutputStream(OutputStream streamToWrap) {
@@ -253,14 +330,15 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
     }
 
     public void dumpTo(Path storePath, ForkJoinPool parallelOperationsExecutor) {
-        if (kcv.size() < 1)
+        final int numRows = getNumRows();
+        if (numRows < 1)
             return;
 
         int numChunks = Runtime.getRuntime().availableProcessors() * 2;
 
-        int chunkSize = kcv.size() > 1000 ? kcv.size() / numChunks : kcv.size();
+        int chunkSize = numRows > 1000 ? numRows / numChunks : numRows;
 
-        ArrayList<List<Map.Entry<StaticBuffer, InMemoryColumnValueStore>>> chunks = Lists.newArrayList(Iterators.partition(kcv.entrySet().iterator(), chunkSize));
+        ArrayList<List<Map.Entry<StaticBuffer, InMemoryColumnValueStore>>> chunks = Lists.newArrayList(Iterators.partition(getRows(null, null), chunkSize));
 
         IntStream.range(0, chunks.size()).mapToObj(i ->
         {
@@ -301,8 +379,13 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
     }
 
     public static InMemoryKeyColumnValueStore readFrom(Path storePath, String name, ForkJoinPool parallelOperationsExecutor) throws IOException {
-        InMemoryKeyColumnValueStore store = new InMemoryKeyColumnValueStore(name);
+        return readFrom(storePath, new InMemoryKeyColumnValueStore(name), parallelOperationsExecutor);
+    }
 
+    /**
+     * Reads the rows dumped to the given directory into the given (empty) store.
+     */
+    public static InMemoryKeyColumnValueStore readFrom(Path storePath, InMemoryKeyColumnValueStore store, ForkJoinPool parallelOperationsExecutor) throws IOException {
         Files.list(storePath).map(p -> parallelOperationsExecutor.submit(() -> readChunkFrom(p, store)))
             .collect(Collectors.toList()).stream() //force it to submit all tasks
             .map(ForkJoinTask::join).collect(Collectors.toList());
@@ -329,8 +412,8 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
                 byte[] keyData = new byte[keyLength];
                 BufferPageUtils.readWholeArray(in, keyData);
 
-                //NOTE: here we know that kcv is a concurrent map so safe to put in parallel from different chunks
-                store.kcv.put(StaticArrayBuffer.of(keyData), InMemoryColumnValueStore.readFrom(in));
+                //NOTE: putRow is safe to call in parallel from different chunks
+                store.putRow(StaticArrayBuffer.of(keyData), store.newRow(BufferPageUtils.readFrom(in)));
             }
 
             if (log.isDebugEnabled()) {
@@ -343,6 +426,122 @@ public class InMemoryKeyColumnValueStore implements KeyColumnValueStore {
         }
     }
 
+    /**
+     * Dumps the contents of this store to the given directory in the format read by
+     * {@link #readMappedFrom(Path, InMemoryKeyColumnValueStore, ForkJoinPool)}.
+     * <p>
+     * Each file holds uncompressed rows, in the same format as {@link #dumpTo(Path, ForkJoinPool)}, followed by an index
+     * of their keys in key order: magic, version, (row)*, (keyLength, key, numPages, rowPosition)*, indexPosition, numRows.
+     * A new file is started once a file exceeds 1 GB, so that each file can be mapped as a whole.
+     */
+    public void dumpMappedTo(Path storePath, ForkJoinPool parallelOperationsExecutor) {
+        final int numRows = getNumRows();
+        if (numRows < 1)
+            return;
+
+        int numChunks = Runtime.getRuntime().availableProcessors() * 2;
+
+        int chunkSize = numRows > 1000 ? numRows / numChunks : numRows;
+
+        ArrayList<List<Map.Entry<StaticBuffer, InMemoryColumnValueStore>>> chunks = Lists.newArrayList(Iterators.partition(getRows(null, null), chunkSize));
+
+        IntStream.range(0, chunks.size()).mapToObj(i ->
+            parallelOperationsExecutor.submit(() -> {
+                Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> rows = chunks.get(i).iterator();
+                for (int fileNo = 0; rows.hasNext(); fileNo++) {
+                    dumpMappedFile(Paths.get(storePath.toString(), getName() + "_" + i + "_" + fileNo + MAPPED_FILE_SUFFIX), rows);
+                }
+            })
+        ).collect(Collectors.toList()) //collecting here to make sure all tasks are submitted eagerly
+            .stream().map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+
+    private void dumpMappedFile(Path filePath, Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> rows) {
+        try (OutputStream rawStream = Files.newOutputStream(filePath, StandardOpenOption.CREATE_NEW, StandardOpenOption.WRITE);
+             CountingOutputStream countingStream = new CountingOutputStream(new BufferedOutputStream(rawStream, WRITE_BUFFER_SIZE));
+             DataOutputStream out = new DataOutputStream(countingStream)) {
+            out.writeInt(MAPPED_SNAPSHOT_MAGIC);
+            out.writeInt(MAPPED_SNAPSHOT_VERSION);
+
+            List<StaticBuffer> keys = new ArrayList<>();
+            List<Integer> numPages = new ArrayList<>();
+            List<Integer> rowPositions = new ArrayList<>();
+            while (rows.hasNext() && countingStream.getCount() < MAX_MAPPED_FILE_SIZE) {
+                Map.Entry<StaticBuffer, InMemoryColumnValueStore> row = rows.next();
+                rowPositions.add((int) countingStream.getCount());
+                numPages.add(row.getValue().dumpTo(out));
+                keys.add(row.getKey());
+            }
+
+            final long indexPosition = countingStream.getCount();
+            for (int i = 0; i < keys.size(); i++) {
+                out.writeInt(keys.get(i).length());
+                out.write(keys.get(i).as(ARRAY_FACTORY));
+                out.writeInt(numPages.get(i));
+                out.writeInt(rowPositions.get(i));
+            }
+            out.writeInt((int) indexPosition);
+            out.writeInt(keys.size());
+            out.flush();
+            Preconditions.checkState(countingStream.getCount() <= Integer.MAX_VALUE,
+                "Mapped snapshot file %s exceeds the maximum size", filePath);
+
+            if (log.isDebugEnabled()) {
+                log.debug("finished writing mapped file " + filePath + " with " + keys.size() + " rows " + Thread.currentThread().getName());
+            }
+        } catch (IOException ex) {
+            throw new RuntimeException(ex);
+        }
+    }
+
+    /**
+     * Restores the rows dumped by {@link #dumpMappedTo(Path, ForkJoinPool)} into the given (empty) store.
+     * <p>
+     * The snapshot files are memory-mapped rather than read: only the key index is read, and the pages of each row
+     * are read onto the heap when they are first accessed. The snapshot files must therefore not be modified
+     * while the store is in use.
+     */
+    public static InMemoryKeyColumnValueStore readMappedFrom(Path storePath, InMemoryKeyColumnValueStore store, ForkJoinPool parallelOperationsExecutor) throws IOException {
+        try (Stream<Path> files = Files.list(storePath)) {
+            files.filter(p -> p.getFileName().toString().endsWith(MAPPED_FILE_SUFFIX))
+                .map(p -> parallelOperationsExecutor.submit(() -> readMappedFile(p, store)))
+                .collect(Collectors.toList()).stream() //force it to submit all tasks
+                .map(ForkJoinTask::join).collect(Collectors.toList());
+        }
+
+        return store;
+    }
+
+    private static int readMappedFile(Path filePath, InMemoryKeyColumnValueStore store) {
+        try (FileChannel channel = FileChannel.open(filePath, StandardOpenOption.READ)) {
+            final long size = channel.size();
+            Preconditions.checkState(size >= 4 * Integer.BYTES && size <= Integer.MAX_VALUE, "Invalid size of mapped snapshot file %s", filePath);
+            //NOTE: the mapping remains valid after the channel is closed
+            final MappedByteBuffer mapped = channel.map(FileChannel.MapMode.READ_ONLY, 0, size);
+            Preconditions.checkState(mapped.getInt(0) == MAPPED_SNAPSHOT_MAGIC && mapped.getInt(Integer.BYTES) == MAPPED_SNAPSHOT_VERSION,
+                "Not a mapped snapshot file: %s", filePath);
+
+            final int numRows = mapped.getInt((int) size - Integer.BYTES);
+            final ByteBuffer index = mapped.duplicate();
+            index.position(mapped.getInt((int) size - 2 * Integer.BYTES));
+            for (int i = 0; i < numRows; i++) {
+                byte[] keyData = new byte[index.getInt()];
+                index.get(keyData);
+                int numPages = index.getInt();
+                int rowPosition = index.getInt();
+                store.putRow(StaticArrayBuffer.of(keyData), store.newRow(BufferPageUtils.mapFrom(mapped, numPages, rowPosition)));
+            }
+
+            if (log.isDebugEnabled()) {
+                log.debug("finished mapping file " + filePath + " with " + numRows + " rows " + Thread.currentThread().getName());
+            }
+
+            return numRows;
+        } catch (Exception ex) {
+            throw new RuntimeException("Problem while mapping file " + filePath + " of store " + store.getName(), ex);
+        }
+    }
+
 
     private static class RowIterator implements KeyIterator {
         private final Iterator<Map.Entry<StaticBuffer, InMemoryColumnValueStore>> rows;
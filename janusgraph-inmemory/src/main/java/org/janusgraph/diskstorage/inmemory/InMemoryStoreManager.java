@@ -20,6 +20,8 @@ import org.janusgraph.diskstorage.StaticBuffer;
 import org.janusgraph.diskstorage.BaseTransactionConfig;
 import org.janusgraph.diskstorage.StoreMetaData;
 import org.janusgraph.diskstorage.common.AbstractStoreTransaction;
+import org.janusgraph.diskstorage.configuration.ConfigNamespace;
+import org.janusgraph.diskstorage.configuration.ConfigOption;
 import org.janusgraph.diskstorage.configuration.Configuration;
 import org.janusgraph.diskstorage.keycolumnvalue.*;
 import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
@@ -35,6 +37,7 @@ import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.ForkJoinPool;
 import java.util.concurrent.ForkJoinTask;
 import java.util.stream.Collectors;
+import java.util.stream.Stream;
 
 /**
  * In-memory backend storage engine.
@@ -43,10 +46,22 @@ import java.util.stream.Collectors;
 
 public class InMemoryStoreManager implements KeyColumnValueStoreManager {
 
+    public static final ConfigNamespace INMEMORY_NS =
+            new ConfigNamespace(GraphDatabaseConfiguration.STORAGE_NS, "inmemory", "In-memory storage backend options");
+
+    public static final ConfigOption<Boolean> CONCURRENT_STORES = new ConfigOption<>(INMEMORY_NS, "concurrent-stores",
+            "Whether to use the store variant for highly concurrent access. Rows are looked up in a flat sorted key arena " +
+            "without locking, row creation is striped across locks, and every mutation publishes a copy-on-write version " +
+            "of the row so that reads never lock. This scales to many more threads than the default stores, " +
+            "at the cost of copying a row's page list on each mutation.",
+            ConfigOption.Type.MASKABLE, false);
+
     private ConcurrentHashMap<String, InMemoryKeyColumnValueStore> stores;
 
     private final StoreFeatures features;
 
+    private final boolean concurrentStores;
+
     public InMemoryStoreManager() {
         this(Configuration.EMPTY);
     }
@@ -54,6 +69,7 @@ public class InMemoryStoreManager implements KeyColumnValueStoreManager {
     public InMemoryStoreManager(final Configuration configuration) {
 
         stores = new ConcurrentHashMap<>();
+        concurrentStores = configuration.get(CONCURRENT_STORES);
 
         features = new StandardStoreFeatures.Builder()
             .orderedScan(true)
@@ -111,13 +127,17 @@ public class InMemoryStoreManager implements KeyColumnValueStoreManager {
     @Override
     public KeyColumnValueStore openDatabase(final String name, StoreMetaData.Container metaData) throws BackendException {
         if (!stores.containsKey(name)) {
-            stores.putIfAbsent(name, new InMemoryKeyColumnValueStore(name));
+            stores.putIfAbsent(name, newStore(name));
         }
         KeyColumnValueStore store = stores.get(name);
         Preconditions.checkNotNull(store);
         return store;
     }
 
+    private InMemoryKeyColumnValueStore newStore(String name) {
+        return concurrentStores ? new ConcurrentInMemoryKeyColumnValueStore(name) : new InMemoryKeyColumnValueStore(name);
+    }
+
     @Override
     public void mutateMany(Map<String, Map<StaticBuffer, KCVMutation>> mutations, StoreTransaction txh) throws BackendException {
         for (Map.Entry<String, Map<StaticBuffer, KCVMutation>> storeMut : mutations.entrySet()) {
@@ -175,7 +195,8 @@ public class InMemoryStoreManager implements KeyColumnValueStoreManager {
         Files.list(root).filter(path -> path.toFile().isDirectory()).map(storePath -> parallelOperationsExecutor.submit(() ->
         {
             try {
-                newStores.put(storePath.getFileName().toString(), InMemoryKeyColumnValueStore.readFrom(storePath, storePath.getFileName().toString(), parallelOperationsExecutor));
+                final String storeName = storePath.getFileName().toString();
+                newStores.put(storeName, InMemoryKeyColumnValueStore.readFrom(storePath, newStore(storeName), parallelOperationsExecutor));
             } catch (IOException ex) {
                 throw new RuntimeException(ex);
             }
@@ -191,6 +212,55 @@ public class InMemoryStoreManager implements KeyColumnValueStoreManager {
         }
     }
 
+    /**
+     * Like {@link #makeSnapshot(File, ForkJoinPool)}, but writes the snapshot in the uncompressed format which can be
+     * restored with {@link #restoreFromMappedSnapshot(File, ForkJoinPool)}.
+     */
+    public void makeMappedSnapshot(File targetSnapshotDirectory, ForkJoinPool parallelOperationsExecutor) throws IOException {
+        Files.createDirectory(Paths.get(targetSnapshotDirectory.getAbsolutePath()));
+
+        stores.entrySet().stream().map(e -> parallelOperationsExecutor.submit(() ->
+        {
+            try {
+                Path filePath = Paths.get(targetSnapshotDirectory.getAbsolutePath(), e.getKey());
+                Files.createDirectory(filePath);
+                e.getValue().dumpMappedTo(filePath, parallelOperationsExecutor);
+            } catch (Exception ex) {
+                throw new RuntimeException(ex);
+            }
+        })).collect(Collectors.toList()).stream() //force it to submit all tasks
+            .map(ForkJoinTask::join).collect(Collectors.toList());
+    }
+
+    /**
+     * Restores a snapshot made by {@link #makeMappedSnapshot(File, ForkJoinPool)} by memory-mapping its files.
+     * <p>
+     * Only the keys are read during the restore, the data of each row is read onto the heap when it is first accessed.
+     * This makes the restore fast and means that it does not need memory for the data of the old and new stores at the
+     * same time, so the old stores are only replaced once the restore succeeded. The snapshot files must not be modified
+     * or deleted while the restored stores are in use.
+     */
+    public void restoreFromMappedSnapshot(File sourceSnapshotDirectory, ForkJoinPool parallelOperationsExecutor) throws IOException, BackendException {
+        final Path root = Paths.get(sourceSnapshotDirectory.getAbsolutePath());
+        ConcurrentHashMap<String, InMemoryKeyColumnValueStore> newStores = new ConcurrentHashMap<>(stores.size());
+
+        try (Stream<Path> storePaths = Files.list(root)) {
+            storePaths.filter(path -> path.toFile().isDirectory()).map(storePath -> parallelOperationsExecutor.submit(() ->
+            {
+                try {
+                    final String storeName = storePath.getFileName().toString();
+                    newStores.put(storeName, InMemoryKeyColumnValueStore.readMappedFrom(storePath, newStore(storeName), parallelOperationsExecutor));
+                } catch (IOException ex) {
+                    throw new RuntimeException(ex);
+                }
+            })).collect(Collectors.toList()).stream() //force it to submit all tasks
+                .map(ForkJoinTask::join).collect(Collectors.toList());
+        }
+
+        clearStorage();
+        stores = newStores;
+    }
+
     private static class InMemoryTransaction extends AbstractStoreTransaction {
 
         public InMemoryTransaction(final BaseTransactionConfig config) {
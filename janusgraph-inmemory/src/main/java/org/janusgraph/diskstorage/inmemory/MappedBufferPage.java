@@ -0,0 +1,77 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.inmemory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A page of a {@link MultiPageEntryBuffer} restored from a memory-mapped snapshot.
+ * <p>
+ * The page only remembers where it was dumped in the mapped snapshot file. Its offset index and data are read onto
+ * the heap when they are first accessed, so pages which are never touched never leave the snapshot file. Since
+ * {@link MultiPageEntryBuffer} replaces pages on mutation, a mapped page is never written to.
+ */
+class MappedBufferPage extends BufferPage {
+
+    private volatile ByteBuffer mapped;
+    private final int position;
+
+    MappedBufferPage(ByteBuffer mapped, int position) {
+        super(EMPTY_INDEX, EMPTY_DATA);
+        this.mapped = mapped;
+        this.position = position;
+    }
+
+    private void load() {
+        if (mapped != null) {
+            synchronized (this) {
+                if (mapped != null) {
+                    BufferPage page = BufferPageUtils.readPage(mapped, position);
+                    super.setRawData(page.getRawData());
+                    super.setOffsetIndex(page.getOffsetIndex());
+                    mapped = null;
+                }
+            }
+        }
+    }
+
+    boolean isLoaded() {
+        return mapped == null;
+    }
+
+    @Override
+    protected int[] getOffsetIndex() {
+        load();
+        return super.getOffsetIndex();
+    }
+
+    @Override
+    protected byte[] getRawData() {
+        load();
+        return super.getRawData();
+    }
+
+    @Override
+    public int numEntries() {
+        //the number of entries is the first int of a dumped page, no need to load the page for it
+        ByteBuffer current = mapped;
+        return current != null ? current.getInt(position) : super.numEntries();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numEntries() == 0;
+    }
+}
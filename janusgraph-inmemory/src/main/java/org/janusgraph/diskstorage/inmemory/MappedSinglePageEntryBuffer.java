@@ -0,0 +1,90 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.inmemory;
+
+import java.nio.ByteBuffer;
+
+/**
+ * A {@link SinglePageEntryBuffer} restored from a memory-mapped snapshot.
+ * <p>
+ * Like {@link MappedBufferPage}, it reads its page onto the heap when the page is first accessed. After that, and in
+ * particular after the first mutation, it behaves exactly like a {@link SinglePageEntryBuffer}.
+ */
+class MappedSinglePageEntryBuffer extends SinglePageEntryBuffer {
+
+    private volatile ByteBuffer mapped;
+    private final int position;
+
+    MappedSinglePageEntryBuffer(ByteBuffer mapped, int position) {
+        super();
+        this.mapped = mapped;
+        this.position = position;
+    }
+
+    private void load() {
+        if (mapped != null) {
+            synchronized (this) {
+                if (mapped != null) {
+                    BufferPage page = BufferPageUtils.readPage(mapped, position);
+                    super.setRawData(page.getRawData());
+                    super.setOffsetIndex(page.getOffsetIndex());
+                    mapped = null;
+                }
+            }
+        }
+    }
+
+    boolean isLoaded() {
+        return mapped == null;
+    }
+
+    @Override
+    protected int[] getOffsetIndex() {
+        load();
+        return super.getOffsetIndex();
+    }
+
+    @Override
+    protected byte[] getRawData() {
+        load();
+        return super.getRawData();
+    }
+
+    //mutate() replaces the contents without necessarily reading them (e.g. when the page is empty),
+    //so whatever was mapped must not be loaded over them later
+    @Override
+    protected void setOffsetIndex(int[] offsetIndex) {
+        mapped = null;
+        super.setOffsetIndex(offsetIndex);
+    }
+
+    @Override
+    protected void setRawData(byte[] rawData) {
+        mapped = null;
+        super.setRawData(rawData);
+    }
+
+    @Override
+    public int numEntries() {
+        //the number of entries is the first int of a dumped page, no need to load the page for it
+        ByteBuffer current = mapped;
+        return current != null ? current.getInt(position) : super.numEntries();
+    }
+
+    @Override
+    public boolean isEmpty() {
+        return numEntries() == 0;
+    }
+}
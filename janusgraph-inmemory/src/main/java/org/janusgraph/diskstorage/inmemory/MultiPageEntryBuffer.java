@@ -392,6 +392,12 @@ public class MultiPageEntryBuffer implements SharedEntryBuffer {
         }
     }
 
+    @Override
+    public SharedEntryBuffer copy() {
+        //pages are never modified in place, only replaced in the list, so a shallow copy of the list is sufficient
+        return new MultiPageEntryBuffer(pages);
+    }
+
     private int getNumPagesRequired(int currChunkNumEntries, int maxPageSize) {
         return currChunkNumEntries / maxPageSize + (currChunkNumEntries % maxPageSize > 0 ? 1 : 0);
     }
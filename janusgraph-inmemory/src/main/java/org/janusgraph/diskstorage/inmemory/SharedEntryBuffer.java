@@ -46,4 +46,10 @@ public interface SharedEntryBuffer {
 
     void dumpTo(DataOutputStream out) throws IOException;
 
+    /**
+     * Returns a buffer with the same contents which can be mutated without affecting this one. Pages are
+     * shared between both buffers since mutations never modify a page in place, but replace it.
+     */
+    SharedEntryBuffer copy();
+
 }
@@ -121,4 +121,10 @@ public class SinglePageEntryBuffer extends BufferPage implements SharedEntryBuff
 
         BufferPageUtils.dumpTo(this, out); //call dumpTo for Page since this is basically a single page anyway
     }
+
+    @Override
+    public SharedEntryBuffer copy() {
+        //mutate() only reassigns index and rawData, so the arrays themselves can be shared
+        return new SinglePageEntryBuffer(getOffsetIndex(), getRawData());
+    }
 }
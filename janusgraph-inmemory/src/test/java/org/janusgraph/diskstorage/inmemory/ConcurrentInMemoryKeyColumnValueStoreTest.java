@@ -0,0 +1,102 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.inmemory;
+
+import org.janusgraph.diskstorage.KeyColumnValueStoreTest;
+import org.janusgraph.diskstorage.KeyValueStoreUtil;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStoreManager;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyIterator;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
+import org.janusgraph.diskstorage.util.StaticArrayEntry;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ConcurrentInMemoryKeyColumnValueStoreTest extends KeyColumnValueStoreTest {
+
+    @Override
+    public KeyColumnValueStoreManager openStorageManager() {
+        ModifiableConfiguration config = GraphDatabaseConfiguration.buildGraphConfiguration();
+        config.set(InMemoryStoreManager.CONCURRENT_STORES, true);
+        return new InMemoryStoreManager(config);
+    }
+
+    @Override
+    public void clopen() {
+        //Do nothing
+    }
+
+    @Override
+    public void testClearStorage() {}
+
+    @Test
+    public void testConcurrentRowCreation() throws Exception {
+        assertTrue(store instanceof ConcurrentInMemoryKeyColumnValueStore);
+        final int numThreads = 8;
+        final int numRows = 5000;
+        ExecutorService executor = Executors.newFixedThreadPool(numThreads);
+        try {
+            List<Future<?>> futures = new ArrayList<>(numThreads);
+            for (int t = 0; t < numThreads; t++) {
+                final StaticBuffer column = KeyValueStoreUtil.getBuffer(t);
+                //every thread writes its own column to all rows, each starting at a different row
+                final int offset = t * numRows / numThreads;
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < numRows; i++) {
+                        StaticBuffer key = KeyValueStoreUtil.getBuffer((offset + i) % numRows);
+                        store.mutate(key, Collections.singletonList(StaticArrayEntry.of(column, column)), KeyColumnValueStore.NO_DELETIONS, tx);
+                    }
+                    return null;
+                }));
+            }
+            for (Future<?> future : futures) {
+                future.get();
+            }
+        } finally {
+            executor.shutdown();
+        }
+
+        SliceQuery columns = new SliceQuery(KeyValueStoreUtil.MIN_KEY, KeyValueStoreUtil.MAX_KEY);
+        for (int i = 0; i < numRows; i++) {
+            assertEquals(numThreads, store.getSlice(new KeySliceQuery(KeyValueStoreUtil.getBuffer(i), columns), tx).size());
+        }
+
+        ((ConcurrentInMemoryKeyColumnValueStore) store).mergeNewRows();
+        StaticBuffer previous = null;
+        int count = 0;
+        try (KeyIterator keys = store.getKeys(columns, tx)) {
+            while (keys.hasNext()) {
+                StaticBuffer key = keys.next();
+                assertTrue(previous == null || previous.compareTo(key) < 0);
+                previous = key;
+                count++;
+            }
+        }
+        assertEquals(numRows, count);
+    }
+}
@@ -19,17 +19,21 @@ import org.apache.commons.lang.SystemUtils;
 import org.janusgraph.diskstorage.Entry;
 import org.janusgraph.diskstorage.EntryList;
 import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
 import org.janusgraph.diskstorage.keycolumnvalue.KCVMutation;
 import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
 import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
 import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
 import org.janusgraph.diskstorage.util.StandardBaseTransactionConfig;
 import org.janusgraph.diskstorage.util.time.TimestampProviders;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 import org.junit.jupiter.api.Test;
 
 import static org.janusgraph.diskstorage.inmemory.BufferPageTest.makeEntry;
 import static org.janusgraph.diskstorage.inmemory.BufferPageTest.makeStaticBuffer;
 import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.io.File;
 import java.util.*;
@@ -139,4 +143,69 @@ public class InMemoryStoreManagerTest
 
         imsm.close();
     }
+
+    @Test
+    public void testMappedSnapshotCycle() throws Exception
+    {
+        for (boolean concurrentStores : new boolean[] {false, true})
+        {
+            ModifiableConfiguration config = GraphDatabaseConfiguration.buildGraphConfiguration();
+            config.set(InMemoryStoreManager.CONCURRENT_STORES, concurrentStores);
+            InMemoryStoreManager imsm = new InMemoryStoreManager(config);
+            StoreTransaction txh = imsm.beginTransaction(StandardBaseTransactionConfig.of(TimestampProviders.MICRO, imsm.getFeatures().getKeyConsistentTxConfig()));
+            KeyColumnValueStore kcvs = imsm.openDatabase("testStore1");
+
+            kcvs.mutate(makeStaticBuffer("row1"), Arrays.asList(makeEntry("01col1", "val1"), makeEntry("02col2", "val2")), Collections.emptyList(), txh);
+            //add enough columns in several mutations for the second row to span multiple pages
+            for (int i = 0; i < 4; i++) {
+                List<Entry> additions = new ArrayList<>();
+                for (int j = 0; j < 300; j++) {
+                    additions.add(makeEntry(String.format("col%02d%04d", i, j), "val" + j));
+                }
+                kcvs.mutate(makeStaticBuffer("row2"), additions, Collections.emptyList(), txh);
+            }
+
+            KeySliceQuery query1 = new KeySliceQuery(makeStaticBuffer("row1"), makeStaticBuffer(InMemoryColumnValueStoreTest.COL_START), makeStaticBuffer(InMemoryColumnValueStoreTest.VERY_END));
+            KeySliceQuery query2 = new KeySliceQuery(makeStaticBuffer("row2"), makeStaticBuffer(InMemoryColumnValueStoreTest.COL_START), makeStaticBuffer(InMemoryColumnValueStoreTest.VERY_END));
+            EntryList result1 = kcvs.getSlice(query1, txh);
+            EntryList result2 = kcvs.getSlice(query2, txh);
+            assertEquals(2, result1.size());
+            assertEquals(1200, result2.size());
+
+            File testSnapshotDir = new File(SystemUtils.JAVA_IO_TMPDIR, Long.toString(System.currentTimeMillis()));
+            testSnapshotDir.deleteOnExit();
+
+            try
+            {
+                imsm.makeMappedSnapshot(testSnapshotDir, ForkJoinPool.commonPool());
+
+                imsm.clearStorage(); //to make the fact that the previous contents were cleared visible
+
+                imsm.restoreFromMappedSnapshot(testSnapshotDir, ForkJoinPool.commonPool());
+
+                InMemoryKeyColumnValueStore restored = (InMemoryKeyColumnValueStore) imsm.openDatabase("testStore1");
+                assertEquals(concurrentStores, restored instanceof ConcurrentInMemoryKeyColumnValueStore);
+
+                //rows are not read from the snapshot until they are accessed
+                SharedEntryBuffer buffer1 = restored.getRow(makeStaticBuffer("row1")).buffer;
+                assertTrue(buffer1 instanceof MappedSinglePageEntryBuffer);
+                assertFalse(((MappedSinglePageEntryBuffer) buffer1).isLoaded());
+                assertTrue(restored.getRow(makeStaticBuffer("row2")).buffer.numPages() > 1);
+
+                assertEquals(result1, restored.getSlice(query1, txh));
+                assertTrue(((MappedSinglePageEntryBuffer) buffer1).isLoaded());
+                assertEquals(result2, restored.getSlice(query2, txh));
+
+                restored.mutate(makeStaticBuffer("row1"), Collections.singletonList(makeEntry("03col3", "val3")), Collections.emptyList(), txh);
+                restored.mutate(makeStaticBuffer("row2"), Collections.emptyList(), Collections.singletonList(makeStaticBuffer("col000000")), txh);
+                assertEquals(3, restored.getSlice(query1, txh).size());
+                assertEquals(1199, restored.getSlice(query2, txh).size());
+            } finally
+            {
+                imsm.close();
+                FileUtils.cleanDirectory(testSnapshotDir);
+                testSnapshotDir.delete();
+            }
+        }
+    }
 }
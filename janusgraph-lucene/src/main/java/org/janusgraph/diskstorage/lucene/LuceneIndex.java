@@ -22,9 +22,12 @@ import org.janusgraph.core.attribute.Geoshape;
 import org.janusgraph.core.attribute.Text;
 import org.janusgraph.core.schema.Mapping;
 import org.janusgraph.diskstorage.*;
+import org.janusgraph.diskstorage.configuration.ConfigNamespace;
+import org.janusgraph.diskstorage.configuration.ConfigOption;
 import org.janusgraph.diskstorage.configuration.Configuration;
 import org.janusgraph.diskstorage.indexing.*;
 import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
+import org.janusgraph.graphdb.configuration.PreInitializeConfigOptions;
 import org.janusgraph.graphdb.database.serialize.AttributeUtils;
 import org.janusgraph.graphdb.internal.Order;
 import org.janusgraph.graphdb.query.JanusGraphPredicate;
@@ -32,6 +35,8 @@ import org.janusgraph.graphdb.query.condition.*;
 import org.janusgraph.graphdb.types.ParameterType;
 import org.janusgraph.util.system.IOUtils;
 
+import com.google.common.util.concurrent.ThreadFactoryBuilder;
+
 import com.google.common.base.Preconditions;
 import com.google.common.collect.Iterators;
 import com.google.common.collect.Sets;
@@ -68,10 +73,15 @@ import java.nio.file.DirectoryStream;
 import java.nio.file.Files;
 import java.nio.file.Path;
 import java.nio.file.Paths;
+import java.time.Duration;
 import java.time.Instant;
 import java.util.AbstractMap.SimpleEntry;
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ScheduledFuture;
+import java.util.concurrent.TimeUnit;
 import java.util.concurrent.locks.ReentrantLock;
 import java.util.function.Function;
 import java.util.stream.Collectors;
@@ -81,9 +91,26 @@ import java.util.stream.Stream;
  * @author Matthias Broecheler (me@matthiasb.com)
  */
 
+@PreInitializeConfigOptions
 public class LuceneIndex implements IndexProvider {
     private static final Logger log = LoggerFactory.getLogger(LuceneIndex.class);
 
+    public static final ConfigNamespace LUCENE_NS =
+        new ConfigNamespace(GraphDatabaseConfiguration.INDEX_NS, "lucene", "Lucene index configuration");
+
+    public static final ConfigOption<Boolean> NEAR_REAL_TIME =
+        new ConfigOption<>(LUCENE_NS, "near-real-time",
+        "Whether to read the Lucene index through near-real-time searchers which are shared between transactions " +
+        "and to group the commits of concurrent transactions. An index transaction only succeeds once a commit " +
+        "including its mutations has completed, so mutations of failed commits are restored by transaction recovery.",
+        ConfigOption.Type.MASKABLE, false);
+
+    public static final ConfigOption<Duration> REFRESH_INTERVAL =
+        new ConfigOption<>(LUCENE_NS, "refresh-interval",
+        "Interval at which the shared near-real-time searchers are refreshed in the background. Queries refresh " +
+        "outdated searchers on demand, so this only affects how soon the refresh cost is paid ahead of a query.",
+        ConfigOption.Type.MASKABLE, Duration.ofMillis(1000L));
+
     static final String DOCID = "_____elementid";
     private static final String STRING_SUFFIX = "_____s";
     private static final String GEOID = "_____geo";
@@ -113,9 +140,25 @@ public class LuceneIndex implements IndexProvider {
 
     private static final Map<Geo, SpatialOperation> SPATIAL_PREDICATES = spatialPredicates();
 
+    private static final long SHUTDOWN_WAIT_MS = 10000;
+
     private final Map<String, IndexWriter> writers = new HashMap<>(4);
     private final ReentrantLock writerLock = new ReentrantLock();
 
+    private final boolean nearRealTime;
+    private final Map<String, SearcherManager> searcherManagers = new ConcurrentHashMap<>(4);
+    //Stores with uncommitted changes and the number of mutate and restore calls applied so far, guarded by writerLock
+    private final Set<String> uncommittedStores = new HashSet<>(4);
+    private long appliedMutations = 0;
+    //Held while committing on behalf of all waiting transactions, acquired before writerLock
+    private final ReentrantLock commitLock = new ReentrantLock();
+    //Number of applied mutate and restore calls whose changes are committed, guarded by commitLock
+    private long committedMutations = 0;
+    private final ScheduledExecutorService nearRealTimeExecutor;
+    private final long refreshInterval;
+    //Background refresh task, scheduled with the first writer and guarded by writerLock
+    private ScheduledFuture<?> refreshTask;
+
     private final Map<String, SpatialStrategy> spatial = new ConcurrentHashMap<>(12);
     private final SpatialContext ctx = Geoshape.getSpatialContext();
 
@@ -134,6 +177,30 @@ public class LuceneIndex implements IndexProvider {
         }
         basePath = directory.getAbsolutePath();
         log.debug("Configured Lucene to use base directory [{}]", basePath);
+
+        nearRealTime = config.get(NEAR_REAL_TIME);
+        refreshInterval = config.get(REFRESH_INTERVAL).toMillis();
+        if (nearRealTime) {
+            nearRealTimeExecutor = Executors.newSingleThreadScheduledExecutor(new ThreadFactoryBuilder()
+                .setDaemon(true)
+                .setNameFormat("LuceneIndex-NRT-%d")
+                .build());
+        } else {
+            nearRealTimeExecutor = null;
+        }
+    }
+
+    private void scheduleNearRealTimeTasks() {
+        Preconditions.checkArgument(writerLock.isHeldByCurrentThread());
+        if (refreshTask != null) return;
+        refreshTask = nearRealTimeExecutor.scheduleWithFixedDelay(this::refreshSearchers, refreshInterval, refreshInterval, TimeUnit.MILLISECONDS);
+    }
+
+    private void cancelNearRealTimeTasks() {
+        Preconditions.checkArgument(writerLock.isHeldByCurrentThread());
+        if (refreshTask == null) return;
+        refreshTask.cancel(false);
+        refreshTask = null;
     }
 
     private Directory getStoreDirectory(String store) throws BackendException {
@@ -161,6 +228,10 @@ public class LuceneIndex implements IndexProvider {
             try {
                 writer = new IndexWriter(getStoreDirectory(store), iwc);
                 writers.put(store, writer);
+                if (nearRealTime) {
+                    searcherManagers.put(store, new SearcherManager(writer, true, false, null));
+                    scheduleNearRealTimeTasks();
+                }
             } catch (final IOException e) {
                 throw new PermanentBackendException("Could not create writer", e);
             }
@@ -215,26 +286,27 @@ public class LuceneIndex implements IndexProvider {
     @Override
     public void mutate(Map<String, Map<String, IndexMutation>> mutations, KeyInformation.IndexRetriever information, BaseTransaction tx) throws BackendException {
         final Transaction ltx = (Transaction) tx;
+        final long mutation;
         writerLock.lock();
         try {
             for (final Map.Entry<String, Map<String, IndexMutation>> stores : mutations.entrySet()) {
                 mutateStores(stores, information);
             }
+            mutation = ++appliedMutations;
             ltx.postCommit();
         } catch (final IOException e) {
             throw new TemporaryBackendException("Could not update Lucene index", e);
         } finally {
             writerLock.unlock();
         }
+        if (nearRealTime) awaitCommit(mutation);
     }
 
     private void mutateStores(Map.Entry<String, Map<String, IndexMutation>> stores, KeyInformation.IndexRetriever information) throws IOException, BackendException {
-        IndexReader reader = null;
+        final String storeName = stores.getKey();
+        final IndexWriter writer = getWriter(storeName, information);
+        final IndexSearcher searcher = acquireWriterSearcher(storeName, writer);
         try {
-            final String storeName = stores.getKey();
-            final IndexWriter writer = getWriter(storeName, information);
-            reader = DirectoryReader.open(writer, true, true);
-            final IndexSearcher searcher = new IndexSearcher(reader);
             final KeyInformation.StoreRetriever storeRetriever = information.get(storeName);
             for (final Map.Entry<String, IndexMutation> entry : stores.getValue().entrySet()) {
                 final String documentId = entry.getKey();
@@ -266,25 +338,23 @@ public class LuceneIndex implements IndexProvider {
                 //write the old document to the index with the modifications
                 writer.updateDocument(new Term(DOCID, documentId), doc);
             }
-            writer.commit();
+            commit(storeName, writer);
         } finally {
-            IOUtils.closeQuietly(reader);
+            releaseWriterSearcher(storeName, searcher);
         }
     }
 
     @Override
     public void restore(Map<String, Map<String, List<IndexEntry>>> documents, KeyInformation.IndexRetriever information, BaseTransaction tx) throws BackendException {
+        final long mutation;
         writerLock.lock();
         try {
             for (final Map.Entry<String, Map<String, List<IndexEntry>>> stores : documents.entrySet()) {
-                IndexReader reader = null;
+                final String store = stores.getKey();
+                final IndexWriter writer = getWriter(store, information);
+                final KeyInformation.StoreRetriever storeRetriever = information.get(store);
+                final IndexSearcher searcher = acquireWriterSearcher(store, writer);
                 try {
-                    final String store = stores.getKey();
-                    final IndexWriter writer = getWriter(store, information);
-                    final KeyInformation.StoreRetriever storeRetriever = information.get(store);
-                    reader = DirectoryReader.open(writer, true, true);
-                    final IndexSearcher searcher = new IndexSearcher(reader);
-
                     for (final Map.Entry<String, List<IndexEntry>> entry : stores.getValue().entrySet()) {
                         final String docID = entry.getKey();
                         final List<IndexEntry> content = entry.getValue();
@@ -304,17 +374,100 @@ public class LuceneIndex implements IndexProvider {
                         //write the old document to the index with the modifications
                         writer.updateDocument(new Term(DOCID, docID), doc);
                     }
-                    writer.commit();
+                    commit(store, writer);
                 } finally {
-                    IOUtils.closeQuietly(reader);
+                    releaseWriterSearcher(store, searcher);
                 }
             }
+            mutation = ++appliedMutations;
             tx.commit();
         } catch (final IOException e) {
             throw new TemporaryBackendException("Could not update Lucene index", e);
         } finally {
             writerLock.unlock();
         }
+        if (nearRealTime) awaitCommit(mutation);
+    }
+
+    /**
+     * Returns a searcher which sees all changes made through the given writer. In near-real-time mode the
+     * store's shared searcher is refreshed if necessary, otherwise a new reader is opened on the writer.
+     */
+    private IndexSearcher acquireWriterSearcher(String store, IndexWriter writer) throws IOException {
+        Preconditions.checkArgument(writerLock.isHeldByCurrentThread());
+        if (nearRealTime) {
+            final SearcherManager searcherManager = searcherManagers.get(store);
+            searcherManager.maybeRefreshBlocking();
+            return searcherManager.acquire();
+        }
+        return new IndexSearcher(DirectoryReader.open(writer, true, true));
+    }
+
+    private void releaseWriterSearcher(String store, IndexSearcher searcher) throws IOException {
+        if (nearRealTime) {
+            searcherManagers.get(store).release(searcher);
+        } else {
+            IOUtils.closeQuietly(searcher.getIndexReader());
+        }
+    }
+
+    /**
+     * Commits the writer unless near-real-time mode is enabled, in which case the store is committed by
+     * {@link #awaitCommit(long)} together with the changes of concurrent transactions.
+     */
+    private void commit(String store, IndexWriter writer) throws IOException {
+        Preconditions.checkArgument(writerLock.isHeldByCurrentThread());
+        if (!nearRealTime) {
+            writer.commit();
+            return;
+        }
+        uncommittedStores.add(store);
+    }
+
+    /**
+     * Returns once the changes of the given mutate or restore call have been committed, so that an index transaction
+     * only succeeds with durable mutations. The first waiting thread commits all stores changed so far on behalf of
+     * the others, which return without committing again if their changes were included.
+     */
+    private void awaitCommit(long mutation) throws BackendException {
+        commitLock.lock();
+        try {
+            if (committedMutations >= mutation) return;
+            final long committing;
+            final Map<String, IndexWriter> uncommitted = new HashMap<>(uncommittedStores.size());
+            writerLock.lock();
+            try {
+                committing = appliedMutations;
+                for (final String store : uncommittedStores) uncommitted.put(store, writers.get(store));
+                uncommittedStores.clear();
+            } finally {
+                writerLock.unlock();
+            }
+            try {
+                for (final IndexWriter writer : uncommitted.values()) writer.commit();
+            } catch (final IOException | RuntimeException e) {
+                writerLock.lock();
+                try {
+                    uncommittedStores.addAll(uncommitted.keySet());
+                } finally {
+                    writerLock.unlock();
+                }
+                throw new TemporaryBackendException("Could not commit Lucene index", e);
+            }
+            committedMutations = committing;
+        } finally {
+            commitLock.unlock();
+        }
+    }
+
+    private void refreshSearchers() {
+        for (final Map.Entry<String, SearcherManager> entry : searcherManagers.entrySet()) {
+            try {
+                entry.getValue().maybeRefresh();
+            } catch (final IOException | RuntimeException e) {
+                log.warn("Could not refresh searcher of Lucene store [{}]", entry.getKey(), e);
+            }
+        }
     }
 
     private Document retrieveOrCreate(String docID, IndexSearcher searcher) throws IOException {
@@ -949,15 +1102,59 @@ public class LuceneIndex implements IndexProvider {
 
     @Override
     public void close() throws BackendException {
+        if (nearRealTime) {
+            //Let a running refresh finish instead of interrupting it
+            nearRealTimeExecutor.shutdown();
+            try {
+                if (!nearRealTimeExecutor.awaitTermination(SHUTDOWN_WAIT_MS, TimeUnit.MILLISECONDS)) {
+                    log.warn("Near-real-time refresh of Lucene index did not terminate in time");
+                }
+            } catch (final InterruptedException e) {
+                Thread.currentThread().interrupt();
+                throw new PermanentBackendException("Interrupted while waiting for near-real-time refresh", e);
+            }
+        }
+        commitLock.lock();
+        writerLock.lock();
         try {
-            for (final IndexWriter w : writers.values()) w.close();
+            if (nearRealTime) {
+                for (final SearcherManager searcherManager : searcherManagers.values()) searcherManager.close();
+            }
+            for (final IndexWriter w : writers.values()) {
+                w.commit();
+                w.close();
+            }
+            uncommittedStores.clear();
+            committedMutations = appliedMutations;
         } catch (final IOException e) {
             throw new PermanentBackendException("Could not close writers", e);
+        } finally {
+            writerLock.unlock();
+            commitLock.unlock();
         }
     }
 
     @Override
     public void clearStorage() throws BackendException {
+        commitLock.lock();
+        writerLock.lock();
+        try {
+            if (nearRealTime) {
+                cancelNearRealTimeTasks();
+                for (final SearcherManager searcherManager : searcherManagers.values()) searcherManager.close();
+                searcherManagers.clear();
+            }
+            //The stores are deleted, so pending changes are discarded rather than committed
+            for (final IndexWriter w : writers.values()) w.rollback();
+            writers.clear();
+            uncommittedStores.clear();
+            committedMutations = appliedMutations;
+        } catch (final IOException e) {
+            throw new PermanentBackendException("Could not close writers", e);
+        } finally {
+            writerLock.unlock();
+            commitLock.unlock();
+        }
         try {
             FileUtils.deleteDirectory(new File(basePath));
         } catch (final IOException e) {
@@ -1009,6 +1206,7 @@ public class LuceneIndex implements IndexProvider {
         private final BaseTransactionConfig config;
         private final Set<String> updatedStores = Sets.newHashSet();
         private final Map<String, IndexSearcher> searchers = new HashMap<>(4);
+        private final Map<String, SearcherManager> acquiredFrom = new HashMap<>(4);
 
         private Transaction(BaseTransactionConfig config) {
             this.config = config;
@@ -1017,10 +1215,17 @@ public class LuceneIndex implements IndexProvider {
         private synchronized IndexSearcher getSearcher(String store) throws BackendException {
             IndexSearcher searcher = searchers.get(store);
             if (searcher == null) {
+                final SearcherManager searcherManager = searcherManagers.get(store);
                 final IndexReader reader;
                 try {
-                    reader = DirectoryReader.open(getStoreDirectory(store));
-                    searcher = new IndexSearcher(reader);
+                    if (searcherManager != null) {
+                        if (!searcherManager.isSearcherCurrent()) searcherManager.maybeRefreshBlocking();
+                        searcher = searcherManager.acquire();
+                        acquiredFrom.put(store, searcherManager);
+                    } else {
+                        reader = DirectoryReader.open(getStoreDirectory(store));
+                        searcher = new IndexSearcher(reader);
+                    }
                 } catch (final IndexNotFoundException e) {
                     searcher = null;
                 } catch (final IOException e) {
@@ -1048,9 +1253,15 @@ public class LuceneIndex implements IndexProvider {
 
         private void close() throws BackendException {
             try {
-                for (final IndexSearcher searcher : searchers.values()) {
-                    if (searcher != null) searcher.getIndexReader().close();
+                for (final Map.Entry<String, IndexSearcher> entry : searchers.entrySet()) {
+                    final IndexSearcher searcher = entry.getValue();
+                    if (searcher == null) continue;
+                    final SearcherManager searcherManager = acquiredFrom.get(entry.getKey());
+                    if (searcherManager != null) searcherManager.release(searcher);
+                    else searcher.getIndexReader().close();
                 }
+                //Searchers acquired from a shared manager must be released exactly once
+                acquiredFrom.clear();
             } catch (final IOException e) {
                 throw new PermanentBackendException("Could not close searcher", e);
             }
@@ -14,6 +14,7 @@
 
 package org.janusgraph.diskstorage.lucene;
 
+import com.google.common.collect.Sets;
 import org.janusgraph.StorageSetup;
 import org.janusgraph.core.Cardinality;
 import org.janusgraph.core.schema.Parameter;
@@ -22,17 +23,23 @@ import org.janusgraph.diskstorage.BackendException;
 import org.janusgraph.diskstorage.configuration.Configuration;
 import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
 import org.janusgraph.diskstorage.indexing.IndexProvider;
+import org.janusgraph.diskstorage.indexing.IndexQuery;
 import org.janusgraph.diskstorage.indexing.IndexProviderTest;
 import org.janusgraph.core.schema.Mapping;
 import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
+import org.janusgraph.graphdb.query.condition.PredicateCondition;
 
 import org.junit.jupiter.api.Test;
 import org.slf4j.Logger;
 import org.slf4j.LoggerFactory;
 
+import java.time.Instant;
+import java.util.Arrays;
+import java.util.Collections;
 import java.util.Date;
 
 import java.util.UUID;
+import java.util.stream.Collectors;
 
 import static org.junit.jupiter.api.Assertions.*;
 
@@ -141,4 +148,26 @@ public class LuceneIndexTest extends IndexProviderTest {
         String expected = "field" + REPLACEMENT_CHAR + "name" + REPLACEMENT_CHAR + "with" + REPLACEMENT_CHAR + "spaces";
         assertEquals(expected, index.mapKey2Field("field name with spaces", null));
     }
+
+    @Test
+    public void testClearStorageWithOpenWriters() throws Exception {
+        final String store = "vertex";
+        final Geoshape boundary = Geoshape.polygon(Arrays.asList(new double[][]{{-0.1, 47.9}, {0.1, 47.9}, {0.1, 48.1}, {-0.1, 48.1}, {-0.1, 47.9}}));
+        initialize(store);
+        add(store, "doc1", getDocument("Hello world", 1001, 5.2, Geoshape.point(48.0, 0.0), boundary,
+            Arrays.asList("1", "2", "3"), Sets.newHashSet("1", "2"), Instant.ofEpochSecond(1), false), true);
+        newTx();
+        assertTrue(index.exists());
+
+        index.clearStorage();
+        assertFalse(index.exists());
+
+        //The index can still be written to after its storage has been cleared
+        initialize(store);
+        add(store, "doc2", getDocument("Tomorrow is the world", 1010, 8.5, Geoshape.point(49.0, 1.0), boundary,
+            Arrays.asList("4", "5", "6"), Sets.newHashSet("4", "5"), Instant.ofEpochSecond(2), false), true);
+        newTx();
+        assertEquals(Collections.singletonList("doc2"), tx.queryStream(new IndexQuery(store,
+            PredicateCondition.of(TEXT, Text.CONTAINS, "world"))).collect(Collectors.toList()));
+    }
 }
@@ -0,0 +1,41 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.lucene;
+
+import org.janusgraph.StorageSetup;
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.configuration.Configuration;
+import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
+import org.janusgraph.diskstorage.indexing.IndexProvider;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
+
+/**
+ * Runs the index provider tests against a {@link LuceneIndex} with near-real-time searchers and grouped commits.
+ */
+public class LuceneNearRealTimeIndexTest extends LuceneIndexTest {
+
+    @Override
+    public IndexProvider openIndex() throws BackendException {
+        return new LuceneIndex(getNearRealTimeLuceneTestConfig());
+    }
+
+    public static Configuration getNearRealTimeLuceneTestConfig() {
+        final String index = "lucene";
+        ModifiableConfiguration config = GraphDatabaseConfiguration.buildGraphConfiguration();
+        config.set(GraphDatabaseConfiguration.INDEX_DIRECTORY, StorageSetup.getHomeDir("lucene"),index);
+        config.set(LuceneIndex.NEAR_REAL_TIME, true, index);
+        return config.restrictTo(index);
+    }
+}
@@ -158,6 +158,24 @@ public abstract class KCVSCacheTest {
         assertEquals(4,store.getSliceCalls());
     }
 
+    @Test
+    public void testAsyncSlice() throws Exception {
+        final int numKeys = 10, numCols = 10;
+        loadStore(numKeys,numCols);
+
+        CacheTransaction tx = getCacheTx();
+        for (int i=1;i<=numKeys;i++) {
+            assertEquals(numCols,cache.getSliceAsync(getQuery(i,0,numCols+1),tx).get().size());
+        }
+        assertEquals(numKeys,store.getSliceCalls());
+        //Asynchronous and synchronous reads share the cache
+        for (int i=1;i<=numKeys;i++) {
+            assertEquals(numCols,cache.getSliceAsync(getQuery(i,0,numCols+1),tx).get().size());
+            assertEquals(numCols,cache.getSlice(getQuery(i,0,numCols+1),tx).size());
+        }
+        tx.commit();
+        assertEquals(numKeys,store.getSliceCalls());
+    }
 
     public static KeySliceQuery getQuery(int key, int startCol, int endCol) {
         return new KeySliceQuery(BufferUtil.getIntBuffer(key),getQuery(startCol, endCol));
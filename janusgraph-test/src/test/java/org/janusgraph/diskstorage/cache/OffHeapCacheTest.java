@@ -0,0 +1,186 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.cache;
+
+import com.google.common.collect.Lists;
+import org.janusgraph.diskstorage.Entry;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.CacheTransaction;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.KCVSCache;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.OffHeapKCVSCache;
+import org.janusgraph.diskstorage.util.StaticArrayEntryList;
+import org.junit.jupiter.api.Test;
+
+import java.nio.ByteBuffer;
+import java.time.Duration;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class OffHeapCacheTest extends KCVSCacheTest {
+
+    public static final String METRICS_STRING = "metrics";
+    public static final long CACHE_SIZE = 1024*1024*8; //8 MB
+
+    @Override
+    public KCVSCache getCache(KeyColumnValueStore store) {
+        return getCache(store, CACHE_SIZE);
+    }
+
+    private static OffHeapKCVSCache getCache(KeyColumnValueStore store, long size) {
+        return getCache(store,Duration.ofDays(1).toMillis(),size);
+    }
+
+    private static OffHeapKCVSCache getCache(KeyColumnValueStore store, long cacheTimeMS, long size) {
+        return new OffHeapKCVSCache(store,METRICS_STRING,cacheTimeMS,0,size);
+    }
+
+    private static OffHeapKCVSCache getCache(KeyColumnValueStore store, long cacheTimeMS, long graceWaitMS, long size) {
+        return new OffHeapKCVSCache(store,METRICS_STRING,cacheTimeMS,graceWaitMS,size);
+    }
+
+    @Test
+    public void testSerializationRoundTrip() throws Exception {
+        loadStore(10,10);
+        final EntryList entries = store.getSlice(getQuery(3,2,8),getStoreTx());
+        final StaticArrayEntryList list = (StaticArrayEntryList) StaticArrayEntryList.of(entries);
+        final ByteBuffer buffer = ByteBuffer.allocateDirect(list.getSerializedSize() + 3);
+        buffer.position(3);
+        list.writeTo(buffer);
+        assertEquals(buffer.capacity(),buffer.position());
+        buffer.position(3);
+        final EntryList copy = StaticArrayEntryList.readFrom(buffer);
+        assertEquals(entries.size(),copy.size());
+        for (int i=0;i<entries.size();i++) {
+            final Entry entry = entries.get(i);
+            assertEquals(entry,copy.get(i));
+            assertEquals(entry.getValue(),copy.get(i).getValue());
+        }
+    }
+
+    @Test
+    public void testWeightIsSerializedSize() throws Exception {
+        loadStore(10,10);
+        final OffHeapKCVSCache offHeapCache = getCache(store,CACHE_SIZE);
+        cache = offHeapCache;
+        final KeySliceQuery query = getQuery(4,0,20);
+        CacheTransaction tx = getCacheTx();
+        final EntryList result = cache.getSlice(query,tx);
+        assertEquals(((StaticArrayEntryList) StaticArrayEntryList.of(result)).getSerializedSize(),offHeapCache.getWeight());
+        cache.mutateEntries(query.getKey(),KeyColumnValueStore.NO_ADDITIONS,Lists.newArrayList(getEntry(4,4)),tx);
+        tx.commit();
+        assertEquals(0,offHeapCache.getWeight());
+    }
+
+    @Test
+    public void testCircularEviction() throws Exception {
+        final int numKeys = 2000, numCols = 10;
+        final long size = 64 * 1024;
+        loadStore(numKeys,numCols);
+        final OffHeapKCVSCache offHeapCache = getCache(store,size);
+        cache = offHeapCache;
+
+        CacheTransaction tx = getCacheTx();
+        for (int t=0;t<2;t++) {
+            for (int i=1;i<=numKeys;i++) {
+                assertEquals(numCols,cache.getSlice(getQuery(i,0,numCols+1),tx).size());
+                assertTrue(offHeapCache.getWeight() <= size);
+            }
+        }
+        assertEquals(2*numKeys,store.getSliceCalls());
+
+        //The most recently written rows are still cached
+        store.resetCounter();
+        for (int i=numKeys-20;i<=numKeys;i++) {
+            assertEquals(numCols,cache.getSlice(getQuery(i,0,numCols+1),tx).size());
+        }
+        assertEquals(0,store.getSliceCalls());
+        tx.commit();
+    }
+
+    @Test
+    public void testEmptySlicesAreEvicted() throws Exception {
+        final int numKeys = 5000;
+        final long size = 64 * 1024;
+        loadStore(numKeys,1);
+        final OffHeapKCVSCache offHeapCache = getCache(store,size);
+        cache = offHeapCache;
+
+        CacheTransaction tx = getCacheTx();
+        for (int i=1;i<=numKeys;i++) {
+            assertTrue(cache.getSlice(getQuery(i,5,10),tx).isEmpty());
+        }
+        assertEquals(0,offHeapCache.getWeight());
+        assertTrue(offHeapCache.getNumSlices() < numKeys);
+
+        //The most recently cached empty slices are still cached
+        store.resetCounter();
+        assertTrue(cache.getSlice(getQuery(numKeys,5,10),tx).isEmpty());
+        assertEquals(0,store.getSliceCalls());
+        tx.commit();
+    }
+
+    @Test
+    public void testExpiredSlicesAreEvicted() throws Exception {
+        final int numKeys = 10, numCols = 10;
+        loadStore(numKeys,numCols);
+        //A cache of 1 MB consists of a single segment
+        final OffHeapKCVSCache offHeapCache = getCache(store,100,1024*1024);
+        cache = offHeapCache;
+
+        CacheTransaction tx = getCacheTx();
+        for (int i=1;i<=numKeys;i++) {
+            assertEquals(numCols,cache.getSlice(getQuery(i,0,numCols+1),tx).size());
+        }
+        assertEquals(numKeys,offHeapCache.getNumSlices());
+        Thread.sleep(200);
+
+        //Looking up an expired slice evicts it before the slice is loaded and cached again
+        assertEquals(numCols,cache.getSlice(getQuery(1,0,numCols+1),tx).size());
+        assertEquals(1,offHeapCache.getNumSlices());
+        assertEquals(((StaticArrayEntryList) StaticArrayEntryList.of(cache.getSlice(getQuery(1,0,numCols+1),tx))).getSerializedSize(),
+            offHeapCache.getWeight());
+        tx.commit();
+    }
+
+    @Test
+    public void testGracePeriodOnlyAppliesToInvalidatedRow() throws Exception {
+        final int numKeys = 10000;
+        loadStore(numKeys,1);
+        cache = getCache(store,Duration.ofDays(1).toMillis(),Duration.ofMinutes(10).toMillis(),CACHE_SIZE);
+        final KeySliceQuery query = getQuery(5,0,2);
+
+        CacheTransaction tx = getCacheTx();
+        assertEquals(1,cache.getSlice(query,tx).size());
+        cache.mutateEntries(query.getKey(),KeyColumnValueStore.NO_ADDITIONS,Lists.newArrayList(getEntry(1,1)),tx);
+        tx.commit();
+        store.resetCounter();
+
+        //Rows of other keys are cached during the grace period, even if their version stamps share a stripe
+        tx = getCacheTx();
+        for (int t=0;t<2;t++) {
+            for (int i=1;i<=numKeys;i++) {
+                if (i != 5) assertEquals(1,cache.getSlice(getQuery(i,0,2),tx).size());
+            }
+        }
+        assertEquals(numKeys-1,store.getSliceCalls());
+        assertEquals(0,cache.getSlice(query,tx).size());
+        assertEquals(0,cache.getSlice(query,tx).size());
+        assertEquals(numKeys+1,store.getSliceCalls());
+        tx.commit();
+    }
+}
@@ -0,0 +1,192 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.diskstorage.cache;
+
+import com.google.common.collect.Lists;
+import org.janusgraph.diskstorage.BackendException;
+import org.janusgraph.diskstorage.EntryList;
+import org.janusgraph.diskstorage.StaticBuffer;
+import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
+import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.CacheTransaction;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.KCVSCache;
+import org.janusgraph.diskstorage.keycolumnvalue.cache.VersionedRowKCVSCache;
+import org.janusgraph.diskstorage.util.BufferUtil;
+import org.junit.jupiter.api.Test;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.Collections;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class VersionedRowCacheTest extends KCVSCacheTest {
+
+    public static final String METRICS_STRING = "metrics";
+    public static final long CACHE_SIZE = 1024*1024*48; //48 MB
+
+    @Override
+    public KCVSCache getCache(KeyColumnValueStore store) {
+        return getCache(store, Duration.ofDays(1), Duration.ZERO, CACHE_SIZE);
+    }
+
+    private static VersionedRowKCVSCache getCache(KeyColumnValueStore store, Duration expirationTime, Duration graceWait, long size) {
+        return new VersionedRowKCVSCache(store,METRICS_STRING,expirationTime.toMillis(),graceWait.toMillis(),size);
+    }
+
+    @Test
+    public void testInvalidationDropsAllSlicesOfRow() throws Exception {
+        loadStore(10,10);
+        CacheTransaction tx = getCacheTx();
+        assertEquals(10,cache.getSlice(getQuery(3,0,20),tx).size());
+        assertEquals(3,cache.getSlice(getQuery(3,2,5),tx).size());
+        assertEquals(10,cache.getSlice(getQuery(4,0,20),tx).size());
+        assertEquals(3,store.getSliceCalls());
+        assertEquals(3,cache.getSlice(getQuery(3,2,5),tx).size());
+        assertEquals(3,store.getSliceCalls());
+
+        cache.mutateEntries(BufferUtil.getIntBuffer(3),KeyColumnValueStore.NO_ADDITIONS,Lists.newArrayList(getEntry(4,4)),tx);
+        tx.commit();
+        store.resetCounter();
+
+        tx = getCacheTx();
+        assertEquals(9,cache.getSlice(getQuery(3,0,20),tx).size());
+        assertEquals(2,cache.getSlice(getQuery(3,2,5),tx).size());
+        assertEquals(10,cache.getSlice(getQuery(4,0,20),tx).size());
+        assertEquals(2,store.getSliceCalls());
+        tx.commit();
+    }
+
+    @Test
+    public void testInvalidationWithGracePeriod() throws Exception {
+        final Duration graceWait = Duration.ofMillis(200);
+        loadStore(10,10);
+        cache = getCache(store,Duration.ofDays(1),graceWait,CACHE_SIZE);
+        final KeySliceQuery query = getQuery(5,2,8);
+
+        CacheTransaction tx = getCacheTx();
+        assertEquals(6,cache.getSlice(query,tx).size());
+        cache.mutateEntries(query.getKey(),KeyColumnValueStore.NO_ADDITIONS,Lists.newArrayList(getEntry(4,4)),tx);
+        tx.commit();
+        final Instant utime = times.getTime();
+        store.resetCounter();
+
+        //Reads within the grace period bypass the cache
+        tx = getCacheTx();
+        assertEquals(5,cache.getSlice(query,tx).size());
+        assertEquals(5,cache.getSlice(query,tx).size());
+        assertEquals(2,store.getSliceCalls());
+
+        //...and are cached again afterwards
+        times.sleepPast(utime.plus(graceWait));
+        assertEquals(5,cache.getSlice(query,tx).size());
+        assertEquals(5,cache.getSlice(query,tx).size());
+        assertEquals(3,store.getSliceCalls());
+        tx.commit();
+    }
+
+    @Test
+    public void testGracePeriodOnlyAppliesToInvalidatedRow() throws Exception {
+        final int numKeys = 10000;
+        loadStore(numKeys,1);
+        cache = getCache(store,Duration.ofDays(1),Duration.ofMinutes(10),CACHE_SIZE);
+        final KeySliceQuery query = getQuery(5,0,2);
+
+        CacheTransaction tx = getCacheTx();
+        assertEquals(1,cache.getSlice(query,tx).size());
+        cache.mutateEntries(query.getKey(),KeyColumnValueStore.NO_ADDITIONS,Lists.newArrayList(getEntry(1,1)),tx);
+        tx.commit();
+        store.resetCounter();
+
+        //Rows of other keys are cached during the grace period, even if their version stamps share a stripe
+        tx = getCacheTx();
+        for (int t=0;t<2;t++) {
+            for (int i=1;i<=numKeys;i++) {
+                if (i != 5) assertEquals(1,cache.getSlice(getQuery(i,0,2),tx).size());
+            }
+        }
+        assertEquals(numKeys-1,store.getSliceCalls());
+        assertEquals(0,cache.getSlice(query,tx).size());
+        assertEquals(0,cache.getSlice(query,tx).size());
+        assertEquals(numKeys+1,store.getSliceCalls());
+        tx.commit();
+    }
+
+    @Test
+    public void testConcurrentInvalidationDiscardsLoadedSlice() throws Exception {
+        loadStore(10,10);
+        final KeySliceQuery query = getQuery(7,0,20);
+        final VersionedRowKCVSCache[] versionedCache = new VersionedRowKCVSCache[1];
+        //Invalidate the row while its slice is being read from the store
+        versionedCache[0] = getCache(new CounterKCVS(store) {
+            @Override
+            public EntryList getSlice(KeySliceQuery q, StoreTransaction txh) throws BackendException {
+                final EntryList result = super.getSlice(q, txh);
+                versionedCache[0].invalidate(q.getKey(), Collections.emptyList());
+                return result;
+            }
+        }, Duration.ofDays(1), Duration.ZERO, CACHE_SIZE);
+        cache = versionedCache[0];
+
+        CacheTransaction tx = getCacheTx();
+        assertEquals(10,cache.getSlice(query,tx).size());
+        assertEquals(0,versionedCache[0].getWeight());
+        store.resetCounter();
+        assertEquals(10,cache.getSlice(query,tx).size());
+        assertEquals(1,store.getSliceCalls());
+        tx.commit();
+    }
+
+    @Test
+    public void testFrequentRowsSurviveScan() throws Exception {
+        final int numKeys = 2000, numCols = 10;
+        final long size = 64 * 1024;
+        loadStore(numKeys,numCols);
+        final VersionedRowKCVSCache versionedCache = getCache(store,Duration.ofDays(1),Duration.ZERO,size);
+        cache = versionedCache;
+
+        CacheTransaction tx = getCacheTx();
+        //Make a small set of rows popular
+        for (int t=0;t<5;t++) {
+            for (int i=1;i<=20;i++) cache.getSlice(getQuery(i,0,numCols+1),tx);
+        }
+        //Scan over all rows once
+        for (int i=21;i<=numKeys;i++) cache.getSlice(getQuery(i,0,numCols+1),tx);
+        assertTrue(versionedCache.getWeight() <= size);
+
+        store.resetCounter();
+        for (int i=1;i<=20;i++) {
+            assertEquals(numCols,cache.getSlice(getQuery(i,0,numCols+1),tx).size());
+        }
+        assertTrue(store.getSliceCalls() < 5, "Popular rows were evicted by scan: " + store.getSliceCalls());
+        tx.commit();
+    }
+
+    @Test
+    public void testMultiKeySlice() throws Exception {
+        loadStore(10,10);
+        CacheTransaction tx = getCacheTx();
+        final StaticBuffer cachedKey = BufferUtil.getIntBuffer(1);
+        cache.getSlice(new KeySliceQuery(cachedKey,getQuery(2,8)),tx);
+        store.resetCounter();
+        assertEquals(3,cache.getSlice(Lists.newArrayList(cachedKey,BufferUtil.getIntBuffer(2),BufferUtil.getIntBuffer(3)),getQuery(2,8),tx).size());
+        assertEquals(1,store.getSliceCalls());
+        assertEquals(6,cache.getSlice(new KeySliceQuery(BufferUtil.getIntBuffer(3),getQuery(2,8)),tx).size());
+        assertEquals(1,store.getSliceCalls());
+        tx.commit();
+    }
+}
@@ -19,6 +19,7 @@ import static org.janusgraph.diskstorage.locking.consistentkey.ConsistentKeyLock
 import static org.junit.jupiter.api.Assertions.assertEquals;
 import static org.junit.jupiter.api.Assertions.assertFalse;
 import static org.junit.jupiter.api.Assertions.assertNotNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
 
 import java.lang.reflect.Method;
 import java.time.Duration;
@@ -52,6 +53,7 @@ import org.janusgraph.diskstorage.*;
 import org.janusgraph.diskstorage.configuration.Configuration;
 import org.janusgraph.diskstorage.keycolumnvalue.KeyColumnValueStore;
 import org.janusgraph.diskstorage.keycolumnvalue.KeySliceQuery;
+import org.janusgraph.diskstorage.keycolumnvalue.SliceQuery;
 import org.janusgraph.diskstorage.keycolumnvalue.StoreManager;
 import org.janusgraph.diskstorage.keycolumnvalue.StoreTransaction;
 
@@ -415,6 +417,50 @@ public class ConsistentKeyLockerTest {
         locker.checkLocks(defaultTx);
     }
 
+    /**
+     * With batched locking, the claims of all locks of a transaction are written
+     * with the same timestamp when the locks are checked, followed by a single
+     * wait and a single multi-key slice.
+     *
+     * @throws org.janusgraph.diskstorage.BackendException shouldn't happen
+     * @throws InterruptedException shouldn't happen
+     */
+    @Test
+    public void testBatchedCheckLocksWritesAndChecksAllClaimsTogether() throws BackendException, InterruptedException {
+        final ConsistentKeyLocker batchedLocker = getDefaultBuilder().batchLocking(true).build();
+        final ConsistentKeyLockStatus defaultStatus = new ConsistentKeyLockStatus(currentTimeNS.plus(defaultExpireNS));
+        final ConsistentKeyLockStatus otherStatus = new ConsistentKeyLockStatus(currentTimeNS.plus(defaultExpireNS));
+        expect(lockState.getLocksForTx(defaultTx)).andReturn(ImmutableMap.of(defaultLockID, defaultStatus,
+                otherLockID, otherStatus));
+
+        // Both claims are written with the same timestamp
+        currentTimeNS = currentTimeNS.plusNanos(1);
+        final Instant lockNS = currentTimeNS;
+        expect(times.getTime()).andReturn(lockNS);
+        final StaticBuffer lockCol = codec.toLockCol(lockNS, defaultLockRid, times);
+        final List<Entry> adds = Collections.singletonList(StaticArrayEntry.of(lockCol, defaultLockVal));
+        store.mutate(eq(defaultLockKey), eq(adds), eq(ImmutableList.of()), eq(defaultTx));
+        store.mutate(eq(otherLockKey), eq(adds), eq(ImmutableList.of()), eq(defaultTx));
+        currentTimeNS = currentTimeNS.plusNanos(1);
+        expect(times.getTime()).andReturn(currentTimeNS);
+
+        // A single wait and a single read for both claims
+        currentTimeNS = currentTimeNS.plus(defaultWaitNS);
+        expect(times.sleepPast(lockNS.plus(defaultWaitNS))).andReturn(currentTimeNS);
+        final EntryList claims = StaticArrayEntryList.of(StaticArrayEntry.of(lockCol, defaultLockVal));
+        expect(store.getSlice(eq(ImmutableList.of(defaultLockKey, otherLockKey)),
+                eq(new SliceQuery(LOCK_COL_START, LOCK_COL_END)), eq(defaultTx)))
+                .andReturn(ImmutableMap.of(defaultLockKey, claims, otherLockKey, claims));
+        ctrl.replay();
+
+        batchedLocker.checkLocks(defaultTx);
+
+        assertEquals(lockNS, defaultStatus.getWriteTimestamp());
+        assertEquals(lockNS, otherStatus.getWriteTimestamp());
+        assertTrue(defaultStatus.isChecked());
+        assertTrue(otherStatus.isChecked());
+    }
+
     private void expectSleepAfterWritingLock(ConsistentKeyLockStatus ls) throws InterruptedException {
         expect(times.sleepPast(ls.getWriteTimestamp().plus(defaultWaitNS))).andReturn(currentTimeNS);
     }
@@ -29,6 +29,7 @@ import org.janusgraph.diskstorage.IDAuthority;
 import org.janusgraph.diskstorage.IDBlock;
 import org.janusgraph.diskstorage.TemporaryBackendException;
 import org.janusgraph.diskstorage.keycolumnvalue.KeyRange;
+import org.janusgraph.graphdb.database.idassigner.AdaptiveIDBlockSizer;
 import org.janusgraph.graphdb.database.idassigner.IDBlockSizer;
 import org.easymock.EasyMock;
 import org.easymock.IMocksControl;
@@ -37,6 +38,7 @@ import org.junit.jupiter.api.Test;
 import org.janusgraph.core.JanusGraphException;
 import org.janusgraph.graphdb.database.idassigner.IDPoolExhaustedException;
 import org.janusgraph.graphdb.database.idassigner.StandardIDPool;
+import org.janusgraph.graphdb.database.idassigner.StaticIDBlockSizer;
 import org.janusgraph.util.datastructures.IntHashSet;
 import org.janusgraph.util.datastructures.IntSet;
 
@@ -216,6 +218,62 @@ public class IDPoolTest {
         }
     }
 
+    @Test
+    public void testAdaptiveIDBlockSizer() {
+        AdaptiveIDBlockSizer sizer = new AdaptiveIDBlockSizer(new StaticIDBlockSizer(200, Integer.MAX_VALUE),
+                100, 5000, Duration.ofSeconds(1));
+        //Without observed consumption the block size of the wrapped sizer is used
+        assertEquals(200, sizer.getBlockSize(1));
+        sizer.recordConsumption(1, 0, Duration.ofSeconds(1));
+        assertEquals(200, sizer.getBlockSize(1));
+
+        sizer.recordConsumption(1, 1000, Duration.ofSeconds(1));
+        assertEquals(1000, sizer.getBlockSize(1));
+        assertEquals(200, sizer.getBlockSize(2));
+
+        //Fast consumption grows the block size up to the maximum
+        for (int i = 0; i < 50; i++) sizer.recordConsumption(1, 100000, Duration.ofSeconds(1));
+        assertEquals(5000, sizer.getBlockSize(1));
+
+        //Slow consumption shrinks the block size down to the minimum
+        for (int i = 0; i < 50; i++) sizer.recordConsumption(1, 1, Duration.ofSeconds(1));
+        assertEquals(100, sizer.getBlockSize(1));
+        assertEquals(Integer.MAX_VALUE, sizer.getIdUpperBound(1));
+    }
+
+    @Test
+    public void testAdaptiveStandardIDPool() throws InterruptedException {
+        final MockIDAuthority idAuthority = new MockIDAuthority(200);
+        final AdaptiveIDBlockSizer sizer = new AdaptiveIDBlockSizer(new StaticIDBlockSizer(200, Integer.MAX_VALUE),
+                100, 5000, Duration.ofSeconds(1));
+        idAuthority.setIDBlockSizer(sizer);
+        testIDPoolWith(partitionID -> new StandardIDPool(idAuthority, partitionID, 1, Integer.MAX_VALUE,
+                Duration.ofMillis(2000), 0.2, sizer), 3, 4, 50000);
+        assertTrue(sizer.getConsumptionRate(1) > 0);
+        assertTrue(sizer.getBlockSize(1) > 200);
+    }
+
+    @Test
+    public void testAdaptiveStandardIDPoolRecordsEachBlockOnce() {
+        final MockIDAuthority idAuthority = new MockIDAuthority(200);
+        final long[] recordedIds = new long[1];
+        final AdaptiveIDBlockSizer sizer = new AdaptiveIDBlockSizer(new StaticIDBlockSizer(200, Integer.MAX_VALUE),
+                100, 5000, Duration.ofSeconds(1)) {
+            @Override
+            public synchronized void recordConsumption(int idNamespace, long numIds, Duration elapsed) {
+                recordedIds[0] += numIds;
+                super.recordConsumption(idNamespace, numIds, elapsed);
+            }
+        };
+        idAuthority.setIDBlockSizer(sizer);
+        StandardIDPool pool = new StandardIDPool(idAuthority, 0, 1, Integer.MAX_VALUE, Duration.ofMillis(2000), 0.2, sizer);
+        final int numIds = 2000;
+        for (int i = 0; i < numIds; i++) pool.nextID();
+        pool.close();
+        assertTrue(recordedIds[0] > 0);
+        assertTrue(recordedIds[0] <= numIds, "Recorded " + recordedIds[0] + " ids for " + numIds + " consumed ids");
+    }
+
     interface IDPoolFactory {
         StandardIDPool get(int partitionID);
     }
@@ -0,0 +1,187 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.olap.computer;
+
+import org.apache.tinkerpop.gremlin.process.computer.MessageCombiner;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Collectors;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class ColumnarVertexStatesTest {
+
+    private static final int NUM_THREADS = 8;
+    private static final int MESSAGES_PER_THREAD = 20000;
+    private static final int NUM_VERTICES = 10000;
+
+    private static final MessageCombiner<Long> SUM = (a, b) -> a + b;
+
+    @Test
+    public void testIndexesAndProperties() {
+        ColumnarVertexStates<Long> states = new ColumnarVertexStates<>(16, 2, SUM);
+        assertEquals(-1, states.getIndex(42L, false));
+        int index = states.getIndex(42L, true);
+        assertEquals(index, states.getIndex(42L, false));
+        assertEquals(index + 1, states.getIndex(43L, true));
+
+        states.setProperty(index, 0, 1.5d);
+        states.setProperty(index, 1, "value");
+        assertEquals(1.5d, states.<Double>getProperty(index, 0));
+        assertEquals("value", states.getProperty(index, 1));
+
+        //Values which do not match the primitive type of the column are kept in reference slots
+        states.setProperty(index, 0, Arrays.asList(1, 2));
+        assertEquals(Arrays.asList(1, 2), states.getProperty(index, 0));
+        states.setProperty(index, 0, null);
+        assertNull(states.getProperty(index, 0));
+        assertNull(states.getProperty(index + 1, 0));
+
+        //Pages are added as vertices are indexed
+        for (long vertexId = 100; vertexId < 100 + NUM_VERTICES; vertexId++) {
+            states.setProperty(states.getIndex(vertexId, true), 0, (double) vertexId);
+        }
+        for (long vertexId = 100; vertexId < 100 + NUM_VERTICES; vertexId++) {
+            assertEquals((double) vertexId, states.<Double>getProperty(states.getIndex(vertexId, false), 0));
+        }
+    }
+
+    @Test
+    public void testConcurrentlyCombinedMessages() throws Exception {
+        ColumnarVertexStates<Long> states = new ColumnarVertexStates<>(NUM_VERTICES, 0, SUM);
+        states.nextIteration(1);
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < MESSAGES_PER_THREAD; i++) {
+                        long vertexId = i % NUM_VERTICES;
+                        states.addMessage(states.getIndex(vertexId, true), 1L, 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        states.completeIteration();
+
+        long total = 0;
+        for (long vertexId = 0; vertexId < NUM_VERTICES; vertexId++) {
+            List<Long> messages = states.getMessage(states.getIndex(vertexId, false), 0).collect(Collectors.toList());
+            assertEquals(1, messages.size());
+            total += messages.get(0);
+        }
+        assertEquals((long) NUM_THREADS * MESSAGES_PER_THREAD, total);
+    }
+
+    @Test
+    public void testConcurrentlyCombinedMutableMessages() throws Exception {
+        //Like the traverser set combiner, this combiner adds the second message to the first one in place
+        final MessageCombiner<List<Long>> combiner = (a, b) -> {
+            a.addAll(b);
+            return a;
+        };
+        ColumnarVertexStates<List<Long>> states = new ColumnarVertexStates<>(NUM_VERTICES, 0, combiner);
+        states.nextIteration(1);
+        ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                futures.add(executor.submit(() -> {
+                    for (int i = 0; i < MESSAGES_PER_THREAD; i++) {
+                        long vertexId = i % NUM_VERTICES;
+                        List<Long> message = new ArrayList<>();
+                        message.add(1L);
+                        states.addMessage(states.getIndex(vertexId, true), message, 0);
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        states.completeIteration();
+
+        long total = 0;
+        for (long vertexId = 0; vertexId < NUM_VERTICES; vertexId++) {
+            List<List<Long>> messages = states.getMessage(states.getIndex(vertexId, false), 0).collect(Collectors.toList());
+            assertEquals(1, messages.size());
+            assertEquals((long) NUM_THREADS * MESSAGES_PER_THREAD / NUM_VERTICES, messages.get(0).size());
+            total += messages.get(0).size();
+        }
+        assertEquals((long) NUM_THREADS * MESSAGES_PER_THREAD, total);
+    }
+
+    @Test
+    public void testUncombinedMessages() {
+        ColumnarVertexStates<String> states = new ColumnarVertexStates<>(16, 0, null);
+        states.nextIteration(1);
+        int index = states.getIndex(1L, true);
+        states.addMessage(index, "a", 0);
+        states.addMessage(index, "b", 0);
+        states.addMessage(index, "c", 0);
+        states.completeIteration();
+        assertEquals(new HashSet<>(Arrays.asList("a", "b", "c")),
+            states.getMessage(index, 0).collect(Collectors.toSet()));
+    }
+
+    @Test
+    public void testMessageBuffersAreSwappedAndCleared() {
+        ColumnarVertexStates<Long> states = new ColumnarVertexStates<>(16, 0, SUM);
+        int index = states.getIndex(1L, true);
+        int other = states.getIndex(2L, true);
+
+        states.nextIteration(1);
+        states.setMessage(index, 5L, 0);
+        states.completeIteration();
+        assertEquals(Arrays.asList(5L), states.getMessage(index, 0).collect(Collectors.toList()));
+        assertEquals(0, states.getMessage(other, 0).count());
+
+        states.nextIteration(1);
+        states.setMessage(other, 7L, 0);
+        states.completeIteration();
+        assertEquals(0, states.getMessage(index, 0).count());
+        assertEquals(Arrays.asList(7L), states.getMessage(other, 0).collect(Collectors.toList()));
+
+        //The buffer of the first iteration is reused and must not return its old messages
+        states.nextIteration(1);
+        states.completeIteration();
+        assertEquals(0, states.getMessage(index, 0).count());
+        assertEquals(0, states.getMessage(other, 0).count());
+    }
+
+    @Test
+    public void testMessagesOfDifferentTypesInScope() {
+        ColumnarVertexStates<Object> states = new ColumnarVertexStates<>(16, 0, (a, b) -> a);
+        states.nextIteration(1);
+        int index = states.getIndex(1L, true);
+        states.addMessage(index, 1L, 0);
+        assertThrows(IllegalArgumentException.class, () -> states.addMessage(index, "a", 0));
+        states.completeIteration();
+        assertTrue(states.getMessage(index, 0).allMatch(m -> m.equals(1L)));
+    }
+}
@@ -14,14 +14,28 @@
 
 package org.janusgraph.graphdb.serializer;
 
+import org.apache.tinkerpop.gremlin.structure.Direction;
 import org.janusgraph.StorageSetup;
+import org.janusgraph.core.Cardinality;
+import org.janusgraph.core.JanusGraphFactory;
+import org.janusgraph.core.JanusGraphTransaction;
+import org.janusgraph.core.JanusGraphVertexProperty;
 import org.janusgraph.core.Multiplicity;
 import org.janusgraph.core.JanusGraphEdge;
 import org.janusgraph.core.JanusGraphVertex;
+import org.janusgraph.core.PropertyKey;
 import org.janusgraph.core.schema.JanusGraphManagement;
+import org.janusgraph.diskstorage.configuration.ModifiableConfiguration;
+import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 import org.janusgraph.graphdb.database.StandardJanusGraph;
+import org.janusgraph.graphdb.internal.Order;
+import org.janusgraph.graphdb.types.StandardEdgeLabelMaker;
+import org.janusgraph.graphdb.types.StandardPropertyKeyMaker;
 import org.junit.jupiter.api.Test;
 
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertNull;
+
 /**
  * @author Matthias Broecheler (me@matthiasb.com)
  */
@@ -46,4 +60,55 @@ public class EdgeSerializerTest {
 
     }
 
+    @Test
+    public void testLazyPropertyDecoding() {
+        ModifiableConfiguration config = StorageSetup.getInMemoryConfiguration();
+        config.set(GraphDatabaseConfiguration.LAZY_PROPERTY_DECODING, true);
+        StandardJanusGraph graph = (StandardJanusGraph) JanusGraphFactory.open(config);
+        JanusGraphManagement management = graph.openManagement();
+        PropertyKey time = management.makePropertyKey("time").dataType(Integer.class).make();
+        PropertyKey weight = management.makePropertyKey("weight").dataType(Double.class).make();
+        for (int i=1;i<=10;i++) management.makePropertyKey("key" + i).dataType(String.class).make();
+        ((StandardEdgeLabelMaker) management.makeEdgeLabel("knows")).sortKey(time).sortOrder(Order.DESC).signature(weight).make();
+        management.makeEdgeLabel("likes").make();
+        ((StandardPropertyKeyMaker) management.makePropertyKey("name")).dataType(String.class).cardinality(Cardinality.LIST)
+            .sortKey(time).signature(weight).make();
+        management.commit();
+
+        JanusGraphVertex v1 = graph.addVertex(), v2 = graph.addVertex();
+        for (String label : new String[]{"knows", "likes"}) {
+            JanusGraphEdge edge = v1.addEdge(label, v2, "time", 5, "weight", 0.5);
+            for (int i=1;i<=10;i++) edge.property("key"+i, "value"+i);
+        }
+        JanusGraphVertexProperty<String> name = v1.property("name", "v1", "time", 7, "weight", 1.5);
+        name.property("key3", "value3");
+        graph.tx().commit();
+
+        for (String label : new String[]{"knows", "likes"}) {
+            JanusGraphTransaction tx = graph.newTransaction();
+            JanusGraphEdge edge = (JanusGraphEdge) tx.getVertex(v1.longId()).edges(Direction.OUT, label).next();
+            //access the properties out of their serialization order and repeatedly
+            assertEquals("value7", edge.value("key7"));
+            assertEquals(0.5, edge.<Double>value("weight"), 0.0);
+            assertEquals("value2", edge.value("key2"));
+            assertEquals(5, edge.<Integer>value("time").intValue());
+            assertEquals("value7", edge.value("key7"));
+            assertNull(edge.property("name").orElse(null));
+            assertEquals(12, edge.keys().size());
+            for (int i=1;i<=10;i++) assertEquals("value"+i, edge.value("key"+i));
+            tx.rollback();
+        }
+
+        JanusGraphTransaction tx = graph.newTransaction();
+        JanusGraphVertexProperty<String> property = (JanusGraphVertexProperty<String>) tx.getVertex(v1.longId()).<String>properties("name").next();
+        assertEquals("v1", property.value());
+        assertEquals("value3", property.value("key3"));
+        assertEquals(1.5, property.<Double>value("weight"), 0.0);
+        assertEquals(7, property.<Integer>value("time").intValue());
+        assertEquals(3, property.keys().size());
+        tx.rollback();
+
+        graph.close();
+    }
+
 }
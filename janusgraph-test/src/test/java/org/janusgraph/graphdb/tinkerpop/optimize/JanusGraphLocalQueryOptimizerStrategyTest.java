@@ -26,6 +26,7 @@ import org.janusgraph.graphdb.JanusGraphBaseTest;
 import org.janusgraph.graphdb.configuration.GraphDatabaseConfiguration;
 import org.janusgraph.graphdb.query.profile.QueryProfiler;
 import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphPropertiesStep;
+import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphPropertyPrefetchStep;
 import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphStep;
 import org.janusgraph.graphdb.tinkerpop.optimize.step.JanusGraphVertexStep;
 import org.junit.jupiter.api.Test;
@@ -139,6 +140,46 @@ public class JanusGraphLocalQueryOptimizerStrategyTest extends OptimizerStrategy
         assertFalse(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
     }
 
+    @Test
+    public void testBatchPropertyPrefetchingOfTraverserBatches() {
+        clopen(option(BATCH_PROPERTY_PREFETCHING), true);
+        makeSampleGraph();
+
+        // The has step does not directly follow a vertex step and is therefore preceded by a pre-fetch step
+        Traversal t = g.V(sv[0]).union(__.out("knows"), __.in("knows")).has("weight", P.between(1, 3)).profile("~metrics");
+        assertNumStep(numV / 5 * 2, 1, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertTrue(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+
+        t = g.V(sv[0]).out("knows").valueMap("id", "weight").profile("~metrics");
+        assertNumStep(numV, 1, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertTrue(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+
+        t = g.V(sv[0]).out("knows").elementMap("weight").profile("~metrics");
+        assertNumStep(numV, 1, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertTrue(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+
+        t = g.V(sv[0]).out("knows").values("weight").profile("~metrics");
+        assertNumStep(numV, 1, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertTrue(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+
+        // A limit after the has step means it is unknown how many vertices need to be fetched
+        t = g.V(sv[0]).union(__.out("knows"), __.in("knows")).has("weight", P.between(1, 3)).limit(10).profile("~metrics");
+        assertNumStep(10, 0, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertFalse(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+
+        t = g.V(sv[0]).out("knows").valueMap("id", "weight").limit(10).profile("~metrics");
+        assertNumStep(10, 0, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertFalse(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+
+        t = g.V(sv[0]).out("knows").elementMap("weight").limit(10).profile("~metrics");
+        assertNumStep(10, 0, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertFalse(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+
+        t = g.V(sv[0]).out("knows").values("weight").limit(10).profile("~metrics");
+        assertNumStep(10, 0, (GraphTraversal)t, JanusGraphPropertyPrefetchStep.class);
+        assertFalse(queryProfilerAnnotationIsPresent(t, QueryProfiler.MULTIPREFETCH_ANNOTATION));
+    }
+
     @Test
     public void testMultiQuery() {
         clopen(option(USE_MULTIQUERY), true);
@@ -0,0 +1,104 @@
+// Copyright 2021 JanusGraph Authors
+//
+// Licensed under the Apache License, Version 2.0 (the "License");
+// you may not use this file except in compliance with the License.
+// You may obtain a copy of the License at
+//
+//      http://www.apache.org/licenses/LICENSE-2.0
+//
+// Unless required by applicable law or agreed to in writing, software
+// distributed under the License is distributed on an "AS IS" BASIS,
+// WITHOUT WARRANTIES OR CONDITIONS OF ANY KIND, either express or implied.
+// See the License for the specific language governing permissions and
+// limitations under the License.
+
+package org.janusgraph.graphdb.transaction.addedrelations;
+
+import com.google.common.collect.Iterables;
+import org.easymock.EasyMockSupport;
+import org.janusgraph.graphdb.internal.InternalRelation;
+import org.janusgraph.graphdb.internal.InternalVertex;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.HashSet;
+import java.util.List;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.easymock.EasyMock.expect;
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+public class StripedAddedRelationsTest extends EasyMockSupport {
+
+    private static final int NUM_THREADS = 8;
+    private static final int RELATIONS_PER_THREAD = 500;
+
+    private List<InternalRelation> createRelations(int numRelations, int numVertices) {
+        final List<InternalVertex> vertices = new ArrayList<>(numVertices);
+        for (int i = 0; i < numVertices; i++) {
+            final InternalVertex vertex = createMock(InternalVertex.class);
+            expect(vertex.longId()).andReturn((long) (i + 1) * 4).anyTimes();
+            vertices.add(vertex);
+        }
+        final List<InternalRelation> relations = new ArrayList<>(numRelations);
+        for (int i = 0; i < numRelations; i++) {
+            final InternalRelation relation = createMock(InternalRelation.class);
+            expect(relation.getVertex(0)).andReturn(vertices.get(i % numVertices)).anyTimes();
+            relations.add(relation);
+        }
+        replayAll();
+        return relations;
+    }
+
+    @Test
+    public void testAddRemoveAndViews() {
+        final List<InternalRelation> relations = createRelations(100, 7);
+        final StripedAddedRelations container = new StripedAddedRelations(4);
+        assertTrue(container.isEmpty());
+        relations.forEach(container::add);
+        assertFalse(container.isEmpty());
+        assertEquals(100, container.getAll().size());
+        assertEquals(new HashSet<>(relations), new HashSet<>(container.getAll()));
+
+        final InternalVertex vertex = relations.get(3).getVertex(0);
+        assertEquals(Iterables.size(Iterables.filter(relations, r -> r.getVertex(0) == vertex)),
+            Iterables.size(container.getView(r -> r.getVertex(0) == vertex)));
+
+        for (int i = 0; i < relations.size(); i += 2) container.remove(relations.get(i));
+        assertEquals(50, container.getAll().size());
+        for (InternalRelation relation : container.getAll()) {
+            assertEquals(1, relations.indexOf(relation) % 2);
+        }
+        for (int i = 1; i < relations.size(); i += 2) container.remove(relations.get(i));
+        assertTrue(container.isEmpty());
+    }
+
+    @Test
+    public void testConcurrentAdditions() throws Exception {
+        final List<InternalRelation> relations = createRelations(NUM_THREADS * RELATIONS_PER_THREAD, 50);
+        final StripedAddedRelations container = new StripedAddedRelations(NUM_THREADS);
+        final ExecutorService executor = Executors.newFixedThreadPool(NUM_THREADS);
+        try {
+            final List<Future<?>> futures = new ArrayList<>(NUM_THREADS);
+            for (int t = 0; t < NUM_THREADS; t++) {
+                final List<InternalRelation> partition = relations.subList(t * RELATIONS_PER_THREAD, (t + 1) * RELATIONS_PER_THREAD);
+                futures.add(executor.submit(() -> {
+                    for (InternalRelation relation : partition) {
+                        container.add(relation);
+                        //Views must not fail while other threads are adding relations
+                        Iterables.size(container.getView(r -> true));
+                    }
+                }));
+            }
+            for (Future<?> future : futures) future.get();
+        } finally {
+            executor.shutdownNow();
+        }
+        assertEquals(relations.size(), container.getAll().size());
+        assertEquals(new HashSet<>(relations), new HashSet<>(container.getAll()));
+    }
+}